@@ -1,8 +1,17 @@
 package src;
 
 import danogl.components.CoordinateSpace;
+import danogl.gui.rendering.Camera;
+import src.assets.AssetCache;
+import src.assets.AssetLoader;
+import src.audio.AudioMixer;
 import src.brick_strategies.BrickStrategyFactory;
+import src.collisions.BrickGrid;
+import src.collisions.BrickGridCollection;
+import src.collisions.SweptCollisions;
 import src.brick_strategies.CollisionStrategy;
+import src.brick_strategies.PuckStrategy;
+import src.brick_strategies.StrategyStatistics;
 import danogl.GameManager;
 import danogl.GameObject;
 import danogl.collisions.Layer;
@@ -10,14 +19,47 @@ import danogl.gui.*;
 import danogl.gui.rendering.Renderable;
 import danogl.util.Vector2;
 import src.gameobjects.*;
-import danogl.util.Counter;
-import java.util.Random;
+import src.metrics.FrameMetrics;
+import src.metrics.PhaseTimer;
+import src.physics.FixedStepClock;
+import src.physics.Geometry;
+import src.levels.EndlessLevel;
+import src.levels.LevelLoader;
+import src.levels.LevelReader;
+import src.physics.RenderInterpolator;
+import src.rendering.StaticRenderLayer;
+import src.launcher.GameLauncher;
+import src.launcher.GameOptions;
+import src.replay.RecordingInputListener;
+import src.replay.ReplayInputListener;
+import src.replay.ReplayReader;
+import src.replay.ReplayWriter;
+import src.restart.EndPrompt;
+import src.restart.WarmRestart;
+import src.savegame.RestorableRandom;
+import src.savegame.SaveGame;
+import src.savegame.QuickSaver;
+import src.spectator.GameSnapshot;
+import src.spectator.SpectatorServer;
+
+import java.awt.Graphics2D;
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 public class BrickerGameManager extends GameManager{
     // various constants to be used for objects dimensions and locations on screen
     public static final int BORDER_WIDTH = 10;
-    private static final int MAIN_WINDOW_X = 700;
-    private static final int MAIN_WINDOW_Y = 500;
+    public static final int MAIN_WINDOW_X = 700;
+    public static final int MAIN_WINDOW_Y = 500;
     private static final int STARTING_LIVES = 4;
     private static final int BUFFER_FROM_WALL = 11;
     private static final int HEART_RADIUS = 25;
@@ -41,7 +83,6 @@ public class BrickerGameManager extends GameManager{
     private static final String WIN_PROMPT = "You Won!";
     private static final String LOSE_PROMPT = "You Lost!";
     private static final String AGAIN_PROMPT = " Play again?";
-    private static final String TITLE_SCREEN = "Bricker by Omri Wolf";
     // path to assets used in the game.
     private static final String BALL_PATH = "assets/ball.png";
     private static final String PADDLE_PATH = "assets/paddle.png";
@@ -49,12 +90,118 @@ public class BrickerGameManager extends GameManager{
     private static final String BG_PATH = "assets/DARK_BG2_small.jpeg";
     private static final String BRICK_PATH = "assets/brick.png";
     private static final String HEART_PATH = "assets/heart.png";
+    // directions the ball can be sent in, by X and Y multiplier.
+    private static final int[] VELOCITY_MULTIPLIERS = {-1, 1};
+    private static final int TARGET_FRAMERATE = 80;
+    // the simulation always steps by the time of a frame at the target framerate, so at normal speed every
+    // frame is one step. at this step the ball moves about 3px, a fraction of a brick's height.
+    private static final float SIMULATION_STEP = 1f / TARGET_FRAMERATE;
+    private static final int MAX_STEPS_PER_FRAME = 8;
+    // how many bricks of a level file are built when the game starts, and after every simulation step until
+    // all of them are built.
+    private static final int LEVEL_BRICKS_PER_STEP = 2000;
+    // lines of bricks made (and removed) at a time in an endless game.
+    private static final int ENDLESS_LINES_PER_CHUNK = 4;
+    // most spawned objects an endless game has at a time, pucks would otherwise multiply as long as it goes on.
+    private static final int ENDLESS_MAX_SPAWNED_OBJECTS = 64;
+    // most pucks the swarm of a multiball game has at a time, and the speed (along each axis) of its first ones.
+    private static final int MULTIBALL_MAX_PUCKS = 20000;
+    private static final int MULTIBALL_PUCK_SPEED = 250;
+    private static final int METRICS_TOGGLE_KEY = KeyEvent.VK_F3;
+    private static final int QUICK_SAVE_KEY = KeyEvent.VK_F5;
+    private static final int METRICS_X_OFFSET = 100;
+    private static final int METRICS_LINE_WIDTH = 330;
+    private static final int METRICS_LINE_HEIGHT = 14;
+    private static final String UPDATE_PHASE = "update";
+    private static final String COLLISIONS_PHASE = "collisions";
+    private static final String STRATEGIES_PHASE = "strategies";
+    private static final String RENDER_PHASE = "render";
+    private static final float DEFAULT_TIME_SCALE = 1f;
 
     private GameObject ball;
+    private GameObject paddle;
     private final Vector2 windowDimensions;
     private WindowController windowController;
-    private Counter bricksCounter;
-    private Counter livesCounter;
+    private ObservableCounter bricksCounter;
+    private ObservableCounter livesCounter;
+    // objects spawned by strategies, which are removed once they fall off the screen.
+    private DynamicObjectsRegistry dynamicObjects;
+    // the bricks and walls, which the balls are kept from passing through.
+    private SweptCollisions sweptCollisions;
+    // the background (screen coordinates) and the bricks and hearts (world coordinates) are drawn from these
+    // cached layers, both null in headless mode, where nothing is drawn.
+    private StaticRenderLayer screenLayer;
+    private StaticRenderLayer worldLayer;
+    // every image and sound of the game, read once and kept between games as long as the readers are the same.
+    private AssetCache assets;
+    // plays the sounds of the game off the game's thread, null in headless mode, where sounds are silent.
+    private final AudioMixer audioMixer;
+    // random source of the current game, everything random in the game is drawn from it.
+    private RestorableRandom random;
+    // the seed of the current game, and whether the next games should use a fixed seed.
+    private long gameSeed;
+    private boolean seeded = false;
+    private long seed;
+    // games are recorded to replayWriter, or played back from replayReader. both are null for a live game.
+    private ReplayWriter replayWriter;
+    private ReplayReader replayReader;
+    private RecordingInputListener recordingInput;
+    private ReplayInputListener replayInput;
+    // counts the strategies that fire in the games, null if not counted.
+    private StrategyStatistics strategyStatistics;
+    // streams the games to spectators, null if they aren't streamed.
+    private SpectatorServer spectatorServer;
+    // a saved game the next game initialized is restored from (once).
+    private SaveGame pendingSave;
+    // the game is saved through quickSaver when the player presses QUICK_SAVE_KEY, if it's set.
+    private QuickSaver quickSaver;
+    private boolean quickSaveKeyDown = false;
+
+    // times the phases of every frame, null if the game isn't timed.
+    private FrameMetrics frameMetrics;
+    private PhaseTimer updateTimer;
+    private PhaseTimer collisionsTimer;
+    private PhaseTimer strategiesTimer;
+    private PhaseTimer renderTimer;
+    // layout of the bricks grid, can be changed before the game is initialized.
+    private int numOfBricksLines = NUM_OF_BRICKS_LINES;
+    private int numOfBricksPerLine = NUM_OF_BRICKS_PER_LINE;
+    // the level file the bricks are loaded from, null for the generated grid of bricks.
+    private Path levelPath;
+    // builds the bricks of the level of the current game, null once they're all built (or without a level).
+    private LevelLoader levelLoader;
+    // how fast (pixels per second) the camera of an endless game scrolls up, 0 for a regular game.
+    private float endlessScrollSpeed = 0;
+    // the camera and the bricks of the current endless game, both null for a regular game.
+    private Camera scrollingCamera;
+    private EndlessLevel endlessLevel;
+    // number of pucks a multiball game starts with, 0 for a regular game, and the pucks of the current one.
+    private int numOfMultiballPucks = 0;
+    private PuckSwarm puckSwarm;
+    // the walls of the current game, which follow the camera in an endless game.
+    private final List<GameObject> walls = new ArrayList<>();
+    // in headless mode there is no window, and the game is ticked by a driver instead of danogl's game loop.
+    private final boolean headless;
+    private final FixedStepClock clock = new FixedStepClock(SIMULATION_STEP, MAX_STEPS_PER_FRAME);
+    private final RenderInterpolator interpolator = new RenderInterpolator();
+    // set once the game was won or lost, so the rest of the frame's steps are skipped.
+    private boolean gameEnded;
+    // set once the game took a step. before it the objects it was created with are only pending in the
+    // collection, so the game can't be saved.
+    private boolean stepped;
+    // the play again prompt shown once the game ended (null in headless mode), and the player's input (never
+    // the recorded or replayed one).
+    private EndPrompt endPrompt;
+    private UserInputListener promptInput;
+    private BrickStrategyFactory strategyFactory;
+    // puts the bricks of the current game back for a new game, null if the game can't be restarted so.
+    private WarmRestart warmRestart;
+    private BrickGrid brickGrid;
+    // the camera of a headless game (GameManager's camera can't be set without a window).
+    private Camera headlessCamera;
+    // the camera following the ball on a camera change, made by the first change of a game and reused by the
+    // next ones (only one is on at a time). null until then.
+    private FollowingCamera ballCamera;
 
     /**
      * Creates a new window with the specified title and of the specicied dimensions
@@ -62,8 +209,24 @@ public class BrickerGameManager extends GameManager{
      * @param windowDimensions dimensions in pixels. can be null to indicate a full-screen window whose size in pixels is the main screen's resolution.
      */
     public BrickerGameManager(String windowTitle, Vector2 windowDimensions) {
+        this(windowTitle, windowDimensions, false);
+    }
+
+    /**
+     * Creates a new game manager, which may run without a window.
+     * @param windowTitle can be null to indicate the usage of the default window title
+     * @param windowDimensions dimensions in pixels of the game area.
+     * @param headless if true, the game never opens a window. it should not be run(), but initialized and
+     *                 updated directly by a driver (see src.headless.HeadlessGameRunner).
+     */
+    public BrickerGameManager(String windowTitle, Vector2 windowDimensions, boolean headless) {
         super(windowTitle, windowDimensions);
         this.windowDimensions = windowDimensions;
+        this.headless = headless;
+        this.audioMixer = headless ? null : new AudioMixer();
+        // a game with a window is always timed, the overlay shows the times when asked to.
+        if (!headless)
+            setFrameMetrics(new FrameMetrics());
     }
 
     /**
@@ -78,59 +241,574 @@ public class BrickerGameManager extends GameManager{
     @Override
     public void initializeGame(ImageReader imageReader, SoundReader soundReader,
                                UserInputListener inputListener, WindowController windowController) {
-        super.initializeGame(imageReader, soundReader, inputListener, windowController);
-        windowController.setTargetFramerate(80);
+        // GameManager's initialization hooks the mouse to the window, so it's skipped in headless mode.
+        if (this.headless)
+            this.headlessCamera = null;
+        else
+            super.initializeGame(imageReader, soundReader, inputListener, windowController);
+        // the assets start being read first, in the background, and are read while the rest is set up.
+        if (this.assets == null || !this.assets.usesReaders(imageReader, soundReader))
+            this.assets = createAssetCache(imageReader, soundReader, windowController);
+        preloadAssets(this.assets);
+        closeLevelLoader();
+        // a restored game has the bricks it was saved with, whatever the level is.
+        SaveGame save = this.pendingSave;
+        this.pendingSave = null;
+        LevelReader level = save == null ? openLevel() : null;
+        // bricks are kept in a grid matching their layout, so moving objects are only tested against bricks near them.
+        this.brickGrid = save == null ? createBrickGrid(level) : save.createGrid();
+        BrickGridCollection gameObjectCollection = new BrickGridCollection(this.brickGrid);
+        setGameObjectsCollection(gameObjectCollection);
+        // the spectators follow the bricks as they're added, from the first one.
+        if (this.spectatorServer != null)
+            this.spectatorServer.startGame(gameObjectCollection);
+        this.dynamicObjects = new DynamicObjectsRegistry(gameObjectCollection);
+        // spawned objects removed by other means (collected, worn out) are no longer tracked.
+        gameObjectCollection.setRemovalListener(this.dynamicObjects::unregister);
+        this.sweptCollisions = new SweptCollisions(gameObjectCollection.getGrid());
+        if (this.frameMetrics != null)
+            gameObjectCollection.setCollisionTimer(this.collisionsTimer);
+        createStaticRenderLayers(gameObjectCollection);
+        windowController.setTargetFramerate(TARGET_FRAMERATE);
+        this.clock.reset();
+        this.interpolator.clear();
+        this.gameEnded = false;
+        this.stepped = false;
+        this.endPrompt = this.headless ? null :
+                new EndPrompt(gameObjectCollection, this.windowDimensions, inputListener);
+        this.promptInput = inputListener;
+        this.quickSaveKeyDown = false;
+        this.warmRestart = null;
+        this.ballCamera = null;
+        createScrollingCamera();
+        // a replayed game takes its seed and input from the replay.
+        if (this.replayReader != null)
+            inputListener = startReplayedGame();
+        // a seeded game always has the same bricks and random events, otherwise every game gets a new seed.
+        // a level may fix the seed of its games, unless a seed was set. a restored game keeps its own.
+        if (save != null)
+            this.gameSeed = save.getSeed();
+        else if (this.seeded)
+            this.gameSeed = this.seed;
+        else if (level != null && level.isSeeded())
+            this.gameSeed = level.getSeed();
+        else
+            this.gameSeed = new SplittableRandom().nextLong();
+        this.random = new RestorableRandom(this.gameSeed);
+        if (this.replayWriter != null)
+            inputListener = startRecordedGame(inputListener);
         this.windowController = windowController;
         // will be used to count how many bricks are left
-        this.bricksCounter = new Counter();
+        this.bricksCounter = new ObservableCounter();
         // indicates how many lives user has.
-        this.livesCounter = new Counter(STARTING_LIVES);
+        this.livesCounter = new ObservableCounter(save == null ? STARTING_LIVES : save.getLives());
         // create all assets
-        createBackground(imageReader);
+        createBackground(this.assets);
         createWalls();
-        createBall(imageReader, soundReader);
-        createPaddle(imageReader, inputListener);
-        BrickStrategyFactory strategyFactory = new BrickStrategyFactory(gameObjects(), this,
-                imageReader, soundReader, inputListener, windowController, this.windowDimensions);
-        createBricks(imageReader, strategyFactory);
-        createGraphicLifeCounter(imageReader);
-        createNumericLifeCounter();
+        createBall(this.assets);
+        createPaddle(this.assets, inputListener);
+        createPuckSwarm(this.assets, gameObjectCollection, save);
+        BrickStrategyFactory strategyFactory = new BrickStrategyFactory(gameObjects(), this.dynamicObjects, this,
+                this.assets, inputListener, windowController, this.windowDimensions, this.random);
+        this.strategyFactory = strategyFactory;
+        strategyFactory.setStatistics(this.strategyStatistics);
+        if (this.frameMetrics != null)
+            strategyFactory.setStrategyTimer(this.strategiesTimer);
+        if (save != null)
+            restoreGame(save, this.assets, strategyFactory);
+        else if (this.endlessScrollSpeed > 0)
+            startEndless(this.assets, strategyFactory);
+        else if (level == null)
+            createBricks(this.assets, strategyFactory, gameObjectCollection);
+        else
+            startLevel(level, this.assets, strategyFactory);
+        createGraphicLifeCounter(this.assets);
+        // text layout needs a screen, and the numeric counter is only shown to the player anyway.
+        if (!this.headless) {
+            createNumericLifeCounter();
+            createFrameMetricsOverlay(inputListener);
+        }
+    }
+
+    /**
+     * creates the cache of the game's assets. with a window, the assets preloaded are read on a few threads at
+     * once, each with an ImageReader of its own (danogl's isn't safe to share between threads). headless
+     * readers don't touch the disk, so their assets are just read right away.
+     * @param imageReader type ImageReader, reads the images asked for before they're preloaded.
+     * @param soundReader type SoundReader, reads the sounds.
+     * @param windowController type WindowController, reports the errors of the loader's image readers.
+     * @return the new cache.
+     */
+    private AssetCache createAssetCache(ImageReader imageReader, SoundReader soundReader,
+                                        WindowController windowController) {
+        if (this.headless)
+            return new AssetCache(imageReader, soundReader, this.audioMixer);
+        return new AssetCache(imageReader, soundReader, this.audioMixer,
+                new AssetLoader(() -> new ImageReader(windowController)));
     }
 
     /**
-     * Called once per frame. checks if player has won or lost,
-     * and also removes each object that is out of the screen.
+     * declares every asset of the game up front, so they're all read at once. the game only waits for the ones
+     * the first frame shows, when creating the objects showing them: the strategies' assets are used deferred.
+     * @param assets type AssetCache, starts reading the assets.
+     */
+    private static void preloadAssets(AssetCache assets) {
+        assets.preloadImage(BG_PATH, false);
+        assets.preloadImage(BALL_PATH, true);
+        assets.preloadImage(PADDLE_PATH, true);
+        assets.preloadImage(BRICK_PATH, false);
+        assets.preloadImage(HEART_PATH, true);
+        assets.preloadSound(COLLISION_SOUND);
+        BrickStrategyFactory.preloadAssets(assets);
+    }
+
+    /**
+     * Called once per frame. simulates the time of the frame in fixed steps (as many as fit in it, maybe none),
+     * after each step checks if player has won or lost, and also removes each object that is out of the screen.
      * @param deltaTime The time, in seconds, that passed since the last invocation of this method
      */
     @Override
     public void update(float deltaTime) {
-        super.update(deltaTime);
-        checkWinLoseCondition();
-        removeOutOfScreen();
+        // a frame is the update and the rendering after it, so this is where the previous one ends.
+        if (this.frameMetrics != null) {
+            this.frameMetrics.endFrame();
+            this.updateTimer.begin();
+        }
+        // while the player is asked to play again the game stands still: no steps, and nothing is recorded or
+        // replayed, like behind a dialog.
+        if (this.endPrompt != null && this.endPrompt.isShown()) {
+            answerEndPrompt();
+            if (this.frameMetrics != null)
+                this.updateTimer.end();
+            return;
+        }
+        if (this.quickSaver != null)
+            checkQuickSave();
+        // a replayed frame runs with the recorded delta time, whatever the real time of the frame is.
+        if (this.replayInput != null) {
+            if (!this.replayInput.nextFrame()) {
+                this.windowController.closeWindow();
+                if (this.frameMetrics != null)
+                    this.updateTimer.end();
+                return;
+            }
+            deltaTime = this.replayInput.getDeltaTime();
+        }
+        else if (this.recordingInput != null)
+            this.recordingInput.recordFrame(deltaTime);
+        int steps = this.clock.advance(deltaTime);
+        for (int i = 0; i < steps && !this.gameEnded; i++) {
+            // nothing is rendered in headless mode, so there's nothing to interpolate.
+            if (!this.headless)
+                rememberMovingObjects();
+            super.update(SIMULATION_STEP);
+            this.stepped = true;
+            if (this.levelLoader != null)
+                buildLevelBricks();
+            // GameManager only updates the camera it holds, so update the headless one here.
+            if (this.headlessCamera != null)
+                this.headlessCamera.update(SIMULATION_STEP);
+            if (this.endlessLevel != null)
+                scrollEndless();
+            checkWinLoseCondition();
+            removeOutOfScreen();
+        }
+        // a frame with no steps changed nothing the spectators see.
+        if (this.spectatorServer != null && steps > 0)
+            publishSnapshot();
+        if (this.frameMetrics != null)
+            this.updateTimer.end();
+    }
+
+    /**
+     * publishes the state of the game at the end of the frame to the spectators: the lives, the area the camera
+     * shows, and the ball, paddle and spawned objects. the frame is skipped if the server is behind.
+     */
+    private void publishSnapshot() {
+        GameSnapshot snapshot = this.spectatorServer.acquireSnapshot();
+        if (snapshot == null)
+            return;
+        Camera camera = getCamera();
+        if (camera == null)
+            snapshot.begin(this.livesCounter.value(), Vector2.ZERO, this.windowDimensions);
+        else
+            snapshot.begin(this.livesCounter.value(), camera.getTopLeftCorner(), camera.getDimensions());
+        snapshot.addObject(GameSnapshot.BALL, this.ball);
+        snapshot.addObject(GameSnapshot.PADDLE, this.paddle);
+        for (int i = 0; i < this.dynamicObjects.size(); i++) {
+            GameObject spawned = this.dynamicObjects.get(i);
+            byte kind = spawned instanceof Puck ? GameSnapshot.PUCK :
+                    spawned instanceof MockPaddle ? GameSnapshot.PADDLE : GameSnapshot.OTHER;
+            snapshot.addObject(kind, spawned);
+        }
+        if (this.puckSwarm != null)
+            snapshot.addSwarm(this.puckSwarm);
+        this.spectatorServer.publish(snapshot);
+    }
+
+    /**
+     * Renders the game, with moving objects drawn between their positions of the last two steps, as far as the
+     * frame is between them.
+     * @param g the graphics context to render on.
+     */
+    @Override
+    public void render(Graphics2D g) {
+        if (this.frameMetrics != null)
+            this.renderTimer.begin();
+        this.interpolator.apply(this.clock.getAlpha());
+        if (this.puckSwarm != null)
+            this.puckSwarm.setRenderAlpha(this.clock.getAlpha());
+        super.render(g);
+        this.interpolator.restore();
+        if (this.frameMetrics != null)
+            this.renderTimer.end();
+    }
+
+    /**
+     * returns the camera of the game, null if the camera is at default.
+     * @return the current camera.
+     */
+    @Override
+    public Camera getCamera() {
+        if (this.headless)
+            return this.headlessCamera;
+        return super.getCamera();
+    }
+
+    /**
+     * sets the camera of the game, null resets the camera to default.
+     * @param camera the new camera.
+     */
+    @Override
+    public void setCamera(Camera camera) {
+        if (this.headless)
+            this.headlessCamera = camera;
+        else
+            super.setCamera(camera);
+    }
+
+    /**
+     * @return the camera following the ball on a camera change, with its countdown. null if there was no
+     * camera change in this game yet.
+     */
+    public FollowingCamera getBallCamera() {
+        return this.ballCamera;
+    }
+
+    /**
+     * keeps the camera following the ball on a camera change, for the next changes of this game to reuse.
+     * @param ballCamera the camera, with its countdown.
+     */
+    public void setBallCamera(FollowingCamera ballCamera) {
+        this.ballCamera = ballCamera;
+    }
+
+    /**
+     * times the phases of every frame (update, collisions, strategies and rendering) in the given metrics.
+     * should be called before initializeGame. games with a window are timed by default.
+     * @param frameMetrics the metrics to register the phases in, null to stop timing.
+     */
+    public void setFrameMetrics(FrameMetrics frameMetrics) {
+        this.frameMetrics = frameMetrics;
+        if (frameMetrics != null) {
+            this.updateTimer = frameMetrics.register(UPDATE_PHASE);
+            this.collisionsTimer = frameMetrics.register(COLLISIONS_PHASE);
+            this.strategiesTimer = frameMetrics.register(STRATEGIES_PHASE);
+            this.renderTimer = frameMetrics.register(RENDER_PHASE);
+        }
+    }
+
+    /**
+     * @return the metrics the frames are timed in, null if they aren't timed.
+     */
+    public FrameMetrics getFrameMetrics() {
+        return this.frameMetrics;
+    }
+
+    /**
+     * stops the thread playing the sounds of the game and closes their clips, once the window is closed.
+     */
+    public void closeAudio() {
+        if (this.audioMixer != null)
+            this.audioMixer.close();
+    }
+
+    /**
+     * sets how many lines of bricks are created, and how many bricks in each line. should be called before
+     * initializeGame, the default is NUM_OF_BRICKS_LINES lines of NUM_OF_BRICKS_PER_LINE bricks.
+     * @param numOfLines number of lines of bricks.
+     * @param bricksPerLine number of bricks in each line.
+     */
+    public void setBrickGrid(int numOfLines, int bricksPerLine) {
+        this.numOfBricksLines = numOfLines;
+        this.numOfBricksPerLine = bricksPerLine;
+    }
+
+    /**
+     * makes every game initialized from now on load its bricks from a level file (see src.levels.LevelWriter)
+     * instead of generating a grid of them. the file is read again for every game, while it's played.
+     * @param levelPath the level file, or null to go back to generated bricks.
+     */
+    public void setLevel(Path levelPath) {
+        this.levelPath = levelPath;
+    }
+
+    /**
+     * makes every game initialized from now on endless: the camera keeps scrolling up, with the paddle and the
+     * walls, and lines of bricks are made ahead of it and removed once it left them behind (see
+     * src.levels.EndlessLevel). the game is over only when the lives run out. strategies that change the camera
+     * or add a paddle aren't chosen in an endless game, and a level file set is ignored.
+     * @param scrollSpeed how fast the camera scrolls up, in pixels per second. 0 goes back to regular games.
+     */
+    public void setEndless(float scrollSpeed) {
+        this.endlessScrollSpeed = scrollSpeed;
+    }
+
+    /**
+     * makes every game initialized from now on a multiball game: it starts with the given number of pucks
+     * flying about the lower half of the screen, and the pucks bricks spawn join them. the pucks are kept in a
+     * single PuckSwarm rather than being objects of their own, so there can be thousands of them.
+     * @param numOfPucks number of pucks to start with. 0 goes back to regular games.
+     */
+    public void setMultiball(int numOfPucks) {
+        this.numOfMultiballPucks = numOfPucks;
+    }
+
+    /**
+     * @return the pucks of the current multiball game, null for a regular game.
+     */
+    public PuckSwarm getPuckSwarm() {
+        return this.puckSwarm;
+    }
+
+    /**
+     * @return the bricks of the current endless game, null for a regular game.
+     */
+    public EndlessLevel getEndlessLevel() {
+        return this.endlessLevel;
+    }
+
+    /**
+     * makes every game initialized from now on use the given seed, so it plays out the same as long as the
+     * input is the same.
+     * @param seed the seed of the random source of the games.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+        this.seeded = true;
+    }
+
+    /**
+     * records every game initialized from now on (its seed, and the input and delta time of every frame).
+     * @param replayWriter the replay to record to, or null to stop recording. closing it is up to the caller.
+     */
+    public void recordReplay(ReplayWriter replayWriter) {
+        this.replayWriter = replayWriter;
+        this.recordingInput = null;
+    }
+
+    /**
+     * plays back the games of a replay instead of live games. each game initialized from now on is the next
+     * game in the replay, and the window is closed when the recorded game ends.
+     * @param replayReader the replay to play, or null to go back to live games. closing it is up to the caller.
+     */
+    public void playReplay(ReplayReader replayReader) {
+        this.replayReader = replayReader;
+        this.replayInput = null;
+    }
+
+    /**
+     * counts the strategies that fire in every game initialized from now on.
+     * @param strategyStatistics the statistics to fill, or null to stop counting.
+     */
+    public void setStrategyStatistics(StrategyStatistics strategyStatistics) {
+        this.strategyStatistics = strategyStatistics;
+    }
+
+    /**
+     * streams every game initialized from now on to the spectators of the given server (see
+     * src.spectator.SpectatorViewer). publishing a frame never waits for the server or the spectators.
+     * @param spectatorServer the server, or null to stop streaming. starting and closing it is up to the caller.
+     */
+    public void setSpectatorServer(SpectatorServer spectatorServer) {
+        this.spectatorServer = spectatorServer;
+    }
+
+    /**
+     * saves the current game, between two frames, so it can be restored exactly (see loadGame). the save is
+     * filled in place, so saving again and again to the same one allocates little once it grew to the game.
+     * an endless game, one whose level is still being built, or one that didn't take a step since it was
+     * initialized (or restarted) can't be saved.
+     * @param save the save to fill.
+     * @throws IllegalStateException if the game can't be saved.
+     */
+    public void saveGame(SaveGame save) {
+        if (this.strategyFactory == null || this.endlessLevel != null)
+            throw new IllegalStateException("an endless game can't be saved");
+        if (this.levelLoader != null)
+            throw new IllegalStateException("the bricks of the level are still being built");
+        if (!this.stepped)
+            throw new IllegalStateException("the game didn't take a step yet");
+        String[] strategyNames = new String[this.strategyFactory.getRegistry().size()];
+        for (int i = 0; i < strategyNames.length; i++) {
+            strategyNames[i] = this.strategyFactory.getRegistry().getName(i);
+        }
+        save.begin(this.windowDimensions, this.gameSeed, strategyNames);
+        save.setRandom(this.random, (RestorableRandom) this.strategyFactory.getLayoutRandom());
+        save.setProgress(this.livesCounter.value(), this.bricksCounter.value(),
+                (float) this.windowController.getTimeScale(), this.clock.getAccumulatedTime());
+        save.setGrid(this.brickGrid);
+        save.setBall((Ball) this.ball);
+        save.setPaddle((Paddle) this.paddle);
+        if (getCamera() instanceof FollowingCamera)
+            save.setCameraCountdown(((FollowingCamera) getCamera()).getCountdownAgent().getCollisionsLeft());
+        for (GameObject gameObject : gameObjects().objectsInLayer(Layer.STATIC_OBJECTS)) {
+            if (!(gameObject instanceof Brick))
+                continue;
+            // a brick hit in the last step is only removed from the collection in the next one.
+            Brick brick = (Brick) gameObject;
+            if (brick.isHit())
+                continue;
+            int[] chain = this.strategyFactory.getChain(brick.getCollisionStrategy());
+            if (chain == null)
+                throw new IllegalStateException("a brick has a strategy the game didn't make");
+            save.addBrick(brick, chain);
+        }
+        // the spawned objects are saved in the order of the collection, which is the order their collisions are
+        // handled in. the ones spawned in the last step aren't in it yet, they're saved after the rest.
+        Set<GameObject> objectsInGame = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (GameObject gameObject : gameObjects().objectsInLayer(Layer.DEFAULT)) {
+            if (this.dynamicObjects.isRegistered(gameObject)) {
+                save.addObject(gameObject);
+                objectsInGame.add(gameObject);
+            }
+        }
+        save.markObjectsInGame();
+        for (int i = 0; i < this.dynamicObjects.size(); i++) {
+            if (!objectsInGame.contains(this.dynamicObjects.get(i)))
+                save.addObject(this.dynamicObjects.get(i));
+        }
+        if (this.puckSwarm != null)
+            save.setSwarm(this.puckSwarm);
+    }
+
+    /**
+     * restores a saved game as the next game initialized, instead of a new one: the window has to reset the game
+     * (or HeadlessGameRunner.newGame run it) after. the games after it are new again.
+     * @param save the saved game, which shouldn't change until the game is initialized.
+     * @throws IllegalArgumentException if the game was saved in a window of other dimensions.
+     * @throws IllegalStateException if games are endless, recorded or replayed, which can't be restored.
+     */
+    public void loadGame(SaveGame save) {
+        if (this.endlessScrollSpeed > 0)
+            throw new IllegalStateException("an endless game can't be restored");
+        if (this.replayWriter != null || this.replayReader != null)
+            throw new IllegalStateException("a recorded or replayed game can't be restored");
+        Vector2 savedDimensions = save.getWindowDimensions();
+        if (savedDimensions.x() != this.windowDimensions.x() || savedDimensions.y() != this.windowDimensions.y())
+            throw new IllegalArgumentException("the game was saved in a window of " + savedDimensions);
+        this.pendingSave = save;
+    }
+
+    /**
+     * saves the game whenever the player presses QUICK_SAVE_KEY.
+     * @param quickSaver writes the saves to a file without stalling the game, or null to stop saving.
+     */
+    public void setQuickSave(QuickSaver quickSaver) {
+        this.quickSaver = quickSaver;
+    }
+
+    /**
+     * @return the seed of the current game, whether it was set or chosen at random.
+     */
+    public long getSeed() {
+        return this.gameSeed;
+    }
+
+    /**
+     * @return the random source of the current game.
+     */
+    public RandomGenerator.SplittableGenerator getRandom() {
+        return this.random;
+    }
+
+    /**
+     * @return the obstacles (bricks and walls) the balls of the game are kept from passing through.
+     */
+    public SweptCollisions getSweptCollisions() {
+        return this.sweptCollisions;
+    }
+
+    /**
+     * @return registry of the objects spawned during the game, which are removed once they leave the screen.
+     */
+    public DynamicObjectsRegistry getDynamicObjects() {
+        return this.dynamicObjects;
+    }
+
+    /**
+     * @return cache of the images and sounds of the game.
+     */
+    public AssetCache getAssets() {
+        return this.assets;
+    }
+
+    /**
+     * @return the ball of the current game.
+     */
+    public GameObject getBall() {
+        return this.ball;
+    }
+
+    /**
+     * @return the paddle of the current game.
+     */
+    public GameObject getPaddle() {
+        return this.paddle;
+    }
+
+    /**
+     * @return how many lives the player has left.
+     */
+    public int getLivesLeft() {
+        return this.livesCounter.value();
+    }
+
+    /**
+     * @return how many bricks are left in the game.
+     */
+    public int getBricksLeft() {
+        return this.bricksCounter.value();
     }
 
     /**
      * Method checks for win/lose condition (0 lives or all bricks destroyed). if the game ended,
-     * displays play again question to the user, and then closes the game or resets the game.
+     * displays play again question to the user, and then closes the game or restarts it. a game with a window
+     * asks in the game itself, so the game loop keeps running until the player answers. a headless game asks
+     * its controller, which answers right away.
      */
     private void checkWinLoseCondition() {
         String prompt = "";
         // check if ball went below the paddle.
-        float ballHeight = this.ball.getCenter().y();
-        if (ballHeight > this.windowDimensions.y()) {
+        float ballHeight = Geometry.centerY(this.ball);
+        if (ballHeight > viewTop() + this.windowDimensions.y()) {
             // if lives are left, decrement lives and reset ball. else, generate lose prompt to user.
             this.livesCounter.decrement();
             repositionBall(this.ball);
             if (this.livesCounter.value() == 0)
                 prompt = LOSE_PROMPT;
         }
-        // check if no bricks are left, generate win prompt to user.
-        if (this.bricksCounter.value() == 0)
+        // check if no bricks are left, generate win prompt to user. an endless game can't be won.
+        if (this.bricksCounter.value() == 0 && this.endlessLevel == null)
             prompt = WIN_PROMPT;
         // if prompt was generated, open play again dialog for user.
         if (!prompt.isEmpty()) {
+            this.gameEnded = true;
+            flushReplay();
             prompt += AGAIN_PROMPT;
-            if (this.windowController.openYesNoDialog(prompt))
+            if (!this.headless)
+                this.endPrompt.show(prompt);
+            else if (this.windowController.openYesNoDialog(prompt))
                 this.windowController.resetGame();
             else
                 this.windowController.closeWindow();
@@ -138,37 +816,185 @@ public class BrickerGameManager extends GameManager{
     }
 
     /**
-     * Method goes over all objects and removes each object that went below the screen (like pucks or Status Definers).
+     * checks whether the player answered the play again prompt, and restarts or closes the game if so.
      */
-    private void removeOutOfScreen() {
-        for (GameObject object : gameObjects()) {
-            float verticalLocation = object.getCenter().y();
-            if (verticalLocation > this.windowDimensions.y()) {
-                gameObjects().removeGameObject(object);
-            }
+    private void answerEndPrompt() {
+        if (this.endPrompt.isPlayAgainPressed())
+            restartGame();
+        else if (this.endPrompt.isQuitPressed())
+            this.windowController.closeWindow();
+    }
+
+    /**
+     * starts a new game without initializing one again (a warm restart): the assets, walls, paddle, strategies
+     * and pools of spawned objects stay, and only the bricks, the lives and the ball are made anew. the bricks
+     * keep their places and get new strategies, the ones hit are put back in the game.
+     * a game whose start is fixed by more than the generated bricks (a level, an endless or multiball game, a
+     * seeded, recorded, replayed or restored one) has no WarmRestart, and is reset by the window instead, which
+     * initializes it again.
+     */
+    public void restartGame() {
+        if (this.warmRestart == null) {
+            this.windowController.resetGame();
+            return;
         }
+        if (this.endPrompt != null)
+            this.endPrompt.hide();
+        this.warmRestart.restart();
+        setCamera(null);
+        this.windowController.setTimeScale(DEFAULT_TIME_SCALE);
+        gameObjects().removeGameObject(this.ball);
+        createBall(this.assets);
+        this.paddle.transform().setCenter(this.windowDimensions.x() / 2,
+                this.windowDimensions.y() - PADDLE_Y_OFFSET);
+        this.clock.reset();
+        this.interpolator.clear();
+        this.gameEnded = false;
+        this.stepped = false;
     }
 
     /**
-     * method creates all the bricks in the game.
-     * @param imageReader type Image Reader, to scan image files.
+     * saves the game once the quick save key is pressed (not again while it's held). the save is taken on the
+     * game's thread, and written to the file on the saver's.
+     */
+    private void checkQuickSave() {
+        boolean keyDown = this.promptInput.isKeyPressed(QUICK_SAVE_KEY);
+        if (keyDown && !this.quickSaveKeyDown && this.endlessLevel == null && this.levelLoader == null &&
+                this.stepped) {
+            saveGame(this.quickSaver.getSave());
+            this.quickSaver.save();
+        }
+        this.quickSaveKeyDown = keyDown;
+    }
+
+    /**
+     * moves the replay to its next game, and seeds the game like the recorded one.
+     * @return the input of the recorded game.
+     */
+    private UserInputListener startReplayedGame() {
+        try {
+            // if the replay has no more games, the game has no frames to play and closes right away.
+            if (this.replayReader.nextGame())
+                setSeed(this.replayReader.getSeed());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.replayInput = new ReplayInputListener(this.replayReader);
+        return this.replayInput;
+    }
+
+    /**
+     * starts recording the game, after its seed was chosen.
+     * @param inputListener the live input of the game.
+     * @return input to give the game objects, which is recorded as they read it.
+     */
+    private UserInputListener startRecordedGame(UserInputListener inputListener) {
+        try {
+            this.replayWriter.startGame(this.gameSeed);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.recordingInput = new RecordingInputListener(inputListener, this.replayWriter);
+        return this.recordingInput;
+    }
+
+    private void flushReplay() {
+        if (this.replayWriter == null)
+            return;
+        try {
+            this.replayWriter.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * remembers the positions of the objects that move, before a step, to draw them between steps.
+     */
+    private void rememberMovingObjects() {
+        this.interpolator.clear();
+        this.interpolator.remember(this.ball);
+        this.interpolator.remember(this.paddle);
+        this.interpolator.remember(getCamera());
+        for (int i = 0; i < this.dynamicObjects.size(); i++) {
+            this.interpolator.remember(this.dynamicObjects.get(i));
+        }
+    }
+
+    /**
+     * Method goes over the objects spawned by strategies and removes each object that went below the screen
+     * (like pucks or Status Definers). the rest of the objects can't leave the screen, so they aren't checked.
+     */
+    private void removeOutOfScreen() {
+        this.dynamicObjects.removeBelow(viewTop() + this.windowDimensions.y());
+        if (this.puckSwarm != null)
+            this.puckSwarm.removeBelow(viewTop() + this.windowDimensions.y());
+    }
+
+    /**
+     * @return Y of the top of the screen in world coordinates, which only changes in an endless game.
+     */
+    private float viewTop() {
+        return this.scrollingCamera == null ? 0 : this.scrollingCamera.getTopLeftCorner().y();
+    }
+
+    /**
+     * calculates the length of a single brick, by taking window length minus buffers and divide by num of bricks.
+     * @return the length of a brick.
+     */
+    private float calculateBrickLength() {
+        return (this.windowDimensions.x() -
+                (this.numOfBricksPerLine * SPACE_BETWEEN_BRICKS + 2 * BUFFER_FROM_WALL)) / this.numOfBricksPerLine;
+    }
+
+    /**
+     * creates an empty grid with a cell for every brick slot (a brick and the space after it), or the grid a
+     * level asks for.
+     * @param level the level of the game, null for generated bricks.
+     * @return the grid to index the bricks with.
+     */
+    private BrickGrid createBrickGrid(LevelReader level) {
+        // an endless game has its bricks in a window of lines that moves up, the rows of the grid wrap around it.
+        if (this.endlessScrollSpeed > 0)
+            return new BrickGrid(new Vector2(BUFFER_FROM_WALL, FIRST_BRICK_LINE_Y_OFFSET),
+                    new Vector2(calculateBrickLength() + SPACE_BETWEEN_BRICKS, SPACE_BETWEEN_LINES),
+                    this.numOfBricksPerLine, endlessGridRows(), true);
+        if (level != null)
+            return new BrickGrid(level.getGridOrigin(), level.getCellDimensions(), level.getNumOfColumns(),
+                    level.getNumOfRows());
+        return new BrickGrid(new Vector2(BUFFER_FROM_WALL, FIRST_BRICK_LINE_Y_OFFSET),
+                new Vector2(calculateBrickLength() + SPACE_BETWEEN_BRICKS, SPACE_BETWEEN_LINES),
+                this.numOfBricksPerLine, this.numOfBricksLines);
+    }
+
+    /**
+     * method creates all the bricks in the game. the bricks can be put back for a warm restart, unless the
+     * game's start is fixed by more than them (a seeded or recorded game, or a multiball one).
+     * @param assets type AssetCache, holds the image of the bricks.
      * @param strategyFactory to create collision strategies for all bricks.
+     * @param gameObjectCollection the game's objects, the bricks are put back in them on a warm restart.
      */
-    private void createBricks(ImageReader imageReader, BrickStrategyFactory strategyFactory) {
-        // calculate single brick length by taking window length minus buffers and divide by num of bricks.
-        float brickLength = (this.windowDimensions.x() -
-                (NUM_OF_BRICKS_PER_LINE * SPACE_BETWEEN_BRICKS + 2 * BUFFER_FROM_WALL)) / NUM_OF_BRICKS_PER_LINE;
-        Renderable brickImage = imageReader.readImage(BRICK_PATH, false);
+    private void createBricks(AssetCache assets, BrickStrategyFactory strategyFactory,
+                              BrickGridCollection gameObjectCollection) {
+        if (!this.seeded && this.replayWriter == null && this.puckSwarm == null)
+            this.warmRestart = new WarmRestart(gameObjectCollection, this.dynamicObjects, strategyFactory,
+                    this.bricksCounter, this.livesCounter, STARTING_LIVES);
+        float brickLength = calculateBrickLength();
+        Renderable brickImage = assets.getImage(BRICK_PATH, false);
         // generate lines of bricks.
-        for (int i = 0; i < NUM_OF_BRICKS_LINES; i ++) {
+        for (int i = 0; i < this.numOfBricksLines; i ++) {
             float locate = BUFFER_FROM_WALL;
-            for (int j = 0; j < NUM_OF_BRICKS_PER_LINE; j++) {
+            for (int j = 0; j < this.numOfBricksPerLine; j++) {
                 CollisionStrategy collisionStrategy = strategyFactory.getStrategy();
-                GameObject brick = new Brick(Vector2.ZERO, new Vector2(brickLength, BRICK_HEIGHT),
+                Brick brick = new Brick(Vector2.ZERO, new Vector2(brickLength, BRICK_HEIGHT),
                         brickImage, collisionStrategy, this.bricksCounter);
                 brick.setTopLeftCorner(new Vector2(locate,
                         FIRST_BRICK_LINE_Y_OFFSET + i * SPACE_BETWEEN_LINES));
                 gameObjects().addGameObject(brick, Layer.STATIC_OBJECTS);
+                if (this.worldLayer != null)
+                    this.worldLayer.add(brick);
+                if (this.warmRestart != null)
+                    this.warmRestart.addBrick(brick);
                 // count how many bricks were made, to be used for win condition.
                 this.bricksCounter.increment();
                 locate += SPACE_BETWEEN_BRICKS + brickLength;
@@ -176,38 +1002,285 @@ public class BrickerGameManager extends GameManager{
         }
     }
 
+    /**
+     * restores the bricks, the spawned objects, the ball, the paddle and the rest of a saved game, after the
+     * game was set up like a new one.
+     * @param save the saved game.
+     * @param assets type AssetCache, holds the image of the bricks.
+     * @param strategyFactory to create the collision strategies the bricks were saved with.
+     */
+    private void restoreGame(SaveGame save, AssetCache assets, BrickStrategyFactory strategyFactory) {
+        // the chains are saved by the names of their strategies, which may be registered in another order.
+        String[] strategyNames = save.getStrategyNames();
+        int[] registryIndices = new int[strategyNames.length];
+        for (int i = 0; i < strategyNames.length; i++) {
+            registryIndices[i] = strategyFactory.getRegistry().indexOf(strategyNames[i]);
+            if (registryIndices[i] < 0)
+                throw new IllegalArgumentException("the game was saved with an unknown strategy: " +
+                        strategyNames[i]);
+        }
+        Renderable brickImage = assets.getImage(BRICK_PATH, false);
+        int[] chain = new int[SaveGame.MAX_CHAIN_LENGTH];
+        for (int i = 0; i < save.getNumOfBricks(); i++) {
+            int length = save.getChain(i, chain);
+            for (int j = 0; j < length; j++) {
+                chain[j] = registryIndices[chain[j]];
+            }
+            Brick brick = new Brick(save.getBrickTopLeftCorner(i), save.getBrickDimensions(i), brickImage,
+                    strategyFactory.getStrategy(chain, length), this.bricksCounter);
+            gameObjects().addGameObject(brick, Layer.STATIC_OBJECTS);
+            if (this.worldLayer != null)
+                this.worldLayer.add(brick);
+        }
+        this.bricksCounter.increaseBy(save.getBricksLeft());
+        // the objects of a new game join the collection in its first step, after it updated them. the saved ones
+        // were already in the game, so they join now and move in the first step, except for the ones spawned in
+        // the last step before the game was saved.
+        for (int i = 0; i < save.getNumOfObjectsInGame(); i++) {
+            restoreSpawnedObject(save, i, strategyFactory);
+        }
+        gameObjects().update(0);
+        for (int i = save.getNumOfObjectsInGame(); i < save.getNumOfObjects(); i++) {
+            restoreSpawnedObject(save, i, strategyFactory);
+        }
+        save.restoreBall((Ball) this.ball);
+        save.restorePaddle((Paddle) this.paddle);
+        if (save.getCameraCountdown() != SaveGame.NO_CAMERA_CHANGE)
+            strategyFactory.restoreCameraChange((Ball) this.ball, save.getCameraCountdown());
+        this.windowController.setTimeScale(save.getTimeScale());
+        this.clock.setAccumulatedTime(save.getAccumulatedTime());
+        // restored last, since the ball and the swarm were made drawing from them like a new game's.
+        save.restoreRandom(this.random, (RestorableRandom) strategyFactory.getLayoutRandom());
+    }
+
+    /**
+     * adds a saved object spawned by a strategy to the restored game.
+     * @param save the saved game.
+     * @param index index of the spawned object in the save.
+     * @param strategyFactory spawns the object like its strategy would.
+     */
+    private static void restoreSpawnedObject(SaveGame save, int index, BrickStrategyFactory strategyFactory) {
+        GameObject spawned;
+        switch (save.getObjectKind(index)) {
+            case SaveGame.PUCK:
+                spawned = strategyFactory.restorePuck();
+                break;
+            case SaveGame.MOCK_PADDLE:
+                spawned = strategyFactory.restoreMockPaddle(save.getObjectTopLeftCorner(index),
+                        save.getCollisionsLeft(index));
+                break;
+            default:
+                spawned = strategyFactory.restoreStatusDefiner(save.getTimeMultiplier(index));
+                break;
+        }
+        save.restoreObject(index, spawned);
+    }
+
+    /**
+     * @return number of lines of bricks an endless game can have at a time: the screen, the screen ahead of it,
+     * and a chunk more on each side, which are about to be made or removed.
+     */
+    private int endlessGridRows() {
+        return (int) Math.ceil(2 * this.windowDimensions.y() / SPACE_BETWEEN_LINES) + 2 * ENDLESS_LINES_PER_CHUNK;
+    }
+
+    /**
+     * creates the camera of an endless game, which scrolls up from the regular view.
+     */
+    private void createScrollingCamera() {
+        if (this.endlessScrollSpeed <= 0) {
+            this.scrollingCamera = null;
+            this.endlessLevel = null;
+            return;
+        }
+        this.scrollingCamera = new Camera(Vector2.ZERO, this.windowDimensions, this.windowDimensions);
+        this.scrollingCamera.setVelocity(new Vector2(0, -this.endlessScrollSpeed));
+        setCamera(this.scrollingCamera);
+    }
+
+    /**
+     * starts an endless game: its first lines of bricks are where a regular game's are, and it goes on above
+     * them.
+     * @param assets type AssetCache, holds the image of the bricks.
+     * @param strategyFactory to create collision strategies for all bricks.
+     */
+    private void startEndless(AssetCache assets, BrickStrategyFactory strategyFactory) {
+        strategyFactory.getRegistry().setWeight(BrickStrategyFactory.CHANGE_CAMERA, 0);
+        strategyFactory.getRegistry().setWeight(BrickStrategyFactory.ADD_PADDLE, 0);
+        this.dynamicObjects.setCapacity(ENDLESS_MAX_SPAWNED_OBJECTS);
+        float brickLength = calculateBrickLength();
+        this.endlessLevel = new EndlessLevel(strategyFactory, gameObjects(), assets.getImage(BRICK_PATH, false),
+                this.bricksCounter, new Vector2(BUFFER_FROM_WALL,
+                        FIRST_BRICK_LINE_Y_OFFSET + (this.numOfBricksLines - 1) * SPACE_BETWEEN_LINES),
+                new Vector2(brickLength, BRICK_HEIGHT),
+                new Vector2(brickLength + SPACE_BETWEEN_BRICKS, SPACE_BETWEEN_LINES), this.numOfBricksPerLine,
+                ENDLESS_LINES_PER_CHUNK);
+        this.endlessLevel.update(viewTop(), viewTop() + this.windowDimensions.y());
+    }
+
+    /**
+     * after the camera of an endless game moved, moves the paddle and the walls with it, and makes and removes
+     * bricks to match the new view.
+     */
+    private void scrollEndless() {
+        float top = viewTop();
+        this.paddle.transform().setCenterY(top + this.windowDimensions.y() - PADDLE_Y_OFFSET);
+        for (int i = 0; i < this.walls.size(); i++) {
+            this.walls.get(i).transform().setTopLeftCornerY(top);
+        }
+        this.endlessLevel.update(top, top + this.windowDimensions.y());
+    }
+
+    /**
+     * creates the swarm of pucks of a multiball game, and launches its first pucks in random diagonal
+     * directions from random places in the lower half of the screen. a regular game has no swarm.
+     * a restored game has a swarm if the saved one had, with the saved pucks.
+     * @param assets type AssetCache, holds the image and sound of the pucks.
+     * @param gameObjectCollection the game's objects, with the grid of the bricks.
+     * @param save the saved game the game is restored from, null for a new game.
+     */
+    private void createPuckSwarm(AssetCache assets, BrickGridCollection gameObjectCollection, SaveGame save) {
+        if (save == null ? this.numOfMultiballPucks <= 0 : !save.hasSwarm()) {
+            this.puckSwarm = null;
+            return;
+        }
+        this.puckSwarm = PuckStrategy.createSwarm(assets, this.windowDimensions, gameObjectCollection,
+                MULTIBALL_MAX_PUCKS);
+        // the swarm handles the collisions of its pucks itself, so it's in a layer nothing collides in.
+        gameObjects().addGameObject(this.puckSwarm, Layer.FOREGROUND);
+        if (save != null) {
+            save.restoreSwarm(this.puckSwarm);
+            return;
+        }
+        float size = calculateBrickLength() / 3;
+        float width = this.windowDimensions.x() - 2 * (BORDER_WIDTH + size);
+        float height = this.windowDimensions.y() / 2 - PADDLE_Y_OFFSET - size;
+        for (int i = 0; i < this.numOfMultiballPucks; i++) {
+            float x = BORDER_WIDTH + size + this.random.nextFloat() * width;
+            float y = this.windowDimensions.y() / 2 + this.random.nextFloat() * height;
+            float velocityX = MULTIBALL_PUCK_SPEED * VELOCITY_MULTIPLIERS[this.random.nextInt(2)];
+            float velocityY = MULTIBALL_PUCK_SPEED * VELOCITY_MULTIPLIERS[this.random.nextInt(2)];
+            this.puckSwarm.spawn(x, viewTop() + y, velocityX, velocityY, size);
+        }
+    }
+
+    /**
+     * @return the level file of the game with its header read, or null if the game has no level.
+     */
+    private LevelReader openLevel() {
+        if (this.levelPath == null || this.endlessScrollSpeed > 0)
+            return null;
+        try {
+            return new LevelReader(this.levelPath);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * starts building the bricks of a level, the first batch right away and the rest after the next steps.
+     * @param level the level file, its header already read.
+     * @param assets type AssetCache, holds the image of the bricks.
+     * @param strategyFactory to create collision strategies for all bricks.
+     */
+    private void startLevel(LevelReader level, AssetCache assets, BrickStrategyFactory strategyFactory) {
+        try {
+            this.levelLoader = new LevelLoader(level, strategyFactory, gameObjects(),
+                    assets.getImage(BRICK_PATH, false), this.bricksCounter, this.worldLayer);
+        } catch (IOException e) {
+            try {
+                level.close();
+            } catch (IOException closeException) {
+                e.addSuppressed(closeException);
+            }
+            throw new UncheckedIOException(e);
+        }
+        buildLevelBricks();
+    }
+
+    /**
+     * builds the next batch of bricks of the level, and closes the level file once they're all built.
+     */
+    private void buildLevelBricks() {
+        try {
+            if (this.levelLoader.buildBricks(LEVEL_BRICKS_PER_STEP))
+                closeLevelLoader();
+        } catch (IOException e) {
+            closeLevelLoader();
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void closeLevelLoader() {
+        if (this.levelLoader == null)
+            return;
+        try {
+            this.levelLoader.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            this.levelLoader = null;
+        }
+    }
+
     /**
      * create invisible walls around the game to stop objects from exiting (except for the floor).
      */
     private void createWalls() {
+        this.walls.clear();
         // create right wall
-        gameObjects().addGameObject(
-                new GameObject(Vector2.ZERO, new Vector2(BORDER_WIDTH, this.windowDimensions.y()), null)
-        );
+        addWall(new Wall(Vector2.ZERO, new Vector2(BORDER_WIDTH, this.windowDimensions.y())));
         // create upper wall
-        gameObjects().addGameObject(
-                new GameObject(Vector2.ZERO, new Vector2(this.windowDimensions.x(), BORDER_WIDTH), null)
-        );
+        addWall(new Wall(Vector2.ZERO, new Vector2(this.windowDimensions.x(), BORDER_WIDTH)));
         // create left wall
-        gameObjects().addGameObject(
-                new GameObject(new Vector2(this.windowDimensions.x() - BORDER_WIDTH, 0),
-                        new Vector2(BORDER_WIDTH, this.windowDimensions.y()), null)
-        );
+        addWall(new Wall(new Vector2(this.windowDimensions.x() - BORDER_WIDTH, 0),
+                new Vector2(BORDER_WIDTH, this.windowDimensions.y())));
+    }
+
+    private void addWall(GameObject wall) {
+        gameObjects().addGameObject(wall);
+        this.sweptCollisions.addObstacle(wall);
+        this.walls.add(wall);
     }
 
-    private void createBackground(ImageReader imageReader) {
+    private void createBackground(AssetCache assets) {
         GameObject background = new GameObject(Vector2.ZERO, this.windowController.getWindowDimensions(),
-                imageReader.readImage(BG_PATH, false));
+                assets.getImage(BG_PATH, false));
         background.setCoordinateSpace(CoordinateSpace.CAMERA_COORDINATES);
         gameObjects().addGameObject(background, Layer.BACKGROUND);
+        if (this.screenLayer != null)
+            this.screenLayer.add(background);
+    }
 
+    /**
+     * creates the cached layers the static objects are drawn from, behind everything else in the game.
+     * @param gameObjectCollection tells the layers when the objects they draw leave the game.
+     */
+    private void createStaticRenderLayers(BrickGridCollection gameObjectCollection) {
+        if (this.headless) {
+            this.screenLayer = null;
+            this.worldLayer = null;
+            return;
+        }
+        this.screenLayer = new StaticRenderLayer(this.windowDimensions, CoordinateSpace.CAMERA_COORDINATES);
+        gameObjectCollection.addStaticRenderLayer(this.screenLayer);
+        gameObjects().addGameObject(this.screenLayer, Layer.BACKGROUND);
+        // the bricks of an endless game move through the window's area, so they're drawn by the game.
+        if (this.endlessScrollSpeed > 0) {
+            this.worldLayer = null;
+            return;
+        }
+        this.worldLayer = new StaticRenderLayer(this.windowDimensions, CoordinateSpace.WORLD_COORDINATES);
+        gameObjectCollection.addStaticRenderLayer(this.worldLayer);
+        gameObjects().addGameObject(this.worldLayer, Layer.BACKGROUND);
     }
 
-    private void createBall(ImageReader imageReader, SoundReader soundReader) {
-        Renderable ballImage = imageReader.readImage(BALL_PATH, true);
-        Sound collisionSound = soundReader.readSound(COLLISION_SOUND);
-        GameObject ball = new Ball(Vector2.ZERO, new Vector2(BALL_RADIUS, BALL_RADIUS),
+    private void createBall(AssetCache assets) {
+        Renderable ballImage = assets.getImage(BALL_PATH, true);
+        Sound collisionSound = assets.getSound(COLLISION_SOUND);
+        Ball ball = new Ball(Vector2.ZERO, new Vector2(BALL_RADIUS, BALL_RADIUS),
                 ballImage, collisionSound);
+        ball.setSweptCollisions(this.sweptCollisions);
         this.ball = ball;
         repositionBall(this.ball);
         gameObjects().addGameObject(ball);
@@ -218,50 +1291,69 @@ public class BrickerGameManager extends GameManager{
      * @param ball the ball being reset.
      */
     public void repositionBall(GameObject ball) {
-        int [] velMultipliers = {-1, 1};
-        Random rand = new Random();
         // generate random multiplier for X and Y directions.
-        int velMultX = velMultipliers[rand.nextInt(velMultipliers.length)];
-        int velMultY = velMultipliers[rand.nextInt(velMultipliers.length)];
-        ball.setVelocity(new Vector2(BALL_SPEED * velMultX, BALL_SPEED * velMultY));
-        ball.setCenter(this.windowDimensions.mult(0.5F));
+        int velMultX = VELOCITY_MULTIPLIERS[this.random.nextInt(VELOCITY_MULTIPLIERS.length)];
+        int velMultY = VELOCITY_MULTIPLIERS[this.random.nextInt(VELOCITY_MULTIPLIERS.length)];
+        ball.transform().setVelocity(BALL_SPEED * velMultX, BALL_SPEED * velMultY);
+        ball.transform().setCenter(this.windowDimensions.x() * 0.5F, viewTop() + this.windowDimensions.y() * 0.5F);
     }
 
-    private void createPaddle(ImageReader imageReader, UserInputListener inputListener) {
-        Renderable paddleImage = imageReader.readImage(PADDLE_PATH, true);
+    private void createPaddle(AssetCache assets, UserInputListener inputListener) {
+        Renderable paddleImage = assets.getImage(PADDLE_PATH, true);
         GameObject paddle = new Paddle(Vector2.ZERO, new Vector2(PADDLE_WIDTH, PADDLE_HEIGHT), paddleImage,
                 inputListener, this.windowDimensions, BUFFER_FROM_WALL);
         // set paddle to center of the X axis.
-        paddle.setCenter(new Vector2(this.windowDimensions.x() / 2, this.windowDimensions.y() - PADDLE_Y_OFFSET));
+        paddle.transform().setCenter(this.windowDimensions.x() / 2, this.windowDimensions.y() - PADDLE_Y_OFFSET);
+        this.paddle = paddle;
         this.gameObjects().addGameObject(paddle);
     }
 
-    private void createGraphicLifeCounter(ImageReader imageReader) {
-        Renderable heartImage = imageReader.readImage(HEART_PATH, true);
-        GameObject graphicLifeCounter = new GraphicLifeCounter(
+    private void createFrameMetricsOverlay(UserInputListener inputListener) {
+        if (this.frameMetrics == null)
+            return;
+        // next to the numeric counter, growing upwards from its line.
+        float height = this.frameMetrics.size() * METRICS_LINE_HEIGHT;
+        GameObject overlay = new FrameMetricsOverlay(this.frameMetrics,
+                new Vector2(NUMERIC_X_OFFSET + METRICS_X_OFFSET,
+                        this.windowDimensions.y() - NUMERIC_Y_OFFSET + NUMERIC_COUNTER_DIMENSIONS - height),
+                new Vector2(METRICS_LINE_WIDTH, METRICS_LINE_HEIGHT), inputListener, METRICS_TOGGLE_KEY,
+                gameObjects());
+        // the overlay stays on the screen while an endless game scrolls.
+        if (this.scrollingCamera != null)
+            overlay.setCoordinateSpace(CoordinateSpace.CAMERA_COORDINATES);
+        gameObjects().addGameObject(overlay, Layer.BACKGROUND);
+    }
+
+    private void createGraphicLifeCounter(AssetCache assets) {
+        Renderable heartImage = assets.getImage(HEART_PATH, true);
+        // the counter listens to the lives counter, it doesn't need to be in the game. in an endless game the
+        // hearts stay on the screen, and are drawn with the background.
+        GraphicLifeCounter graphicLifeCounter = new GraphicLifeCounter(
                 new Vector2(HEART_X_OFFSET, this.windowDimensions.y() - HEART_Y_OFFSET),
                 new Vector2(HEART_RADIUS, HEART_RADIUS), this.livesCounter, heartImage, gameObjects(),
-                this.livesCounter.value());
-        gameObjects().addGameObject(graphicLifeCounter, Layer.BACKGROUND);
+                this.livesCounter.value(), this.scrollingCamera == null ? this.worldLayer : this.screenLayer);
+        if (this.scrollingCamera != null)
+            graphicLifeCounter.setCoordinateSpace(CoordinateSpace.CAMERA_COORDINATES);
     }
 
     private void createNumericLifeCounter() {
-        GameObject NumericLifeCounter = new NumericLifeCounter(this.livesCounter,
+        NumericLifeCounter numericLifeCounter = new NumericLifeCounter(this.livesCounter,
                 new Vector2(NUMERIC_X_OFFSET, this.windowDimensions.y() - NUMERIC_Y_OFFSET),
                 new Vector2(NUMERIC_COUNTER_DIMENSIONS, NUMERIC_COUNTER_DIMENSIONS),
                 gameObjects());
-        gameObjects().addGameObject(NumericLifeCounter, Layer.BACKGROUND);
+        if (this.scrollingCamera != null)
+            numericLifeCounter.setCoordinateSpace(CoordinateSpace.CAMERA_COORDINATES);
     }
 
     /**
      * Entry point for game. contains:
-     * 1. An instantiation call to BrickerGameManager constructor.
-     * 2. A call to run() method of instance of BrickerGameManager.
-     * @param args none
-     */
-    public static void main(String[] args) {
-        BrickerGameManager manager = new BrickerGameManager(TITLE_SCREEN,
-                new Vector2(MAIN_WINDOW_X, MAIN_WINDOW_Y));
-        manager.run();
+     * 1. Parsing the command line options (see GameOptions.parse).
+     * 2. Running the game they describe until its window is closed (see GameLauncher).
+     * @param args the command line options, none for a live game.
+     * @throws IOException if the replay, metrics or saved game file can't be written or read, or the port can't
+     * be opened.
+     */
+    public static void main(String[] args) throws IOException {
+        GameLauncher.launch(GameOptions.parse(args));
     }
 }
@@ -0,0 +1,222 @@
+package src.assets;
+
+import danogl.gui.ImageReader;
+import danogl.gui.Sound;
+import danogl.gui.SoundReader;
+import danogl.gui.rendering.ImageRenderable;
+import danogl.gui.rendering.Renderable;
+import src.audio.AudioMixer;
+
+import java.io.IOException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Reads every image and sound of the game from disk only once, and hands out the same Renderable or Sound to
+ * everyone asking for it afterwards. Images are kept per path and per transparency mode, since the same file
+ * read with and without a transparent background gives different images.
+ * Assets can be preloaded before they're needed (see the preloadAssets methods of the strategies), and the
+ * hit and miss counters tell how many reads were saved.
+ * With an AssetLoader, preloaded assets are read in the background, all at once, and asking for one only waits
+ * for that one to be read. getDeferredImage and getDeferredSound don't wait at all, for assets not needed
+ * right away.
+ * With an AudioMixer, sounds are read through it, so they're played off the game's thread.
+ */
+public class AssetCache {
+    private final ImageReader imageReader;
+    private final SoundReader soundReader;
+    // reads the sounds to be played through it, null to read them with soundReader.
+    private final AudioMixer audioMixer;
+    // reads the preloaded assets in the background, null to read them right away.
+    private final AssetLoader loader;
+    // images read (or being read) with and without the top left pixel as transparent.
+    private final Map<String, CompletableFuture<ImageRenderable>> transparentImages = new HashMap<>();
+    private final Map<String, CompletableFuture<ImageRenderable>> opaqueImages = new HashMap<>();
+    private final Map<String, CompletableFuture<Sound>> sounds = new HashMap<>();
+    private int hits = 0;
+    private int misses = 0;
+
+    /**
+     * c'tor
+     * @param imageReader type ImageReader, used to read the images that aren't cached yet.
+     * @param soundReader type SoundReader, used to read the sounds that aren't cached yet.
+     */
+    public AssetCache(ImageReader imageReader, SoundReader soundReader) {
+        this(imageReader, soundReader, null);
+    }
+
+    /**
+     * c'tor of a cache whose sounds are played through a mixer.
+     * @param imageReader type ImageReader, used to read the images that aren't cached yet.
+     * @param soundReader type SoundReader, used to read the sounds the mixer can't.
+     * @param audioMixer the mixer to read the sounds with, null to read them with soundReader.
+     */
+    public AssetCache(ImageReader imageReader, SoundReader soundReader, AudioMixer audioMixer) {
+        this(imageReader, soundReader, audioMixer, null);
+    }
+
+    /**
+     * c'tor of a cache whose preloaded assets are read in the background.
+     * @param imageReader type ImageReader, used to read the images asked for before they're preloaded.
+     * @param soundReader type SoundReader, used to read the sounds the mixer can't.
+     * @param audioMixer the mixer to read the sounds with, null to read them with soundReader.
+     * @param loader type AssetLoader, reads the preloaded assets, null to read them right away.
+     */
+    public AssetCache(ImageReader imageReader, SoundReader soundReader, AudioMixer audioMixer,
+                      AssetLoader loader) {
+        this.imageReader = imageReader;
+        this.soundReader = soundReader;
+        this.audioMixer = audioMixer;
+        this.loader = loader;
+    }
+
+    /**
+     * starts reading the image in the given path, unless it was read (or started being read) before.
+     * @param imageFilePath path of the image file.
+     * @param useTopLeftPixelAsTransparent whether the color of the top left pixel is used as transparent.
+     */
+    public void preloadImage(String imageFilePath, boolean useTopLeftPixelAsTransparent) {
+        Map<String, CompletableFuture<ImageRenderable>> images = useTopLeftPixelAsTransparent ?
+                this.transparentImages : this.opaqueImages;
+        if (images.containsKey(imageFilePath))
+            return;
+        this.misses++;
+        images.put(imageFilePath, this.loader == null ?
+                CompletableFuture.completedFuture(
+                        this.imageReader.readImage(imageFilePath, useTopLeftPixelAsTransparent)) :
+                this.loader.loadImage(imageFilePath, useTopLeftPixelAsTransparent));
+    }
+
+    /**
+     * starts reading the sound in the given path, unless it was read (or started being read) before.
+     * @param soundFilePath path of the wav file.
+     */
+    public void preloadSound(String soundFilePath) {
+        if (this.sounds.containsKey(soundFilePath))
+            return;
+        this.misses++;
+        this.sounds.put(soundFilePath, this.loader == null ?
+                CompletableFuture.completedFuture(readSound(soundFilePath)) :
+                this.loader.load(() -> readSound(soundFilePath)));
+    }
+
+    /**
+     * returns the image in the given path, reading it only if it wasn't read before. waits for it if it's still
+     * being read in the background.
+     * @param imageFilePath path of the image file.
+     * @param useTopLeftPixelAsTransparent whether the color of the top left pixel is used as transparent.
+     * @return the shared image.
+     */
+    public ImageRenderable getImage(String imageFilePath, boolean useTopLeftPixelAsTransparent) {
+        Map<String, CompletableFuture<ImageRenderable>> images = useTopLeftPixelAsTransparent ?
+                this.transparentImages : this.opaqueImages;
+        CompletableFuture<ImageRenderable> image = images.get(imageFilePath);
+        if (image != null) {
+            this.hits++;
+            return image.join();
+        }
+        this.misses++;
+        ImageRenderable readImage = this.imageReader.readImage(imageFilePath, useTopLeftPixelAsTransparent);
+        images.put(imageFilePath, CompletableFuture.completedFuture(readImage));
+        return readImage;
+    }
+
+    /**
+     * returns the image in the given path without waiting for it to be read: the image itself if it was read
+     * already, otherwise a DeferredImage that draws nothing until it is. the image is preloaded if it wasn't.
+     * @param imageFilePath path of the image file.
+     * @param useTopLeftPixelAsTransparent whether the color of the top left pixel is used as transparent.
+     * @return the shared image, or the image to come.
+     */
+    public Renderable getDeferredImage(String imageFilePath, boolean useTopLeftPixelAsTransparent) {
+        Map<String, CompletableFuture<ImageRenderable>> images = useTopLeftPixelAsTransparent ?
+                this.transparentImages : this.opaqueImages;
+        if (images.containsKey(imageFilePath))
+            this.hits++;
+        else
+            preloadImage(imageFilePath, useTopLeftPixelAsTransparent);
+        CompletableFuture<ImageRenderable> image = images.get(imageFilePath);
+        return image.isDone() ? image.join() : new DeferredImage(image);
+    }
+
+    /**
+     * returns the sound in the given path, reading it only if it wasn't read before. waits for it if it's still
+     * being read in the background.
+     * @param soundFilePath path of the wav file.
+     * @return the shared sound.
+     */
+    public Sound getSound(String soundFilePath) {
+        CompletableFuture<Sound> sound = this.sounds.get(soundFilePath);
+        if (sound != null) {
+            this.hits++;
+            return sound.join();
+        }
+        this.misses++;
+        Sound readSound = readSound(soundFilePath);
+        this.sounds.put(soundFilePath, CompletableFuture.completedFuture(readSound));
+        return readSound;
+    }
+
+    /**
+     * returns the sound in the given path without waiting for it to be read: the sound itself if it was read
+     * already, otherwise a DeferredSound that plays nothing until it is. the sound is preloaded if it wasn't.
+     * @param soundFilePath path of the wav file.
+     * @return the shared sound, or the sound to come.
+     */
+    public Sound getDeferredSound(String soundFilePath) {
+        if (this.sounds.containsKey(soundFilePath))
+            this.hits++;
+        else
+            preloadSound(soundFilePath);
+        CompletableFuture<Sound> sound = this.sounds.get(soundFilePath);
+        return sound.isDone() ? sound.join() : new DeferredSound(sound);
+    }
+
+    /**
+     * reads a sound through the mixer, or with the sound reader if there's no mixer or it can't read the sound
+     * (the sound reader reports the error). called on the loader's threads too.
+     */
+    private Sound readSound(String soundFilePath) {
+        if (this.audioMixer != null) {
+            try {
+                return this.audioMixer.readSound(soundFilePath);
+            } catch (IOException e) {
+                return this.soundReader.readSound(soundFilePath);
+            }
+        }
+        return this.soundReader.readSound(soundFilePath);
+    }
+
+    /**
+     * checks whether this cache reads its assets with the given readers, so it can be kept between games.
+     * @param imageReader type ImageReader.
+     * @param soundReader type SoundReader.
+     * @return true if both readers are the ones this cache uses.
+     */
+    public boolean usesReaders(ImageReader imageReader, SoundReader soundReader) {
+        return this.imageReader == imageReader && this.soundReader == soundReader;
+    }
+
+    /**
+     * @return how many assets were served from the cache.
+     */
+    public int getHits() {
+        return this.hits;
+    }
+
+    /**
+     * @return how many assets had to be read from disk.
+     */
+    public int getMisses() {
+        return this.misses;
+    }
+
+    /**
+     * @return how many different assets are cached.
+     */
+    public int size() {
+        return this.transparentImages.size() + this.opaqueImages.size() + this.sounds.size();
+    }
+}
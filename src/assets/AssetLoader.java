@@ -0,0 +1,79 @@
+package src.assets;
+
+import danogl.gui.ImageReader;
+import danogl.gui.rendering.ImageRenderable;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Reads assets on a few threads of its own, so the files the game needs are decoded at the same time instead
+ * of one after another on the game's thread. The threads end once there's nothing left to read, and never keep
+ * the game from exiting.
+ * danogl's ImageReader keeps state while it makes the background of an image transparent, so every thread
+ * reads its images with an ImageReader of its own, made by the given factory.
+ */
+public class AssetLoader {
+    // the threads reading at once, by default: decoding an image is all CPU work, more threads than cores
+    // only wait on each other.
+    private static final int MAX_DEFAULT_THREADS = 4;
+    // how long an idle thread waits for more assets to read before it ends.
+    private static final long KEEP_ALIVE_MILLIS = 1000;
+    private static final String THREAD_NAME = "asset-loader-";
+
+    private final ThreadPoolExecutor executor;
+    // the image reader of every thread, made the first time the thread reads an image.
+    private final ThreadLocal<ImageReader> imageReaders;
+
+    /**
+     * c'tor
+     * @param imageReaders makes the ImageReader of every thread, called once on each.
+     * @param threads most assets read at once.
+     */
+    public AssetLoader(Supplier<ImageReader> imageReaders, int threads) {
+        this.imageReaders = ThreadLocal.withInitial(imageReaders);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_MILLIS, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), task -> {
+                    Thread thread = new Thread(task, THREAD_NAME + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * c'tor of a loader with as many threads as there are cores, up to MAX_DEFAULT_THREADS.
+     * @param imageReaders makes the ImageReader of every thread, called once on each.
+     */
+    public AssetLoader(Supplier<ImageReader> imageReaders) {
+        this(imageReaders, Math.min(MAX_DEFAULT_THREADS, Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * starts reading an image on a thread of the loader.
+     * @param imageFilePath path of the image file.
+     * @param useTopLeftPixelAsTransparent whether the color of the top left pixel is used as transparent.
+     * @return the image, once it's read.
+     */
+    public CompletableFuture<ImageRenderable> loadImage(String imageFilePath,
+                                                        boolean useTopLeftPixelAsTransparent) {
+        return CompletableFuture.supplyAsync(
+                () -> this.imageReaders.get().readImage(imageFilePath, useTopLeftPixelAsTransparent),
+                this.executor);
+    }
+
+    /**
+     * starts reading any other asset on a thread of the loader.
+     * @param read reads the asset, it must be safe to call from any thread.
+     * @param <T> type of the asset.
+     * @return the asset, once it's read.
+     */
+    public <T> CompletableFuture<T> load(Supplier<T> read) {
+        return CompletableFuture.supplyAsync(read, this.executor);
+    }
+}
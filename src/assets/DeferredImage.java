@@ -0,0 +1,43 @@
+package src.assets;
+
+import danogl.gui.rendering.ImageRenderable;
+import danogl.gui.rendering.Renderable;
+import danogl.util.Vector2;
+
+import java.awt.Graphics2D;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An image that may still be read in the background. It draws nothing until the image is read, and the image
+ * itself from then on, so an object can be made with it before its image is needed (and read).
+ */
+public class DeferredImage implements Renderable {
+    private final CompletableFuture<ImageRenderable> pendingImage;
+    // the image, once it's read.
+    private ImageRenderable image;
+
+    /**
+     * c'tor
+     * @param pendingImage the image being read.
+     */
+    DeferredImage(CompletableFuture<ImageRenderable> pendingImage) {
+        this.pendingImage = pendingImage;
+    }
+
+    /**
+     * draws the image if it was read already, otherwise nothing.
+     */
+    @Override
+    public void render(Graphics2D g, Vector2 topLeftCorner, Vector2 dimensions, double degreesCounterClockwise,
+                       boolean isFlippedHorizontally, boolean isFlippedVertically, double opaqueness) {
+        if (this.image == null) {
+            if (!this.pendingImage.isDone())
+                return;
+            this.image = this.pendingImage.join();
+            if (this.image == null)
+                return;
+        }
+        this.image.render(g, topLeftCorner, dimensions, degreesCounterClockwise, isFlippedHorizontally,
+                isFlippedVertically, opaqueness);
+    }
+}
@@ -0,0 +1,65 @@
+package src.assets;
+
+import danogl.gui.Sound;
+
+import javax.sound.sampled.Clip;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A sound that may still be read in the background. Playing it before it's read does nothing, afterwards it
+ * plays the sound itself.
+ */
+public class DeferredSound extends Sound {
+    private final CompletableFuture<Sound> pendingSound;
+    // the sound, once it's read.
+    private Sound sound;
+
+    /**
+     * c'tor
+     * @param pendingSound the sound being read.
+     */
+    DeferredSound(CompletableFuture<Sound> pendingSound) {
+        // danogl's Sound gets no clips, everything is done by the sound read.
+        super(new Clip[0]);
+        this.pendingSound = pendingSound;
+    }
+
+    /**
+     * plays the sound if it was read already.
+     */
+    @Override
+    public void play() {
+        Sound readSound = readSound();
+        if (readSound != null)
+            readSound.play();
+    }
+
+    /**
+     * plays the sound in a loop if it was read already.
+     */
+    @Override
+    public void playLooped() {
+        Sound readSound = readSound();
+        if (readSound != null)
+            readSound.playLooped();
+    }
+
+    /**
+     * stops the sound if it was read already.
+     */
+    @Override
+    public void stopAllOccurences() {
+        Sound readSound = readSound();
+        if (readSound != null)
+            readSound.stopAllOccurences();
+    }
+
+    /**
+     * @return the sound, or null if it isn't read yet.
+     */
+    private Sound readSound() {
+        if (this.sound == null && this.pendingSound.isDone())
+            this.sound = this.pendingSound.join();
+        return this.sound;
+    }
+}
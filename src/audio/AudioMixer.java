@@ -0,0 +1,317 @@
+package src.audio;
+
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.Clip;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Plays the game's sounds on a thread of its own, so the game loop never waits for the audio backend.
+ * A sound read through the mixer is a MixedSound: playing it puts a request in a fixed size ring, which the
+ * mixer's thread takes requests from and starts the clips. The game's thread never blocks on the ring, a
+ * request that doesn't fit (the mixer fell behind) is dropped.
+ * Voices are bounded twice: every sound has a few clips of its own, and at most maxVoices clips of all sounds
+ * play at once. A sound asked to play while all its clips play restarts the one started the longest ago, and
+ * when the mixer is at maxVoices the oldest voice of any sound is stopped for the new one (voice stealing), so
+ * the latest collisions are always heard.
+ * The mixer's thread sleeps while the ring is empty, and the game's thread wakes it when it puts a request in.
+ * Sounds should be asked to play from a single thread (the game's), and the mixer should be closed once the
+ * game is over, which stops its thread and closes the clips.
+ */
+public class AudioMixer implements Closeable {
+    /**
+     * most clips of all sounds playing at once, by default.
+     */
+    public static final int DEFAULT_MAX_VOICES = 8;
+    /**
+     * clips of every sound, by default: the most times a single sound can overlap itself.
+     */
+    public static final int DEFAULT_VOICES_PER_SOUND = 3;
+    /**
+     * the shortest time between two plays of the same sound, by default.
+     */
+    public static final long DEFAULT_MIN_INTERVAL_NANOS = 30_000_000;
+    // requests to the mixer's thread.
+    static final int PLAY = 0;
+    static final int LOOP = 1;
+    static final int STOP = 2;
+    // size of the request ring, a power of 2.
+    private static final int QUEUE_CAPACITY = 64;
+    private static final String THREAD_NAME = "audio-mixer";
+
+    private final int maxVoices;
+    private final int voicesPerSound;
+    private final long minIntervalNanos;
+    // every sound read, to find the playing voices of all of them.
+    private final List<MixedSound> sounds = new CopyOnWriteArrayList<>();
+    // the request ring: written by the game's thread at tail, read by the mixer's thread at head.
+    private final MixedSound[] requestedSounds = new MixedSound[QUEUE_CAPACITY];
+    private final int[] requestedOperations = new int[QUEUE_CAPACITY];
+    private volatile long head = 0;
+    private volatile long tail = 0;
+    // read by the game's thread to wake the mixer's.
+    private volatile Thread thread;
+    // true while the mixer's thread sleeps (or is about to), so the game's thread only wakes it then.
+    private volatile boolean idle = false;
+    private volatile boolean closed = false;
+    // counts of requests that weren't played as asked, for reports.
+    private int droppedRequests = 0;
+    private int rateLimitedRequests = 0;
+    private volatile int stolenVoices = 0;
+
+    /**
+     * c'tor
+     * @param maxVoices most clips of all sounds playing at once.
+     * @param voicesPerSound clips of every sound.
+     * @param minIntervalNanos the shortest time between two plays of the same sound, shorter ones are skipped.
+     */
+    public AudioMixer(int maxVoices, int voicesPerSound, long minIntervalNanos) {
+        this.maxVoices = maxVoices;
+        this.voicesPerSound = voicesPerSound;
+        this.minIntervalNanos = minIntervalNanos;
+    }
+
+    /**
+     * default c'tor, with the default voice limits and interval.
+     */
+    public AudioMixer() {
+        this(DEFAULT_MAX_VOICES, DEFAULT_VOICES_PER_SOUND, DEFAULT_MIN_INTERVAL_NANOS);
+    }
+
+    /**
+     * reads a sound to be played through the mixer, and starts the mixer's thread if it isn't running yet.
+     * @param soundFilePath path of the wav file, on disk or on the class path.
+     * @return the sound.
+     * @throws IOException if the file can't be read, or its clips can't be opened.
+     */
+    public MixedSound readSound(String soundFilePath) throws IOException {
+        byte[] audio = readAll(soundFilePath);
+        Clip[] voices = new Clip[this.voicesPerSound];
+        try {
+            for (int i = 0; i < voices.length; i++) {
+                AudioInputStream stream = AudioSystem.getAudioInputStream(new ByteArrayInputStream(audio));
+                voices[i] = AudioSystem.getClip();
+                voices[i].open(stream);
+            }
+        } catch (UnsupportedAudioFileException | LineUnavailableException | IllegalArgumentException e) {
+            // an IllegalArgumentException means there's no audio line that can play clips at all.
+            for (Clip voice : voices) {
+                if (voice != null)
+                    voice.close();
+            }
+            throw new IOException("can't open sound " + soundFilePath, e);
+        }
+        MixedSound sound = new MixedSound(this, voices, this.minIntervalNanos);
+        this.sounds.add(sound);
+        startThread();
+        return sound;
+    }
+
+    /**
+     * @return how many requests were dropped since the ring was full.
+     */
+    public int getDroppedRequests() {
+        return this.droppedRequests;
+    }
+
+    /**
+     * @return how many plays were skipped for coming sooner than the minimum interval after the last one.
+     */
+    public int getRateLimitedRequests() {
+        return this.rateLimitedRequests;
+    }
+
+    /**
+     * @return how many playing voices were stopped to play newer ones.
+     */
+    public int getStolenVoices() {
+        return this.stolenVoices;
+    }
+
+    /**
+     * stops the mixer's thread, and closes the clips of all the sounds read. sounds asked to play after that
+     * aren't heard.
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+        Thread mixerThread;
+        synchronized (this) {
+            mixerThread = this.thread;
+        }
+        if (mixerThread != null) {
+            LockSupport.unpark(mixerThread);
+            try {
+                mixerThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (MixedSound sound : this.sounds) {
+            for (Clip voice : sound.getVoices()) {
+                voice.close();
+            }
+        }
+    }
+
+    /**
+     * puts a request in the ring, or drops it if the ring is full, and wakes the mixer's thread if it sleeps.
+     * never blocks.
+     * @param sound the sound to play or stop.
+     * @param operation PLAY, LOOP or STOP.
+     */
+    void request(MixedSound sound, int operation) {
+        long next = this.tail;
+        if (next - this.head >= QUEUE_CAPACITY) {
+            this.droppedRequests++;
+            return;
+        }
+        int index = (int) (next & (QUEUE_CAPACITY - 1));
+        this.requestedSounds[index] = sound;
+        this.requestedOperations[index] = operation;
+        // publishes the request to the mixer's thread.
+        this.tail = next + 1;
+        if (this.idle)
+            LockSupport.unpark(this.thread);
+    }
+
+    /**
+     * counts a play skipped by a sound's minimum interval.
+     */
+    void countRateLimited() {
+        this.rateLimitedRequests++;
+    }
+
+    private synchronized void startThread() {
+        if (this.thread != null || this.closed)
+            return;
+        this.thread = new Thread(this::mix, THREAD_NAME);
+        // the mixer never keeps the game from exiting.
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * the loop of the mixer's thread: takes the requests from the ring, in order, and carries them out, until
+     * the mixer is closed.
+     */
+    private void mix() {
+        while (!this.closed) {
+            long next = this.head;
+            if (next == this.tail) {
+                // the ring is checked again once idle is set: a request put in before that is seen here, and one
+                // put in after it wakes the thread (or makes the next park return at once).
+                this.idle = true;
+                if (next == this.tail && !this.closed)
+                    LockSupport.park(this);
+                this.idle = false;
+                continue;
+            }
+            int index = (int) (next & (QUEUE_CAPACITY - 1));
+            MixedSound sound = this.requestedSounds[index];
+            int operation = this.requestedOperations[index];
+            this.requestedSounds[index] = null;
+            // frees the slot for the game's thread.
+            this.head = next + 1;
+            if (operation == STOP)
+                stop(sound);
+            else
+                play(sound, operation == LOOP);
+        }
+    }
+
+    /**
+     * starts a voice of the sound: an idle one, or its oldest one if all of them play. a new voice is taken
+     * from the oldest playing voice of any sound if the mixer is at its voice limit.
+     */
+    private void play(MixedSound sound, boolean looped) {
+        Clip[] voices = sound.getVoices();
+        long[] starts = sound.getVoiceStarts();
+        int voice = -1;
+        int oldest = 0;
+        for (int i = 0; i < voices.length; i++) {
+            if (!voices[i].isRunning()) {
+                voice = i;
+                break;
+            }
+            if (starts[i] < starts[oldest])
+                oldest = i;
+        }
+        if (voice < 0) {
+            // the sound restarts its own oldest voice, the number of voices playing stays the same.
+            voice = oldest;
+            voices[voice].stop();
+            this.stolenVoices++;
+        }
+        else if (countPlayingVoices() >= this.maxVoices)
+            stopOldestVoice();
+        Clip clip = voices[voice];
+        clip.setFramePosition(0);
+        if (looped)
+            clip.loop(Clip.LOOP_CONTINUOUSLY);
+        else
+            clip.start();
+        starts[voice] = System.nanoTime();
+    }
+
+    private void stop(MixedSound sound) {
+        for (Clip voice : sound.getVoices()) {
+            voice.stop();
+        }
+    }
+
+    private int countPlayingVoices() {
+        int playing = 0;
+        for (int i = 0; i < this.sounds.size(); i++) {
+            for (Clip voice : this.sounds.get(i).getVoices()) {
+                if (voice.isRunning())
+                    playing++;
+            }
+        }
+        return playing;
+    }
+
+    private void stopOldestVoice() {
+        Clip oldestVoice = null;
+        long oldestStart = Long.MAX_VALUE;
+        for (int i = 0; i < this.sounds.size(); i++) {
+            MixedSound sound = this.sounds.get(i);
+            Clip[] voices = sound.getVoices();
+            for (int j = 0; j < voices.length; j++) {
+                if (voices[j].isRunning() && sound.getVoiceStarts()[j] < oldestStart) {
+                    oldestVoice = voices[j];
+                    oldestStart = sound.getVoiceStarts()[j];
+                }
+            }
+        }
+        if (oldestVoice != null) {
+            oldestVoice.stop();
+            this.stolenVoices++;
+        }
+    }
+
+    /**
+     * @return the bytes of a file on disk, or of a resource on the class path if there's no such file.
+     */
+    private static byte[] readAll(String path) throws IOException {
+        Path file = Paths.get(path);
+        if (Files.exists(file))
+            return Files.readAllBytes(file);
+        try (InputStream resource = AudioMixer.class.getClassLoader().getResourceAsStream(path)) {
+            if (resource == null)
+                throw new IOException("no sound file " + path);
+            return resource.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package src.audio;
+
+import danogl.gui.Sound;
+
+import javax.sound.sampled.Clip;
+
+/**
+ * A sound played through an AudioMixer. Playing it only asks the mixer to play it, which never blocks: the
+ * clips (the voices of the sound) are started and stopped on the mixer's thread. A sound asked to play again
+ * sooner than its minimum interval after the last time is skipped, so many collisions in a frame make one
+ * sound, not a pile of them.
+ */
+public class MixedSound extends Sound {
+    private final AudioMixer mixer;
+    // the voices of the sound, only touched on the mixer's thread.
+    private final Clip[] voices;
+    private final long[] voiceStarts;
+    private final long minIntervalNanos;
+    // when the sound was last asked to play, on the game's thread.
+    private long lastPlayNanos;
+    private boolean played = false;
+
+    /**
+     * c'tor, the sound is made by AudioMixer.readSound.
+     * @param mixer the mixer playing the sound.
+     * @param voices the clips of the sound, all holding the same audio. at most this many can play at once.
+     * @param minIntervalNanos the shortest time between two plays of the sound.
+     */
+    MixedSound(AudioMixer mixer, Clip[] voices, long minIntervalNanos) {
+        // danogl's Sound gets no clips, so nothing can play them but the mixer.
+        super(new Clip[0]);
+        this.mixer = mixer;
+        this.voices = voices;
+        this.voiceStarts = new long[voices.length];
+        this.minIntervalNanos = minIntervalNanos;
+    }
+
+    /**
+     * asks the mixer to play the sound, unless it was asked to less than the minimum interval ago.
+     */
+    @Override
+    public void play() {
+        long now = System.nanoTime();
+        if (this.played && now - this.lastPlayNanos < this.minIntervalNanos) {
+            this.mixer.countRateLimited();
+            return;
+        }
+        this.played = true;
+        this.lastPlayNanos = now;
+        this.mixer.request(this, AudioMixer.PLAY);
+    }
+
+    /**
+     * asks the mixer to play the sound in a loop.
+     */
+    @Override
+    public void playLooped() {
+        this.mixer.request(this, AudioMixer.LOOP);
+    }
+
+    /**
+     * asks the mixer to stop every voice of the sound.
+     */
+    @Override
+    public void stopAllOccurences() {
+        this.mixer.request(this, AudioMixer.STOP);
+    }
+
+    /**
+     * @return the clips of the sound, for the mixer.
+     */
+    Clip[] getVoices() {
+        return this.voices;
+    }
+
+    /**
+     * @return when each voice was last started (System.nanoTime), for the mixer.
+     */
+    long[] getVoiceStarts() {
+        return this.voiceStarts;
+    }
+}
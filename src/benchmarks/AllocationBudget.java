@@ -0,0 +1,386 @@
+package src.benchmarks;
+
+import danogl.GameObject;
+import danogl.collisions.Collision;
+import danogl.collisions.GameObjectCollection;
+import danogl.util.Counter;
+import danogl.util.Vector2;
+import src.BrickerGameManager;
+import src.assets.AssetCache;
+import src.brick_strategies.AddPaddleStrategy;
+import src.brick_strategies.ChangeCameraStrategy;
+import src.brick_strategies.ChangeTimeScaleStrategy;
+import src.brick_strategies.CollisionStrategy;
+import src.brick_strategies.PuckStrategy;
+import src.brick_strategies.RemoveBrickStrategy;
+import src.gameobjects.Ball;
+import src.gameobjects.DynamicObjectsRegistry;
+import src.gameobjects.ObjectPool;
+import src.gameobjects.Paddle;
+import src.headless.HeadlessGameRunner;
+import src.headless.HeadlessImageReader;
+import src.headless.HeadlessInputListener;
+import src.headless.HeadlessSoundReader;
+import src.headless.HeadlessWindowController;
+import src.simulation.PaddleBot;
+
+import java.awt.event.KeyEvent;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks that the code the game runs every step doesn't allocate in steady state: Paddle.update,
+ * Ball.onCollisionEnter, the onCollision of the strategies that spawn objects or change the camera,
+ * BrickerGameManager.repositionBall and DynamicObjectsRegistry.removeBelow each run until the JIT compiled them,
+ * then many times more in a few trials, and the fewest bytes the thread allocated in a trial (as ThreadMXBean
+ * counts them) must stay within the budget of the operation, nothing allocated every time. Steady state is
+ * what's checked since danogl's own vector math allocates until it's compiled.
+ * The bytes allocated by a whole frame of a game are printed too, but not checked: danogl's own game loop
+ * allocates iterators and collision records every frame.
+ * Whether the JIT scalar replaces danogl's temporary vectors depends on the order methods are compiled in, which
+ * changes from run to run while the JIT compiles in the background. So the checks run in a JVM compiling in the
+ * foreground (-Xbatch), where the order is that of the calls: started without it, the check runs itself again in
+ * one.
+ * Exits with status 1 if an operation went over its budget, so it can run as a check.
+ */
+public class AllocationBudget {
+    // operations (and frames) run before measuring, enough for the JIT to compile them.
+    private static final int WARMUP_OPS = 50_000;
+    private static final int MEASURED_OPS = 10_000;
+    // measured runs of MEASURED_OPS operations each, the fewest bytes of them is checked: a single run may still
+    // catch the JIT recompiling the operation, or the JVM allocating for itself, but the fewest can't.
+    private static final int MEASURED_TRIALS = 10;
+    private static final int WARMUP_FRAMES = 5000;
+    private static final int MEASURED_FRAMES = 2000;
+    // bytes an operation may allocate on average: less than one, an object allocated every time is at least 16.
+    // a single object allocated once in a while (by the JVM itself) still fits.
+    private static final double OPERATION_BUDGET = 1;
+    private static final int BALL_RADIUS = 20;
+    private static final int BALL_SPEED = 250;
+    private static final int PADDLE_WIDTH = 100;
+    private static final int PADDLE_HEIGHT = 20;
+    private static final int BUFFER_FROM_WALL = 11;
+    private static final int NUM_OF_TRACKED_OBJECTS = 16;
+    private static final int BRICK_WIDTH = 60;
+    private static final int BRICK_HEIGHT = 15;
+    // the game measured frames are reported for, so the report is the same every run.
+    private static final long FRAME_SEED = 42;
+    // most ball collisions to wait for the camera to be turned off, more than any camera change counts down.
+    private static final int MAX_CAMERA_COLLISIONS = 100;
+    // the JVM option compiling in the foreground, so the same code is compiled the same way every run.
+    private static final String FOREGROUND_COMPILATION = "-Xbatch";
+
+    private static final Vector2 WINDOW =
+            new Vector2(BrickerGameManager.MAIN_WINDOW_X, BrickerGameManager.MAIN_WINDOW_Y);
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private boolean failed = false;
+
+    /**
+     * runs an operation and checks the bytes it allocated on average against OPERATION_BUDGET, in the trial that
+     * allocated the fewest.
+     * @param name name of the operation, for the report.
+     * @param operation the operation, its setUp is called once before the warmup.
+     */
+    private void check(String name, BenchmarkHarness.Benchmark operation) {
+        operation.setUp();
+        for (int i = 0; i < WARMUP_OPS; i++) {
+            operation.run();
+        }
+        long fewestBytes = Long.MAX_VALUE;
+        for (int trial = 0; trial < MEASURED_TRIALS && fewestBytes > 0; trial++) {
+            fewestBytes = Math.min(fewestBytes, allocatedBytes(operation, MEASURED_OPS));
+        }
+        double bytesPerOp = (double) fewestBytes / MEASURED_OPS;
+        boolean withinBudget = bytesPerOp < OPERATION_BUDGET;
+        this.failed |= !withinBudget;
+        System.out.printf("%-50s %10.1f bytes/op   budget %6.1f   %s%n", name, bytesPerOp, OPERATION_BUDGET,
+                withinBudget ? "ok" : "OVER BUDGET");
+    }
+
+    /**
+     * @return the bytes the current thread allocated while running the operation the given number of times.
+     */
+    private long allocatedBytes(BenchmarkHarness.Benchmark operation, int ops) {
+        long before = this.threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ops; i++) {
+            operation.run();
+        }
+        return this.threads.getCurrentThreadAllocatedBytes() - before;
+    }
+
+    /**
+     * checks Paddle.update, with the left / right keys pressed alternately.
+     */
+    private void checkPaddleUpdate() {
+        HeadlessInputListener inputListener = new HeadlessInputListener();
+        Paddle paddle = new Paddle(Vector2.ZERO, new Vector2(PADDLE_WIDTH, PADDLE_HEIGHT), null,
+                inputListener, WINDOW, BUFFER_FROM_WALL);
+        check("Paddle.update", new BenchmarkHarness.Benchmark() {
+            private int frame;
+
+            @Override
+            public void setUp() {
+                paddle.setCenter(WINDOW.mult(0.5f));
+            }
+
+            @Override
+            public int run() {
+                this.frame++;
+                inputListener.setKeyPressed(KeyEvent.VK_LEFT, (this.frame & 64) == 0);
+                inputListener.setKeyPressed(KeyEvent.VK_RIGHT, (this.frame & 64) != 0);
+                paddle.update(HeadlessGameRunner.DEFAULT_DELTA_TIME);
+                return this.frame;
+            }
+        });
+    }
+
+    /**
+     * checks Ball.onCollisionEnter, the ball hitting a floor and a ceiling by turns so it always bounces.
+     */
+    private void checkBallCollision() {
+        Ball ball = new Ball(Vector2.ZERO, new Vector2(BALL_RADIUS, BALL_RADIUS), null,
+                new HeadlessSoundReader(null).readSound(null));
+        GameObject wall = new GameObject(Vector2.ZERO, Vector2.ONES, null);
+        Collision floor = new FixedCollision(Vector2.UP);
+        Collision ceiling = new FixedCollision(Vector2.DOWN);
+        check("Ball.onCollisionEnter", new BenchmarkHarness.Benchmark() {
+            @Override
+            public void setUp() {
+                ball.setVelocity(new Vector2(BALL_SPEED, BALL_SPEED));
+            }
+
+            @Override
+            public int run() {
+                ball.onCollisionEnter(wall, ball.getVelocity().y() > 0 ? floor : ceiling);
+                return ball.getCollisionCounter();
+            }
+        });
+    }
+
+    /**
+     * checks the onCollision of every strategy that spawns an object, on a brick hit by the ball over and over.
+     * the strategies work on a collection that drops every object, so only their own code is measured (not
+     * danogl's lists of pending objects), and the spawned objects go back to their pools after every hit, like
+     * objects that fell off the screen.
+     */
+    private void checkSpawningStrategies() {
+        HeadlessWindowController windowController = new HeadlessWindowController(WINDOW, false);
+        AssetCache assets = new AssetCache(new HeadlessImageReader(windowController),
+                new HeadlessSoundReader(windowController));
+        GameObjectCollection gameObjects = new DroppingCollection();
+        DynamicObjectsRegistry dynamicObjects = new DynamicObjectsRegistry(gameObjects);
+        HeadlessGameRunner runner = new HeadlessGameRunner();
+        runner.setSeed(FRAME_SEED);
+        BrickerGameManager gameManager = runner.newGame();
+        CollisionStrategy removeBrick = new RemoveBrickStrategy(gameObjects);
+        checkStrategy("PuckStrategy.onCollision", new PuckStrategy(removeBrick, assets, dynamicObjects,
+                new ObjectPool<>(), gameManager.getRandom(), null, null), dynamicObjects, null);
+        checkStrategy("ChangeTimeScaleStrategy.onCollision", new ChangeTimeScaleStrategy(removeBrick, assets,
+                windowController, dynamicObjects, new ObjectPool<>(), gameManager.getRandom()), dynamicObjects,
+                null);
+        Counter mockPaddlesCounter = new Counter();
+        checkStrategy("AddPaddleStrategy.onCollision", new AddPaddleStrategy(removeBrick, assets,
+                runner.getInputListener(), WINDOW, dynamicObjects, new ObjectPool<>(), mockPaddlesCounter),
+                dynamicObjects, mockPaddlesCounter);
+        checkCameraStrategy(gameManager, runner, removeBrick);
+    }
+
+    /**
+     * checks a strategy's onCollision, the object it spawned leaving the game right after.
+     * @param mockPaddlesCounter counter of the mock paddles the strategy spawns, decremented after every hit as
+     *                           if the paddle was hit away. null for other strategies.
+     */
+    private void checkStrategy(String name, CollisionStrategy strategy, DynamicObjectsRegistry dynamicObjects,
+                               Counter mockPaddlesCounter) {
+        GameObject brick = new GameObject(WINDOW.mult(0.5f), new Vector2(BRICK_WIDTH, BRICK_HEIGHT), null);
+        GameObject ball = new GameObject(WINDOW.mult(0.5f), new Vector2(BALL_RADIUS, BALL_RADIUS), null);
+        Counter bricksCounter = new Counter();
+        check(name, new BenchmarkHarness.Benchmark() {
+            @Override
+            public void setUp() {
+            }
+
+            @Override
+            public int run() {
+                strategy.onCollision(brick, ball, bricksCounter);
+                dynamicObjects.removeAll();
+                if (mockPaddlesCounter != null && mockPaddlesCounter.value() > 0)
+                    mockPaddlesCounter.decrement();
+                return bricksCounter.value();
+            }
+        });
+    }
+
+    /**
+     * checks ChangeCameraStrategy.onCollision, the ball of a headless game hitting the brick and then bouncing
+     * until the camera is turned off again.
+     */
+    private void checkCameraStrategy(BrickerGameManager gameManager, HeadlessGameRunner runner,
+                                     CollisionStrategy removeBrick) {
+        ChangeCameraStrategy strategy = new ChangeCameraStrategy(removeBrick, runner.getWindowController(),
+                gameManager);
+        Ball ball = (Ball) gameManager.getBall();
+        GameObject brick = new GameObject(WINDOW.mult(0.5f), new Vector2(BRICK_WIDTH, BRICK_HEIGHT), null);
+        GameObject wall = new GameObject(Vector2.ZERO, Vector2.ONES, null);
+        Collision floor = new FixedCollision(Vector2.UP);
+        Collision ceiling = new FixedCollision(Vector2.DOWN);
+        Counter bricksCounter = new Counter();
+        check("ChangeCameraStrategy.onCollision", new BenchmarkHarness.Benchmark() {
+            @Override
+            public void setUp() {
+                ball.setVelocity(new Vector2(BALL_SPEED, BALL_SPEED));
+            }
+
+            @Override
+            public int run() {
+                strategy.onCollision(brick, ball, bricksCounter);
+                for (int i = 0; i < MAX_CAMERA_COLLISIONS && gameManager.getCamera() != null; i++) {
+                    ball.onCollisionEnter(wall, ball.getVelocity().y() > 0 ? floor : ceiling);
+                }
+                return ball.getCollisionCounter();
+            }
+        });
+    }
+
+    /**
+     * checks BrickerGameManager.repositionBall and DynamicObjectsRegistry.removeBelow, in a headless game.
+     */
+    private void checkGameManager() {
+        HeadlessGameRunner runner = new HeadlessGameRunner();
+        BrickerGameManager gameManager = runner.newGame();
+        GameObject ball = gameManager.getBall();
+        check("BrickerGameManager.repositionBall", new BenchmarkHarness.Benchmark() {
+            @Override
+            public void setUp() {
+            }
+
+            @Override
+            public int run() {
+                gameManager.repositionBall(ball);
+                return (int) ball.getVelocity().x();
+            }
+        });
+        DynamicObjectsRegistry dynamicObjects = gameManager.getDynamicObjects();
+        check("DynamicObjectsRegistry.removeBelow", new BenchmarkHarness.Benchmark() {
+            @Override
+            public void setUp() {
+                // objects in the middle of the screen, which are tested every time and never removed.
+                for (int i = 0; i < NUM_OF_TRACKED_OBJECTS; i++) {
+                    dynamicObjects.register(new GameObject(WINDOW.mult(0.5f), Vector2.ONES, null));
+                }
+            }
+
+            @Override
+            public int run() {
+                dynamicObjects.removeBelow(WINDOW.y());
+                return dynamicObjects.size();
+            }
+        });
+    }
+
+    /**
+     * prints the bytes allocated by a frame of a seeded game played by a PaddleBot, on average. a game that
+     * ends is replaced by a new one (whose first frame isn't measured), so the measured frames are always
+     * played. fails if no frame was measured.
+     */
+    private void reportFrame() {
+        HeadlessGameRunner runner = new HeadlessGameRunner(WINDOW, HeadlessGameRunner.DEFAULT_DELTA_TIME,
+                Integer.MAX_VALUE);
+        runner.setSeed(FRAME_SEED);
+        PaddleBot bot = new PaddleBot(runner.getInputListener());
+        bot.setGame(runner.newGame());
+        long bytes = 0;
+        int frames = 0;
+        boolean newGame = true;
+        for (int i = 0; i < WARMUP_FRAMES + MEASURED_FRAMES; i++) {
+            bot.play();
+            long before = this.threads.getCurrentThreadAllocatedBytes();
+            boolean running = runner.step();
+            if (i >= WARMUP_FRAMES && !newGame) {
+                bytes += this.threads.getCurrentThreadAllocatedBytes() - before;
+                frames++;
+            }
+            newGame = !running;
+            if (!running)
+                bot.setGame(runner.newGame());
+        }
+        if (frames == 0) {
+            this.failed = true;
+            System.out.printf("%-50s %10s bytes/frame   NO FRAMES MEASURED%n", "BrickerGameManager.update", "-");
+            return;
+        }
+        System.out.printf("%-50s %10.1f bytes/frame (not checked)%n", "BrickerGameManager.update",
+                (double) bytes / frames);
+    }
+
+    /**
+     * A collection that drops every object added to it, so the strategies checked on it don't fill danogl's
+     * lists of pending objects.
+     */
+    private static class DroppingCollection extends GameObjectCollection {
+        @Override
+        public void addGameObject(GameObject gameObject, int layerId) {
+        }
+
+        @Override
+        public void addGameObject(GameObject gameObject) {
+        }
+
+        @Override
+        public boolean removeGameObject(GameObject gameObject, int layerId) {
+            return true;
+        }
+
+        @Override
+        public boolean removeGameObject(GameObject gameObject) {
+            return true;
+        }
+    }
+
+    /**
+     * runs this check again in a JVM with the options of this one and FOREGROUND_COMPILATION, the output going
+     * where this one's goes.
+     * @return the exit status of the check.
+     */
+    private static int runCompilingInForeground() throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.add(FOREGROUND_COMPILATION);
+        command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(AllocationBudget.class.getName());
+        return new ProcessBuilder(command).inheritIO().start().waitFor();
+    }
+
+    /**
+     * Entry point, runs all checks and prints the results.
+     * @param args none
+     * @throws IOException if the check has to run in a new JVM, and it can't be started.
+     * @throws InterruptedException if interrupted while waiting for the check run in a new JVM.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (!ManagementFactory.getRuntimeMXBean().getInputArguments().contains(FOREGROUND_COMPILATION)) {
+            System.exit(runCompilingInForeground());
+            return;
+        }
+        AllocationBudget budget = new AllocationBudget();
+        if (!budget.threads.isThreadAllocatedMemorySupported()) {
+            System.out.println("allocated memory isn't measured by this JVM");
+            return;
+        }
+        budget.threads.setThreadAllocatedMemoryEnabled(true);
+        budget.checkPaddleUpdate();
+        budget.checkBallCollision();
+        budget.checkSpawningStrategies();
+        budget.checkGameManager();
+        budget.reportFrame();
+        if (budget.failed)
+            System.exit(1);
+    }
+}
@@ -0,0 +1,33 @@
+package src.benchmarks;
+
+import danogl.collisions.GameObjectCollection;
+import danogl.util.Vector2;
+import src.BrickerGameManager;
+
+/**
+ * A headless BrickerGameManager which exposes its objects collection, so benchmarks can add objects to the
+ * game (like pucks) and build strategies on top of it. All games are seeded the same.
+ */
+class BenchmarkGameManager extends BrickerGameManager {
+    // every benchmarked game has the same bricks and random events.
+    private static final long SEED = 42;
+
+    /**
+     * c'tor, creates a headless game manager.
+     * @param windowDimensions dimensions of the game area.
+     * @param numOfLines number of lines of bricks.
+     * @param bricksPerLine number of bricks in each line.
+     */
+    BenchmarkGameManager(Vector2 windowDimensions, int numOfLines, int bricksPerLine) {
+        super(null, windowDimensions, true);
+        setBrickGrid(numOfLines, bricksPerLine);
+        setSeed(SEED);
+    }
+
+    /**
+     * @return the collection of all objects in the game.
+     */
+    GameObjectCollection objects() {
+        return gameObjects();
+    }
+}
@@ -0,0 +1,93 @@
+package src.benchmarks;
+
+/**
+ * A small benchmark harness. Runs a benchmark for several warmup iterations (to let the JIT compile the code)
+ * and then for several measured iterations, and prints the average, best and worst time per operation.
+ * Each iteration starts with a fresh setup, which is not measured.
+ */
+public class BenchmarkHarness {
+    private static final int DEFAULT_WARMUP_ITERATIONS = 5;
+    private static final int DEFAULT_MEASURED_ITERATIONS = 10;
+    private static final double NANOS_IN_MICRO = 1000.0;
+
+    /**
+     * A single benchmark. setUp is called before every iteration (and isn't measured), then run is called
+     * opsPerIteration times.
+     */
+    public interface Benchmark {
+        /**
+         * prepares the state for a new iteration.
+         */
+        void setUp();
+
+        /**
+         * runs a single operation.
+         * @return any value computed by the operation, used to keep the JIT from removing the work.
+         */
+        int run();
+    }
+
+    private final int warmupIterations;
+    private final int measuredIterations;
+    // results of all operations are mixed into this field, so the JIT can't drop them as dead code.
+    private volatile int sink;
+
+    /**
+     * c'tor
+     * @param warmupIterations number of iterations to run before measuring.
+     * @param measuredIterations number of measured iterations.
+     */
+    public BenchmarkHarness(int warmupIterations, int measuredIterations) {
+        this.warmupIterations = warmupIterations;
+        this.measuredIterations = measuredIterations;
+    }
+
+    /**
+     * default c'tor, with the default number of warmup and measured iterations.
+     */
+    public BenchmarkHarness() {
+        this(DEFAULT_WARMUP_ITERATIONS, DEFAULT_MEASURED_ITERATIONS);
+    }
+
+    /**
+     * runs a benchmark and prints its results.
+     * @param name name of the benchmark, including its parameters.
+     * @param opsPerIteration how many operations to run in each iteration.
+     * @param benchmark the benchmark to run.
+     * @return the average time of a single operation, in nanoseconds.
+     */
+    public double run(String name, int opsPerIteration, Benchmark benchmark) {
+        for (int i = 0; i < this.warmupIterations; i++) {
+            runIteration(opsPerIteration, benchmark);
+        }
+        double total = 0;
+        double best = Double.MAX_VALUE;
+        double worst = 0;
+        for (int i = 0; i < this.measuredIterations; i++) {
+            double nanosPerOp = (double) runIteration(opsPerIteration, benchmark) / opsPerIteration;
+            total += nanosPerOp;
+            best = Math.min(best, nanosPerOp);
+            worst = Math.max(worst, nanosPerOp);
+        }
+        double average = total / this.measuredIterations;
+        System.out.printf("%-60s avg %10.3f us/op   best %10.3f us/op   worst %10.3f us/op%n", name,
+                average / NANOS_IN_MICRO, best / NANOS_IN_MICRO, worst / NANOS_IN_MICRO);
+        return average;
+    }
+
+    /**
+     * runs a single iteration of the benchmark.
+     * @return the time the operations took, in nanoseconds (not including setup).
+     */
+    private long runIteration(int opsPerIteration, Benchmark benchmark) {
+        benchmark.setUp();
+        int result = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < opsPerIteration; i++) {
+            result += benchmark.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        this.sink += result;
+        return elapsed;
+    }
+}
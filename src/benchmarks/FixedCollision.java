@@ -0,0 +1,43 @@
+package src.benchmarks;
+
+import danogl.collisions.Collision;
+import danogl.util.Vector2;
+
+/**
+ * A collision with a fixed normal, used to call onCollisionEnter directly.
+ */
+class FixedCollision implements Collision {
+    private final Vector2 normal;
+
+    /**
+     * c'tor
+     * @param normal the normal of the collision.
+     */
+    FixedCollision(Vector2 normal) {
+        this.normal = normal;
+    }
+
+    @Override
+    public Vector2 getNormal() {
+        return this.normal;
+    }
+
+    @Override
+    public Vector2 getCollisionPoint() {
+        return Vector2.ZERO;
+    }
+
+    @Override
+    public Vector2 getPenetrationArea() {
+        return Vector2.ZERO;
+    }
+
+    @Override
+    public Vector2 getRelativeVelocity() {
+        return Vector2.ZERO;
+    }
+
+    @Override
+    public void onFrameStart() {
+    }
+}
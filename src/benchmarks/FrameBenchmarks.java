@@ -0,0 +1,373 @@
+package src.benchmarks;
+
+import danogl.GameObject;
+import danogl.collisions.Collision;
+import danogl.collisions.GameObjectCollection;
+import danogl.collisions.Layer;
+import danogl.gui.Sound;
+import danogl.util.Counter;
+import danogl.util.Vector2;
+import src.BrickerGameManager;
+import src.assets.AssetCache;
+import src.brick_strategies.*;
+import src.gameobjects.Ball;
+import src.gameobjects.Brick;
+import src.gameobjects.ObjectPool;
+import src.gameobjects.Paddle;
+import src.gameobjects.Puck;
+import src.gameobjects.Wall;
+import src.headless.HeadlessGameRunner;
+import src.headless.HeadlessImageReader;
+import src.headless.HeadlessInputListener;
+import src.headless.HeadlessSoundReader;
+import src.savegame.SaveGame;
+import src.savegame.SaveGameWriter;
+
+import java.awt.event.KeyEvent;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Benchmarks of the code that runs every frame: a full BrickerGameManager.update (including the win / lose
+ * check and the removal of out of screen objects), Paddle.update, Ball.onCollisionEnter, Brick.onCollisionEnter
+ * through each CollisionStrategy, and BrickStrategyFactory.getStrategy.
+ * The frame benchmark is run for several brick and puck counts, to show how the frame cost scales, and for an
+ * endless game scrolling fast enough that chunks of bricks are made and removed every few frames, and for a
+ * multiball game with thousands of pucks. Saving a game with many bricks is benchmarked too.
+ * Everything runs headless, see src.headless.
+ */
+public class FrameBenchmarks {
+    // parameters of the frame benchmark
+    private static final int[] BRICK_COUNTS = {100, 1000, 5000};
+    private static final int[] PUCK_COUNTS = {0, 10, 100};
+    // frames per iteration are kept low enough that the ball can't lose all lives in one iteration.
+    private static final int FRAMES_PER_ITERATION = 200;
+    private static final int OPS_PER_ITERATION = 100_000;
+    private static final int BRICKS_PER_ITERATION = 1000;
+    private static final int STRATEGIES_PER_ITERATION = 10_000;
+    // layout used for grids bigger than the default one
+    private static final int DEFAULT_NUM_OF_BRICKS = 100;
+    private static final int DEFAULT_BRICKS_LINES = 5;
+    private static final int BIG_GRID_LINES = 10;
+    private static final int BRICK_SLOT_WIDTH = 33;
+    private static final int WINDOW_SIDE_BUFFERS = 22;
+    private static final int PUCK_RADIUS = 10;
+    private static final int PUCK_SPEED = 250;
+    private static final int BALL_RADIUS = 20;
+    private static final int PADDLE_WIDTH = 100;
+    private static final int PADDLE_HEIGHT = 20;
+    private static final int BUFFER_FROM_WALL = 11;
+    private static final long SEED = 42;
+    // pixels per second, a chunk of bricks is made (and one removed) about every 16 frames.
+    private static final float ENDLESS_SCROLL_SPEED = 400;
+    // pucks of the multiball benchmark, the number a multiball game should handle at the target framerate.
+    private static final int SWARM_PUCKS = 10_000;
+    private static final int SWARM_BRICKS = 1000;
+    // parameters of the save benchmark
+    private static final int SAVE_BRICKS = 10_000;
+    private static final int SAVE_BRICKS_LINES = 100;
+    private static final int SAVES_PER_ITERATION = 10;
+
+    private static final Vector2 DEFAULT_WINDOW =
+            new Vector2(BrickerGameManager.MAIN_WINDOW_X, BrickerGameManager.MAIN_WINDOW_Y);
+
+    private final BenchmarkHarness harness = new BenchmarkHarness();
+
+    /**
+     * runs a full frame (BrickerGameManager.update) with the given number of bricks and pucks in the game.
+     */
+    private void benchmarkFrame(int numOfBricks, int numOfPucks) {
+        int numOfLines = numOfBricks <= DEFAULT_NUM_OF_BRICKS ? DEFAULT_BRICKS_LINES : BIG_GRID_LINES;
+        int bricksPerLine = numOfBricks / numOfLines;
+        // make the window wide enough that bricks keep a reasonable size.
+        Vector2 windowDimensions = numOfBricks <= DEFAULT_NUM_OF_BRICKS ? DEFAULT_WINDOW :
+                new Vector2(bricksPerLine * BRICK_SLOT_WIDTH + WINDOW_SIDE_BUFFERS, DEFAULT_WINDOW.y());
+        HeadlessGameRunner runner = new HeadlessGameRunner(windowDimensions, HeadlessGameRunner.DEFAULT_DELTA_TIME,
+                HeadlessGameRunner.DEFAULT_MAX_FRAMES);
+        Random rand = new Random(SEED);
+        this.harness.run(String.format("BrickerGameManager.update bricks=%d pucks=%d", numOfBricks, numOfPucks),
+                FRAMES_PER_ITERATION, new BenchmarkHarness.Benchmark() {
+                    @Override
+                    public void setUp() {
+                        BenchmarkGameManager gameManager = new BenchmarkGameManager(windowDimensions,
+                                numOfLines, bricksPerLine);
+                        runner.newGame(gameManager);
+                        for (int i = 0; i < numOfPucks; i++) {
+                            Puck puck = new Puck(Vector2.ZERO, new Vector2(PUCK_RADIUS, PUCK_RADIUS),
+                                    null, silentSound());
+                            puck.setSweptCollisions(gameManager.getSweptCollisions());
+                            puck.setCenter(new Vector2(rand.nextFloat() * windowDimensions.x(),
+                                    windowDimensions.y() / 2 + rand.nextFloat() * windowDimensions.y() / 4));
+                            puck.setVelocity(Vector2.UP.rotated(rand.nextFloat() * 360).mult(PUCK_SPEED));
+                            gameManager.objects().addGameObject(puck);
+                            gameManager.getDynamicObjects().register(puck);
+                        }
+                    }
+
+                    @Override
+                    public int run() {
+                        return runner.step() ? 1 : 0;
+                    }
+                });
+    }
+
+    /**
+     * runs a full frame (BrickerGameManager.update) of an endless game, which makes and removes bricks as it
+     * scrolls.
+     */
+    private void benchmarkEndlessFrame() {
+        HeadlessGameRunner runner = new HeadlessGameRunner(DEFAULT_WINDOW, HeadlessGameRunner.DEFAULT_DELTA_TIME,
+                HeadlessGameRunner.DEFAULT_MAX_FRAMES);
+        this.harness.run(String.format("BrickerGameManager.update endless speed=%.0f", ENDLESS_SCROLL_SPEED),
+                FRAMES_PER_ITERATION, new BenchmarkHarness.Benchmark() {
+                    @Override
+                    public void setUp() {
+                        BenchmarkGameManager gameManager = new BenchmarkGameManager(DEFAULT_WINDOW,
+                                DEFAULT_BRICKS_LINES, DEFAULT_NUM_OF_BRICKS / DEFAULT_BRICKS_LINES);
+                        gameManager.setEndless(ENDLESS_SCROLL_SPEED);
+                        runner.newGame(gameManager);
+                    }
+
+                    @Override
+                    public int run() {
+                        return runner.step() ? 1 : 0;
+                    }
+                });
+    }
+
+    /**
+     * runs a full frame (BrickerGameManager.update) of a multiball game, with SWARM_PUCKS pucks in its swarm
+     * and SWARM_BRICKS bricks. a floor keeps the pucks (and the ball) in the game, so they all stay in play.
+     */
+    private void benchmarkSwarmFrame() {
+        int bricksPerLine = SWARM_BRICKS / BIG_GRID_LINES;
+        Vector2 windowDimensions = new Vector2(bricksPerLine * BRICK_SLOT_WIDTH + WINDOW_SIDE_BUFFERS,
+                DEFAULT_WINDOW.y());
+        HeadlessGameRunner runner = new HeadlessGameRunner(windowDimensions, HeadlessGameRunner.DEFAULT_DELTA_TIME,
+                HeadlessGameRunner.DEFAULT_MAX_FRAMES);
+        this.harness.run(String.format("BrickerGameManager.update swarm bricks=%d pucks=%d", SWARM_BRICKS,
+                        SWARM_PUCKS), FRAMES_PER_ITERATION, new BenchmarkHarness.Benchmark() {
+                    @Override
+                    public void setUp() {
+                        BenchmarkGameManager gameManager = new BenchmarkGameManager(windowDimensions,
+                                BIG_GRID_LINES, bricksPerLine);
+                        gameManager.setMultiball(SWARM_PUCKS);
+                        runner.newGame(gameManager);
+                        gameManager.objects().addGameObject(new Wall(new Vector2(0, windowDimensions.y()),
+                                new Vector2(windowDimensions.x(), BrickerGameManager.BORDER_WIDTH)));
+                    }
+
+                    @Override
+                    public int run() {
+                        return runner.step() ? 1 : 0;
+                    }
+                });
+    }
+
+    /**
+     * saves a game with SAVE_BRICKS bricks (BrickerGameManager.saveGame) and writes the save to a buffer
+     * (SaveGameWriter.encode), as saving it to a file does before the file is written.
+     */
+    private void benchmarkSaveGame() {
+        int bricksPerLine = SAVE_BRICKS / SAVE_BRICKS_LINES;
+        Vector2 windowDimensions = new Vector2(bricksPerLine * BRICK_SLOT_WIDTH + WINDOW_SIDE_BUFFERS,
+                DEFAULT_WINDOW.y());
+        HeadlessGameRunner runner = new HeadlessGameRunner(windowDimensions, HeadlessGameRunner.DEFAULT_DELTA_TIME,
+                HeadlessGameRunner.DEFAULT_MAX_FRAMES);
+        SaveGame save = new SaveGame();
+        SaveGameWriter writer = new SaveGameWriter();
+        this.harness.run(String.format("BrickerGameManager.saveGame + SaveGameWriter.encode bricks=%d",
+                SAVE_BRICKS), SAVES_PER_ITERATION, new BenchmarkHarness.Benchmark() {
+                    private BenchmarkGameManager gameManager;
+
+                    @Override
+                    public void setUp() {
+                        this.gameManager = new BenchmarkGameManager(windowDimensions, SAVE_BRICKS_LINES,
+                                bricksPerLine);
+                        runner.newGame(this.gameManager);
+                        // a game is saved between steps.
+                        runner.step();
+                    }
+
+                    @Override
+                    public int run() {
+                        this.gameManager.saveGame(save);
+                        return writer.encode(save).remaining() > 0 ? 1 : 0;
+                    }
+                });
+    }
+
+    /**
+     * runs Paddle.update, with the left / right keys pressed alternately.
+     */
+    private void benchmarkPaddleUpdate() {
+        HeadlessInputListener inputListener = new HeadlessInputListener();
+        Paddle paddle = new Paddle(Vector2.ZERO, new Vector2(PADDLE_WIDTH, PADDLE_HEIGHT), null,
+                inputListener, DEFAULT_WINDOW, BUFFER_FROM_WALL);
+        this.harness.run("Paddle.update", OPS_PER_ITERATION, new BenchmarkHarness.Benchmark() {
+            private int frame;
+
+            @Override
+            public void setUp() {
+                paddle.setCenter(DEFAULT_WINDOW.mult(0.5f));
+            }
+
+            @Override
+            public int run() {
+                this.frame++;
+                inputListener.setKeyPressed(KeyEvent.VK_LEFT, (this.frame & 64) == 0);
+                inputListener.setKeyPressed(KeyEvent.VK_RIGHT, (this.frame & 64) != 0);
+                paddle.update(HeadlessGameRunner.DEFAULT_DELTA_TIME);
+                return (int) paddle.getVelocity().x();
+            }
+        });
+    }
+
+    /**
+     * runs Ball.onCollisionEnter against a wall.
+     */
+    private void benchmarkBallCollision() {
+        Ball ball = new Ball(Vector2.ZERO, new Vector2(BALL_RADIUS, BALL_RADIUS), null, silentSound());
+        GameObject wall = new GameObject(Vector2.ZERO, Vector2.ONES, null);
+        Collision collision = new FixedCollision(Vector2.DOWN);
+        this.harness.run("Ball.onCollisionEnter", OPS_PER_ITERATION, new BenchmarkHarness.Benchmark() {
+            @Override
+            public void setUp() {
+                ball.setVelocity(new Vector2(PUCK_SPEED, PUCK_SPEED));
+            }
+
+            @Override
+            public int run() {
+                ball.onCollisionEnter(wall, collision);
+                return ball.getCollisionCounter();
+            }
+        });
+    }
+
+    /**
+     * runs Brick.onCollisionEnter, on a fresh game with bricks that all have the strategy created by
+     * strategyCreator (which gets the default RemoveBrickStrategy and the game manager).
+     */
+    private void benchmarkBrickCollision(String strategyName,
+                                         Function<BenchmarkGameManager, CollisionStrategy> strategyCreator) {
+        HeadlessGameRunner runner = new HeadlessGameRunner();
+        this.harness.run("Brick.onCollisionEnter " + strategyName, BRICKS_PER_ITERATION,
+                new BenchmarkHarness.Benchmark() {
+                    private final Brick[] bricks = new Brick[BRICKS_PER_ITERATION];
+                    private final Collision collision = new FixedCollision(Vector2.UP);
+                    private Ball ball;
+                    private int next;
+
+                    @Override
+                    public void setUp() {
+                        BenchmarkGameManager gameManager = new BenchmarkGameManager(DEFAULT_WINDOW,
+                                DEFAULT_BRICKS_LINES, DEFAULT_NUM_OF_BRICKS / DEFAULT_BRICKS_LINES);
+                        runner.newGame(gameManager);
+                        GameObjectCollection objects = gameManager.objects();
+                        CollisionStrategy strategy = strategyCreator.apply(gameManager);
+                        for (int i = 0; i < this.bricks.length; i++) {
+                            this.bricks[i] = new Brick(Vector2.ZERO, new Vector2(BRICK_SLOT_WIDTH, PADDLE_HEIGHT),
+                                    null, strategy, new Counter(this.bricks.length));
+                            objects.addGameObject(this.bricks[i], Layer.STATIC_OBJECTS);
+                        }
+                        this.ball = new Ball(Vector2.ZERO, new Vector2(BALL_RADIUS, BALL_RADIUS), null,
+                                silentSound());
+                        // apply the pending additions, like the game loop does every frame.
+                        objects.update(0);
+                        this.next = 0;
+                    }
+
+                    @Override
+                    public int run() {
+                        this.bricks[this.next++].onCollisionEnter(this.ball, this.collision);
+                        return this.next;
+                    }
+                });
+    }
+
+    /**
+     * runs Brick.onCollisionEnter through each of the collision strategies.
+     */
+    private void benchmarkBrickCollisions() {
+        HeadlessGameRunner runner = new HeadlessGameRunner();
+        benchmarkBrickCollision("RemoveBrickStrategy", manager ->
+                new RemoveBrickStrategy(manager.objects()));
+        benchmarkBrickCollision("PuckStrategy", manager ->
+                new PuckStrategy(new RemoveBrickStrategy(manager.objects()), assets(runner),
+                        manager.getDynamicObjects(), new ObjectPool<>(), manager.getRandom(),
+                        manager.getSweptCollisions(), null));
+        benchmarkBrickCollision("ChangeTimeScaleStrategy", manager ->
+                new ChangeTimeScaleStrategy(new RemoveBrickStrategy(manager.objects()), assets(runner),
+                        runner.getWindowController(), manager.getDynamicObjects(), new ObjectPool<>(),
+                        manager.getRandom()));
+        benchmarkBrickCollision("AddPaddleStrategy", manager ->
+                new AddPaddleStrategy(new RemoveBrickStrategy(manager.objects()), assets(runner),
+                        runner.getInputListener(), DEFAULT_WINDOW, manager.getDynamicObjects(),
+                        new ObjectPool<>(), new Counter()));
+        benchmarkBrickCollision("ChangeCameraStrategy", manager ->
+                new ChangeCameraStrategy(new RemoveBrickStrategy(manager.objects()),
+                        runner.getWindowController(), manager));
+        benchmarkBrickCollision("PuckStrategy(ChangeTimeScaleStrategy)", manager ->
+                new PuckStrategy(new ChangeTimeScaleStrategy(new RemoveBrickStrategy(manager.objects()),
+                        assets(runner), runner.getWindowController(), manager.getDynamicObjects(),
+                        new ObjectPool<>(), manager.getRandom()), assets(runner), manager.getDynamicObjects(),
+                        new ObjectPool<>(), manager.getRandom(), manager.getSweptCollisions(), null));
+    }
+
+    /**
+     * runs BrickStrategyFactory.getStrategy.
+     */
+    private void benchmarkGetStrategy() {
+        HeadlessGameRunner runner = new HeadlessGameRunner();
+        BenchmarkGameManager gameManager = new BenchmarkGameManager(DEFAULT_WINDOW,
+                DEFAULT_BRICKS_LINES, DEFAULT_NUM_OF_BRICKS / DEFAULT_BRICKS_LINES);
+        runner.newGame(gameManager);
+        BrickStrategyFactory factory = new BrickStrategyFactory(gameManager.objects(),
+                gameManager.getDynamicObjects(), gameManager, gameManager.getAssets(), runner.getInputListener(),
+                runner.getWindowController(), DEFAULT_WINDOW, gameManager.getRandom());
+        this.harness.run("BrickStrategyFactory.getStrategy", STRATEGIES_PER_ITERATION,
+                new BenchmarkHarness.Benchmark() {
+                    @Override
+                    public void setUp() {
+                    }
+
+                    @Override
+                    public int run() {
+                        return factory.getStrategy() == null ? 0 : 1;
+                    }
+                });
+        // every strategy should be served from the cache, only the first read of each asset is a miss.
+        AssetCache assets = gameManager.getAssets();
+        System.out.printf("AssetCache: %d assets, %d hits, %d misses%n", assets.size(), assets.getHits(),
+                assets.getMisses());
+    }
+
+    private static AssetCache assets(HeadlessGameRunner runner) {
+        return new AssetCache(new HeadlessImageReader(runner.getWindowController()),
+                new HeadlessSoundReader(runner.getWindowController()));
+    }
+
+    private static Sound silentSound() {
+        return new HeadlessSoundReader(null).readSound(null);
+    }
+
+    /**
+     * Entry point, runs all benchmarks and prints the results.
+     * @param args none
+     */
+    public static void main(String[] args) {
+        FrameBenchmarks benchmarks = new FrameBenchmarks();
+        for (int numOfBricks : BRICK_COUNTS) {
+            for (int numOfPucks : PUCK_COUNTS) {
+                benchmarks.benchmarkFrame(numOfBricks, numOfPucks);
+            }
+        }
+        benchmarks.benchmarkEndlessFrame();
+        benchmarks.benchmarkSwarmFrame();
+        benchmarks.benchmarkSaveGame();
+        benchmarks.benchmarkPaddleUpdate();
+        benchmarks.benchmarkBallCollision();
+        benchmarks.benchmarkBrickCollisions();
+        benchmarks.benchmarkGetStrategy();
+    }
+}
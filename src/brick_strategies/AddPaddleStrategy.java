@@ -1,12 +1,15 @@
 package src.brick_strategies;
 
 import danogl.GameObject;
-import danogl.gui.ImageReader;
 import danogl.gui.UserInputListener;
-import danogl.gui.rendering.ImageRenderable;
+import danogl.gui.rendering.Renderable;
 import danogl.util.Counter;
 import danogl.util.Vector2;
+import src.assets.AssetCache;
+import src.gameobjects.DynamicObjectsRegistry;
 import src.gameobjects.MockPaddle;
+import src.gameobjects.ObjectPool;
+import src.physics.Geometry;
 
 /**
  * Concrete class extending abstract RemoveBrickStrategyDecorator with the following strategy:
@@ -18,29 +21,50 @@ public class AddPaddleStrategy extends RemoveBrickStrategyDecorator{
     private static final int MOCK_PADDLE_HEIGHT = 20;
     private static final int MOCK_PADDLE_WIDTH = 100;
     private static final int COLLISIONS_TO_DISAPPEAR = 4;
-    private static final int BUFFER_FROM_WALL = 11;
-    private static final String MOCK_PADDLE_PATH = "assets/paddle.png";
+    static final int BUFFER_FROM_WALL = 11;
+    static final String MOCK_PADDLE_PATH = "assets/paddle.png";
+    private static final Vector2 MOCK_PADDLE_DIMENSIONS = new Vector2(MOCK_PADDLE_WIDTH, MOCK_PADDLE_HEIGHT);
 
-    private final ImageRenderable mockPaddleImage;
+    private final Renderable mockPaddleImage;
     private final UserInputListener inputListener;
     private final Vector2 windowDimensions;
+    private final DynamicObjectsRegistry dynamicObjects;
+    private final ObjectPool<MockPaddle> mockPaddlePool;
+    private final Counter mockPaddlesCounter;
 
     /**
      * c'tor
      * @param toBeDecorated type CollisiionStrategy, the strategy to wrap.
-     * @param imageReader type ImageReader, used to scan the image of the MockPaddle.
+     * @param assets type AssetCache, holds the image of the MockPaddle.
      * @param inputListener type UserInputListener, used to get the info from user pressing keys and move mock paddle.
      * @param windowDimensions type Vector2, to calculate Mock Paddle position on screen
+     * @param dynamicObjects registry of spawned objects, the Mock Paddle is registered in it.
+     * @param mockPaddlePool pool of Mock Paddles that left the game, to spawn again instead of creating new ones.
+     * @param mockPaddlesCounter counts the Mock Paddles in the game, shared by all AddPaddleStrategies of a game.
      */
-    public AddPaddleStrategy(CollisionStrategy toBeDecorated, ImageReader imageReader,
-                             UserInputListener inputListener, Vector2 windowDimensions) {
+    public AddPaddleStrategy(CollisionStrategy toBeDecorated, AssetCache assets,
+                             UserInputListener inputListener, Vector2 windowDimensions,
+                             DynamicObjectsRegistry dynamicObjects, ObjectPool<MockPaddle> mockPaddlePool,
+                             Counter mockPaddlesCounter) {
         super(toBeDecorated);
-        this.mockPaddleImage = imageReader.readImage(MOCK_PADDLE_PATH, false);
+        this.mockPaddleImage = assets.getDeferredImage(MOCK_PADDLE_PATH, false);
         this.inputListener = inputListener;
         this.windowDimensions = windowDimensions;
+        this.dynamicObjects = dynamicObjects;
+        this.mockPaddlePool = mockPaddlePool;
+        this.mockPaddlesCounter = mockPaddlesCounter;
 
     }
 
+    /**
+     * declares the assets of the strategy to the cache, which starts reading them, so creating the strategy
+     * doesn't wait for the disk.
+     * @param assets the cache to read the assets into.
+     */
+    public static void preloadAssets(AssetCache assets) {
+        assets.preloadImage(MOCK_PADDLE_PATH, false);
+    }
+
     /**
      * when a Brick with AddPaddleStrategy collides, remove brick from game and add another Mock Paddle
      * in the middle of the screen (only if there isn't one already).
@@ -52,13 +76,19 @@ public class AddPaddleStrategy extends RemoveBrickStrategyDecorator{
     public void onCollision(GameObject thisObj, GameObject otherObj, Counter counter) {
         super.onCollision(thisObj, otherObj, counter);
         // is there isn't a Mock Paddle in the game right now, create one and add it to the game.
-        if (!MockPaddle.isInstantiated) {
+        if (this.mockPaddlesCounter.value() == 0) {
             // location, brick X axis, middle of the screen Y axis
-            Vector2 location = new Vector2(otherObj.getCenter().x(), this.windowDimensions.mult(0.5f).y());
-            Vector2 dimensions = new Vector2(MOCK_PADDLE_WIDTH, MOCK_PADDLE_HEIGHT);
-            GameObject mockPaddle = new MockPaddle(location, dimensions, this.mockPaddleImage, this.inputListener,
-                    this.windowDimensions, getGameObjectCollection(), BUFFER_FROM_WALL, COLLISIONS_TO_DISAPPEAR);
+            float locationX = Geometry.centerX(otherObj);
+            float locationY = this.windowDimensions.y() * 0.5f;
+            MockPaddle mockPaddle = this.mockPaddlePool.acquire();
+            if (mockPaddle == null)
+                mockPaddle = new MockPaddle(new Vector2(locationX, locationY), MOCK_PADDLE_DIMENSIONS,
+                        this.mockPaddleImage, this.inputListener, this.windowDimensions, getGameObjectCollection(),
+                        BUFFER_FROM_WALL, COLLISIONS_TO_DISAPPEAR, this.mockPaddlesCounter);
+            else
+                mockPaddle.reinit(locationX, locationY, COLLISIONS_TO_DISAPPEAR);
             getGameObjectCollection().addGameObject(mockPaddle);
+            this.dynamicObjects.register(mockPaddle, this.mockPaddlePool);
         }
     }
 }
@@ -0,0 +1,86 @@
+package src.brick_strategies;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Picks an index at random, where each index has its own weight, in O(1) per pick (Vose's alias method).
+ * The weights are spread over equal columns, each column holding a part of one index and possibly the rest of a
+ * second index (its alias). A pick chooses a column uniformly and then one of its two indices.
+ * Building the table takes O(n), so it should be rebuilt only when the weights change.
+ */
+public class AliasTable {
+    // chance of each column to pick its own index rather than its alias.
+    private final double[] probabilities;
+    private final int[] aliases;
+
+    /**
+     * c'tor
+     * @param weights weight of each index, all must be non-negative and at least one positive.
+     */
+    public AliasTable(double[] weights) {
+        int size = weights.length;
+        double total = 0;
+        for (double weight : weights) {
+            if (weight < 0 || Double.isNaN(weight))
+                throw new IllegalArgumentException("weights must be non-negative: " + weight);
+            total += weight;
+        }
+        if (total <= 0)
+            throw new IllegalArgumentException("at least one weight must be positive");
+        this.probabilities = new double[size];
+        this.aliases = new int[size];
+        // scale the weights so the average is 1, then pair every column below 1 with one above 1.
+        double[] scaled = new double[size];
+        int[] small = new int[size];
+        int[] large = new int[size];
+        int numOfSmall = 0;
+        int numOfLarge = 0;
+        for (int i = 0; i < size; i++) {
+            scaled[i] = weights[i] * size / total;
+            if (scaled[i] < 1)
+                small[numOfSmall++] = i;
+            else
+                large[numOfLarge++] = i;
+        }
+        while (numOfSmall > 0 && numOfLarge > 0) {
+            int less = small[--numOfSmall];
+            int more = large[--numOfLarge];
+            this.probabilities[less] = scaled[less];
+            this.aliases[less] = more;
+            // the large index fills the rest of the small one's column.
+            scaled[more] = scaled[more] + scaled[less] - 1;
+            if (scaled[more] < 1)
+                small[numOfSmall++] = more;
+            else
+                large[numOfLarge++] = more;
+        }
+        // what's left is (up to rounding errors) exactly 1.
+        while (numOfLarge > 0) {
+            int index = large[--numOfLarge];
+            this.probabilities[index] = 1;
+            this.aliases[index] = index;
+        }
+        while (numOfSmall > 0) {
+            int index = small[--numOfSmall];
+            this.probabilities[index] = 1;
+            this.aliases[index] = index;
+        }
+    }
+
+    /**
+     * picks an index according to the weights.
+     * @param random source of randomness.
+     * @return the picked index.
+     */
+    public int sample(RandomGenerator random) {
+        int column = random.nextInt(this.probabilities.length);
+        return random.nextDouble() < this.probabilities[column] ? column : this.aliases[column];
+    }
+
+    /**
+     * @return how many indices the table picks from.
+     */
+    public int size() {
+        return this.probabilities.length;
+    }
+}
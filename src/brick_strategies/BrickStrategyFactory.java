@@ -1,104 +1,366 @@
 package src.brick_strategies;
 
 import danogl.collisions.GameObjectCollection;
-import danogl.gui.ImageReader;
-import danogl.gui.SoundReader;
 import danogl.gui.UserInputListener;
 import danogl.gui.WindowController;
+import danogl.gui.rendering.Renderable;
+import danogl.util.Counter;
 import danogl.util.Vector2;
 import src.BrickerGameManager;
+import src.assets.AssetCache;
+import src.gameobjects.Ball;
+import src.gameobjects.ChangeTimeStatusDefiner;
+import src.gameobjects.DynamicObjectsRegistry;
+import src.gameobjects.MockPaddle;
+import src.gameobjects.ObjectPool;
+import src.gameobjects.Puck;
+import src.metrics.PhaseTimer;
 
-import java.util.Random;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
 
+/**
+ * Chooses the collision strategy of each brick, at random according to the weights in a StrategyRegistry.
+ * Strategies keep no per-brick state, so they are flyweights: every chain of strategies is created once and
+ * shared by all the bricks that get it, no matter how many bricks there are.
+ */
 public class BrickStrategyFactory {
-    private static final int NUM_OF_SPECIAL_STRATEGIES = 4;
+    // names the built-in special strategies are registered with.
+    public static final String CHANGE_TIME_SCALE = "ChangeTimeScale";
+    public static final String PUCK = "Puck";
+    public static final String ADD_PADDLE = "AddPaddle";
+    public static final String CHANGE_CAMERA = "ChangeCamera";
 
     // all the different classes that controls the game, and will allow strategies to affect the game
     private final BrickerGameManager gameManager;
-    private final ImageReader imageReader;
-    private final SoundReader soundReader;
+    private final AssetCache assets;
     private final UserInputListener userInputListener;
     private final WindowController windowController;
     private final Vector2 windowDimensions;
+    private final DynamicObjectsRegistry dynamicObjects;
+    // pools of spawned objects that left the game, shared by all the strategies.
+    private final ObjectPool<Puck> puckPool = new ObjectPool<>();
+    private final ObjectPool<ChangeTimeStatusDefiner> statusDefinerPool = new ObjectPool<>();
+    private final ObjectPool<MockPaddle> mockPaddlePool = new ObjectPool<>();
+    // how many Mock Paddles are in the game, there can only be one at a time.
+    private final Counter mockPaddlesCounter = new Counter();
     // the default strategy to wrap (will be RemoveBrickStrategy)
     private final CollisionStrategy defaultWrappedStrategy;
+    // the special strategies to choose from, and their weights.
+    private final StrategyRegistry registry = new StrategyRegistry();
+    // the strategies created so far: for each strategy, the special strategies wrapping it (by registry index).
+    private final Map<CollisionStrategy, CollisionStrategy[]> decoratedStrategies = new IdentityHashMap<>();
+    // the chain of special strategies (registry indices, the outermost first) of every strategy created and
+    // given to bricks, so a saved game can tell which strategies its bricks have.
+    private final Map<CollisionStrategy, int[]> chains = new IdentityHashMap<>();
+    // random source of the game, and a stream split from it for choosing the bricks' strategies only, so the
+    // layout of a seeded game doesn't depend on anything drawn during the game.
+    private final RandomGenerator.SplittableGenerator random;
+    private final RandomGenerator layoutRandom;
+    // counts the strategies that fire when statistics are collected, null otherwise.
+    private StrategyStatistics statistics;
+    // the strategies given to bricks, each wrapped to count the chain when it fires (only with statistics).
+    private final Map<CollisionStrategy, CollisionStrategy> countedChains = new IdentityHashMap<>();
+    // times the strategies of the bricks as a phase of the frame, null if they aren't timed.
+    private PhaseTimer strategyTimer;
+    // the strategies given to bricks, each wrapped to be timed (only with a timer).
+    private final Map<CollisionStrategy, CollisionStrategy> timedChains = new IdentityHashMap<>();
+    // number of special strategies in the chain being created.
+    private int chainLength;
     // will be used to keep track of chains of strategies (double or triple decorators).
     private int makingChainCounter;
 
     /**
      * c'tor of a BrickStrategyFactory
      * @param gameObjectCollection includes all the objects and allows to add or remove objects
+     * @param dynamicObjects registry of spawned objects, which are removed once they fall off the screen.
      * @param gameManager of type BrickerGameManager, allows to change camera settings
-     * @param imageReader type ImageReader for scanning images files for new objects
-     * @param soundReader type SoundReader, for scanning sound files for new effects.
+     * @param assets type AssetCache, holds the images and sounds of new objects and effects.
      * @param inputListener type UserInputListener, for scanning the user input and using the info.
      * @param windowController type WindowController, allow to change dimensions of the game.
      * @param windowDimensions type Vector2, dimensions of the main window of the game.
+     * @param random random source of the game, the strategies are chosen from a stream split from it.
      */
-    public BrickStrategyFactory(GameObjectCollection gameObjectCollection, BrickerGameManager gameManager,
-                                ImageReader imageReader, SoundReader soundReader, UserInputListener inputListener,
-                                WindowController windowController, Vector2 windowDimensions) {
+    public BrickStrategyFactory(GameObjectCollection gameObjectCollection, DynamicObjectsRegistry dynamicObjects,
+                                BrickerGameManager gameManager, AssetCache assets, UserInputListener inputListener,
+                                WindowController windowController, Vector2 windowDimensions,
+                                RandomGenerator.SplittableGenerator random) {
         this.gameManager = gameManager;
-        this.imageReader = imageReader;
-        this.soundReader = soundReader;
+        this.assets = assets;
         this.userInputListener = inputListener;
         this.windowController = windowController;
         this.windowDimensions = windowDimensions;
+        this.dynamicObjects = dynamicObjects;
+        this.random = random;
+        this.layoutRandom = random.split();
         this.defaultWrappedStrategy = new RemoveBrickStrategy(gameObjectCollection);
+        this.chains.put(this.defaultWrappedStrategy, new int[0]);
+        // read all the assets the strategies use once, instead of in every one of the strategies created.
+        preloadAssets(assets);
+        registerDefaultStrategies();
     }
 
     /**
-     * method randomly selects between 5 strategies and returns one CollisionStrategy object which is a
-     * RemoveBrickStrategy decorated by one of the decorator strategies,
+     * declares the assets of all the strategies to the cache, which starts reading them. the game calls it before
+     * creating anything, so they're read alongside its own assets.
+     * @param assets the cache to read the assets into.
+     */
+    public static void preloadAssets(AssetCache assets) {
+        ChangeTimeScaleStrategy.preloadAssets(assets);
+        PuckStrategy.preloadAssets(assets);
+        AddPaddleStrategy.preloadAssets(assets);
+    }
+
+    /**
+     * starts a new game with the strategies of the last one: forgets what the strategies count across a game
+     * (the Mock Paddle in it). the objects they spawned should be removed from the game first, their pools are
+     * kept.
+     */
+    public void reset() {
+        this.mockPaddlesCounter.reset();
+    }
+
+    /**
+     * @return the random source the bricks' strategies are chosen from, split from the game's.
+     */
+    public RandomGenerator getLayoutRandom() {
+        return this.layoutRandom;
+    }
+
+    /**
+     * @param strategy a strategy given to a brick by this factory.
+     * @return indices of its special strategies in the registry, the outermost first (empty for the plain
+     * strategy), or null if the strategy wasn't made by this factory. the array shouldn't be changed.
+     */
+    public int[] getChain(CollisionStrategy strategy) {
+        return this.chains.get(strategy);
+    }
+
+    /**
+     * adds a puck to the game, like the ones PuckStrategy spawns, for a game restored from a saved one.
+     * its position, dimensions and velocity should be set after.
+     * @return the puck.
+     */
+    public Puck restorePuck() {
+        Puck puck = this.puckPool.acquire();
+        if (puck == null) {
+            puck = new Puck(Vector2.ZERO, Vector2.ONES,
+                    this.assets.getDeferredImage(PuckStrategy.PUCK_PATH, true),
+                    this.assets.getDeferredSound(PuckStrategy.COLLISION_SOUND));
+            puck.setSweptCollisions(this.gameManager.getSweptCollisions());
+        }
+        else
+            puck.reinit(Vector2.ONES);
+        this.defaultWrappedStrategy.getGameObjectCollection().addGameObject(puck);
+        this.dynamicObjects.register(puck, this.puckPool);
+        return puck;
+    }
+
+    /**
+     * adds a Mock Paddle to the game, like the one AddPaddleStrategy spawns, for a game restored from a saved
+     * one. its dimensions and velocity should be set after.
+     * @param topLeftCorner position of the paddle.
+     * @param collisionsLeft how many collisions until it disappears from the game.
+     * @return the Mock Paddle.
+     */
+    public MockPaddle restoreMockPaddle(Vector2 topLeftCorner, int collisionsLeft) {
+        MockPaddle mockPaddle = this.mockPaddlePool.acquire();
+        if (mockPaddle == null)
+            mockPaddle = new MockPaddle(topLeftCorner, Vector2.ONES,
+                    this.assets.getDeferredImage(AddPaddleStrategy.MOCK_PADDLE_PATH, false),
+                    this.userInputListener, this.windowDimensions,
+                    this.defaultWrappedStrategy.getGameObjectCollection(), AddPaddleStrategy.BUFFER_FROM_WALL,
+                    collisionsLeft, this.mockPaddlesCounter);
+        else
+            mockPaddle.reinit(topLeftCorner, collisionsLeft);
+        this.defaultWrappedStrategy.getGameObjectCollection().addGameObject(mockPaddle);
+        this.dynamicObjects.register(mockPaddle, this.mockPaddlePool);
+        return mockPaddle;
+    }
+
+    /**
+     * adds a StatusDefiner to the game, like the ones ChangeTimeScaleStrategy drops, for a game restored from a
+     * saved one. its position, dimensions and velocity should be set after.
+     * @param timeMultiplier the time scale the game changes to if the paddle collects it.
+     * @return the StatusDefiner.
+     */
+    public ChangeTimeStatusDefiner restoreStatusDefiner(float timeMultiplier) {
+        ChangeTimeStatusDefiner statusDefiner = this.statusDefinerPool.acquire();
+        Renderable image = this.assets.getDeferredImage(ChangeTimeScaleStrategy.imagePathOf(timeMultiplier), true);
+        if (statusDefiner == null)
+            statusDefiner = new ChangeTimeStatusDefiner(Vector2.ZERO, Vector2.ONES, image,
+                    this.defaultWrappedStrategy.getGameObjectCollection(), this.windowController, timeMultiplier);
+        else
+            statusDefiner.reinit(image, timeMultiplier);
+        this.defaultWrappedStrategy.getGameObjectCollection().addGameObject(statusDefiner);
+        this.dynamicObjects.register(statusDefiner, this.statusDefinerPool);
+        return statusDefiner;
+    }
+
+    /**
+     * makes the camera follow the ball until it was hit the given number of times, like ChangeCameraStrategy
+     * does, for a game restored from a saved one.
+     * @param ball the ball to follow.
+     * @param collisionsLeft how many collisions until the camera resets to normal.
+     */
+    public void restoreCameraChange(Ball ball, int collisionsLeft) {
+        new ChangeCameraStrategy(this.defaultWrappedStrategy, this.windowController, this.gameManager)
+                .followBall(ball, collisionsLeft);
+    }
+
+    /**
+     * @return the registry of special strategies, new strategies can be registered and weights changed through
+     * it before the bricks are created.
+     */
+    public StrategyRegistry getRegistry() {
+        return this.registry;
+    }
+
+    /**
+     * counts every strategy that fires from now on in the given statistics. should be called before the first
+     * strategy is created, since strategies are shared.
+     * @param statistics the statistics to fill, or null to stop counting.
+     */
+    public void setStatistics(StrategyStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    /**
+     * times every strategy that fires from now on. should be called before the first strategy is created,
+     * since strategies are shared.
+     * @param strategyTimer the timer of the strategies phase, or null to stop timing.
+     */
+    public void setStrategyTimer(PhaseTimer strategyTimer) {
+        this.strategyTimer = strategyTimer;
+    }
+
+    /**
+     * method randomly selects between the registered strategies and returns one CollisionStrategy object which
+     * is a RemoveBrickStrategy decorated by one of the decorator strategies,
      * or decorated by two randomly selected strategies, or decorated by one of the decorator strategies and
-     * a pair of additional two decorator strategies.
+     * a pair of additional two decorator strategies. the same object is returned for the same chain.
      * @return CollisionStrategy, randomly selected strategy.
      */
     public CollisionStrategy getStrategy() {
         // reset making chain counter.
         this.makingChainCounter = 0;
-        Random rand = new Random();
-        // choice between the 4 special strategies, default brick and Double strategy.
-        int choice = rand.nextInt(NUM_OF_SPECIAL_STRATEGIES + 2);
+        // choice between the special strategies, default brick and Double strategy.
+        int choice = this.registry.chooseStrategy(this.layoutRandom);
         switch (choice) {
-            case (5):
-                return this.defaultWrappedStrategy;
+            case (StrategyRegistry.PLAIN):
+                return giveChain(this.defaultWrappedStrategy, 0);
+            case (StrategyRegistry.CHAIN):
+                this.chainLength = 2;
+                CollisionStrategy chain = createDoubleStrategy();
+                return giveChain(chain, this.chainLength);
             default:
-                return getSpecialStrategy(choice);
+                return giveChain(getSpecialStrategy(choice, this.defaultWrappedStrategy), 1);
+        }
+    }
+
+    /**
+     * returns the strategy of a brick whose chain of special strategies is given (like a brick of a level
+     * file), instead of chosen at random. the same object is returned for the same chain.
+     * @param chain indices of the special strategies in the registry, the outermost first.
+     * @param length number of special strategies in the chain, 0 for the plain strategy.
+     * @return CollisionStrategy, the given chain wrapping the default strategy.
+     */
+    public CollisionStrategy getStrategy(int[] chain, int length) {
+        CollisionStrategy strategy = this.defaultWrappedStrategy;
+        for (int i = length - 1; i >= 0; i--) {
+            strategy = getSpecialStrategy(chain[i], strategy);
         }
+        return giveChain(strategy, length);
+    }
+
+    /**
+     * wraps a chain of strategies to be given to a brick (see countChain and timeChain), and remembers the chain
+     * of what's given.
+     * @param strategy the chain.
+     * @param length number of special strategies in the chain.
+     * @return the strategy to give the brick.
+     */
+    private CollisionStrategy giveChain(CollisionStrategy strategy, int length) {
+        CollisionStrategy given = timeChain(countChain(strategy, length));
+        if (given != strategy)
+            this.chains.putIfAbsent(given, this.chains.get(strategy));
+        return given;
+    }
+
+    /**
+     * when timing the strategies, wraps the strategy of a brick so it's timed when it fires.
+     * @param strategy the strategy of the brick.
+     * @return the strategy to give the brick.
+     */
+    private CollisionStrategy timeChain(CollisionStrategy strategy) {
+        if (this.strategyTimer == null)
+            return strategy;
+        PhaseTimer timer = this.strategyTimer;
+        return this.timedChains.computeIfAbsent(strategy, toTime -> new TimedStrategy(toTime, timer));
+    }
+
+    /**
+     * when collecting statistics, wraps the strategy of a brick so the chain is counted when it fires.
+     * @param strategy the strategy of the brick.
+     * @param length number of special strategies in the chain.
+     * @return the strategy to give the brick.
+     */
+    private CollisionStrategy countChain(CollisionStrategy strategy, int length) {
+        if (this.statistics == null)
+            return strategy;
+        StrategyStatistics chainStatistics = this.statistics;
+        return this.countedChains.computeIfAbsent(strategy,
+                toCount -> new CountingStrategy(toCount, () -> chainStatistics.chainFired(length)));
     }
 
     /**
-     * function gets a special strategy and wraps the default remove brick strategy in it.
-     * @param choice the number of the strategy, see getSpecialStrategy(choice, strategyToWrap).
-     * @return collision strategy that wraps removebrick.
+     * registers the built-in special strategies, all with the same weight.
      */
-    private CollisionStrategy getSpecialStrategy(int choice) {
-        return getSpecialStrategy(choice, this.defaultWrappedStrategy);
+    private void registerDefaultStrategies() {
+        this.registry.register(CHANGE_TIME_SCALE, strategyToWrap -> new ChangeTimeScaleStrategy(strategyToWrap,
+                this.assets, this.windowController, this.dynamicObjects, this.statusDefinerPool, this.random));
+        this.registry.register(PUCK, strategyToWrap -> new PuckStrategy(strategyToWrap, this.assets,
+                this.dynamicObjects, this.puckPool, this.random, this.gameManager.getSweptCollisions(),
+                this.gameManager.getPuckSwarm()));
+        this.registry.register(ADD_PADDLE, strategyToWrap -> new AddPaddleStrategy(strategyToWrap, this.assets,
+                this.userInputListener, this.windowDimensions, this.dynamicObjects, this.mockPaddlePool,
+                this.mockPaddlesCounter));
+        this.registry.register(CHANGE_CAMERA, strategyToWrap -> new ChangeCameraStrategy(strategyToWrap,
+                this.windowController, this.gameManager));
     }
 
     /**
-     * get a special strategy, wrapping StrategyToWrap.
-     * @param choice the choice (should be 0 to NUM_OF_SPECIAL_STRATEGIES).
+     * get a special strategy, wrapping StrategyToWrap. it's created only the first time it's asked for.
+     * @param choice index of the special strategy in the registry.
      * @param strategyToWrap the strategy you want to decorate.
      * @return CollisionStrategy a strategy wrapping the strategy given to method
      */
     private CollisionStrategy getSpecialStrategy(int choice, CollisionStrategy strategyToWrap) {
-        switch (choice) {
-            case (0):
-                return new ChangeTimeScaleStrategy(strategyToWrap, this.imageReader, this.windowController);
-            case (1):
-                return new PuckStrategy(strategyToWrap, this.imageReader, this.soundReader);
-            case (2):
-                return new AddPaddleStrategy(strategyToWrap, this.imageReader, this.userInputListener,
-                        this.windowDimensions);
-            case (3):
-                return new ChangeCameraStrategy(strategyToWrap, this.windowController, this.gameManager);
-            case (4):
-                return createDoubleStrategy();
-            default:
-                return null;
+        CollisionStrategy[] decorated = this.decoratedStrategies.get(strategyToWrap);
+        // strategies may have been registered since the array was made.
+        if (decorated == null || decorated.length < this.registry.size()) {
+            CollisionStrategy[] grown = new CollisionStrategy[this.registry.size()];
+            if (decorated != null)
+                System.arraycopy(decorated, 0, grown, 0, decorated.length);
+            decorated = grown;
+            this.decoratedStrategies.put(strategyToWrap, decorated);
+        }
+        if (decorated[choice] == null) {
+            decorated[choice] = this.registry.decorate(choice, strategyToWrap);
+            int[] wrappedChain = this.chains.get(strategyToWrap);
+            int[] chain = new int[wrappedChain.length + 1];
+            chain[0] = choice;
+            System.arraycopy(wrappedChain, 0, chain, 1, wrappedChain.length);
+            if (this.statistics != null) {
+                StrategyStatistics strategyStatistics = this.statistics;
+                strategyStatistics.setStrategyName(choice, this.registry.getName(choice));
+                decorated[choice] = new CountingStrategy(decorated[choice],
+                        () -> strategyStatistics.strategyFired(choice));
+            }
+            this.chains.put(decorated[choice], chain);
         }
+        return decorated[choice];
     }
 
     /**
@@ -107,18 +369,21 @@ public class BrickStrategyFactory {
      * @return the first strategy in the chain.
      */
     private CollisionStrategy createDoubleStrategy() {
-        Random rand = new Random();
         if (this.makingChainCounter < 1) {
             this.makingChainCounter++;
             // create a new strategy. Can be a recursive call to createDoubleStrategy().
-            CollisionStrategy strategyToWrap = getSpecialStrategy(rand.nextInt(NUM_OF_SPECIAL_STRATEGIES + 1));
+            int choice = this.registry.chooseChainLink(this.layoutRandom);
+            CollisionStrategy strategyToWrap = choice == StrategyRegistry.CHAIN ? createDoubleStrategy() :
+                    getSpecialStrategy(choice, this.defaultWrappedStrategy);
             // create a new strategy (can't be double), that wraps the one we got before.
-            return getSpecialStrategy(rand.nextInt(NUM_OF_SPECIAL_STRATEGIES), strategyToWrap);
+            return getSpecialStrategy(this.registry.chooseSpecial(this.layoutRandom), strategyToWrap);
         }
         else {
             // if createDouble was called twice recursively, return 2 strategies that will be decorated by a third.
-            CollisionStrategy strategyToWrap = getSpecialStrategy(rand.nextInt(NUM_OF_SPECIAL_STRATEGIES));
-            return getSpecialStrategy(rand.nextInt(NUM_OF_SPECIAL_STRATEGIES), strategyToWrap);
+            this.chainLength = 3;
+            CollisionStrategy strategyToWrap = getSpecialStrategy(this.registry.chooseSpecial(this.layoutRandom),
+                    this.defaultWrappedStrategy);
+            return getSpecialStrategy(this.registry.chooseSpecial(this.layoutRandom), strategyToWrap);
         }
     }
-}
\ No newline at end of file
+}
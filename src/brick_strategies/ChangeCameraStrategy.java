@@ -2,18 +2,21 @@ package src.brick_strategies;
 
 import danogl.GameObject;
 import danogl.gui.WindowController;
-import danogl.gui.rendering.Camera;
 import danogl.util.Counter;
 import danogl.util.Vector2;
 import src.BrickerGameManager;
 import src.gameobjects.Ball;
 import src.gameobjects.BallCollisionCountdownAgent;
+import src.gameobjects.FollowingCamera;
 import src.gameobjects.Puck;
 
 /**
  * Concrete class extending abstract RemoveBrickStrategyDecorator with the following strategy:
  * When a brick with ChangeCameraStrategy gets hit, remove brick from game and make the camera focous on the
  * Ball until it hits something several times, then resets game camera back to normal.
+ * The strategy is shared by many bricks, so it keeps no state of a camera change: the camera and the
+ * BallCollisionCountdownAgent counting down its collisions are kept by the game manager, and reused by the next
+ * change.
  */
 public class ChangeCameraStrategy extends RemoveBrickStrategyDecorator {
     // how many collisions until camera resets to normal
@@ -21,7 +24,6 @@ public class ChangeCameraStrategy extends RemoveBrickStrategyDecorator {
 
     private final BrickerGameManager gameManager;
     private final WindowController windowController;
-    private BallCollisionCountdownAgent countdownAgent;
 
     /**
      * c'tor
@@ -46,28 +48,42 @@ public class ChangeCameraStrategy extends RemoveBrickStrategyDecorator {
     public void onCollision(GameObject thisObj, GameObject otherObj, Counter counter) {
         super.onCollision(thisObj, otherObj, counter);
         if (this.gameManager.getCamera() == null) { // only change camera if the camera is at default.
-            if (!(otherObj instanceof Puck)) { // only change camera if the Ball hit the brick, not a puck.
-                this.gameManager.setCamera(
-                        new Camera(
-                                otherObj,        //object to follow
-                                Vector2.ZERO,    //follow the center of the object
-                                windowController.getWindowDimensions().mult(1.2f),  //widen the frame a bit
-                                windowController.getWindowDimensions())  //share the window dimensions
-                );
-                // create new object of type BallCollisionCountdownAgent. it will call turnOffCameraChange
-                // once the ball was hit NUM_OF_COLLISIONS times.
-                this.countdownAgent = new BallCollisionCountdownAgent((Ball) otherObj, this,
-                        NUM_OF_COLLISIONS);
-                getGameObjectCollection().addGameObject(this.countdownAgent);
-            }
+            // only change camera if the Ball hit the brick, not a puck (or a paddle, in a level with low bricks).
+            if (otherObj instanceof Ball && !(otherObj instanceof Puck))
+                followBall((Ball) otherObj, NUM_OF_COLLISIONS);
         }
     }
 
+    /**
+     * makes the camera focus on the ball until it was hit the given number of times.
+     * @param ball the ball to follow.
+     * @param numOfCollisions how many collisions until the camera resets to normal.
+     */
+    void followBall(Ball ball, int numOfCollisions) {
+        FollowingCamera camera = this.gameManager.getBallCamera();
+        if (camera == null) {
+            camera = new FollowingCamera(
+                    ball,            //object to follow
+                    Vector2.ZERO,    //follow the center of the object
+                    windowController.getWindowDimensions().mult(1.2f),  //widen the frame a bit
+                    windowController.getWindowDimensions());  //share the window dimensions
+            // create new object of type BallCollisionCountdownAgent. it listens to the ball's hits, and will
+            // call turnOffCameraChange once the ball was hit numOfCollisions times.
+            camera.setCountdownAgent(new BallCollisionCountdownAgent(ball, this, numOfCollisions));
+            this.gameManager.setBallCamera(camera);
+        }
+        else {
+            // any strategy turns off the camera of the game the same way, so the agent may keep its owner.
+            camera.setToFollow(ball, Vector2.ZERO);
+            camera.getCountdownAgent().restart(ball, numOfCollisions);
+        }
+        this.gameManager.setCamera(camera);
+    }
+
     /**
      * resets the camera back to default position.
      */
     public void turnOffCameraChange() {
         this.gameManager.setCamera(null);
-        getGameObjectCollection().removeGameObject(this.countdownAgent);
     }
 }
@@ -1,14 +1,16 @@
 package src.brick_strategies;
 
 import danogl.GameObject;
-import danogl.gui.ImageReader;
 import danogl.gui.WindowController;
 import danogl.gui.rendering.Renderable;
 import danogl.util.Counter;
 import danogl.util.Vector2;
+import src.assets.AssetCache;
 import src.gameobjects.ChangeTimeStatusDefiner;
-import src.gameobjects.StatusDefiner;
-import java.util.Random;
+import src.gameobjects.DynamicObjectsRegistry;
+import src.gameobjects.ObjectPool;
+import src.physics.Geometry;
+import java.util.random.RandomGenerator;
 
 /**
  * Concrete class extending abstract RemoveBrickStrategyDecorator with the following strategy:
@@ -23,24 +25,57 @@ public class ChangeTimeScaleStrategy extends RemoveBrickStrategyDecorator{
     private static final float SLOW_TIME = 0.9f;
     private static final float FAST_TIME = 1.1f;
     private static final float DEFAULT_TIME = 1.0f;
+    private static final Vector2 CLOCK_DIMENSIONS = new Vector2(CLOCK_WIDTH, CLOCK_HEIGHT);
+    // both possibilities to choose from at random, slow time (green clock) or fast time (red clock)
+    private static final float[] TIME_MULTIPLIERS = {SLOW_TIME, FAST_TIME};
 
     private final WindowController windowController;
-    private final Renderable greenClockImage;
-    private final Renderable redClockImage;
+    private final Renderable[] clockImages;
+    private final DynamicObjectsRegistry dynamicObjects;
+    private final ObjectPool<ChangeTimeStatusDefiner> statusDefinerPool;
+    private final RandomGenerator random;
 
     /**
      * c'tor
      * @param toBeDecorated type CollisiionStrategy, the strategy to wrap.
-     * @param imageReader type ImageReader, used to scan the image of the StatusDefiners.
+     * @param assets type AssetCache, holds the images of the StatusDefiners.
      * @param windowController type WindowController, used to set TimeScale of the game.
+     * @param dynamicObjects registry of spawned objects, the StatusDefiners are registered in it to be removed
+     *                       once they fall off the screen.
+     * @param statusDefinerPool pool of StatusDefiners that left the game, to spawn again instead of creating
+     *                          new ones.
+     * @param random random source of the game, used to choose the type of the StatusDefiners.
      */
-    public ChangeTimeScaleStrategy(CollisionStrategy toBeDecorated, ImageReader imageReader,
-                                   WindowController windowController) {
+    public ChangeTimeScaleStrategy(CollisionStrategy toBeDecorated, AssetCache assets,
+                                   WindowController windowController, DynamicObjectsRegistry dynamicObjects,
+                                   ObjectPool<ChangeTimeStatusDefiner> statusDefinerPool,
+                                   RandomGenerator random) {
         super(toBeDecorated);
         this.windowController = windowController;
-        // scan the images of the StatusDefiners.
-        this.greenClockImage = imageReader.readImage(GREEN_CLOCK_IMAGE_PATH, true);
-        this.redClockImage = imageReader.readImage(RED_CLOCK_IMAGE_PATH, true);
+        this.dynamicObjects = dynamicObjects;
+        this.statusDefinerPool = statusDefinerPool;
+        this.random = random;
+        // scan the images of the StatusDefiners, in the same order as TIME_MULTIPLIERS.
+        this.clockImages = new Renderable[] {assets.getDeferredImage(GREEN_CLOCK_IMAGE_PATH, true),
+                assets.getDeferredImage(RED_CLOCK_IMAGE_PATH, true)};
+    }
+
+    /**
+     * declares the assets of the strategy to the cache, which starts reading them, so creating the strategy
+     * doesn't wait for the disk.
+     * @param assets the cache to read the assets into.
+     */
+    public static void preloadAssets(AssetCache assets) {
+        assets.preloadImage(GREEN_CLOCK_IMAGE_PATH, true);
+        assets.preloadImage(RED_CLOCK_IMAGE_PATH, true);
+    }
+
+    /**
+     * @param timeMultiplier the time scale a StatusDefiner changes the game to.
+     * @return the path of its image: the green clock slows time, the red one quickens it.
+     */
+    static String imagePathOf(float timeMultiplier) {
+        return timeMultiplier < DEFAULT_TIME ? GREEN_CLOCK_IMAGE_PATH : RED_CLOCK_IMAGE_PATH;
     }
 
     /**
@@ -53,25 +88,28 @@ public class ChangeTimeScaleStrategy extends RemoveBrickStrategyDecorator{
     @Override
     public void onCollision(GameObject thisObj, GameObject otherObj, Counter counter) {
         super.onCollision(thisObj, otherObj, counter);
-        // arrays of both possibilities to choose from at random
-        float[] timeMultipliers = {SLOW_TIME, FAST_TIME};
-        Renderable[] clockImages = {this.greenClockImage, this.redClockImage};
+        if (this.dynamicObjects.isFull())
+            return;
         double currTime = windowController.getTimeScale();
         int chosenType;
         // if the time hasn't changed already, choose at random
         if (currTime == DEFAULT_TIME) {
-            Random rand = new Random();
-            chosenType = rand.nextInt(2);
+            chosenType = this.random.nextInt(TIME_MULTIPLIERS.length);
         }
         // if time is fast, choose slow time, else choose fast time
         else if (currTime == FAST_TIME)
             chosenType = 0;
         else
             chosenType = 1;
-        // create Status Definer object with the chosen image and time, place it into the game.
-        StatusDefiner statusDefiner = new ChangeTimeStatusDefiner(Vector2.ZERO, new Vector2(CLOCK_WIDTH, CLOCK_HEIGHT),
-                clockImages[chosenType], getGameObjectCollection(), this.windowController, timeMultipliers[chosenType]);
-        statusDefiner.setCenter(thisObj.getCenter());
+        // create (or reuse from the pool) a Status Definer with the chosen image and time, place it into the game.
+        ChangeTimeStatusDefiner statusDefiner = this.statusDefinerPool.acquire();
+        if (statusDefiner == null)
+            statusDefiner = new ChangeTimeStatusDefiner(Vector2.ZERO, CLOCK_DIMENSIONS, this.clockImages[chosenType],
+                    getGameObjectCollection(), this.windowController, TIME_MULTIPLIERS[chosenType]);
+        else
+            statusDefiner.reinit(this.clockImages[chosenType], TIME_MULTIPLIERS[chosenType]);
+        statusDefiner.transform().setCenter(Geometry.centerX(thisObj), Geometry.centerY(thisObj));
         getGameObjectCollection().addGameObject(statusDefiner);
+        this.dynamicObjects.register(statusDefiner, this.statusDefinerPool);
     }
 }
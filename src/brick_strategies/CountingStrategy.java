@@ -0,0 +1,34 @@
+package src.brick_strategies;
+
+import danogl.GameObject;
+import danogl.util.Counter;
+
+/**
+ * Decorator that reports every collision to a callback before passing it on to the strategy it wraps.
+ * Used by BrickStrategyFactory to fill StrategyStatistics, without the strategies knowing about it.
+ */
+class CountingStrategy extends RemoveBrickStrategyDecorator {
+    private final Runnable onFired;
+
+    /**
+     * c'tor
+     * @param toBeDecorated the strategy to count.
+     * @param onFired called every time the strategy fires.
+     */
+    CountingStrategy(CollisionStrategy toBeDecorated, Runnable onFired) {
+        super(toBeDecorated);
+        this.onFired = onFired;
+    }
+
+    /**
+     * reports the collision, then lets the wrapped strategy handle it.
+     * @param thisObj the brick hit
+     * @param otherObj the object hitting it
+     * @param counter global brick counter
+     */
+    @Override
+    public void onCollision(GameObject thisObj, GameObject otherObj, Counter counter) {
+        this.onFired.run();
+        super.onCollision(thisObj, otherObj, counter);
+    }
+}
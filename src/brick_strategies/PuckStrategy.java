@@ -1,14 +1,19 @@
 package src.brick_strategies;
 
 import danogl.GameObject;
-import danogl.gui.ImageReader;
 import danogl.gui.Sound;
-import danogl.gui.SoundReader;
-import danogl.gui.rendering.ImageRenderable;
+import danogl.gui.rendering.Renderable;
 import danogl.util.Counter;
 import danogl.util.Vector2;
+import src.assets.AssetCache;
+import src.collisions.BrickGridCollection;
+import src.collisions.SweptCollisions;
+import src.gameobjects.DynamicObjectsRegistry;
+import src.gameobjects.ObjectPool;
 import src.gameobjects.Puck;
-import java.util.Random;
+import src.gameobjects.PuckSwarm;
+import src.physics.Geometry;
+import java.util.random.RandomGenerator;
 
 /**
  * Concrete class extending abstract RemoveBrickStrategyDecorator with the following strategy:
@@ -17,29 +22,78 @@ import java.util.Random;
  */
 public class PuckStrategy extends RemoveBrickStrategyDecorator{
     // paths to assets
-    private static final String PUCK_PATH = "assets/mockBall.png";
-    private static final String COLLISION_SOUND = "assets/Bubble5_4.wav";
+    static final String PUCK_PATH = "assets/mockBall.png";
+    static final String COLLISION_SOUND = "assets/Bubble5_4.wav";
     // number of pucks to spawn and their speed (10% faster than the ball).
     private static final int NUM_OF_PUCKS = 1;
     private static final int PUCK_SPEED = 250;
+    // all diagonal directions a puck can fly in, by X and Y multiplier (-1 or 1).
+    private static final Vector2[][] PUCK_VELOCITIES = {
+            {new Vector2(-PUCK_SPEED, -PUCK_SPEED), new Vector2(-PUCK_SPEED, PUCK_SPEED)},
+            {new Vector2(PUCK_SPEED, -PUCK_SPEED), new Vector2(PUCK_SPEED, PUCK_SPEED)}};
 
-    private final ImageRenderable puckImage;
+    private final Renderable puckImage;
     private final Sound collisionSound;
+    private final DynamicObjectsRegistry dynamicObjects;
+    private final ObjectPool<Puck> puckPool;
+    private final RandomGenerator random;
+    private final SweptCollisions sweptCollisions;
+    // the pucks of a multiball game, which new pucks join instead of being objects of their own, may be null.
+    private final PuckSwarm puckSwarm;
+    // dimensions of the last pucks spawned, reused as long as the bricks are the same size.
+    private Vector2 puckDimensions;
 
     /**
      * c'tor
      * @param toBeDecorated strategy to wrap
-     * @param imageReader type ImageReader, used to scan image files.
-     * @param soundReader type SoundReader, used to scan sound files.
+     * @param assets type AssetCache, holds the image and sound of the pucks.
+     * @param dynamicObjects registry of spawned objects, the pucks are registered in it to be removed once
+     *                       they fall off the screen.
+     * @param puckPool pool of pucks that left the game, to spawn again instead of creating new ones.
+     * @param random random source of the game, used to choose the directions of the pucks.
+     * @param sweptCollisions obstacles the pucks are kept from passing through, may be null.
+     * @param puckSwarm the swarm new pucks join, or null to spawn them as objects of their own.
      */
-    public PuckStrategy(CollisionStrategy toBeDecorated, ImageReader imageReader, SoundReader soundReader) {
+    public PuckStrategy(CollisionStrategy toBeDecorated, AssetCache assets,
+                        DynamicObjectsRegistry dynamicObjects, ObjectPool<Puck> puckPool,
+                        RandomGenerator random, SweptCollisions sweptCollisions, PuckSwarm puckSwarm) {
         super(toBeDecorated);
-        this.puckImage = imageReader.readImage(PUCK_PATH, true);
-        this.collisionSound = soundReader.readSound(COLLISION_SOUND);
+        this.dynamicObjects = dynamicObjects;
+        this.puckPool = puckPool;
+        this.random = random;
+        this.sweptCollisions = sweptCollisions;
+        this.puckSwarm = puckSwarm;
+        this.puckImage = assets.getDeferredImage(PUCK_PATH, true);
+        this.collisionSound = assets.getDeferredSound(COLLISION_SOUND);
     }
 
     /**
-     * when the brick is hit, remove it and spawn NUM_OF_PUCKS pucks instead of it, to fly in random directions.
+     * declares the assets of the strategy to the cache, which starts reading them, so creating the strategy
+     * doesn't wait for the disk.
+     * @param assets the cache to read the assets into.
+     */
+    public static void preloadAssets(AssetCache assets) {
+        assets.preloadImage(PUCK_PATH, true);
+        assets.preloadSound(COLLISION_SOUND);
+    }
+
+    /**
+     * creates an empty swarm of pucks, with the image and sound of the pucks this strategy spawns.
+     * @param assets the cache holding the assets of the pucks.
+     * @param areaDimensions dimensions of the game area.
+     * @param gameObjects the game's objects, with the grid of the bricks the pucks hit.
+     * @param capacity most pucks the swarm can have.
+     * @return the new swarm, to be added to the game.
+     */
+    public static PuckSwarm createSwarm(AssetCache assets, Vector2 areaDimensions,
+                                        BrickGridCollection gameObjects, int capacity) {
+        return new PuckSwarm(areaDimensions, assets.getImage(PUCK_PATH, true), assets.getSound(COLLISION_SOUND),
+                gameObjects, gameObjects.getGrid(), capacity);
+    }
+
+    /**
+     * when the brick is hit, remove it and spawn NUM_OF_PUCKS pucks instead of it, to fly in random directions
+     * (fewer if the game has as many spawned objects as it can take). in a multiball game they join the swarm.
      * @param thisObj the brick hit
      * @param otherObj the object hitting it
      * @param counter global brick counter
@@ -49,25 +103,54 @@ public class PuckStrategy extends RemoveBrickStrategyDecorator{
         super.onCollision(thisObj, otherObj, counter);
         // puck size should be a third of the size of the brick
         int puck_radius = (int) (thisObj.getDimensions().x() / 3);
-        // create NUM_OF_PUCKS pucks instead of the brick
-        for (int i = 0; i < NUM_OF_PUCKS; i++) {
-            GameObject puck = new Puck(Vector2.ZERO, new Vector2(puck_radius, puck_radius),
-                    this.puckImage, this.collisionSound);
-            positionPuck(puck, thisObj.getCenter());
+        if (this.puckSwarm != null) {
+            spawnInSwarm(Geometry.centerX(thisObj), Geometry.centerY(thisObj), puck_radius);
+            return;
+        }
+        if (this.puckDimensions == null || this.puckDimensions.x() != puck_radius)
+            this.puckDimensions = new Vector2(puck_radius, puck_radius);
+        // create NUM_OF_PUCKS pucks instead of the brick, reusing pucks from the pool when there are any.
+        for (int i = 0; i < NUM_OF_PUCKS && !this.dynamicObjects.isFull(); i++) {
+            Puck puck = this.puckPool.acquire();
+            if (puck == null) {
+                puck = new Puck(Vector2.ZERO, this.puckDimensions, this.puckImage, this.collisionSound);
+                // pucks are a third of a brick wide, the smallest and so the likeliest to pass through one.
+                puck.setSweptCollisions(this.sweptCollisions);
+            }
+            else
+                puck.reinit(this.puckDimensions);
+            positionPuck(puck, Geometry.centerX(thisObj), Geometry.centerY(thisObj));
             getGameObjectCollection().addGameObject(puck);
+            this.dynamicObjects.register(puck, this.puckPool);
         }
     }
 
+    /**
+     * adds NUM_OF_PUCKS pucks to the swarm at the center of the brick, in random directions (fewer if the swarm
+     * is full).
+     */
+    private void spawnInSwarm(float centerX, float centerY, float size) {
+        for (int i = 0; i < NUM_OF_PUCKS && !this.puckSwarm.isFull(); i++) {
+            Vector2 velocity = randomVelocity();
+            this.puckSwarm.spawn(centerX, centerY, velocity.x(), velocity.y(), size);
+        }
+    }
+
+    /**
+     * @return one of the diagonal velocities of a puck, at random.
+     */
+    private Vector2 randomVelocity() {
+        // generate random direction for X and Y.
+        int directionX = this.random.nextInt(PUCK_VELOCITIES.length);
+        int directionY = this.random.nextInt(PUCK_VELOCITIES[directionX].length);
+        return PUCK_VELOCITIES[directionX][directionY];
+    }
+
     /**
      * gives the puck random direction and places it at the center of the brick
      */
-    private void positionPuck(GameObject puck, Vector2 center) {
-        int [] velMultipliers = {-1, 1};
-        Random rand = new Random();
-        // generate random multiplier for X and Y directions.
-        int velMultX = velMultipliers[rand.nextInt(velMultipliers.length)];
-        int velMultY = velMultipliers[rand.nextInt(velMultipliers.length)];
-        puck.setVelocity(new Vector2(PUCK_SPEED * velMultX, PUCK_SPEED * velMultY));
-        puck.setCenter(center);
+    private void positionPuck(GameObject puck, float centerX, float centerY) {
+        puck.setVelocity(randomVelocity());
+        puck.transform().setCenter(centerX, centerY);
     }
 }
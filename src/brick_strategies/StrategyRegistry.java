@@ -0,0 +1,188 @@
+package src.brick_strategies;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+import java.util.random.RandomGenerator;
+
+/**
+ * Registry of the special strategies a brick can get, each with a weight that sets how often it's chosen.
+ * A special strategy is registered as a decorator maker: given the strategy to wrap, it returns the special
+ * strategy wrapping it. Besides the registered strategies, a brick can get the plain strategy (PLAIN) or a
+ * chain of two or three special strategies (CHAIN), each with its own weight too.
+ * New strategies can be registered at any time before the bricks are created, without changing
+ * BrickStrategyFactory. Choosing takes O(1), using alias tables that are rebuilt when the weights change.
+ */
+public class StrategyRegistry {
+    /**
+     * returned when the plain strategy (only removing the brick) was chosen.
+     */
+    public static final int PLAIN = -1;
+    /**
+     * returned when a chain of special strategies was chosen.
+     */
+    public static final int CHAIN = -2;
+    private static final double DEFAULT_WEIGHT = 1;
+
+    private final List<String> names = new ArrayList<>();
+    private final List<UnaryOperator<CollisionStrategy>> decorators = new ArrayList<>();
+    private final List<Double> weights = new ArrayList<>();
+    private double plainWeight = DEFAULT_WEIGHT;
+    private double chainWeight = DEFAULT_WEIGHT;
+    // alias tables for choosing a brick's strategy, a link in a chain that may be a chain itself, and a single
+    // special strategy. null when the weights changed since they were built.
+    private AliasTable strategyTable;
+    private AliasTable chainLinkTable;
+    private AliasTable specialTable;
+
+    /**
+     * registers a special strategy.
+     * @param name name of the strategy, used to change its weight.
+     * @param decorator makes the special strategy, wrapping the strategy it's given.
+     * @param weight how often the strategy is chosen, relative to the other weights.
+     * @return the index of the strategy in the registry.
+     */
+    public int register(String name, UnaryOperator<CollisionStrategy> decorator, double weight) {
+        this.names.add(name);
+        this.decorators.add(decorator);
+        this.weights.add(weight);
+        invalidate();
+        return this.names.size() - 1;
+    }
+
+    /**
+     * registers a special strategy with the default weight (1).
+     * @param name name of the strategy, used to change its weight.
+     * @param decorator makes the special strategy, wrapping the strategy it's given.
+     * @return the index of the strategy in the registry.
+     */
+    public int register(String name, UnaryOperator<CollisionStrategy> decorator) {
+        return register(name, decorator, DEFAULT_WEIGHT);
+    }
+
+    /**
+     * changes the weight of a registered special strategy.
+     * @param name name the strategy was registered with.
+     * @param weight the new weight, 0 means the strategy is never chosen.
+     */
+    public void setWeight(String name, double weight) {
+        int index = indexOf(name);
+        if (index < 0)
+            throw new IllegalArgumentException("no strategy registered as " + name);
+        this.weights.set(index, weight);
+        invalidate();
+    }
+
+    /**
+     * @param weight how often a brick gets only the plain strategy.
+     */
+    public void setPlainWeight(double weight) {
+        this.plainWeight = weight;
+        invalidate();
+    }
+
+    /**
+     * @param weight how often a brick gets a chain of special strategies.
+     */
+    public void setChainWeight(double weight) {
+        this.chainWeight = weight;
+        invalidate();
+    }
+
+    /**
+     * @return how many special strategies are registered.
+     */
+    public int size() {
+        return this.names.size();
+    }
+
+    /**
+     * @param name name of a strategy.
+     * @return the index of the strategy registered with the name, -1 if there is none.
+     */
+    public int indexOf(String name) {
+        return this.names.indexOf(name);
+    }
+
+    /**
+     * @param index index of a registered strategy.
+     * @return the name it was registered with.
+     */
+    public String getName(int index) {
+        return this.names.get(index);
+    }
+
+    /**
+     * makes a registered special strategy.
+     * @param index index of the strategy.
+     * @param toBeDecorated the strategy to wrap.
+     * @return the special strategy wrapping toBeDecorated.
+     */
+    public CollisionStrategy decorate(int index, CollisionStrategy toBeDecorated) {
+        return this.decorators.get(index).apply(toBeDecorated);
+    }
+
+    /**
+     * chooses the strategy of a brick.
+     * @param random source of randomness.
+     * @return index of a special strategy, PLAIN or CHAIN.
+     */
+    public int chooseStrategy(RandomGenerator random) {
+        if (this.strategyTable == null)
+            this.strategyTable = buildTable(true, true);
+        return toChoice(this.strategyTable.sample(random));
+    }
+
+    /**
+     * chooses the inner link of a chain, which may be a (shorter) chain itself.
+     * @param random source of randomness.
+     * @return index of a special strategy or CHAIN.
+     */
+    public int chooseChainLink(RandomGenerator random) {
+        if (this.chainLinkTable == null)
+            this.chainLinkTable = buildTable(true, false);
+        return toChoice(this.chainLinkTable.sample(random));
+    }
+
+    /**
+     * chooses a single special strategy.
+     * @param random source of randomness.
+     * @return index of a special strategy.
+     */
+    public int chooseSpecial(RandomGenerator random) {
+        if (this.specialTable == null)
+            this.specialTable = buildTable(false, false);
+        return this.specialTable.sample(random);
+    }
+
+    /**
+     * builds an alias table of the special strategies, followed by CHAIN and PLAIN if they're included.
+     */
+    private AliasTable buildTable(boolean includeChain, boolean includePlain) {
+        int size = this.weights.size();
+        double[] tableWeights = new double[size + 2];
+        for (int i = 0; i < size; i++) {
+            tableWeights[i] = this.weights.get(i);
+        }
+        tableWeights[size] = includeChain ? this.chainWeight : 0;
+        tableWeights[size + 1] = includePlain ? this.plainWeight : 0;
+        return new AliasTable(tableWeights);
+    }
+
+    /**
+     * translates an index of a table made by buildTable to a choice.
+     */
+    private int toChoice(int index) {
+        if (index == this.weights.size())
+            return CHAIN;
+        if (index == this.weights.size() + 1)
+            return PLAIN;
+        return index;
+    }
+
+    private void invalidate() {
+        this.strategyTable = null;
+        this.chainLinkTable = null;
+        this.specialTable = null;
+    }
+}
@@ -0,0 +1,102 @@
+package src.brick_strategies;
+
+import java.util.Arrays;
+
+/**
+ * Counts how many times each special strategy fired (by its index in the StrategyRegistry), and how many times
+ * a brick with a plain strategy, a single special strategy or a chain of two or three fired.
+ * A game fills its own statistics (see BrickStrategyFactory.setStatistics), which can then be merged, so no
+ * synchronization is needed.
+ */
+public class StrategyStatistics {
+    /**
+     * the longest chain of special strategies a brick can get.
+     */
+    public static final int MAX_CHAIN_LENGTH = 3;
+
+    private long[] strategyFires = new long[0];
+    private String[] strategyNames = new String[0];
+    // index is the number of special strategies of the brick, 0 is the plain strategy.
+    private final long[] chainFires = new long[MAX_CHAIN_LENGTH + 1];
+
+    /**
+     * names a special strategy, for reports.
+     * @param strategyIndex index of the strategy in the registry.
+     * @param name name the strategy was registered with.
+     */
+    public void setStrategyName(int strategyIndex, String name) {
+        ensureSize(strategyIndex + 1);
+        this.strategyNames[strategyIndex] = name;
+    }
+
+    /**
+     * counts a special strategy that fired.
+     * @param strategyIndex index of the strategy in the registry.
+     */
+    public void strategyFired(int strategyIndex) {
+        ensureSize(strategyIndex + 1);
+        this.strategyFires[strategyIndex]++;
+    }
+
+    /**
+     * counts a brick whose strategy fired.
+     * @param chainLength how many special strategies the brick has, 0 for the plain strategy.
+     */
+    public void chainFired(int chainLength) {
+        this.chainFires[chainLength]++;
+    }
+
+    /**
+     * @return how many special strategies were named or counted.
+     */
+    public int getNumOfStrategies() {
+        return this.strategyFires.length;
+    }
+
+    /**
+     * @param strategyIndex index of a strategy in the registry.
+     * @return the name of the strategy, or null if it wasn't named.
+     */
+    public String getStrategyName(int strategyIndex) {
+        return strategyIndex < this.strategyNames.length ? this.strategyNames[strategyIndex] : null;
+    }
+
+    /**
+     * @param strategyIndex index of a strategy in the registry.
+     * @return how many times the strategy fired.
+     */
+    public long getStrategyFires(int strategyIndex) {
+        return strategyIndex < this.strategyFires.length ? this.strategyFires[strategyIndex] : 0;
+    }
+
+    /**
+     * @param chainLength number of special strategies, 0 for the plain strategy.
+     * @return how many bricks with that many special strategies fired.
+     */
+    public long getChainFires(int chainLength) {
+        return this.chainFires[chainLength];
+    }
+
+    /**
+     * adds the counts of other statistics to these.
+     * @param other the statistics to add.
+     */
+    public void merge(StrategyStatistics other) {
+        ensureSize(other.strategyFires.length);
+        for (int i = 0; i < other.strategyFires.length; i++) {
+            this.strategyFires[i] += other.strategyFires[i];
+            if (this.strategyNames[i] == null)
+                this.strategyNames[i] = other.strategyNames[i];
+        }
+        for (int i = 0; i < this.chainFires.length; i++) {
+            this.chainFires[i] += other.chainFires[i];
+        }
+    }
+
+    private void ensureSize(int size) {
+        if (this.strategyFires.length < size) {
+            this.strategyFires = Arrays.copyOf(this.strategyFires, size);
+            this.strategyNames = Arrays.copyOf(this.strategyNames, size);
+        }
+    }
+}
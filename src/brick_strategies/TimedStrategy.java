@@ -0,0 +1,36 @@
+package src.brick_strategies;
+
+import danogl.GameObject;
+import danogl.util.Counter;
+import src.metrics.PhaseTimer;
+
+/**
+ * Decorator that times every collision the strategy it wraps handles, with the whole chain of strategies
+ * under it. Used by BrickStrategyFactory to time the strategies as a phase of the frame.
+ */
+class TimedStrategy extends RemoveBrickStrategyDecorator {
+    private final PhaseTimer timer;
+
+    /**
+     * c'tor
+     * @param toBeDecorated the strategy to time.
+     * @param timer the timer of the strategies phase.
+     */
+    TimedStrategy(CollisionStrategy toBeDecorated, PhaseTimer timer) {
+        super(toBeDecorated);
+        this.timer = timer;
+    }
+
+    /**
+     * lets the wrapped strategy handle the collision, and times it.
+     * @param thisObj the brick hit
+     * @param otherObj the object hitting it
+     * @param counter global brick counter
+     */
+    @Override
+    public void onCollision(GameObject thisObj, GameObject otherObj, Counter counter) {
+        this.timer.begin();
+        super.onCollision(thisObj, otherObj, counter);
+        this.timer.end();
+    }
+}
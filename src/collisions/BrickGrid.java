@@ -0,0 +1,282 @@
+package src.collisions;
+
+import danogl.GameObject;
+import danogl.util.Vector2;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A uniform grid index of static objects (the bricks). The area is divided into cells of equal size, each
+ * object is registered in every cell its bounding box overlaps, and a query returns only the objects registered
+ * in the cells the queried box overlaps. When the cell size matches the bricks layout, every brick sits in a
+ * single cell, so both a query and a removal only touch a handful of cells no matter how many bricks there are.
+ * Objects which are not fully inside the grid area are kept in an overflow list that is part of every query.
+ * A grid may wrap its rows around instead, for a level that goes on along the Y axis (scrolled through): row r
+ * of cells then covers every r + k * numOfRows row of the endless area. As long as all the objects are within
+ * numOfRows rows of each other, every cell holds objects of a single row, and a query touches just as few cells.
+ */
+public class BrickGrid {
+    private final float originX;
+    private final float originY;
+    private final float cellWidth;
+    private final float cellHeight;
+    private final int numOfColumns;
+    private final int numOfRows;
+    // true if the rows wrap around, so any Y is inside the grid.
+    private final boolean wrapRows;
+    private final List<Entry>[] cells;
+    // objects which are not fully inside the grid, always returned by queries.
+    private final List<GameObject> overflow = new ArrayList<>();
+    // the entry of each object in the grid. the cells of an object are found again from its bounds on removal
+    // (static objects don't move), so they aren't stored.
+    private final Map<GameObject, Entry> objectCells = new IdentityHashMap<>();
+    // scratch range for add and remove, so they don't allocate.
+    private final int[] scratchRange = new int[4];
+    // stamp of the last query, an entry stamped with it was already found by that query.
+    private long queryStamp = 0;
+
+    /**
+     * An object in the grid, as registered in its cells.
+     */
+    private static class Entry {
+        private final GameObject object;
+        // true if the object is kept in the overflow list instead of cells.
+        private final boolean inOverflow;
+        // stamp of the last query that found the object, so a query spanning several of its cells adds it once.
+        private long queryStamp = 0;
+
+        private Entry(GameObject object, boolean inOverflow) {
+            this.object = object;
+            this.inOverflow = inOverflow;
+        }
+    }
+
+    /**
+     * c'tor
+     * @param origin top left corner of the grid area, in window coordinates.
+     * @param cellDimensions width and height of a single cell.
+     * @param numOfColumns number of cells along the X axis.
+     * @param numOfRows number of cells along the Y axis.
+     */
+    public BrickGrid(Vector2 origin, Vector2 cellDimensions, int numOfColumns, int numOfRows) {
+        this(origin, cellDimensions, numOfColumns, numOfRows, false);
+    }
+
+    /**
+     * c'tor
+     * @param origin top left corner of the grid area, in window coordinates (with wrapping rows, the top left
+     *               corner of any of its cells of row 0).
+     * @param cellDimensions width and height of a single cell.
+     * @param numOfColumns number of cells along the X axis.
+     * @param numOfRows number of cells along the Y axis.
+     * @param wrapRows true if the rows wrap around, so the grid covers any Y.
+     */
+    // an array of a generic type can only be created raw, every cell is set to an ArrayList right after.
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public BrickGrid(Vector2 origin, Vector2 cellDimensions, int numOfColumns, int numOfRows, boolean wrapRows) {
+        this.wrapRows = wrapRows;
+        this.originX = origin.x();
+        this.originY = origin.y();
+        this.cellWidth = cellDimensions.x();
+        this.cellHeight = cellDimensions.y();
+        this.numOfColumns = numOfColumns;
+        this.numOfRows = numOfRows;
+        this.cells = new List[numOfColumns * numOfRows];
+        for (int i = 0; i < this.cells.length; i++) {
+            this.cells[i] = new ArrayList<>(1);
+        }
+    }
+
+    /**
+     * registers an object in all the cells its bounding box overlaps. the object shouldn't move while it's in
+     * the grid.
+     * @param object the object to add.
+     */
+    public void add(GameObject object) {
+        if (this.objectCells.containsKey(object))
+            return;
+        Vector2 topLeft = object.getTopLeftCorner();
+        Vector2 dimensions = object.getDimensions();
+        float left = topLeft.x() - this.originX;
+        float top = topLeft.y() - this.originY;
+        // objects that stick out of the grid area can't be found by cells, keep them aside.
+        if (left < 0 || left + dimensions.x() > this.numOfColumns * this.cellWidth ||
+                !this.wrapRows && (top < 0 || top + dimensions.y() > this.numOfRows * this.cellHeight)) {
+            this.overflow.add(object);
+            this.objectCells.put(object, new Entry(object, true));
+            return;
+        }
+        Entry entry = new Entry(object, false);
+        int[] range = cellRange(topLeft.x(), topLeft.y(), dimensions.x(), dimensions.y(), this.scratchRange);
+        for (int row = range[1]; row <= range[3]; row++) {
+            for (int col = range[0]; col <= range[2]; col++) {
+                this.cells[cellIndex(row, col)].add(entry);
+            }
+        }
+        this.objectCells.put(object, entry);
+    }
+
+    /**
+     * removes an object from the grid. only the cells the object is registered in are touched.
+     * @param object the object to remove.
+     * @return true if the object was in the grid.
+     */
+    public boolean remove(GameObject object) {
+        Entry entry = this.objectCells.remove(object);
+        if (entry == null)
+            return false;
+        if (entry.inOverflow) {
+            this.overflow.remove(object);
+            return true;
+        }
+        Vector2 topLeft = object.getTopLeftCorner();
+        Vector2 dimensions = object.getDimensions();
+        int[] range = cellRange(topLeft.x(), topLeft.y(), dimensions.x(), dimensions.y(), this.scratchRange);
+        for (int row = range[1]; row <= range[3]; row++) {
+            for (int col = range[0]; col <= range[2]; col++) {
+                this.cells[cellIndex(row, col)].remove(entry);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * finds all objects whose cells overlap the bounding box of the given object. the result may contain
+     * objects that don't actually touch it, but never misses one that does.
+     * @param object the object to query around.
+     * @param result list to fill with the found objects (it's cleared first), each object appears once.
+     * @param range scratch array of 4 ints, to avoid allocating on every query.
+     */
+    public void query(GameObject object, List<GameObject> result, int[] range) {
+        Vector2 topLeft = object.getTopLeftCorner();
+        Vector2 dimensions = object.getDimensions();
+        query(topLeft.x(), topLeft.y(), dimensions.x(), dimensions.y(), result, range);
+    }
+
+    /**
+     * finds all objects whose cells overlap the given box. the result may contain objects that don't actually
+     * touch it, but never misses one that does.
+     * @param x left edge of the box, in window coordinates.
+     * @param y top edge of the box, in window coordinates.
+     * @param width width of the box.
+     * @param height height of the box.
+     * @param result list to fill with the found objects (it's cleared first), each object appears once.
+     * @param range scratch array of 4 ints, to avoid allocating on every query.
+     */
+    public void query(float x, float y, float width, float height, List<GameObject> result, int[] range) {
+        result.clear();
+        for (int i = 0; i < this.overflow.size(); i++) {
+            result.add(this.overflow.get(i));
+        }
+        float left = x - this.originX;
+        float top = y - this.originY;
+        // the box doesn't overlap the grid area at all.
+        if (left + width < 0 || left > this.numOfColumns * this.cellWidth ||
+                !this.wrapRows && (top + height < 0 || top > this.numOfRows * this.cellHeight))
+            return;
+        cellRange(x, y, width, height, range);
+        long stamp = ++this.queryStamp;
+        for (int row = range[1]; row <= range[3]; row++) {
+            for (int col = range[0]; col <= range[2]; col++) {
+                List<Entry> cell = this.cells[cellIndex(row, col)];
+                for (int i = 0; i < cell.size(); i++) {
+                    Entry candidate = cell.get(i);
+                    // objects spanning several cells are only added once, by the first cell found.
+                    if (candidate.queryStamp != stamp) {
+                        candidate.queryStamp = stamp;
+                        result.add(candidate.object);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return top left corner of the grid area.
+     */
+    public Vector2 getOrigin() {
+        return new Vector2(this.originX, this.originY);
+    }
+
+    /**
+     * @return width and height of a single cell.
+     */
+    public Vector2 getCellDimensions() {
+        return new Vector2(this.cellWidth, this.cellHeight);
+    }
+
+    /**
+     * @return number of cells along the X axis.
+     */
+    public int getNumOfColumns() {
+        return this.numOfColumns;
+    }
+
+    /**
+     * @return number of cells along the Y axis.
+     */
+    public int getNumOfRows() {
+        return this.numOfRows;
+    }
+
+    /**
+     * @return true if the rows wrap around, so the grid covers any Y.
+     */
+    public boolean wrapsRows() {
+        return this.wrapRows;
+    }
+
+    /**
+     * @return how many objects are in the grid.
+     */
+    public int size() {
+        return this.objectCells.size();
+    }
+
+    /**
+     * removes all objects from the grid.
+     */
+    public void clear() {
+        for (List<Entry> cell : this.cells) {
+            cell.clear();
+        }
+        this.overflow.clear();
+        this.objectCells.clear();
+    }
+
+    /**
+     * calculates the columns and rows a box overlaps, clamped to the grid. with wrapping rows, the rows aren't
+     * wrapped yet (see cellIndex), but never more than numOfRows of them.
+     * @return range, filled with first column, first row, last column and last row.
+     */
+    private int[] cellRange(float x, float y, float width, float height, int[] range) {
+        range[0] = clamp((int) Math.floor((x - this.originX) / this.cellWidth), this.numOfColumns);
+        range[2] = clamp((int) Math.floor((x + width - this.originX) / this.cellWidth), this.numOfColumns);
+        if (this.wrapRows) {
+            range[1] = (int) Math.floor((y - this.originY) / this.cellHeight);
+            range[3] = Math.min((int) Math.floor((y + height - this.originY) / this.cellHeight),
+                    range[1] + this.numOfRows - 1);
+        }
+        else {
+            range[1] = clamp((int) Math.floor((y - this.originY) / this.cellHeight), this.numOfRows);
+            range[3] = clamp((int) Math.floor((y + height - this.originY) / this.cellHeight), this.numOfRows);
+        }
+        return range;
+    }
+
+    /**
+     * @return index in cells of the cell at the given row (before wrapping) and column.
+     */
+    private int cellIndex(int row, int col) {
+        if (this.wrapRows)
+            row = Math.floorMod(row, this.numOfRows);
+        return row * this.numOfColumns + col;
+    }
+
+    private static int clamp(int index, int size) {
+        return Math.max(0, Math.min(size - 1, index));
+    }
+}
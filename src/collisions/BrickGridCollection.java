@@ -0,0 +1,261 @@
+package src.collisions;
+
+import danogl.GameObject;
+import danogl.collisions.GameObjectCollection;
+import danogl.collisions.Layer;
+import src.metrics.PhaseTimer;
+import src.rendering.StaticRenderLayer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * A GameObjectCollection that keeps every object of Layer.STATIC_OBJECTS (the bricks) in a BrickGrid.
+ * The default collision check between the static layer and the default layer tests every moving object against
+ * every brick. Here that check is turned off, and instead each object of the default layer is only tested
+ * against the bricks found in the grid cells it overlaps. Adding and removing bricks (for example by
+ * RemoveBrickStrategy) updates the grid as well, and the static render layers drawing those objects.
+ * The objects of the default layer are tested against each other here too, and every pair (with a brick or
+ * between moving objects) is first filtered by the collision categories of its objects (see CollisionFiltered),
+ * so pairs that can never collide, like two pucks or a ball and a falling power-up, cost two bit tests.
+ */
+public class BrickGridCollection extends GameObjectCollection {
+    /**
+     * Listener to the objects added to and removed from the static layer (the bricks).
+     */
+    public interface StaticObjectsListener {
+        /**
+         * called when an object is added to the static layer, or added back to it.
+         * @param gameObject the object.
+         */
+        void onStaticObjectAdded(GameObject gameObject);
+
+        /**
+         * called when an object is removed from the static layer.
+         * @param gameObject the object.
+         */
+        void onStaticObjectRemoved(GameObject gameObject);
+    }
+
+    private final BrickGrid grid;
+    // scratch objects for queries, reused every frame.
+    private final List<GameObject> candidates = new ArrayList<>();
+    private final int[] range = new int[4];
+    // the objects of the default layer, with their collision categories and masks, gathered once per frame.
+    private final List<GameObject> movers = new ArrayList<>();
+    private int[] moverCategories = new int[0];
+    private int[] moverMasks = new int[0];
+    // pairs (brick, object) that were colliding in the last frame, and the ones colliding in this frame.
+    // a pair which stopped overlapping must be checked once more so the objects get onCollisionExit.
+    private List<GameObject> collidingPairs = new ArrayList<>();
+    private List<GameObject> nextCollidingPairs = new ArrayList<>();
+    // objects removed since the last collision check, their pairs are dropped.
+    private final Set<GameObject> removedObjects = Collections.newSetFromMap(new IdentityHashMap<>());
+    // notified of every object removed from the game, may be null.
+    private Consumer<GameObject> removalListener;
+    // notified of the objects added to and removed from the static layer, may be null.
+    private StaticObjectsListener staticObjectsListener;
+    // layers drawing some of the objects, told when those leave the game or come back.
+    private final List<StaticRenderLayer> staticRenderLayers = new ArrayList<>();
+    // times the collision handling as a phase of the frame, may be null.
+    private PhaseTimer collisionTimer;
+
+    /**
+     * c'tor
+     * @param grid the (empty) grid to index the bricks with.
+     */
+    public BrickGridCollection(BrickGrid grid) {
+        super();
+        this.grid = grid;
+        layers().shouldLayersCollide(Layer.STATIC_OBJECTS, Layer.DEFAULT, false);
+        layers().shouldLayersCollide(Layer.DEFAULT, Layer.DEFAULT, false);
+    }
+
+    /**
+     * adds an object to the game, objects in the static layer are added to the grid too.
+     * @param gameObject the object to add.
+     * @param layerId the layer to add it to.
+     */
+    @Override
+    public void addGameObject(GameObject gameObject, int layerId) {
+        super.addGameObject(gameObject, layerId);
+        this.removedObjects.remove(gameObject);
+        if (layerId == Layer.STATIC_OBJECTS) {
+            this.grid.add(gameObject);
+            if (this.staticObjectsListener != null)
+                this.staticObjectsListener.onStaticObjectAdded(gameObject);
+        }
+        for (int i = 0; i < this.staticRenderLayers.size(); i++) {
+            this.staticRenderLayers.get(i).show(gameObject);
+        }
+    }
+
+    /**
+     * removes an object from the game, objects removed from the static layer are removed from the grid too.
+     * @param gameObject the object to remove.
+     * @param layerId the layer to remove it from.
+     * @return true if the object was in the layer.
+     */
+    @Override
+    public boolean removeGameObject(GameObject gameObject, int layerId) {
+        boolean removed = super.removeGameObject(gameObject, layerId);
+        if (removed) {
+            if (layerId == Layer.STATIC_OBJECTS) {
+                this.grid.remove(gameObject);
+                if (this.staticObjectsListener != null)
+                    this.staticObjectsListener.onStaticObjectRemoved(gameObject);
+            }
+            // a removed object can't collide anymore, forget its pairs like the collection forgets them.
+            this.removedObjects.add(gameObject);
+            for (int i = 0; i < this.staticRenderLayers.size(); i++) {
+                this.staticRenderLayers.get(i).hide(gameObject);
+            }
+            if (this.removalListener != null)
+                this.removalListener.accept(gameObject);
+        }
+        return removed;
+    }
+
+    /**
+     * tests each object of the default layer against the bricks near it, then the objects of the default layer
+     * against each other, then handles the collisions between the other layers. this keeps the order the layers
+     * would have been checked in.
+     */
+    @Override
+    public void handleCollisions() {
+        if (this.collisionTimer != null)
+            this.collisionTimer.begin();
+        gatherMovers();
+        this.nextCollidingPairs.clear();
+        for (int m = 0; m < this.movers.size(); m++) {
+            GameObject object = this.movers.get(m);
+            this.grid.query(object, this.candidates, this.range);
+            for (int i = 0; i < this.candidates.size(); i++) {
+                GameObject brick = this.candidates.get(i);
+                if (!CollisionCategories.canCollide(CollisionCategories.categoryOf(brick),
+                        CollisionCategories.maskOf(brick), this.moverCategories[m], this.moverMasks[m]))
+                    continue;
+                // same order the layers would have been checked in, the brick is notified first.
+                if (handlePair(brick, object))
+                    addPair(brick, object);
+            }
+        }
+        // pairs that collided last frame but weren't near each other now, let them know they separated.
+        for (int i = 0; i < this.collidingPairs.size(); i += 2) {
+            GameObject brick = this.collidingPairs.get(i);
+            GameObject object = this.collidingPairs.get(i + 1);
+            if (!isRemoved(brick, object) && !isPairIn(this.nextCollidingPairs, brick, object) &&
+                    handlePair(brick, object))
+                addPair(brick, object);
+        }
+        List<GameObject> swap = this.collidingPairs;
+        this.collidingPairs = this.nextCollidingPairs;
+        this.nextCollidingPairs = swap;
+        // every pair of moving objects, in the order the layer would have been checked in.
+        for (int i = 0; i < this.movers.size(); i++) {
+            for (int j = i + 1; j < this.movers.size(); j++) {
+                if (CollisionCategories.canCollide(this.moverCategories[i], this.moverMasks[i],
+                        this.moverCategories[j], this.moverMasks[j]))
+                    handlePair(this.movers.get(i), this.movers.get(j));
+            }
+        }
+        this.movers.clear();
+        super.handleCollisions();
+        this.removedObjects.clear();
+        if (this.collisionTimer != null)
+            this.collisionTimer.end();
+    }
+
+    /**
+     * times the collision handling (with the collision strategies it calls) from now on.
+     * @param collisionTimer the timer of the collisions phase, or null to stop timing.
+     */
+    public void setCollisionTimer(PhaseTimer collisionTimer) {
+        this.collisionTimer = collisionTimer;
+    }
+
+    /**
+     * sets a listener to be notified of every object removed from the game (from any layer).
+     * @param removalListener the listener, or null for none.
+     */
+    public void setRemovalListener(Consumer<GameObject> removalListener) {
+        this.removalListener = removalListener;
+    }
+
+    /**
+     * sets a listener to be notified of every object added to or removed from the static layer.
+     * @param staticObjectsListener the listener, or null for none.
+     */
+    public void setStaticObjectsListener(StaticObjectsListener staticObjectsListener) {
+        this.staticObjectsListener = staticObjectsListener;
+    }
+
+    /**
+     * lets a static render layer know whenever an object it draws is removed from the game or added back.
+     * @param staticRenderLayer the layer.
+     */
+    public void addStaticRenderLayer(StaticRenderLayer staticRenderLayer) {
+        this.staticRenderLayers.add(staticRenderLayer);
+    }
+
+    /**
+     * applies the additions and removals of objects made since the collection last updated, so they take effect
+     * (and are drawn) without waiting for the next update of the game.
+     */
+    public void flushChanges() {
+        // the collection's update does nothing but apply them.
+        super.update(0);
+    }
+
+    /**
+     * @return the grid of the bricks.
+     */
+    public BrickGrid getGrid() {
+        return this.grid;
+    }
+
+    /**
+     * collects the objects of the default layer and their collision categories and masks.
+     */
+    private void gatherMovers() {
+        this.movers.clear();
+        for (GameObject object : objectsInLayer(Layer.DEFAULT)) {
+            this.movers.add(object);
+        }
+        if (this.moverCategories.length < this.movers.size()) {
+            this.moverCategories = new int[this.movers.size() * 2];
+            this.moverMasks = new int[this.movers.size() * 2];
+        }
+        for (int i = 0; i < this.movers.size(); i++) {
+            this.moverCategories[i] = CollisionCategories.categoryOf(this.movers.get(i));
+            this.moverMasks[i] = CollisionCategories.maskOf(this.movers.get(i));
+        }
+    }
+
+    /**
+     * remembers a colliding pair for the next frame, unless one of them was removed while colliding.
+     */
+    private void addPair(GameObject brick, GameObject object) {
+        if (!isRemoved(brick, object)) {
+            this.nextCollidingPairs.add(brick);
+            this.nextCollidingPairs.add(object);
+        }
+    }
+
+    private boolean isRemoved(GameObject brick, GameObject object) {
+        return !this.removedObjects.isEmpty() &&
+                (this.removedObjects.contains(brick) || this.removedObjects.contains(object));
+    }
+
+    private static boolean isPairIn(List<GameObject> pairs, GameObject first, GameObject second) {
+        for (int i = 0; i < pairs.size(); i += 2) {
+            if (pairs.get(i) == first && pairs.get(i + 1) == second)
+                return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,60 @@
+package src.collisions;
+
+import danogl.GameObject;
+
+/**
+ * The collision categories of the game's objects, each a bit, so the categories an object can collide with are
+ * a bitmask. Two objects can collide only if each one's category is in the other's mask.
+ */
+public final class CollisionCategories {
+    public static final int BALL = 1;
+    public static final int PUCK = 1 << 1;
+    public static final int BRICK = 1 << 2;
+    public static final int PADDLE = 1 << 3;
+    public static final int WALL = 1 << 4;
+    public static final int POWER_UP = 1 << 5;
+    // the category of objects that don't declare one, they collide with everything.
+    public static final int OTHER = 1 << 31;
+    public static final int ALL = ~0;
+
+    private CollisionCategories() {
+    }
+
+    /**
+     * @param gameObject an object.
+     * @return the category of the object, OTHER if it doesn't declare one.
+     */
+    public static int categoryOf(GameObject gameObject) {
+        return gameObject instanceof CollisionFiltered ?
+                ((CollisionFiltered) gameObject).getCollisionCategory() : OTHER;
+    }
+
+    /**
+     * @param gameObject an object.
+     * @return the categories the object can collide with, ALL if it doesn't declare them.
+     */
+    public static int maskOf(GameObject gameObject) {
+        return gameObject instanceof CollisionFiltered ?
+                ((CollisionFiltered) gameObject).getCollisionMask() : ALL;
+    }
+
+    /**
+     * @param first an object.
+     * @param second another object.
+     * @return true if each of the objects is in a category the other can collide with.
+     */
+    public static boolean canCollide(GameObject first, GameObject second) {
+        return canCollide(categoryOf(first), maskOf(first), categoryOf(second), maskOf(second));
+    }
+
+    /**
+     * @param firstCategory category of an object.
+     * @param firstMask categories the object can collide with.
+     * @param secondCategory category of another object.
+     * @param secondMask categories the other object can collide with.
+     * @return true if each of the objects is in a category the other can collide with.
+     */
+    public static boolean canCollide(int firstCategory, int firstMask, int secondCategory, int secondMask) {
+        return (firstCategory & secondMask) != 0 && (secondCategory & firstMask) != 0;
+    }
+}
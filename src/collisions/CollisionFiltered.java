@@ -0,0 +1,19 @@
+package src.collisions;
+
+/**
+ * An object that declares which collision category it belongs to (see CollisionCategories), and which categories
+ * it can collide with. A BrickGridCollection tests a pair of objects only if each of them is in a category the
+ * other can collide with, before it looks at where they are. Objects that don't declare a category are in
+ * CollisionCategories.OTHER, and can collide with everything.
+ */
+public interface CollisionFiltered {
+    /**
+     * @return the category of the object, a single bit of CollisionCategories.
+     */
+    int getCollisionCategory();
+
+    /**
+     * @return the categories the object can collide with, a bitmask of CollisionCategories.
+     */
+    int getCollisionMask();
+}
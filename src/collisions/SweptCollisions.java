@@ -0,0 +1,128 @@
+package src.collisions;
+
+import danogl.GameObject;
+import danogl.util.Vector2;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Swept (continuous) collision test of a moving box against the bricks in a BrickGrid and a few other fixed
+ * obstacles (the walls).
+ * Collisions are found by danogl only where objects overlap after they moved, and the collision normal points
+ * from the overlap towards the object's center. So an object that moves further in a single step than an
+ * obstacle is thick either ends up on its other side without ever overlapping it, or overlaps it past its
+ * middle and is pushed on through it rather than back. Before such an object moves, the times its path enters
+ * and leaves every obstacle near the path are calculated (swept AABB), and a move that would take it past the
+ * middle of an obstacle is cut short just inside the obstacle. The regular collision handling then finds the
+ * overlap and reacts to it as always. Slow objects never go that deep in a step, and move as they did before.
+ */
+public class SweptCollisions {
+    // how deep (in pixels) into an obstacle a cut move ends, so the collision handling sees an overlap.
+    private static final float PENETRATION = 1;
+
+    private final BrickGrid grid;
+    private final List<GameObject> obstacles = new ArrayList<>();
+    // scratch objects for grid queries, reused on every test.
+    private final List<GameObject> candidates = new ArrayList<>();
+    private final int[] range = new int[4];
+    // times of impact of the last obstacle tested, set by sweep.
+    private float entryTime;
+    private float exitTime;
+
+    /**
+     * c'tor
+     * @param grid the grid of the bricks.
+     */
+    public SweptCollisions(BrickGrid grid) {
+        this.grid = grid;
+    }
+
+    /**
+     * adds a fixed obstacle that isn't in the grid, like a wall.
+     * @param obstacle the obstacle, it should never move.
+     */
+    public void addObstacle(GameObject obstacle) {
+        this.obstacles.add(obstacle);
+    }
+
+    /**
+     * calculates how much of its move in the next step an object can make without passing through an obstacle.
+     * @param mover the moving object, at its position before the step.
+     * @param dx how far the object moves along the X axis in the step.
+     * @param dy how far the object moves along the Y axis in the step.
+     * @return the part of the move, between 0 and 1, to make. 1 unless the move takes the object past the
+     * middle of an obstacle, otherwise the part that takes it just inside the obstacle.
+     */
+    public float allowedFraction(GameObject mover, float dx, float dy) {
+        if (dx == 0 && dy == 0)
+            return 1;
+        Vector2 topLeft = mover.getTopLeftCorner();
+        Vector2 dimensions = mover.getDimensions();
+        float x = topLeft.x();
+        float y = topLeft.y();
+        float width = dimensions.x();
+        float height = dimensions.y();
+        // the bricks near the path are the ones whose cells overlap the box around the start and end positions.
+        this.grid.query(Math.min(x, x + dx), Math.min(y, y + dy), width + Math.abs(dx), height + Math.abs(dy),
+                this.candidates, this.range);
+        float penetration = PENETRATION / (float) Math.sqrt(dx * dx + dy * dy);
+        float fraction = 1;
+        for (int i = 0; i < this.candidates.size() + this.obstacles.size(); i++) {
+            GameObject obstacle = i < this.candidates.size() ? this.candidates.get(i) :
+                    this.obstacles.get(i - this.candidates.size());
+            if (!sweep(x, y, width, height, dx, dy, obstacle))
+                continue;
+            // past the middle the object is already on its way out of the obstacle, on the side it's moving to.
+            float middle = (this.entryTime + this.exitTime) / 2;
+            if (middle <= 0 || middle >= 1)
+                continue;
+            // stop just inside the obstacle, or if it's already inside (it bounced, but danogl still moves it
+            // the old way for a step), before the middle.
+            float allowed = this.entryTime >= 0 ? Math.min(this.entryTime + penetration, middle) :
+                    Math.max(0, middle - penetration);
+            fraction = Math.min(fraction, allowed);
+        }
+        return fraction;
+    }
+
+    /**
+     * calculates when a moving box starts and stops overlapping an obstacle, as parts of the move, into
+     * entryTime and exitTime, as parts of the move. the times may be out of the move (below 0 or above 1).
+     * @return true if the box overlaps the obstacle at some point of the move.
+     */
+    private boolean sweep(float x, float y, float width, float height, float dx, float dy, GameObject obstacle) {
+        Vector2 obstacleTopLeft = obstacle.getTopLeftCorner();
+        Vector2 obstacleDimensions = obstacle.getDimensions();
+        float obstacleX = obstacleTopLeft.x();
+        float obstacleY = obstacleTopLeft.y();
+        float entryX, exitX, entryY, exitY;
+        if (dx > 0) {
+            entryX = (obstacleX - (x + width)) / dx;
+            exitX = (obstacleX + obstacleDimensions.x() - x) / dx;
+        } else if (dx < 0) {
+            entryX = (obstacleX + obstacleDimensions.x() - x) / dx;
+            exitX = (obstacleX - (x + width)) / dx;
+        } else if (x + width > obstacleX && x < obstacleX + obstacleDimensions.x()) {
+            entryX = Float.NEGATIVE_INFINITY;
+            exitX = Float.POSITIVE_INFINITY;
+        } else {
+            return false;
+        }
+        if (dy > 0) {
+            entryY = (obstacleY - (y + height)) / dy;
+            exitY = (obstacleY + obstacleDimensions.y() - y) / dy;
+        } else if (dy < 0) {
+            entryY = (obstacleY + obstacleDimensions.y() - y) / dy;
+            exitY = (obstacleY - (y + height)) / dy;
+        } else if (y + height > obstacleY && y < obstacleY + obstacleDimensions.y()) {
+            entryY = Float.NEGATIVE_INFINITY;
+            exitY = Float.POSITIVE_INFINITY;
+        } else {
+            return false;
+        }
+        this.entryTime = Math.max(entryX, entryY);
+        this.exitTime = Math.min(exitX, exitY);
+        return this.entryTime < this.exitTime && this.entryTime <= 1 && this.exitTime > 0;
+    }
+}
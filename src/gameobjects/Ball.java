@@ -4,17 +4,26 @@ import danogl.GameObject;
 import danogl.collisions.Collision;
 import danogl.gui.Sound;
 import danogl.gui.rendering.Renderable;
-import danogl.util.Counter;
 import danogl.util.Vector2;
+import src.collisions.CollisionCategories;
+import src.collisions.CollisionFiltered;
+import src.collisions.SweptCollisions;
+import src.physics.Geometry;
 
 /**
  * Ball is the main game object. It's positioned in game window as part of game initialization and given
  * initial velocity. On collision, it's velocity is updated to be reflected about the normal vector of the
  * surface it collides with.
  */
-public class Ball extends GameObject {
+public class Ball extends GameObject implements CollisionFiltered {
     private final Sound collisionSound;
-    private final Counter ballHitsCounter;
+    private final ObservableCounter ballHitsCounter;
+    // obstacles the ball is kept from passing through between steps, null for plain (discrete) collisions.
+    private SweptCollisions sweptCollisions;
+    // danogl moves an object by the velocity it had at the end of its last update (before collisions changed
+    // it), so that's the move to test.
+    private float moveVelocityX = 0;
+    private float moveVelocityY = 0;
 
     /**
      * Construct a new GameObject instance of type Ball.
@@ -26,7 +35,57 @@ public class Ball extends GameObject {
     public Ball(Vector2 topLeftCorner, Vector2 dimensions, Renderable renderable, Sound collisionSound) {
         super(topLeftCorner, dimensions, renderable);
         this.collisionSound = collisionSound;
-        this.ballHitsCounter = new Counter();
+        this.ballHitsCounter = new ObservableCounter();
+    }
+
+    /**
+     * makes the ball stop just inside an obstacle it would otherwise pass (or be pushed) through in a single
+     * step, when it moves further in a step than the obstacle is thick.
+     * @param sweptCollisions the obstacles to test the ball's path against, null to turn the test off.
+     */
+    public void setSweptCollisions(SweptCollisions sweptCollisions) {
+        this.sweptCollisions = sweptCollisions;
+    }
+
+    /**
+     * moves the ball, but not past the middle of an obstacle on its way (see setSweptCollisions).
+     * @param deltaTime The time, in seconds, of the step.
+     */
+    @Override
+    public void update(float deltaTime) {
+        if (this.sweptCollisions != null)
+            deltaTime *= this.sweptCollisions.allowedFraction(this, this.moveVelocityX * deltaTime,
+                    this.moveVelocityY * deltaTime);
+        super.update(deltaTime);
+        Vector2 velocity = getVelocity();
+        this.moveVelocityX = velocity.x();
+        this.moveVelocityY = velocity.y();
+    }
+
+    /**
+     * @return X of the velocity the ball moves by in its next step, which a collision since its last step
+     * didn't change yet (see update).
+     */
+    public float getMoveVelocityX() {
+        return this.moveVelocityX;
+    }
+
+    /**
+     * @return Y of the velocity the ball moves by in its next step.
+     */
+    public float getMoveVelocityY() {
+        return this.moveVelocityY;
+    }
+
+    /**
+     * sets the velocity the ball moves by in its next step, for a ball restored from a saved game. its
+     * velocity should be set too.
+     * @param velocityX X of the velocity.
+     * @param velocityY Y of the velocity.
+     */
+    public void setMoveVelocity(float velocityX, float velocityY) {
+        this.moveVelocityX = velocityX;
+        this.moveVelocityY = velocityY;
     }
 
     /**
@@ -37,13 +96,45 @@ public class Ball extends GameObject {
     @Override
     public void onCollisionEnter(GameObject other, Collision collision) {
         super.onCollisionEnter(other, collision);
-        // the ball doesn't hit other ball types (like pucks).
-        if (!(other instanceof Ball)) {
-            // if the ball hit's something, it goes the flipped direction and plays a sound.
-            setVelocity(getVelocity().flipped(collision.getNormal()));
-            this.collisionSound.play();
-            this.ballHitsCounter.increment();
-        }
+        // if the ball hit's something, it goes the flipped direction and plays a sound.
+        Geometry.flipVelocity(this, collision.getNormal());
+        this.collisionSound.play();
+        this.ballHitsCounter.increment();
+    }
+
+    /**
+     * the ball only collides with the categories in its mask, so it doesn't hit other ball types (like pucks).
+     * a BrickGridCollection already skips the other pairs, this is for any other collection.
+     * @param other the object the ball may collide with.
+     * @return true if the ball and the object can collide.
+     */
+    @Override
+    public boolean shouldCollideWith(GameObject other) {
+        return super.shouldCollideWith(other) && CollisionCategories.canCollide(this, other);
+    }
+
+    /**
+     * @return CollisionCategories.BALL.
+     */
+    @Override
+    public int getCollisionCategory() {
+        return CollisionCategories.BALL;
+    }
+
+    /**
+     * @return the categories a ball bounces off: bricks, paddles and walls, not other balls or power-ups.
+     */
+    @Override
+    public int getCollisionMask() {
+        return CollisionCategories.BRICK | CollisionCategories.PADDLE | CollisionCategories.WALL |
+                CollisionCategories.OTHER;
+    }
+
+    /**
+     * resets the count of how many times the ball was hit, used when a ball is spawned again.
+     */
+    protected void resetCollisionCounter() {
+        this.ballHitsCounter.reset();
     }
 
     /**
@@ -53,4 +144,30 @@ public class Ball extends GameObject {
     public int getCollisionCounter() {
         return this.ballHitsCounter.value();
     }
+
+    /**
+     * sets how many times the ball was hit, for a ball restored from a saved game. listeners added since are
+     * told of the change.
+     * @param value how many times the ball was hit.
+     */
+    public void setCollisionCounter(int value) {
+        this.ballHitsCounter.increaseBy(value - this.ballHitsCounter.value());
+    }
+
+    /**
+     * starts telling a listener whenever the count of how many times the ball was hit changes, so an effect
+     * can last for a number of hits without checking the ball every frame.
+     * @param listener the listener to add.
+     */
+    public void addCollisionListener(ObservableCounter.Listener listener) {
+        this.ballHitsCounter.addListener(listener);
+    }
+
+    /**
+     * stops telling a listener about the ball's hits.
+     * @param listener the listener to remove.
+     */
+    public void removeCollisionListener(ObservableCounter.Listener listener) {
+        this.ballHitsCounter.removeListener(listener);
+    }
 }
@@ -1,41 +1,61 @@
 package src.gameobjects;
 
-import danogl.GameObject;
-import danogl.util.Vector2;
 import src.brick_strategies.ChangeCameraStrategy;
 
 /**
  * An object of this class is instantiated on collision of ball with a brick with a change camera strategy.
- * It checks ball's collision counter every frame, and once the it finds the ball has collided countDownValue
- * times since instantiation, it calls the strategy to reset the camera to normal.
+ * It listens to the ball's collision counter, and once the ball has collided countDownValue times since
+ * instantiation, it stops listening and calls the strategy to reset the camera to normal. it isn't a game
+ * object, so it costs nothing in frames where the ball doesn't collide.
  */
-public class BallCollisionCountdownAgent extends GameObject {
-    private final int targetCounter;
-    private final Ball ball;
+public class BallCollisionCountdownAgent implements ObservableCounter.Listener {
     private final ChangeCameraStrategy owner;
+    private int targetCounter;
+    private Ball ball;
 
     /**
-     * c'tor
+     * c'tor, starts the countdown.
      * @param ball - Ball object whose collisions are to be counted.
      * @param owner - Object asking for countdown notification.
      * @param countDownValue - Number of ball collisions. Notify caller object that the ball collided countDownValue times since instantiation.
      */
     public BallCollisionCountdownAgent(Ball ball, ChangeCameraStrategy owner, int countDownValue) {
-        super(Vector2.ZERO, Vector2.ZERO, null);
-        // sets a target, when the ball hit counter reaches target, reset camera.
         this.owner = owner;
+        restart(ball, countDownValue);
+    }
+
+    /**
+     * starts the countdown again, after the previous one ended, so a strategy can reuse its agent.
+     * @param ball - Ball object whose collisions are to be counted.
+     * @param countDownValue - Number of ball collisions until the owner is notified.
+     */
+    public void restart(Ball ball, int countDownValue) {
+        // a countdown cut short (by a new game) may still be listening.
+        if (this.ball != null)
+            this.ball.removeCollisionListener(this);
+        // sets a target, when the ball hit counter reaches target, reset camera.
         this.ball = ball;
         this.targetCounter = this.ball.getCollisionCounter() + countDownValue;
+        this.ball.addCollisionListener(this);
+    }
+
+    /**
+     * @return how many collisions of the ball are left to count down (the countdown ends on the one after).
+     */
+    public int getCollisionsLeft() {
+        return this.targetCounter - this.ball.getCollisionCounter();
     }
 
     /**
-     * checks each frame if the ball hit countDownValue times. if so, calls to strategy turn off camera change method.
-     * @param deltaTime time of the frame.
+     * called when the ball's collision counter changes. if the ball hit countDownValue times, calls to strategy
+     * turn off camera change method.
+     * @param oldValue the collision count before the change.
+     * @param newValue the collision count now.
      */
     @Override
-    public void update(float deltaTime) {
-        super.update(deltaTime);
-        if (this.ball.getCollisionCounter() > this.targetCounter) {
+    public void onValueChanged(int oldValue, int newValue) {
+        if (newValue > this.targetCounter) {
+            this.ball.removeCollisionListener(this);
             this.owner.turnOffCameraChange();
         }
     }
@@ -6,13 +6,15 @@ import danogl.collisions.Collision;
 import danogl.gui.rendering.Renderable;
 import danogl.util.Counter;
 import danogl.util.Vector2;
+import src.collisions.CollisionCategories;
+import src.collisions.CollisionFiltered;
 
 /**
  * class represents game object of a type brick, a static GameObject, which interact with the ball when
  * collided by a given collision strategy. Bricks are the target of the player, hitting all bricks wins the game.
  */
-public class Brick extends GameObject {
-    private final CollisionStrategy collisionStrategy;
+public class Brick extends GameObject implements CollisionFiltered {
+    private CollisionStrategy collisionStrategy;
     private final Counter counter;
     // used to make sure a brick doesn't call onCollision twice (2 hits in the same frame).
     private int timesHit = 0;
@@ -46,4 +48,44 @@ public class Brick extends GameObject {
             this.collisionStrategy.onCollision(this, other, this.counter);
         }
     }
+
+    /**
+     * @return the strategy the brick calls when hit.
+     */
+    public CollisionStrategy getCollisionStrategy() {
+        return this.collisionStrategy;
+    }
+
+    /**
+     * @return true if the brick was hit, and so removed from the game by its strategy.
+     */
+    public boolean isHit() {
+        return this.timesHit > 0;
+    }
+
+    /**
+     * makes the brick as good as new for a restarted game, with the given strategy. a brick that was hit should
+     * be added back to the game too.
+     * @param collisionStrategy defines the logic which the brick will behave if collided with the ball.
+     */
+    public void reset(CollisionStrategy collisionStrategy) {
+        this.collisionStrategy = collisionStrategy;
+        this.timesHit = 0;
+    }
+
+    /**
+     * @return CollisionCategories.BRICK.
+     */
+    @Override
+    public int getCollisionCategory() {
+        return CollisionCategories.BRICK;
+    }
+
+    /**
+     * @return the categories that break a brick: balls and pucks.
+     */
+    @Override
+    public int getCollisionMask() {
+        return CollisionCategories.BALL | CollisionCategories.PUCK | CollisionCategories.OTHER;
+    }
 }
@@ -12,7 +12,7 @@ import danogl.util.Vector2;
  * if the paddle "collects" the object, the Time Scale pace of the game changes to given pace in the c'tor.
  */
 public class ChangeTimeStatusDefiner extends StatusDefiner{
-    private final float timeMultiplier;
+    private float timeMultiplier;
     private final WindowController windowController;
 
     /**
@@ -32,6 +32,24 @@ public class ChangeTimeStatusDefiner extends StatusDefiner{
         this.windowController = windowController;
     }
 
+    /**
+     * prepares a status definer taken from a pool to be spawned again, with a new look and time change.
+     * @param renderable the renderable representing the object.
+     * @param timeMultiplier the change to time scale applied if paddle collects the object.
+     */
+    public void reinit(Renderable renderable, float timeMultiplier) {
+        super.reinit();
+        renderer().setRenderable(renderable);
+        this.timeMultiplier = timeMultiplier;
+    }
+
+    /**
+     * @return the time scale the game changes to if the paddle collects the object.
+     */
+    public float getTimeMultiplier() {
+        return this.timeMultiplier;
+    }
+
     /**
      * default behaviour - if the status hits the paddle, remove it from the game.
      * in ChangeTimeStatus, also change the time scale in the game to the muiltiplier given in constructor.
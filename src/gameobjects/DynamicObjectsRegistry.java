@@ -0,0 +1,163 @@
+package src.gameobjects;
+
+import danogl.GameObject;
+import danogl.collisions.GameObjectCollection;
+import src.physics.Geometry;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps track of the objects spawned during the game that can move off the screen and should then be removed
+ * (pucks, status definers, extra paddles). Checking only these objects each frame is much cheaper than going
+ * over every object in the game, most of which (bricks, walls, background) never move.
+ * An object can be registered with the pool it was taken from. Once it leaves the game it is given back to that
+ * pool, but only on the next call to removeBelow (the end of the simulation step). The collection applies removals before
+ * the next collision step, which is where objects are spawned, so an object is never spawned again while its
+ * removal is still pending (it would be dropped from the game).
+ */
+public class DynamicObjectsRegistry {
+    private final GameObjectCollection gameObjects;
+    private final List<GameObject> objects = new ArrayList<>();
+    // the pool of each registered object (same index as in objects), null for objects that aren't pooled.
+    private final List<ObjectPool<?>> pools = new ArrayList<>();
+    // index of every registered object in the objects list, so it can be unregistered in O(1).
+    private final Map<GameObject, Integer> indices = new IdentityHashMap<>();
+    // objects that left the game since the last removeBelow, waiting to be given back to their pools.
+    private final List<GameObject> releasedObjects = new ArrayList<>();
+    private final List<ObjectPool<?>> releasedPools = new ArrayList<>();
+    // most objects to track at a time, strategies don't spawn objects when it's reached.
+    private int capacity = Integer.MAX_VALUE;
+
+    /**
+     * c'tor
+     * @param gameObjects collection of all objects in the game, objects off the screen are removed from it.
+     */
+    public DynamicObjectsRegistry(GameObjectCollection gameObjects) {
+        this.gameObjects = gameObjects;
+    }
+
+    /**
+     * starts tracking an object. should be called when the object is added to the game.
+     * @param gameObject the spawned object.
+     */
+    public void register(GameObject gameObject) {
+        register(gameObject, null);
+    }
+
+    /**
+     * starts tracking an object, which is given back to the pool once it leaves the game.
+     * @param gameObject the spawned object.
+     * @param pool the pool to give the object back to, may be null.
+     * @param <T> type of the object.
+     */
+    public <T extends GameObject> void register(T gameObject, ObjectPool<T> pool) {
+        if (!this.indices.containsKey(gameObject)) {
+            this.indices.put(gameObject, this.objects.size());
+            this.objects.add(gameObject);
+            this.pools.add(pool);
+        }
+    }
+
+    /**
+     * stops tracking an object, for example when it was removed from the game by something else.
+     * @param gameObject the object to stop tracking.
+     * @return true if the object was tracked.
+     */
+    public boolean unregister(GameObject gameObject) {
+        Integer index = this.indices.remove(gameObject);
+        if (index == null)
+            return false;
+        ObjectPool<?> pool = this.pools.get(index);
+        if (pool != null) {
+            this.releasedObjects.add(gameObject);
+            this.releasedPools.add(pool);
+        }
+        // move the last object into the freed slot, so nothing has to be shifted.
+        int lastIndex = this.objects.size() - 1;
+        GameObject last = this.objects.remove(lastIndex);
+        ObjectPool<?> lastPool = this.pools.remove(lastIndex);
+        if (last != gameObject) {
+            this.objects.set(index, last);
+            this.pools.set(index, lastPool);
+            this.indices.put(last, index);
+        }
+        return true;
+    }
+
+    /**
+     * gives the objects that left the game since the last call back to their pools, then removes from the game
+     * every tracked object whose center is below the given height, and stops tracking it.
+     * should be called once per simulation step.
+     * @param bottom the height (in window coordinates) below which objects are out of the screen.
+     */
+    public void removeBelow(float bottom) {
+        releaseToPools();
+        // go backwards, since unregistering moves the last object into the removed one's place.
+        for (int i = this.objects.size() - 1; i >= 0; i--) {
+            GameObject gameObject = this.objects.get(i);
+            if (Geometry.centerY(gameObject) > bottom) {
+                unregister(gameObject);
+                this.gameObjects.removeGameObject(gameObject);
+            }
+        }
+    }
+
+    /**
+     * removes every tracked object from the game and stops tracking it, as if all of them fell off the screen.
+     * pooled objects are given back to their pools on the next call to removeBelow, like the rest.
+     */
+    public void removeAll() {
+        removeBelow(Float.NEGATIVE_INFINITY);
+    }
+
+    /**
+     * limits how many spawned objects can be in the game at a time, for games where they could otherwise keep
+     * multiplying (an endless game never runs out of bricks to spawn pucks). unlimited by default.
+     * @param capacity most objects to track at a time.
+     */
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return true if as many objects as the capacity are tracked, so no more should be spawned.
+     */
+    public boolean isFull() {
+        return this.objects.size() >= this.capacity;
+    }
+
+    /**
+     * @param gameObject an object.
+     * @return true if the object is tracked.
+     */
+    public boolean isRegistered(GameObject gameObject) {
+        return this.indices.containsKey(gameObject);
+    }
+
+    /**
+     * @return how many objects are tracked.
+     */
+    public int size() {
+        return this.objects.size();
+    }
+
+    /**
+     * @param index index of a tracked object, between 0 and size() - 1.
+     * @return the tracked object at the index. unregistering objects changes the order of the rest.
+     */
+    public GameObject get(int index) {
+        return this.objects.get(index);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void releaseToPools() {
+        for (int i = 0; i < this.releasedObjects.size(); i++) {
+            ((ObjectPool<GameObject>) this.releasedPools.get(i)).release(this.releasedObjects.get(i));
+        }
+        this.releasedObjects.clear();
+        this.releasedPools.clear();
+    }
+}
@@ -0,0 +1,50 @@
+package src.gameobjects;
+
+import danogl.GameObject;
+import danogl.gui.rendering.Camera;
+import danogl.util.Vector2;
+
+/**
+ * A camera that follows an object, like danogl's Camera, but safe to update while other games run on other
+ * threads: GameObject.setCenter(Vector2), which Camera.update calls every frame, goes through a static scratch
+ * vector in danogl's Transform, shared by every game in the process. Transform.setCenter(float, float) doesn't.
+ */
+public class FollowingCamera extends Camera {
+    // counts down the collisions until the camera is turned off, null if it stays on.
+    private BallCollisionCountdownAgent countdownAgent;
+
+    /**
+     * c'tor
+     * @param objToFollow the object the camera follows.
+     * @param deltaRelativeToObject where the camera center is, relative to the object's center.
+     * @param dimensions the dimensions of the area the camera sees.
+     * @param windowDimensions the dimensions of the window.
+     */
+    public FollowingCamera(GameObject objToFollow, Vector2 deltaRelativeToObject, Vector2 dimensions,
+                           Vector2 windowDimensions) {
+        super(objToFollow, deltaRelativeToObject, dimensions, windowDimensions);
+    }
+
+    /**
+     * @param countdownAgent counts down the collisions until the camera is turned off, null if it stays on.
+     */
+    public void setCountdownAgent(BallCollisionCountdownAgent countdownAgent) {
+        this.countdownAgent = countdownAgent;
+    }
+
+    /**
+     * @return the countdown until the camera is turned off, null if it stays on.
+     */
+    public BallCollisionCountdownAgent getCountdownAgent() {
+        return this.countdownAgent;
+    }
+
+    /**
+     * moves the camera center, without danogl's shared scratch vector.
+     * @param center the new center of the camera.
+     */
+    @Override
+    public void setCenter(Vector2 center) {
+        transform().setCenter(center.x(), center.y());
+    }
+}
@@ -0,0 +1,115 @@
+package src.gameobjects;
+
+import danogl.GameObject;
+import danogl.collisions.GameObjectCollection;
+import danogl.collisions.Layer;
+import danogl.components.CoordinateSpace;
+import danogl.gui.UserInputListener;
+import danogl.gui.rendering.TextRenderable;
+import danogl.util.Vector2;
+import src.metrics.FrameMetrics;
+import src.metrics.LatencyHistogram;
+import src.metrics.PhaseTimer;
+
+import java.awt.*;
+import java.util.Locale;
+
+/**
+ * on screen overlay of the frame metrics: a line for every timed phase with its p50, p99 and max time over the
+ * last frames. pressing the toggle key shows or hides it. the text is refreshed a few times a second, not every
+ * frame, so it can be read (and isn't rebuilt for nothing).
+ */
+public class FrameMetricsOverlay extends GameObject {
+    private static final int REFRESH_FRAMES = 20;
+    private static final double NANOS_IN_MILLI = 1e6;
+    private static final String LINE_FORMAT = "%-10s p50 %6.2f  p99 %6.2f  max %6.2f ms";
+
+    private final FrameMetrics metrics;
+    private final UserInputListener inputListener;
+    private final int toggleKey;
+    private final TextRenderable[] lines;
+    private final GameObject[] lineObjects;
+    private boolean visible = false;
+    private boolean togglePressed = false;
+    private int framesToRefresh = 0;
+
+    /**
+     * Construct a new overlay, hidden at first. the lines are added to the game's background layer, one under
+     * the other, for every phase the metrics have.
+     * @param metrics the metrics to show, all phases should be registered already.
+     * @param topLeftCorner location of the first line on screen.
+     * @param lineDimensions dimensions of a single line of text.
+     * @param inputListener to read the toggle key.
+     * @param toggleKey key code of the key that shows and hides the overlay.
+     * @param gameObjectCollection the lines are added to it.
+     */
+    public FrameMetricsOverlay(FrameMetrics metrics, Vector2 topLeftCorner, Vector2 lineDimensions,
+                               UserInputListener inputListener, int toggleKey,
+                               GameObjectCollection gameObjectCollection) {
+        super(topLeftCorner, Vector2.ZERO, null);
+        this.metrics = metrics;
+        this.inputListener = inputListener;
+        this.toggleKey = toggleKey;
+        this.lines = new TextRenderable[metrics.size()];
+        this.lineObjects = new GameObject[metrics.size()];
+        for (int i = 0; i < this.lines.length; i++) {
+            this.lines[i] = new TextRenderable("", Font.MONOSPACED, false, true);
+            this.lines[i].setColor(Color.WHITE);
+            this.lineObjects[i] = new GameObject(
+                    topLeftCorner.add(new Vector2(0, i * lineDimensions.y())), lineDimensions, null);
+            gameObjectCollection.addGameObject(this.lineObjects[i], Layer.BACKGROUND);
+        }
+    }
+
+    /**
+     * Should be called once per frame, shows or hides the overlay when the toggle key is pressed, and refreshes
+     * the text when it's time to.
+     * @param deltaTime The time elapsed, in seconds, since the last frame.
+     */
+    @Override
+    public void update(float deltaTime) {
+        super.update(deltaTime);
+        boolean pressed = this.inputListener.isKeyPressed(this.toggleKey);
+        if (pressed && !this.togglePressed)
+            setVisible(!this.visible);
+        this.togglePressed = pressed;
+        if (this.visible && --this.framesToRefresh <= 0) {
+            refresh();
+            this.framesToRefresh = REFRESH_FRAMES;
+        }
+    }
+
+    /**
+     * shows or hides the overlay.
+     * @param visible true to show it.
+     */
+    public void setVisible(boolean visible) {
+        this.visible = visible;
+        for (int i = 0; i < this.lines.length; i++) {
+            this.lineObjects[i].renderer().setRenderable(visible ? this.lines[i] : null);
+        }
+        this.framesToRefresh = 0;
+    }
+
+    /**
+     * sets the coordinate space of the overlay and of all its lines.
+     * @param coordinateSpace the coordinate space.
+     */
+    @Override
+    public void setCoordinateSpace(CoordinateSpace coordinateSpace) {
+        super.setCoordinateSpace(coordinateSpace);
+        for (GameObject lineObject : this.lineObjects) {
+            lineObject.setCoordinateSpace(coordinateSpace);
+        }
+    }
+
+    private void refresh() {
+        for (int i = 0; i < this.lines.length; i++) {
+            PhaseTimer timer = this.metrics.get(i);
+            LatencyHistogram recent = timer.getRecent();
+            this.lines[i].setString(String.format(Locale.ROOT, LINE_FORMAT, timer.getName(),
+                    recent.getPercentile(50) / NANOS_IN_MILLI, recent.getPercentile(99) / NANOS_IN_MILLI,
+                    recent.getMax() / NANOS_IN_MILLI));
+        }
+    }
+}
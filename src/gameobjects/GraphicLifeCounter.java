@@ -3,38 +3,38 @@ package src.gameobjects;
 import danogl.GameObject;
 import danogl.collisions.GameObjectCollection;
 import danogl.collisions.Layer;
+import danogl.components.CoordinateSpace;
 import danogl.gui.rendering.Renderable;
-import danogl.util.Counter;
 import danogl.util.Vector2;
+import src.rendering.StaticRenderLayer;
 
 /**
  * on screen graphic life counter which consists of widgets in the number of lives.
- * will update the number of widgets in the progress of the game.
+ * listens to the lives counter, and adds or removes widgets whenever it changes. it isn't a game object itself,
+ * so it costs nothing in frames where the number of lives doesn't change.
  */
-public class GraphicLifeCounter extends GameObject {
+public class GraphicLifeCounter implements ObservableCounter.Listener {
     private static final int SPACE_BETWEEN_WIDGETS = 7;
 
     private final GameObject[] widgets;
-    private final Counter livesCounter;
+    // how many widgets are on the screen right now
     private int currLives;
     private final GameObjectCollection gameObjectCollection;
 
     /**
-     * Construct a new GameObject of type Paddle.
+     * Construct a new graphic life counter, and add its widgets to the screen.
      *  @param widgetTopLeftCorner Position of the object, in window coordinates (pixels).
      * @param widgetDimensions Vector which contains width and height of a single widget.
      * @param widgetRenderable The renderable representing the widget.
-     * @param livesCounter A real-time counter of how many lives there is
+     * @param livesCounter A real-time counter of how many lives there is, the widgets follow its changes.
      * @param gameObjectsCollection used to add / remove widgets from the screen
-     * @param numOfLives starting number of lives.
+     * @param numOfLives starting number of lives, also the most widgets that are ever shown.
+     * @param staticLayer the layer to draw the widgets from, null to let the game draw them.
      **/
-    public GraphicLifeCounter(Vector2 widgetTopLeftCorner, Vector2 widgetDimensions, Counter livesCounter,
+    public GraphicLifeCounter(Vector2 widgetTopLeftCorner, Vector2 widgetDimensions, ObservableCounter livesCounter,
                               Renderable widgetRenderable, GameObjectCollection gameObjectsCollection,
-                              int numOfLives) {
-        // create an invisble non-interactable object that will control the logic of the counter.
-        super(widgetTopLeftCorner, widgetDimensions, null);
+                              int numOfLives, StaticRenderLayer staticLayer) {
         this.widgets = new GameObject[numOfLives];
-        this.livesCounter = livesCounter;
         this.currLives = numOfLives;
         this.gameObjectCollection = gameObjectsCollection;
         // starting location of the first widget
@@ -43,22 +43,41 @@ public class GraphicLifeCounter extends GameObject {
         for (int i = 0; i < numOfLives; i++) {
             GameObject widget = new GameObject(Vector2.ZERO, widgetDimensions, widgetRenderable);
             this.widgets[i] = widget;
-            widget.setCenter(widgetTopLeftCorner.add(location));
+            widget.transform().setCenter(widgetTopLeftCorner.x() + location.x(), widgetTopLeftCorner.y() + location.y());
             location = new Vector2(location.x() + widgetDimensions.x() + SPACE_BETWEEN_WIDGETS, 0);
             gameObjectsCollection.addGameObject(widget, Layer.BACKGROUND);
+            if (staticLayer != null)
+                staticLayer.add(widget);
         }
+        livesCounter.addListener(this);
     }
 
     /**
-     * Should be called once per frame, checks if livesCounter changed, and if so, removes widgets accordingly.
-     * @param deltaTime The time elapsed, in seconds, since the last frame.
-     **/
+     * sets the coordinate space of the widgets, camera coordinates keep them in place on the screen when the
+     * camera moves. should be called before the widgets are drawn.
+     * @param coordinateSpace the coordinate space of the widgets.
+     */
+    public void setCoordinateSpace(CoordinateSpace coordinateSpace) {
+        for (GameObject widget : this.widgets) {
+            widget.setCoordinateSpace(coordinateSpace);
+        }
+    }
+
+    /**
+     * called when the lives counter changes, removes widgets of lost lives (or adds back widgets of gained ones).
+     * @param oldValue the number of lives before the change.
+     * @param newValue the number of lives now.
+     */
     @Override
-    public void update(float deltaTime) {
-        super.update(deltaTime);
-        if (this.livesCounter.value() < this.currLives) {
-            this.currLives --;
-            this.gameObjectCollection.removeGameObject(this.widgets[currLives], Layer.BACKGROUND);
+    public void onValueChanged(int oldValue, int newValue) {
+        int lives = Math.max(0, Math.min(newValue, this.widgets.length));
+        while (this.currLives > lives) {
+            this.currLives--;
+            this.gameObjectCollection.removeGameObject(this.widgets[this.currLives], Layer.BACKGROUND);
+        }
+        while (this.currLives < lives) {
+            this.gameObjectCollection.addGameObject(this.widgets[this.currLives], Layer.BACKGROUND);
+            this.currLives++;
         }
     }
 }
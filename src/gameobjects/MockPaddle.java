@@ -5,6 +5,7 @@ import danogl.collisions.Collision;
 import danogl.collisions.GameObjectCollection;
 import danogl.gui.UserInputListener;
 import danogl.gui.rendering.Renderable;
+import danogl.util.Counter;
 import danogl.util.Vector2;
 
 /**
@@ -13,11 +14,10 @@ import danogl.util.Vector2;
  * only one can be present at any given moment.
  */
 public class MockPaddle extends Paddle{
-    // will be used to indicate if there is already an instance of Mock paddle on screen.
-    public static boolean isInstantiated = false;
-
     private int collisionCounter;
     private final GameObjectCollection gameObjects;
+    // counts the Mock Paddles in the game, so a strategy knows if there is already one.
+    private final Counter mockPaddlesCounter;
 
     /**
      * Construct a new GameObject of type MockPaddle.
@@ -28,13 +28,46 @@ public class MockPaddle extends Paddle{
      * @param windowDimensions    dimensions of the main window
      * @param minDistanceFromEdge The distance from the wall which Paddle will stop moving further.
      * @param numCollisionsToDisappear how many collisions until the MockPaddle disappears from the game.
+     * @param mockPaddlesCounter counts the Mock Paddles in the game (of this game only), incremented while
+     *                           this paddle is in the game.
      */
     public MockPaddle(Vector2 topLeftCorner, Vector2 dimensions, Renderable renderable, UserInputListener inputListener, Vector2 windowDimensions,
-                      GameObjectCollection gameObjects, int minDistanceFromEdge, int numCollisionsToDisappear) {
+                      GameObjectCollection gameObjects, int minDistanceFromEdge, int numCollisionsToDisappear,
+                      Counter mockPaddlesCounter) {
         super(topLeftCorner, dimensions, renderable, inputListener, windowDimensions, minDistanceFromEdge);
-        MockPaddle.isInstantiated = true;
         this.gameObjects = gameObjects;
         this.collisionCounter = numCollisionsToDisappear;
+        this.mockPaddlesCounter = mockPaddlesCounter;
+        this.mockPaddlesCounter.increment();
+    }
+
+    /**
+     * prepares a MockPaddle taken from a pool to be spawned again.
+     * @param topLeftCorner the new position of the paddle.
+     * @param numCollisionsToDisappear how many collisions until the MockPaddle disappears from the game.
+     */
+    public void reinit(Vector2 topLeftCorner, int numCollisionsToDisappear) {
+        reinit(topLeftCorner.x(), topLeftCorner.y(), numCollisionsToDisappear);
+    }
+
+    /**
+     * prepares a MockPaddle taken from a pool to be spawned again, without allocating a position vector.
+     * @param topLeftX the new X of the top left corner of the paddle.
+     * @param topLeftY the new Y of the top left corner of the paddle.
+     * @param numCollisionsToDisappear how many collisions until the MockPaddle disappears from the game.
+     */
+    public void reinit(float topLeftX, float topLeftY, int numCollisionsToDisappear) {
+        this.mockPaddlesCounter.increment();
+        this.collisionCounter = numCollisionsToDisappear;
+        clearLastMove();
+        transform().setTopLeftCorner(topLeftX, topLeftY);
+    }
+
+    /**
+     * @return how many more collisions until the MockPaddle disappears from the game.
+     */
+    public int getCollisionsLeft() {
+        return this.collisionCounter;
     }
 
     /**
@@ -49,7 +82,7 @@ public class MockPaddle extends Paddle{
         this.collisionCounter--;
         if (this.collisionCounter == 0) {
             this.gameObjects.removeGameObject(this);
-            MockPaddle.isInstantiated = false;
+            this.mockPaddlesCounter.decrement();
         }
     }
 }
@@ -3,56 +3,57 @@ package src.gameobjects;
 import danogl.GameObject;
 import danogl.collisions.GameObjectCollection;
 import danogl.collisions.Layer;
+import danogl.components.CoordinateSpace;
 import danogl.gui.rendering.TextRenderable;
-import danogl.util.Counter;
 import danogl.util.Vector2;
 import java.awt.*;
 
 /**
- * on screen graphic life counter which consists of widgets in the number of lives.
- * will update the number of widgets in the progress of the game.
+ * on screen numeric life counter, a text of how many lives the player has left.
+ * listens to the lives counter and updates the text whenever it changes. it isn't a game object itself, so it
+ * costs nothing in frames where the number of lives doesn't change.
  */
-public class NumericLifeCounter extends GameObject {
+public class NumericLifeCounter implements ObservableCounter.Listener {
     private static final String PHRASE = " lives left";
 
-    // global counter, holds how many lives the player has
-    private final Counter livesCounter;
-    // holds the number which is presented on the screen right now
-    private int currLives;
     private final TextRenderable textRenderable;
+    private final GameObject counterText;
 
     /**
-     * Construct a new GameObject of type Paddle.
-     * @param livesCounter A real-time counter of how many lives player has left.
+     * Construct a new numeric life counter, and add its text to the screen.
+     * @param livesCounter A real-time counter of how many lives player has left, the text follows its changes.
      * @param topLeftCorner a Vector represents the location of the numeric counter on screen.
      * @param dimensions the dimensions of the text
-     * @param gameObjectCollection used to add / remove widgets from the screen
+     * @param gameObjectCollection used to add the text to the screen
      **/
-    public NumericLifeCounter (Counter livesCounter, Vector2 topLeftCorner, Vector2 dimensions,
+    public NumericLifeCounter (ObservableCounter livesCounter, Vector2 topLeftCorner, Vector2 dimensions,
                                GameObjectCollection gameObjectCollection) {
-        super(topLeftCorner, dimensions, null);
-        this.livesCounter = livesCounter;
-        this.currLives = livesCounter.value();
         // create a text box, bold letters in white text, add it to the screen.
         this.textRenderable = new TextRenderable(
-                this.livesCounter.value() + PHRASE,
+                livesCounter.value() + PHRASE,
                 Font.SANS_SERIF, false, true);
         this.textRenderable.setColor(Color.WHITE);
-        GameObject counterText = new GameObject(topLeftCorner, dimensions, this.textRenderable);
-        gameObjectCollection.addGameObject(counterText, Layer.BACKGROUND);
+        this.counterText = new GameObject(topLeftCorner, dimensions, this.textRenderable);
+        gameObjectCollection.addGameObject(this.counterText, Layer.BACKGROUND);
+        livesCounter.addListener(this);
     }
 
     /**
-     * Should be called once per frame, checks if livesCounter changed, and if so, updates the text.
-     * @param deltaTime The time elapsed, in seconds, since the last frame.
-     **/
+     * sets the coordinate space of the text, camera coordinates keep it in place on the screen when the camera
+     * moves.
+     * @param coordinateSpace the coordinate space of the text.
+     */
+    public void setCoordinateSpace(CoordinateSpace coordinateSpace) {
+        this.counterText.setCoordinateSpace(coordinateSpace);
+    }
+
+    /**
+     * called when the lives counter changes, updates the text.
+     * @param oldValue the number of lives before the change.
+     * @param newValue the number of lives now.
+     */
     @Override
-    public void update(float deltaTime) {
-        super.update(deltaTime);
-        // if livesCounter is different than currLives, update text and currLives.
-        if (this.livesCounter.value() != this.currLives) {
-            this.textRenderable.setString(this.livesCounter.value() + PHRASE);
-            this.currLives = this.livesCounter.value();
-        }
+    public void onValueChanged(int oldValue, int newValue) {
+        this.textRenderable.setString(newValue + PHRASE);
     }
 }
@@ -0,0 +1,63 @@
+package src.gameobjects;
+
+import danogl.GameObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A pool of objects that left the game and can be spawned again instead of creating new ones.
+ * Objects are given back with release and taken with acquire, after which they should be re-initialized
+ * (see the reinit methods of the pooled game objects).
+ * Objects should only be released once they were actually removed from the game objects collection, which
+ * DynamicObjectsRegistry takes care of.
+ * @param <T> the type of the pooled objects.
+ */
+public class ObjectPool<T> {
+    private final List<T> freeObjects = new ArrayList<>();
+    private int timesReused = 0;
+
+    /**
+     * takes an object out of the pool.
+     * @return a free object, or null if the pool is empty (then the caller should create a new one).
+     */
+    public T acquire() {
+        if (this.freeObjects.isEmpty())
+            return null;
+        this.timesReused++;
+        return this.freeObjects.remove(this.freeObjects.size() - 1);
+    }
+
+    /**
+     * makes a game object taken from a pool start still, like a new one. danogl moves an object by the velocity
+     * it had after its last update, so a reused object would otherwise make its first move the way its last one
+     * in the game went.
+     * @param gameObject the object taken from a pool.
+     */
+    public static void clearLastMove(GameObject gameObject) {
+        gameObject.transform().setVelocity(0, 0);
+        gameObject.transform().update(0);
+    }
+
+    /**
+     * gives an object back to the pool.
+     * @param object an object which is no longer in the game.
+     */
+    public void release(T object) {
+        this.freeObjects.add(object);
+    }
+
+    /**
+     * @return how many free objects are in the pool.
+     */
+    public int size() {
+        return this.freeObjects.size();
+    }
+
+    /**
+     * @return how many times an object was taken out of the pool instead of being created.
+     */
+    public int getTimesReused() {
+        return this.timesReused;
+    }
+}
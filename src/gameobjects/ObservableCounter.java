@@ -0,0 +1,100 @@
+package src.gameobjects;
+
+import danogl.util.Counter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A Counter that tells its listeners whenever its value changes, so objects showing or waiting on a count
+ * (the life counters, a countdown of ball collisions) react to the change instead of checking the counter
+ * every frame. Listeners are only told about real changes, resetting a counter that is already at 0 tells
+ * nobody. It can be passed anywhere a Counter is expected.
+ */
+public class ObservableCounter extends Counter {
+    /**
+     * Listener to the changes of a counter.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        /**
+         * called after the value of the counter changed.
+         * @param oldValue the value before the change.
+         * @param newValue the value now.
+         */
+        void onValueChanged(int oldValue, int newValue);
+    }
+
+    private final List<Listener> listeners = new ArrayList<>();
+
+    /**
+     * c'tor
+     * @param initialValue the value to start at.
+     */
+    public ObservableCounter(int initialValue) {
+        super(initialValue);
+    }
+
+    /**
+     * c'tor, the counter starts at 0.
+     */
+    public ObservableCounter() {
+        super();
+    }
+
+    /**
+     * starts telling a listener about the changes of the counter.
+     * @param listener the listener to add.
+     */
+    public void addListener(Listener listener) {
+        this.listeners.add(listener);
+    }
+
+    /**
+     * stops telling a listener about the changes of the counter. a listener may remove itself while it's told
+     * about a change.
+     * @param listener the listener to remove.
+     */
+    public void removeListener(Listener listener) {
+        this.listeners.remove(listener);
+    }
+
+    @Override
+    public void increment() {
+        int oldValue = value();
+        super.increment();
+        notifyListeners(oldValue);
+    }
+
+    @Override
+    public void decrement() {
+        int oldValue = value();
+        super.decrement();
+        notifyListeners(oldValue);
+    }
+
+    @Override
+    public void reset() {
+        int oldValue = value();
+        super.reset();
+        notifyListeners(oldValue);
+    }
+
+    @Override
+    public void increaseBy(int val) {
+        int oldValue = value();
+        super.increaseBy(val);
+        notifyListeners(oldValue);
+    }
+
+    private void notifyListeners(int oldValue) {
+        int newValue = value();
+        if (newValue == oldValue)
+            return;
+        // from the last listener down, so one that removes itself doesn't make the next one be skipped.
+        for (int i = this.listeners.size() - 1; i >= 0; i--) {
+            if (i < this.listeners.size())
+                this.listeners.get(i).onValueChanged(oldValue, newValue);
+        }
+    }
+}
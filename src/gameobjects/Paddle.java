@@ -4,17 +4,22 @@ import danogl.GameObject;
 import danogl.gui.UserInputListener;
 import danogl.gui.rendering.Renderable;
 import danogl.util.Vector2;
+import src.collisions.CollisionCategories;
+import src.collisions.CollisionFiltered;
 import java.awt.event.KeyEvent;
 
 /**
  * One of the main game objects. Repels the ball against the bricks.
  */
-public class Paddle extends GameObject {
+public class Paddle extends GameObject implements CollisionFiltered {
     private static final float MOVEMENT_SPEED = 350;
 
     private final UserInputListener inputListener;
     private final Vector2 windowDimensions;
     private final int minDistanceFromEdge;
+    // danogl moves an object by the velocity it had at the end of its last update, which is the velocity set
+    // in the update before, not the one the paddle sets after it.
+    private float moveVelocityX = 0;
 
     /**
      * Construct a new GameObject of type Paddle.
@@ -40,16 +45,17 @@ public class Paddle extends GameObject {
     @Override
     public void update(float deltaTime) {
         super.update(deltaTime);
+        this.moveVelocityX = getVelocity().x();
         // default direction is none. if left is pressed, add LEFT direction. if right, add RIGHT direction.
-        Vector2 movementDir = Vector2.ZERO;
+        float movementDir = 0;
         if(this.inputListener.isKeyPressed(KeyEvent.VK_LEFT)) {
-            movementDir = movementDir.add(Vector2.LEFT);
+            movementDir += Vector2.LEFT.x();
         }
         if(this.inputListener.isKeyPressed(KeyEvent.VK_RIGHT)) {
-            movementDir = movementDir.add(Vector2.RIGHT);
+            movementDir += Vector2.RIGHT.x();
         }
-        // apply velocity in given direction, multiplied by movement speed.
-        setVelocity(movementDir.mult(MOVEMENT_SPEED));
+        // apply velocity in given direction, multiplied by movement speed. set as floats, this runs every frame.
+        transform().setVelocity(movementDir * MOVEMENT_SPEED, 0);
         // checks if the paddle is not moving too close to the screen's edges. if so, moves it back.
         Vector2 location = getTopLeftCorner();
         if (location.x() < this.minDistanceFromEdge) {
@@ -59,4 +65,37 @@ public class Paddle extends GameObject {
             transform().setTopLeftCornerX(this.windowDimensions.x() - this.minDistanceFromEdge - getDimensions().x());
         }
     }
+
+    /**
+     * @return CollisionCategories.PADDLE.
+     */
+    @Override
+    public int getCollisionCategory() {
+        return CollisionCategories.PADDLE;
+    }
+
+    /**
+     * @return the categories that hit a paddle: balls, pucks and the power-ups it collects.
+     */
+    @Override
+    public int getCollisionMask() {
+        return CollisionCategories.BALL | CollisionCategories.PUCK | CollisionCategories.POWER_UP |
+                CollisionCategories.OTHER;
+    }
+
+    /**
+     * makes a paddle taken from a pool start still, like a new one (see ObjectPool.clearLastMove).
+     */
+    protected void clearLastMove() {
+        ObjectPool.clearLastMove(this);
+        this.moveVelocityX = 0;
+    }
+
+    /**
+     * @return X of the velocity the paddle moves by in its next step, set by its update before the last one
+     * (see update).
+     */
+    public float getMoveVelocityX() {
+        return this.moveVelocityX;
+    }
 }
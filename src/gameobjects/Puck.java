@@ -3,6 +3,7 @@ package src.gameobjects;
 import danogl.gui.Sound;
 import danogl.gui.rendering.Renderable;
 import danogl.util.Vector2;
+import src.collisions.CollisionCategories;
 
 public class Puck extends Ball {
 
@@ -18,5 +19,23 @@ public class Puck extends Ball {
         super(topLeftCorner, dimensions, renderable, collisionSound);
     }
 
+    /**
+     * prepares a puck taken from a pool to be spawned again. position and velocity should be set after.
+     * @param dimensions the new width and height of the puck.
+     */
+    public void reinit(Vector2 dimensions) {
+        setDimensions(dimensions);
+        resetCollisionCounter();
+        ObjectPool.clearLastMove(this);
+        setMoveVelocity(0, 0);
+    }
+
+    /**
+     * @return CollisionCategories.PUCK, a puck hits what a ball hits.
+     */
+    @Override
+    public int getCollisionCategory() {
+        return CollisionCategories.PUCK;
+    }
 
 }
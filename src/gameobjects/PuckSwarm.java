@@ -0,0 +1,409 @@
+package src.gameobjects;
+
+import danogl.GameObject;
+import danogl.collisions.Collision;
+import danogl.collisions.GameObjectCollection;
+import danogl.collisions.Layer;
+import danogl.gui.Sound;
+import danogl.gui.rendering.ImageRenderable;
+import danogl.util.Vector2;
+import src.collisions.BrickGrid;
+import src.collisions.CollisionCategories;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Many pucks at once, as a single game object: the position, velocity and size of every puck are kept in arrays
+ * of floats rather than in a game object per puck, so thousands of pucks cost a few tight loops a step instead
+ * of thousands of objects the game updates, tests for collisions pair by pair, and draws one by one.
+ * Every step the pucks are moved, then each one is tested against the few obstacles a puck bounces off (the
+ * paddles and walls of the game, found by their collision categories) and against the bricks near it in the
+ * BrickGrid. A puck bounces like a Puck object would, and a brick it hits gets onCollisionEnter as if a Puck
+ * hit it, so its CollisionStrategy fires as usual. The collision sound is played at most once a step.
+ * The swarm covers the game area in world coordinates, and draws every puck through the camera, between its
+ * positions of the last two steps (see setRenderAlpha).
+ */
+public class PuckSwarm extends GameObject {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final GameObjectCollection gameObjects;
+    private final BrickGrid grid;
+    private final ImageRenderable puckImage;
+    private final Sound collisionSound;
+    private final int capacity;
+    private int count = 0;
+    // top left corner, velocity and size (width and height) of every puck, the first count are live.
+    private float[] xs = new float[INITIAL_CAPACITY];
+    private float[] ys = new float[INITIAL_CAPACITY];
+    private float[] velocityXs = new float[INITIAL_CAPACITY];
+    private float[] velocityYs = new float[INITIAL_CAPACITY];
+    private float[] sizes = new float[INITIAL_CAPACITY];
+    // top left corner of every puck before the last step, to draw it between steps.
+    private float[] previousXs = new float[INITIAL_CAPACITY];
+    private float[] previousYs = new float[INITIAL_CAPACITY];
+    // a puck that isn't in the game, placed where a puck hits something, as the object the strategies see.
+    private final Puck hitProxy;
+    private final int puckCategory;
+    private final int puckMask;
+    // scratch objects of a step, reused every step.
+    private final List<GameObject> obstacles = new ArrayList<>();
+    private final List<GameObject> candidates = new ArrayList<>();
+    private final int[] range = new int[4];
+    private final SwarmCollision collision = new SwarmCollision();
+    private boolean hitThisStep;
+    // how far the frame being drawn is from the positions before the last step to the current ones.
+    private float renderAlpha = 1;
+    // the puck image scaled to the size pucks were last drawn at, on screen.
+    private Image scaledImage;
+    private int scaledSize = -1;
+
+    /**
+     * The collision of a puck with an object, given to the object's onCollisionEnter.
+     */
+    private static class SwarmCollision implements Collision {
+        private Vector2 normal = Vector2.UP;
+
+        @Override
+        public Vector2 getNormal() {
+            return this.normal;
+        }
+
+        @Override
+        public Vector2 getCollisionPoint() {
+            return Vector2.ZERO;
+        }
+
+        @Override
+        public Vector2 getPenetrationArea() {
+            return Vector2.ZERO;
+        }
+
+        @Override
+        public Vector2 getRelativeVelocity() {
+            return Vector2.ZERO;
+        }
+
+        @Override
+        public void onFrameStart() {
+        }
+    }
+
+    /**
+     * Construct a new, empty swarm. it should be added to a layer that doesn't collide with anything, it
+     * handles the collisions of its pucks itself.
+     * @param areaDimensions dimensions of the game area (the window).
+     * @param puckImage the image of a puck.
+     * @param collisionSound the sound played when pucks hit something.
+     * @param gameObjects the game's objects, the pucks bounce off the paddles and walls in its default layer.
+     * @param grid the grid of the bricks.
+     * @param capacity most pucks the swarm can have.
+     */
+    public PuckSwarm(Vector2 areaDimensions, ImageRenderable puckImage, Sound collisionSound,
+                     GameObjectCollection gameObjects, BrickGrid grid, int capacity) {
+        super(Vector2.ZERO, areaDimensions, null);
+        this.gameObjects = gameObjects;
+        this.grid = grid;
+        this.puckImage = puckImage;
+        this.collisionSound = collisionSound;
+        this.capacity = capacity;
+        this.hitProxy = new Puck(Vector2.ZERO, Vector2.ONES, null, collisionSound);
+        this.puckCategory = this.hitProxy.getCollisionCategory();
+        this.puckMask = this.hitProxy.getCollisionMask();
+        renderer().setRenderable(this::renderPucks);
+    }
+
+    /**
+     * adds a puck to the swarm.
+     * @param centerX X of the center of the puck.
+     * @param centerY Y of the center of the puck.
+     * @param velocityX velocity of the puck along the X axis.
+     * @param velocityY velocity of the puck along the Y axis.
+     * @param size width and height of the puck.
+     * @return true if the puck was added, false if the swarm is full.
+     */
+    public boolean spawn(float centerX, float centerY, float velocityX, float velocityY, float size) {
+        return add(centerX - size / 2, centerY - size / 2, velocityX, velocityY, size);
+    }
+
+    /**
+     * adds a puck to the swarm by its top left corner, for a swarm restored from a saved game.
+     * @param x X of the top left corner of the puck (see getPuckX).
+     * @param y Y of the top left corner of the puck.
+     * @param velocityX velocity of the puck along the X axis.
+     * @param velocityY velocity of the puck along the Y axis.
+     * @param size width and height of the puck.
+     * @return true if the puck was added, false if the swarm is full.
+     */
+    public boolean add(float x, float y, float velocityX, float velocityY, float size) {
+        if (this.count == this.capacity)
+            return false;
+        if (this.count == this.xs.length)
+            grow();
+        int i = this.count++;
+        this.xs[i] = x;
+        this.ys[i] = y;
+        this.velocityXs[i] = velocityX;
+        this.velocityYs[i] = velocityY;
+        this.sizes[i] = size;
+        // a new puck is drawn where it is, not sliding from where another one was.
+        this.previousXs[i] = this.xs[i];
+        this.previousYs[i] = this.ys[i];
+        return true;
+    }
+
+    /**
+     * @return how many pucks the swarm has.
+     */
+    public int size() {
+        return this.count;
+    }
+
+    /**
+     * @param index index of a puck, between 0 and size() - 1.
+     * @return the X coordinate of the puck's top left corner.
+     */
+    public float getPuckX(int index) {
+        return this.xs[index];
+    }
+
+    /**
+     * @param index index of a puck, between 0 and size() - 1.
+     * @return the Y coordinate of the puck's top left corner.
+     */
+    public float getPuckY(int index) {
+        return this.ys[index];
+    }
+
+    /**
+     * @param index index of a puck, between 0 and size() - 1.
+     * @return the width and height of the puck.
+     */
+    public float getPuckSize(int index) {
+        return this.sizes[index];
+    }
+
+    /**
+     * @param index index of a puck, between 0 and size() - 1.
+     * @return the velocity of the puck along the X axis.
+     */
+    public float getPuckVelocityX(int index) {
+        return this.velocityXs[index];
+    }
+
+    /**
+     * @param index index of a puck, between 0 and size() - 1.
+     * @return the velocity of the puck along the Y axis.
+     */
+    public float getPuckVelocityY(int index) {
+        return this.velocityYs[index];
+    }
+
+    /**
+     * @return true if the swarm has as many pucks as it can.
+     */
+    public boolean isFull() {
+        return this.count == this.capacity;
+    }
+
+    /**
+     * removes every puck whose center is below the given height. should be called once per simulation step.
+     * @param bottom the height (in window coordinates) below which pucks are out of the screen.
+     */
+    public void removeBelow(float bottom) {
+        // go backwards, since the last puck is moved into a removed one's place.
+        for (int i = this.count - 1; i >= 0; i--) {
+            if (this.ys[i] + this.sizes[i] / 2 > bottom)
+                removePuck(i);
+        }
+    }
+
+    /**
+     * sets how far the next frame drawn is between the positions of the pucks before the last step (0) and
+     * their current ones (1).
+     * @param renderAlpha the fraction of the step.
+     */
+    public void setRenderAlpha(float renderAlpha) {
+        this.renderAlpha = renderAlpha;
+    }
+
+    /**
+     * moves the pucks, and bounces them off the obstacles and bricks they hit.
+     * @param deltaTime The time elapsed, in seconds, since the last step.
+     */
+    @Override
+    public void update(float deltaTime) {
+        super.update(deltaTime);
+        int n = this.count;
+        System.arraycopy(this.xs, 0, this.previousXs, 0, n);
+        System.arraycopy(this.ys, 0, this.previousYs, 0, n);
+        // a plain loop over the arrays, which the JIT compiles to vector instructions.
+        float[] xs = this.xs;
+        float[] ys = this.ys;
+        float[] velocityXs = this.velocityXs;
+        float[] velocityYs = this.velocityYs;
+        for (int i = 0; i < n; i++) {
+            xs[i] += velocityXs[i] * deltaTime;
+            ys[i] += velocityYs[i] * deltaTime;
+        }
+        gatherObstacles();
+        this.hitThisStep = false;
+        // pucks spawned by the strategies of bricks hit now only move from the next step.
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < this.obstacles.size(); j++) {
+                GameObject obstacle = this.obstacles.get(j);
+                if (bounce(i, obstacle, true))
+                    hit(i, obstacle);
+            }
+            hitBricks(i);
+        }
+        if (this.hitThisStep && this.collisionSound != null)
+            this.collisionSound.play();
+    }
+
+    /**
+     * collects the objects of the default layer a puck can hit, like the paddles and walls (not the balls).
+     */
+    private void gatherObstacles() {
+        this.obstacles.clear();
+        for (GameObject object : this.gameObjects.objectsInLayer(Layer.DEFAULT)) {
+            int category = CollisionCategories.categoryOf(object);
+            if (category != CollisionCategories.BALL && category != CollisionCategories.PUCK &&
+                    CollisionCategories.canCollide(this.puckCategory, this.puckMask, category,
+                            CollisionCategories.maskOf(object)))
+                this.obstacles.add(object);
+        }
+    }
+
+    /**
+     * tests a puck against the bricks around it, bounces it off them and lets every brick hit know.
+     */
+    private void hitBricks(int i) {
+        float size = this.sizes[i];
+        this.grid.query(this.xs[i], this.ys[i], size, size, this.candidates, this.range);
+        for (int j = 0; j < this.candidates.size(); j++) {
+            GameObject brick = this.candidates.get(j);
+            if (!CollisionCategories.canCollide(this.puckCategory, this.puckMask,
+                    CollisionCategories.categoryOf(brick), CollisionCategories.maskOf(brick)))
+                continue;
+            // a brick hit is hit even if the puck already bounced off another one, and is on its way out.
+            if (bounce(i, brick, false))
+                hit(i, brick);
+        }
+    }
+
+    /**
+     * bounces a puck off an object it overlaps, along the axis it overlaps the least, like a ball flips its
+     * velocity about the collision normal. the puck isn't bounced if it's already moving away from the object.
+     * @param onlyIfMovingIn true to report a hit only if the puck was moving into the object, like a collision
+     *                       that just began.
+     * @return true if the puck hit the object (the collision's normal is then set).
+     */
+    private boolean bounce(int i, GameObject object, boolean onlyIfMovingIn) {
+        Vector2 topLeft = object.getTopLeftCorner();
+        Vector2 dimensions = object.getDimensions();
+        float x = this.xs[i];
+        float y = this.ys[i];
+        float size = this.sizes[i];
+        float overlapX = Math.min(x + size, topLeft.x() + dimensions.x()) - Math.max(x, topLeft.x());
+        float overlapY = Math.min(y + size, topLeft.y() + dimensions.y()) - Math.max(y, topLeft.y());
+        if (overlapX <= 0 || overlapY <= 0)
+            return false;
+        boolean movingIn;
+        if (overlapX < overlapY) {
+            // the normal points from the object towards the puck.
+            boolean fromLeft = x + size / 2 < topLeft.x() + dimensions.x() / 2;
+            this.collision.normal = fromLeft ? Vector2.LEFT : Vector2.RIGHT;
+            movingIn = fromLeft ? this.velocityXs[i] > 0 : this.velocityXs[i] < 0;
+            if (movingIn)
+                this.velocityXs[i] = -this.velocityXs[i];
+        }
+        else {
+            boolean fromAbove = y + size / 2 < topLeft.y() + dimensions.y() / 2;
+            this.collision.normal = fromAbove ? Vector2.UP : Vector2.DOWN;
+            movingIn = fromAbove ? this.velocityYs[i] > 0 : this.velocityYs[i] < 0;
+            if (movingIn)
+                this.velocityYs[i] = -this.velocityYs[i];
+        }
+        return movingIn || !onlyIfMovingIn;
+    }
+
+    /**
+     * lets an object know a puck hit it, as if a Puck object did.
+     */
+    private void hit(int i, GameObject object) {
+        float size = this.sizes[i];
+        if (this.hitProxy.getDimensions().x() != size)
+            this.hitProxy.transform().setDimensions(size, size);
+        this.hitProxy.transform().setTopLeftCorner(this.xs[i], this.ys[i]);
+        object.onCollisionEnter(this.hitProxy, this.collision);
+        this.hitThisStep = true;
+    }
+
+    /**
+     * removes a puck by moving the last puck into its place.
+     */
+    private void removePuck(int i) {
+        int last = --this.count;
+        this.xs[i] = this.xs[last];
+        this.ys[i] = this.ys[last];
+        this.velocityXs[i] = this.velocityXs[last];
+        this.velocityYs[i] = this.velocityYs[last];
+        this.sizes[i] = this.sizes[last];
+        this.previousXs[i] = this.previousXs[last];
+        this.previousYs[i] = this.previousYs[last];
+    }
+
+    private void grow() {
+        int length = Math.min(this.capacity, this.xs.length * 2);
+        this.xs = Arrays.copyOf(this.xs, length);
+        this.ys = Arrays.copyOf(this.ys, length);
+        this.velocityXs = Arrays.copyOf(this.velocityXs, length);
+        this.velocityYs = Arrays.copyOf(this.velocityYs, length);
+        this.sizes = Arrays.copyOf(this.sizes, length);
+        this.previousXs = Arrays.copyOf(this.previousXs, length);
+        this.previousYs = Arrays.copyOf(this.previousYs, length);
+    }
+
+    /**
+     * the renderable of the swarm: draws every puck where it is on screen, given where the swarm's area is.
+     */
+    private void renderPucks(Graphics2D g, Vector2 topLeftCorner, Vector2 dimensions, double degrees,
+                             boolean isFlippedHorizontally, boolean isFlippedVertically, double opaqueness) {
+        float scaleX = dimensions.x() / getDimensions().x();
+        float scaleY = dimensions.y() / getDimensions().y();
+        float alpha = this.renderAlpha;
+        for (int i = 0; i < this.count; i++) {
+            int size = Math.max(1, Math.round(this.sizes[i] * scaleX));
+            float x = this.previousXs[i] + (this.xs[i] - this.previousXs[i]) * alpha;
+            float y = this.previousYs[i] + (this.ys[i] - this.previousYs[i]) * alpha;
+            g.drawImage(scaledImage(size), Math.round(topLeftCorner.x() + x * scaleX),
+                    Math.round(topLeftCorner.y() + y * scaleY), null);
+        }
+    }
+
+    /**
+     * @return the image of a puck, scaled to the given size once rather than on every draw.
+     */
+    private Image scaledImage(int size) {
+        if (size != this.scaledSize) {
+            BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D imageGraphics = image.createGraphics();
+            try {
+                imageGraphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                        RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                imageGraphics.drawImage(this.puckImage.getImage(), 0, 0, size, size, null);
+            } finally {
+                imageGraphics.dispose();
+            }
+            this.scaledImage = image;
+            this.scaledSize = size;
+        }
+        return this.scaledImage;
+    }
+}
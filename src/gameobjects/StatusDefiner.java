@@ -5,16 +5,21 @@ import danogl.collisions.Collision;
 import danogl.collisions.GameObjectCollection;
 import danogl.gui.rendering.Renderable;
 import danogl.util.Vector2;
+import src.collisions.CollisionCategories;
+import src.collisions.CollisionFiltered;
 
 /**
  * A game object which is created by hitting a certain brick. Goes down in a straight line. If collides by the
  * paddle, does an effect on the game. can only collide with the paddle.
  */
-public class StatusDefiner extends GameObject {
+public class StatusDefiner extends GameObject implements CollisionFiltered {
     // the speed at which the status definer is falling down
     private static final int STATUS_DEFINER_SPEED = 100;
 
     private final GameObjectCollection gameObjects;
+    // danogl moves an object by the velocity it had at the end of its last update, so a status definer only
+    // starts falling in its second update.
+    private boolean falling = false;
 
     /**
      * Construct a new GameObject of type Status Definer.
@@ -28,10 +33,37 @@ public class StatusDefiner extends GameObject {
     public StatusDefiner(Vector2 topLeftCorner, Vector2 dimensions, Renderable renderable,
                          GameObjectCollection gameObjects) {
         super(topLeftCorner, dimensions, renderable);
-        this.setVelocity(Vector2.DOWN.mult(STATUS_DEFINER_SPEED));
+        transform().setVelocity(0, STATUS_DEFINER_SPEED);
         this.gameObjects = gameObjects;
     }
 
+    /**
+     * prepares a status definer taken from a pool to be spawned again, it starts falling down again.
+     * its position should be set after.
+     */
+    public void reinit() {
+        ObjectPool.clearLastMove(this);
+        transform().setVelocity(0, STATUS_DEFINER_SPEED);
+        this.falling = false;
+    }
+
+    /**
+     * Should be called once per frame, moves the status definer down once it was updated before.
+     * @param deltaTime The time elapsed, in seconds, since the last frame.
+     */
+    @Override
+    public void update(float deltaTime) {
+        super.update(deltaTime);
+        this.falling = true;
+    }
+
+    /**
+     * @return true if the status definer moves in its next step, false if it wasn't updated yet (see update).
+     */
+    public boolean isFalling() {
+        return this.falling;
+    }
+
     /**
      * default behaviour - if the status hits the paddle, remove it from the game.
      * @param other the paddle
@@ -44,14 +76,29 @@ public class StatusDefiner extends GameObject {
     }
 
     /**
-     * a StatusDefiner should only collide with the paddle.
+     * a StatusDefiner should only collide with the paddle. a BrickGridCollection already skips the other pairs,
+     * this is for any other collection.
      * @param other the object colliding with the status definer
      * @return true if the object is a paddle, false otherwise.
      */
     @Override
     public boolean shouldCollideWith(GameObject other) {
-        // should only collide with the paddle.
-        super.shouldCollideWith(other);
-        return (other instanceof Paddle);
+        return super.shouldCollideWith(other) && CollisionCategories.canCollide(this, other);
+    }
+
+    /**
+     * @return CollisionCategories.POWER_UP.
+     */
+    @Override
+    public int getCollisionCategory() {
+        return CollisionCategories.POWER_UP;
+    }
+
+    /**
+     * @return CollisionCategories.PADDLE, the only category a status definer collides with.
+     */
+    @Override
+    public int getCollisionMask() {
+        return CollisionCategories.PADDLE;
     }
 }
@@ -0,0 +1,36 @@
+package src.gameobjects;
+
+import danogl.GameObject;
+import danogl.util.Vector2;
+import src.collisions.CollisionCategories;
+import src.collisions.CollisionFiltered;
+
+/**
+ * An invisible wall at the edge of the game, which keeps the balls and pucks from leaving it.
+ */
+public class Wall extends GameObject implements CollisionFiltered {
+    /**
+     * Construct a new wall.
+     * @param topLeftCorner Position of the wall, in window coordinates (pixels).
+     * @param dimensions Width and height of the wall.
+     */
+    public Wall(Vector2 topLeftCorner, Vector2 dimensions) {
+        super(topLeftCorner, dimensions, null);
+    }
+
+    /**
+     * @return CollisionCategories.WALL.
+     */
+    @Override
+    public int getCollisionCategory() {
+        return CollisionCategories.WALL;
+    }
+
+    /**
+     * @return the categories that bounce off walls.
+     */
+    @Override
+    public int getCollisionMask() {
+        return CollisionCategories.BALL | CollisionCategories.PUCK | CollisionCategories.OTHER;
+    }
+}
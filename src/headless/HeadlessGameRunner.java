@@ -0,0 +1,169 @@
+package src.headless;
+
+import danogl.util.Vector2;
+import src.BrickerGameManager;
+
+import java.util.SplittableRandom;
+
+/**
+ * Runs Bricker games without a window. Each game is initialized with headless readers and controller and
+ * then updated with a fixed deltaTime as fast as the CPU allows, until the game is won, lost or a frame
+ * limit is reached. Nothing is rendered.
+ */
+public class HeadlessGameRunner {
+    // the default frame time is the one the real game targets (80 FPS).
+    public static final float DEFAULT_DELTA_TIME = 1f / 80;
+    // default limit on how many frames a single game can run, so a stuck game doesn't run forever.
+    public static final int DEFAULT_MAX_FRAMES = 80 * 60 * 10;
+    private static final int DEFAULT_NUM_OF_GAMES = 1000;
+    private static final float NANOS_IN_SECOND = 1e9f;
+
+    private final Vector2 windowDimensions;
+    private final float deltaTime;
+    private final int maxFrames;
+    private final HeadlessWindowController windowController;
+    private final HeadlessImageReader imageReader;
+    private final HeadlessSoundReader soundReader;
+    private final HeadlessInputListener inputListener;
+    private BrickerGameManager gameManager;
+    private int framesPlayed;
+    // gives each new game its seed when the runner is seeded, null otherwise (every game is random).
+    private SplittableRandom seeds;
+
+    /**
+     * c'tor
+     * @param windowDimensions type Vector2, dimensions of the (imaginary) window of the game.
+     * @param deltaTime the fixed time, in seconds, of every frame.
+     * @param maxFrames maximal number of frames a single game may run.
+     */
+    public HeadlessGameRunner(Vector2 windowDimensions, float deltaTime, int maxFrames) {
+        this.windowDimensions = windowDimensions;
+        this.deltaTime = deltaTime;
+        this.maxFrames = maxFrames;
+        // answer "no" to play again, so a finished game asks to close the window.
+        this.windowController = new HeadlessWindowController(windowDimensions, false);
+        this.imageReader = new HeadlessImageReader(this.windowController);
+        this.soundReader = new HeadlessSoundReader(this.windowController);
+        this.inputListener = new HeadlessInputListener();
+    }
+
+    /**
+     * default c'tor, uses the dimensions of the real game window, and the default delta time and frame limit.
+     */
+    public HeadlessGameRunner() {
+        this(new Vector2(BrickerGameManager.MAIN_WINDOW_X, BrickerGameManager.MAIN_WINDOW_Y),
+                DEFAULT_DELTA_TIME, DEFAULT_MAX_FRAMES);
+    }
+
+    /**
+     * seeds the runner, so the sequence of games it runs from now on is the same every time. each game gets
+     * its own seed, drawn from the given one.
+     * @param seed the seed of the sequence of games.
+     */
+    public void setSeed(long seed) {
+        this.seeds = new SplittableRandom(seed);
+    }
+
+    /**
+     * creates and initializes a new game, without running it.
+     * @return the new game manager.
+     */
+    public BrickerGameManager newGame() {
+        return newGame(new BrickerGameManager(null, this.windowDimensions, true));
+    }
+
+    /**
+     * initializes the given game manager as the current game, without running it.
+     * @param gameManager a game manager created in headless mode.
+     * @return the given game manager, after initialization.
+     */
+    public BrickerGameManager newGame(BrickerGameManager gameManager) {
+        this.windowController.clear();
+        this.inputListener.releaseAll();
+        this.framesPlayed = 0;
+        this.gameManager = gameManager;
+        if (this.seeds != null)
+            this.gameManager.setSeed(this.seeds.nextLong());
+        this.gameManager.initializeGame(this.imageReader, this.soundReader, this.inputListener,
+                this.windowController);
+        return this.gameManager;
+    }
+
+    /**
+     * updates the current game by a single frame. like the real game loop, deltaTime is scaled by the
+     * time scale of the game.
+     * @return true if the game is still running after the frame, false if it ended.
+     */
+    public boolean step() {
+        this.gameManager.update(this.deltaTime * (float) this.windowController.getTimeScale());
+        this.framesPlayed++;
+        return !isGameOver();
+    }
+
+    /**
+     * creates a new game and runs it until it ends or until the frame limit is reached.
+     * @return how many frames the game ran.
+     */
+    public int runGame() {
+        newGame();
+        while (this.framesPlayed < this.maxFrames && step()) {
+            // keep stepping until the game ends.
+        }
+        return this.framesPlayed;
+    }
+
+    /**
+     * @return true if the current game was won or lost.
+     */
+    public boolean isGameOver() {
+        return this.windowController.isCloseRequested() || this.windowController.isResetRequested();
+    }
+
+    /**
+     * @return how many frames the current game ran so far.
+     */
+    public int getFramesPlayed() {
+        return this.framesPlayed;
+    }
+
+    /**
+     * @return the game manager of the current game, null before the first game was created.
+     */
+    public BrickerGameManager getGameManager() {
+        return this.gameManager;
+    }
+
+    /**
+     * @return the window controller the games are run with.
+     */
+    public HeadlessWindowController getWindowController() {
+        return this.windowController;
+    }
+
+    /**
+     * @return the input listener the games read, can be used to press keys for the paddle.
+     */
+    public HeadlessInputListener getInputListener() {
+        return this.inputListener;
+    }
+
+    /**
+     * Entry point for running headless games. runs the given number of games one after the other and prints
+     * how fast they ran.
+     * @param args optional, the number of games to run and a seed.
+     */
+    public static void main(String[] args) {
+        int numOfGames = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NUM_OF_GAMES;
+        HeadlessGameRunner runner = new HeadlessGameRunner();
+        if (args.length > 1)
+            runner.setSeed(Long.parseLong(args[1]));
+        long totalFrames = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < numOfGames; i++) {
+            totalFrames += runner.runGame();
+        }
+        float seconds = (System.nanoTime() - start) / NANOS_IN_SECOND;
+        System.out.printf("%d games, %d frames in %.2f seconds (%.0f games per minute, %.0f frames per second)%n",
+                numOfGames, totalFrames, seconds, numOfGames * 60 / seconds, totalFrames / seconds);
+    }
+}
@@ -0,0 +1,35 @@
+package src.headless;
+
+import danogl.gui.ImageReader;
+import danogl.gui.WindowController;
+import danogl.gui.rendering.ImageRenderable;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * ImageReader that doesn't read anything from disk. Every image asked for is the same 1x1 blank image,
+ * which is enough for the game logic since nothing is drawn in headless mode.
+ */
+public class HeadlessImageReader extends ImageReader {
+    private static final ImageRenderable BLANK_IMAGE =
+            new ImageRenderable(new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB));
+
+    /**
+     * c'tor
+     * @param windowController the (headless) window controller of the game.
+     */
+    public HeadlessImageReader(WindowController windowController) {
+        super(windowController);
+    }
+
+    /**
+     * returns the shared blank image without touching the disk.
+     * @param imageFilePath path of the image, ignored.
+     * @param useTopLeftPixelAsTransparent ignored.
+     * @return a blank 1x1 image.
+     */
+    @Override
+    public ImageRenderable readImage(String imageFilePath, boolean useTopLeftPixelAsTransparent) {
+        return BLANK_IMAGE;
+    }
+}
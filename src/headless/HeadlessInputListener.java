@@ -0,0 +1,62 @@
+package src.headless;
+
+import danogl.gui.UserInputListener;
+import danogl.gui.mouse.MouseButton;
+import danogl.util.Vector2;
+
+import java.util.BitSet;
+
+/**
+ * UserInputListener with no keyboard behind it. Keys are pressed and released by code (for example by an
+ * automated player), and the game reads them exactly like it reads the real keyboard.
+ */
+public class HeadlessInputListener implements UserInputListener {
+    // a bit per key code, so pressing and releasing keys every frame doesn't allocate.
+    private final BitSet pressedKeys = new BitSet();
+
+    /**
+     * presses or releases a key.
+     * @param keyCode the key, one of KeyEvent.VK_*.
+     * @param pressed true to press the key, false to release it.
+     */
+    public void setKeyPressed(int keyCode, boolean pressed) {
+        this.pressedKeys.set(keyCode, pressed);
+    }
+
+    /**
+     * releases all keys.
+     */
+    public void releaseAll() {
+        this.pressedKeys.clear();
+    }
+
+    @Override
+    public boolean isKeyPressed(int keyCode) {
+        return this.pressedKeys.get(keyCode);
+    }
+
+    @Override
+    public boolean wasKeyReleasedThisFrame(int keyCode) {
+        return false;
+    }
+
+    @Override
+    public boolean wasMouseButtonClickedThisFrame(MouseButton button) {
+        return false;
+    }
+
+    @Override
+    public boolean isMouseButtonPressed(MouseButton button) {
+        return false;
+    }
+
+    @Override
+    public Vector2 getMouseScreenPos() {
+        return Vector2.ZERO;
+    }
+
+    @Override
+    public double mouseWheelClicksThisFrame() {
+        return 0;
+    }
+}
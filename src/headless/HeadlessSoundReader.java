@@ -0,0 +1,33 @@
+package src.headless;
+
+import danogl.gui.Sound;
+import danogl.gui.SoundReader;
+import danogl.gui.WindowController;
+
+import javax.sound.sampled.Clip;
+
+/**
+ * SoundReader that doesn't open any audio line. Every sound asked for is a silent sound with no clips,
+ * so calling play() on it does nothing.
+ */
+public class HeadlessSoundReader extends SoundReader {
+    private static final Sound SILENT_SOUND = new Sound(new Clip[0]);
+
+    /**
+     * c'tor
+     * @param windowController the (headless) window controller of the game.
+     */
+    public HeadlessSoundReader(WindowController windowController) {
+        super(windowController);
+    }
+
+    /**
+     * returns the shared silent sound without touching the disk.
+     * @param soundFilePath path of the sound, ignored.
+     * @return a sound that plays nothing.
+     */
+    @Override
+    public Sound readSound(String soundFilePath) {
+        return SILENT_SOUND;
+    }
+}
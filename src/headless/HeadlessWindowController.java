@@ -0,0 +1,153 @@
+package src.headless;
+
+import danogl.gui.WindowController;
+import danogl.gui.rendering.Renderable;
+import danogl.util.Vector2;
+
+/**
+ * A WindowController that never opens a window. Used to run the game logic in headless mode.
+ * It keeps the time scale like the real window would, and remembers if the game asked to be closed or reset,
+ * so the driver running the game knows when to stop.
+ */
+public class HeadlessWindowController implements WindowController {
+    private static final float DEFAULT_TIME_SCALE = 1.0f;
+
+    private final Vector2 windowDimensions;
+    // the answer given to every yes/no dialog the game opens.
+    private final boolean dialogAnswer;
+    private float timeScale = DEFAULT_TIME_SCALE;
+    private int targetFramerate;
+    private boolean closeRequested = false;
+    private boolean resetRequested = false;
+    private String lastPrompt;
+
+    /**
+     * c'tor
+     * @param windowDimensions type Vector2, the dimensions the game thinks its window has.
+     * @param dialogAnswer the answer to give to every yes/no dialog (false ends the game when it is won or lost).
+     */
+    public HeadlessWindowController(Vector2 windowDimensions, boolean dialogAnswer) {
+        this.windowDimensions = windowDimensions;
+        this.dialogAnswer = dialogAnswer;
+    }
+
+    /**
+     * marks the game as closed, the driver should stop ticking it.
+     */
+    @Override
+    public void closeWindow() {
+        this.closeRequested = true;
+    }
+
+    /**
+     * marks the game as asked to be reset, the driver decides when to re-initialize it.
+     */
+    @Override
+    public void resetGame() {
+        this.resetRequested = true;
+    }
+
+    /**
+     * there is no screen to show the message on, only remember it.
+     * @param msg the message.
+     */
+    @Override
+    public void showMessageBox(String msg) {
+        this.lastPrompt = msg;
+    }
+
+    /**
+     * remembers the prompt and answers with the answer given in the c'tor.
+     * @param msg the question asked.
+     * @return the answer given in the c'tor.
+     */
+    @Override
+    public boolean openYesNoDialog(String msg) {
+        this.lastPrompt = msg;
+        return this.dialogAnswer;
+    }
+
+    @Override
+    public double getTimeScale() {
+        return this.timeScale;
+    }
+
+    @Override
+    public void setTimeScale(float timeScale) {
+        this.timeScale = timeScale;
+    }
+
+    @Override
+    public Vector2 getWindowDimensions() {
+        return this.windowDimensions;
+    }
+
+    /**
+     * the framerate is only saved, headless games are ticked as fast as possible by the driver.
+     * @param targetFramerate the framerate the game asked for.
+     */
+    @Override
+    public void setTargetFramerate(int targetFramerate) {
+        this.targetFramerate = targetFramerate;
+    }
+
+    @Override
+    public void setPauseButton(int key) {
+    }
+
+    @Override
+    public void setExitButton(int key) {
+    }
+
+    @Override
+    public void setMouseCursor(Renderable renderable, Vector2 dimensions, Vector2 hotspot) {
+    }
+
+    @Override
+    public Renderable getMouseCursor() {
+        return null;
+    }
+
+    @Override
+    public Vector2 getMouseCursorDimensions() {
+        return Vector2.ZERO;
+    }
+
+    /**
+     * @return the framerate the game asked for in initializeGame.
+     */
+    public int getTargetFramerate() {
+        return this.targetFramerate;
+    }
+
+    /**
+     * @return true if the game asked to close the window.
+     */
+    public boolean isCloseRequested() {
+        return this.closeRequested;
+    }
+
+    /**
+     * @return true if the game asked to be reset.
+     */
+    public boolean isResetRequested() {
+        return this.resetRequested;
+    }
+
+    /**
+     * @return the last message or question the game tried to show, null if there wasn't any.
+     */
+    public String getLastPrompt() {
+        return this.lastPrompt;
+    }
+
+    /**
+     * clears the close / reset requests and the time scale, so the controller can be used for another game.
+     */
+    public void clear() {
+        this.closeRequested = false;
+        this.resetRequested = false;
+        this.lastPrompt = null;
+        this.timeScale = DEFAULT_TIME_SCALE;
+    }
+}
@@ -0,0 +1,82 @@
+package src.launcher;
+
+import danogl.util.Vector2;
+import src.BrickerGameManager;
+import src.replay.ReplayReader;
+import src.replay.ReplayWriter;
+import src.savegame.QuickSaver;
+import src.savegame.SaveGameReader;
+import src.spectator.SpectatorServer;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Runs the game with a window as the command line options ask: opens the files and the spectators' server the
+ * game needs, sets the game manager up with them, runs it, and closes them once the window is closed.
+ */
+public class GameLauncher {
+    private static final String TITLE_SCREEN = "Bricker by Omri Wolf";
+
+    private GameLauncher() {
+    }
+
+    /**
+     * runs the game until its window is closed.
+     * @param options the options of the game.
+     * @throws IOException if the replay, metrics or saved game file can't be written or read, or the port can't
+     * be opened.
+     */
+    public static void launch(GameOptions options) throws IOException {
+        BrickerGameManager manager;
+        // a null resource is skipped, so there's only a server to close if the games are streamed.
+        try (SpectatorServer spectatorServer = options.getSpectatePort() < 0 ? null :
+                new SpectatorServer(options.getSpectatePort())) {
+            if (spectatorServer != null)
+                spectatorServer.start();
+            if (options.getRecordPath() != null) {
+                Vector2 windowDimensions = new Vector2(BrickerGameManager.MAIN_WINDOW_X,
+                        BrickerGameManager.MAIN_WINDOW_Y);
+                try (ReplayWriter replayWriter = new ReplayWriter(Paths.get(options.getRecordPath()),
+                        windowDimensions)) {
+                    manager = createManager(windowDimensions, options, spectatorServer);
+                    manager.recordReplay(replayWriter);
+                    manager.run();
+                }
+            }
+            else if (options.getReplayPath() != null) {
+                try (ReplayReader replayReader = new ReplayReader(Paths.get(options.getReplayPath()))) {
+                    manager = createManager(replayReader.getWindowDimensions(), options, spectatorServer);
+                    manager.playReplay(replayReader);
+                    manager.run();
+                }
+            }
+            else {
+                manager = createManager(new Vector2(BrickerGameManager.MAIN_WINDOW_X,
+                        BrickerGameManager.MAIN_WINDOW_Y), options, spectatorServer);
+                if (options.getLoadPath() != null)
+                    manager.loadGame(new SaveGameReader().read(Paths.get(options.getLoadPath())));
+                // a null resource is skipped, so there's only a saver to close if the game is saved.
+                try (QuickSaver quickSaver = options.getSavePath() == null ? null :
+                        new QuickSaver(Paths.get(options.getSavePath()))) {
+                    manager.setQuickSave(quickSaver);
+                    manager.run();
+                }
+            }
+        }
+        manager.closeAudio();
+        if (options.getMetricsPath() != null)
+            manager.getFrameMetrics().writeCsv(Paths.get(options.getMetricsPath()));
+    }
+
+    private static BrickerGameManager createManager(Vector2 windowDimensions, GameOptions options,
+                                                    SpectatorServer spectatorServer) {
+        BrickerGameManager manager = new BrickerGameManager(TITLE_SCREEN, windowDimensions);
+        if (options.getLevelPath() != null)
+            manager.setLevel(Paths.get(options.getLevelPath()));
+        manager.setEndless(options.getEndlessSpeed());
+        manager.setMultiball(options.getMultiballPucks());
+        manager.setSpectatorServer(spectatorServer);
+        return manager;
+    }
+}
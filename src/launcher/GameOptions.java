@@ -0,0 +1,143 @@
+package src.launcher;
+
+/**
+ * The command line options of the game, see parse. An option that isn't given keeps its default: a live game of
+ * generated bricks, not recorded, timed to a file, streamed or saved.
+ */
+public class GameOptions {
+    private static final String RECORD_OPTION = "--record";
+    private static final String REPLAY_OPTION = "--replay";
+    private static final String METRICS_OPTION = "--metrics";
+    private static final String LEVEL_OPTION = "--level";
+    private static final String ENDLESS_OPTION = "--endless";
+    private static final String MULTIBALL_OPTION = "--multiball";
+    private static final String SPECTATE_OPTION = "--spectate";
+    private static final String LOAD_OPTION = "--load";
+    private static final String SAVE_OPTION = "--save";
+
+    private String recordPath = null;
+    private String replayPath = null;
+    private String metricsPath = null;
+    private String levelPath = null;
+    private float endlessSpeed = 0;
+    private int multiballPucks = 0;
+    private int spectatePort = -1;
+    private String loadPath = null;
+    private String savePath = null;
+
+    /**
+     * reads the options of the game from the command line, as pairs of an option and its value. unknown options
+     * are skipped.
+     * @param args none for a live game, "--record file" to record the games to a replay file, or
+     *             "--replay file" to play back the games of a replay file. either may be followed (or replaced)
+     *             by "--metrics file", to write the frame times to a CSV file when the game is closed, and by
+     *             "--level file" to load the bricks from a level file (a replay of a level needs it too), or
+     *             "--endless speed" for an endless game scrolling up at the given speed (pixels per second),
+     *             and by "--multiball pucks" for a game that starts with the given number of pucks, and by
+     *             "--spectate port" to stream the games to spectators connecting to the port (on this machine).
+     *             a live game may also be restored from a saved one with "--load file", and saved to a file
+     *             whenever F5 is pressed with "--save file".
+     * @return the options.
+     * @throws NumberFormatException if the value of a numeric option isn't a number.
+     */
+    public static GameOptions parse(String[] args) {
+        GameOptions options = new GameOptions();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case RECORD_OPTION:
+                    options.recordPath = args[i + 1];
+                    break;
+                case REPLAY_OPTION:
+                    options.replayPath = args[i + 1];
+                    break;
+                case METRICS_OPTION:
+                    options.metricsPath = args[i + 1];
+                    break;
+                case LEVEL_OPTION:
+                    options.levelPath = args[i + 1];
+                    break;
+                case ENDLESS_OPTION:
+                    options.endlessSpeed = Float.parseFloat(args[i + 1]);
+                    break;
+                case MULTIBALL_OPTION:
+                    options.multiballPucks = Integer.parseInt(args[i + 1]);
+                    break;
+                case SPECTATE_OPTION:
+                    options.spectatePort = Integer.parseInt(args[i + 1]);
+                    break;
+                case LOAD_OPTION:
+                    options.loadPath = args[i + 1];
+                    break;
+                case SAVE_OPTION:
+                    options.savePath = args[i + 1];
+                    break;
+                default:
+                    break;
+            }
+        }
+        return options;
+    }
+
+    /**
+     * @return the replay file to record the games to, null if they aren't recorded.
+     */
+    public String getRecordPath() {
+        return this.recordPath;
+    }
+
+    /**
+     * @return the replay file to play the games of, null for a live game.
+     */
+    public String getReplayPath() {
+        return this.replayPath;
+    }
+
+    /**
+     * @return the CSV file to write the frame times to, null if they aren't written.
+     */
+    public String getMetricsPath() {
+        return this.metricsPath;
+    }
+
+    /**
+     * @return the level file to load the bricks from, null for generated bricks.
+     */
+    public String getLevelPath() {
+        return this.levelPath;
+    }
+
+    /**
+     * @return how fast (pixels per second) an endless game scrolls up, 0 for a regular game.
+     */
+    public float getEndlessSpeed() {
+        return this.endlessSpeed;
+    }
+
+    /**
+     * @return the number of pucks a multiball game starts with, 0 for a regular game.
+     */
+    public int getMultiballPucks() {
+        return this.multiballPucks;
+    }
+
+    /**
+     * @return the port to stream the games to spectators on, -1 if they aren't streamed.
+     */
+    public int getSpectatePort() {
+        return this.spectatePort;
+    }
+
+    /**
+     * @return the saved game to restore, null for a new game.
+     */
+    public String getLoadPath() {
+        return this.loadPath;
+    }
+
+    /**
+     * @return the file to quick save the game to, null if it isn't saved.
+     */
+    public String getSavePath() {
+        return this.savePath;
+    }
+}
@@ -0,0 +1,132 @@
+package src.levels;
+
+import danogl.GameObject;
+import danogl.collisions.GameObjectCollection;
+import danogl.collisions.Layer;
+import danogl.gui.rendering.Renderable;
+import danogl.util.Counter;
+import danogl.util.Vector2;
+import src.brick_strategies.BrickStrategyFactory;
+import src.gameobjects.Brick;
+
+import java.util.ArrayDeque;
+
+/**
+ * A level without an end, for a camera that keeps scrolling up: lines of bricks are made in chunks of a few
+ * lines, ahead of the view (up to a screen above it), and every chunk that scrolled below the view is removed
+ * from the game again. So however long the game goes on, only the bricks of a few screens are ever in the game,
+ * and a frame costs the same at any time.
+ * The bricks counter counts the bricks in the game, the bricks of a new chunk are added to it, and the bricks
+ * of a removed chunk that weren't hit yet are taken off it.
+ */
+public class EndlessLevel {
+    private final BrickStrategyFactory strategyFactory;
+    private final GameObjectCollection gameObjectCollection;
+    private final Renderable brickImage;
+    private final Counter bricksCounter;
+    private final Vector2 brickDimensions;
+    private final float firstBrickX;
+    private final float slotWidth;
+    private final float lineHeight;
+    private final int bricksPerLine;
+    private final int linesPerChunk;
+    // the chunks in the game, the lowest (oldest) first, and the Y of the top of each.
+    private final ArrayDeque<GameObject[]> chunks = new ArrayDeque<>();
+    private final ArrayDeque<Float> chunkTops = new ArrayDeque<>();
+    // arrays of removed chunks, to hold the next ones.
+    private final ArrayDeque<GameObject[]> freeChunks = new ArrayDeque<>();
+    // Y of the top left corner of the next line of bricks to make.
+    private float nextLineY;
+
+    /**
+     * c'tor, no bricks are made until the first update.
+     * @param strategyFactory makes the strategies of the bricks.
+     * @param gameObjectCollection the bricks are added to it, and removed from it.
+     * @param brickImage the renderable of the bricks.
+     * @param bricksCounter counts the bricks in the game.
+     * @param firstBrickTopLeft top left corner of the first brick of the lowest line.
+     * @param brickDimensions width and height of a brick.
+     * @param slotDimensions width of a brick and the space after it, and the distance between lines.
+     * @param bricksPerLine number of bricks in each line.
+     * @param linesPerChunk number of lines made (and removed) at a time.
+     */
+    public EndlessLevel(BrickStrategyFactory strategyFactory, GameObjectCollection gameObjectCollection,
+                        Renderable brickImage, Counter bricksCounter, Vector2 firstBrickTopLeft,
+                        Vector2 brickDimensions, Vector2 slotDimensions, int bricksPerLine, int linesPerChunk) {
+        this.strategyFactory = strategyFactory;
+        this.gameObjectCollection = gameObjectCollection;
+        this.brickImage = brickImage;
+        this.bricksCounter = bricksCounter;
+        this.brickDimensions = brickDimensions;
+        this.firstBrickX = firstBrickTopLeft.x();
+        this.slotWidth = slotDimensions.x();
+        this.lineHeight = slotDimensions.y();
+        this.bricksPerLine = bricksPerLine;
+        this.linesPerChunk = linesPerChunk;
+        this.nextLineY = firstBrickTopLeft.y();
+    }
+
+    /**
+     * makes the chunks of bricks the view will get to soon, and removes the ones it left behind. should be
+     * called whenever the view moved.
+     * @param viewTop Y of the top of the view, in world coordinates.
+     * @param viewBottom Y of the bottom of the view.
+     */
+    public void update(float viewTop, float viewBottom) {
+        // a screen ahead of the view is ready, so bricks never appear in sight.
+        float generateUntil = viewTop - (viewBottom - viewTop);
+        while (this.nextLineY + this.lineHeight > generateUntil) {
+            makeChunk();
+        }
+        while (!this.chunkTops.isEmpty() && this.chunkTops.peekFirst() > viewBottom) {
+            removeChunk();
+        }
+    }
+
+    /**
+     * @return Y of the top of the highest line of bricks made so far.
+     */
+    public float getTop() {
+        return this.nextLineY + this.lineHeight;
+    }
+
+    /**
+     * @return number of chunks of bricks in the game.
+     */
+    public int getNumOfChunks() {
+        return this.chunks.size();
+    }
+
+    private void makeChunk() {
+        GameObject[] chunk = this.freeChunks.pollFirst();
+        if (chunk == null)
+            chunk = new GameObject[this.linesPerChunk * this.bricksPerLine];
+        for (int i = 0; i < this.linesPerChunk; i++) {
+            float locate = this.firstBrickX;
+            for (int j = 0; j < this.bricksPerLine; j++) {
+                GameObject brick = new Brick(new Vector2(locate, this.nextLineY), this.brickDimensions,
+                        this.brickImage, this.strategyFactory.getStrategy(), this.bricksCounter);
+                this.gameObjectCollection.addGameObject(brick, Layer.STATIC_OBJECTS);
+                chunk[i * this.bricksPerLine + j] = brick;
+                locate += this.slotWidth;
+            }
+            this.nextLineY -= this.lineHeight;
+        }
+        this.bricksCounter.increaseBy(chunk.length);
+        this.chunks.addLast(chunk);
+        // the top of the chunk is the top of its last line, one line below the next one.
+        this.chunkTops.addLast(this.nextLineY + this.lineHeight);
+    }
+
+    private void removeChunk() {
+        GameObject[] chunk = this.chunks.pollFirst();
+        this.chunkTops.pollFirst();
+        for (int i = 0; i < chunk.length; i++) {
+            // bricks that were hit already left the game, and the counter.
+            if (this.gameObjectCollection.removeGameObject(chunk[i], Layer.STATIC_OBJECTS))
+                this.bricksCounter.decrement();
+            chunk[i] = null;
+        }
+        this.freeChunks.addLast(chunk);
+    }
+}
@@ -0,0 +1,29 @@
+package src.levels;
+
+/**
+ * Layout of a level file, shared by LevelWriter and LevelReader. All numbers are big-endian.
+ * A file starts with a header: MAGIC (int), VERSION (byte), a flags byte (HAS_SEED if the level fixes the seed
+ * of its games), the seed (long, ignored without HAS_SEED), the grid the bricks are indexed with: its origin
+ * (2 floats), the dimensions of a cell (2 floats), its number of columns and rows (ints), then the number of
+ * bricks (int), and the table of strategy names: its size (short) and every name (short length and UTF-8 bytes).
+ * Then come the bricks, each is its top left corner and dimensions (4 floats) and its strategy: a byte with the
+ * length of its chain of special strategies (0 for the plain strategy, RANDOM_STRATEGY for a strategy chosen at
+ * random like in a generated game) followed by a byte for every strategy in the chain, outermost first, which
+ * is its index in the table of names.
+ * Bricks are read one at a time, so a level of any size is never held in memory.
+ */
+final class LevelFormat {
+    static final int MAGIC = 0x42524B4C; // "BRKL"
+    static final byte VERSION = 1;
+    static final int HAS_SEED = 1;
+    static final int RANDOM_STRATEGY = 0xFF;
+    // longest chain of special strategies a brick can have.
+    static final int MAX_CHAIN_LENGTH = 8;
+    // most names the table of strategy names can have, so an index fits in a byte.
+    static final int MAX_STRATEGY_NAMES = 256;
+    // size of a brick without its chain: 4 floats and the length of the chain.
+    static final int BRICK_BYTES = 4 * Float.BYTES + 1;
+
+    private LevelFormat() {
+    }
+}
@@ -0,0 +1,114 @@
+package src.levels;
+
+import danogl.GameObject;
+import danogl.collisions.GameObjectCollection;
+import danogl.collisions.Layer;
+import danogl.gui.rendering.Renderable;
+import danogl.util.Counter;
+import danogl.util.Vector2;
+import src.brick_strategies.BrickStrategyFactory;
+import src.brick_strategies.CollisionStrategy;
+import src.gameobjects.Brick;
+import src.rendering.StaticRenderLayer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Builds the bricks of a level, a batch at a time, while its file is read. A level of any size is then loaded
+ * over a few frames, without a long pause at its start, and without ever holding the whole file in memory.
+ * The bricks counter is raised by all the bricks of the level at once, so the game isn't won before the last
+ * batch is built.
+ */
+public class LevelLoader implements Closeable {
+    private final LevelReader reader;
+    private final BrickStrategyFactory strategyFactory;
+    private final GameObjectCollection gameObjectCollection;
+    private final Renderable brickImage;
+    private final Counter bricksCounter;
+    private final StaticRenderLayer staticLayer;
+    // index in the strategy registry of every name in the level's table of strategy names.
+    private final int[] registryIndices;
+    // scratch chain of the brick being built.
+    private final int[] chain = new int[LevelFormat.MAX_CHAIN_LENGTH];
+    private boolean done = false;
+
+    /**
+     * c'tor
+     * @param reader the level, its header already read. it's closed by the loader.
+     * @param strategyFactory makes the strategies of the bricks, it must have every strategy the level names.
+     * @param gameObjectCollection the bricks are added to it.
+     * @param brickImage the renderable of the bricks.
+     * @param bricksCounter counts the bricks left in the game, raised by the number of bricks in the level.
+     * @param staticLayer the layer to draw the bricks from, null to let the game draw them.
+     * @throws IOException if the level names a strategy that isn't registered.
+     */
+    public LevelLoader(LevelReader reader, BrickStrategyFactory strategyFactory,
+                       GameObjectCollection gameObjectCollection, Renderable brickImage, Counter bricksCounter,
+                       StaticRenderLayer staticLayer) throws IOException {
+        this.reader = reader;
+        this.strategyFactory = strategyFactory;
+        this.gameObjectCollection = gameObjectCollection;
+        this.brickImage = brickImage;
+        this.bricksCounter = bricksCounter;
+        this.staticLayer = staticLayer;
+        this.registryIndices = new int[reader.getNumOfStrategyNames()];
+        for (int i = 0; i < this.registryIndices.length; i++) {
+            this.registryIndices[i] = strategyFactory.getRegistry().indexOf(reader.getStrategyName(i));
+            if (this.registryIndices[i] < 0)
+                throw new IOException("level uses unknown strategy " + reader.getStrategyName(i));
+        }
+        bricksCounter.increaseBy(reader.getNumOfBricks());
+    }
+
+    /**
+     * builds the next bricks of the level and adds them to the game.
+     * @param maxBricks most bricks to build.
+     * @return true if all the bricks of the level were built.
+     * @throws IOException if reading the level fails.
+     */
+    public boolean buildBricks(int maxBricks) throws IOException {
+        for (int i = 0; i < maxBricks && !this.done; i++) {
+            if (!this.reader.nextBrick()) {
+                this.done = true;
+                break;
+            }
+            GameObject brick = new Brick(new Vector2(this.reader.getX(), this.reader.getY()),
+                    new Vector2(this.reader.getWidth(), this.reader.getHeight()), this.brickImage,
+                    nextStrategy(), this.bricksCounter);
+            this.gameObjectCollection.addGameObject(brick, Layer.STATIC_OBJECTS);
+            if (this.staticLayer != null)
+                this.staticLayer.add(brick);
+        }
+        return this.done;
+    }
+
+    /**
+     * @return true if all the bricks of the level were built.
+     */
+    public boolean isDone() {
+        return this.done;
+    }
+
+    /**
+     * closes the level file.
+     * @throws IOException if closing fails.
+     */
+    @Override
+    public void close() throws IOException {
+        this.reader.close();
+    }
+
+    /**
+     * @return the strategy of the brick just read.
+     */
+    private CollisionStrategy nextStrategy() {
+        if (this.reader.hasRandomStrategy())
+            return this.strategyFactory.getStrategy();
+        int length = this.reader.getChainLength();
+        for (int i = 0; i < length; i++) {
+            this.chain[i] = this.registryIndices[this.reader.getChainLink(i)];
+        }
+        return this.strategyFactory.getStrategy(this.chain, length);
+    }
+}
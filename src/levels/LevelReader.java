@@ -0,0 +1,271 @@
+package src.levels;
+
+import danogl.util.Vector2;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a level file written by LevelWriter (see LevelFormat): the header when opened, then the bricks one at
+ * a time. Reading a brick doesn't allocate, its fields are returned by the getters until the next brick is read.
+ * A small file is read whole. A large one is memory-mapped a window at a time, so only the part being read is
+ * in memory, however large the level is.
+ */
+public class LevelReader implements Closeable {
+    // files up to this size are read whole, larger ones are mapped.
+    private static final int MAP_THRESHOLD = 1 << 20;
+    // size of the part of a large file mapped at a time.
+    private static final int MAP_WINDOW = 32 << 20;
+
+    private final FileChannel channel;
+    private final long size;
+    private final boolean mapped;
+    // the part of the file being read, starting at windowStart.
+    private ByteBuffer window;
+    private long windowStart = 0;
+    private final boolean seeded;
+    private final long seed;
+    private final Vector2 gridOrigin;
+    private final Vector2 cellDimensions;
+    private final int numOfColumns;
+    private final int numOfRows;
+    private final int numOfBricks;
+    private final String[] strategyNames;
+    private int bricksRead = 0;
+    // the brick read last.
+    private float x, y, width, height;
+    private int chainLength;
+    private final int[] chain = new int[LevelFormat.MAX_CHAIN_LENGTH];
+
+    /**
+     * c'tor, opens the given file and reads its header.
+     * @param path the level file.
+     * @throws IOException if the file can't be read or isn't a level.
+     */
+    public LevelReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            this.size = this.channel.size();
+            this.mapped = this.size > MAP_THRESHOLD;
+            if (this.mapped) {
+                this.window = ByteBuffer.allocate(0);
+            }
+            else {
+                this.window = ByteBuffer.allocate((int) this.size);
+                while (this.window.hasRemaining() && this.channel.read(this.window) >= 0) {
+                    // keep reading until the whole file is in.
+                }
+                this.window.flip();
+            }
+            ensure(Integer.BYTES + 2);
+            if (this.window.getInt() != LevelFormat.MAGIC)
+                throw new IOException("not a level file");
+            byte version = this.window.get();
+            if (version != LevelFormat.VERSION)
+                throw new IOException("unsupported level version " + version);
+            int flags = this.window.get();
+            ensure(Long.BYTES + 4 * Float.BYTES + 2 * Integer.BYTES);
+            this.seed = this.window.getLong();
+            this.seeded = (flags & LevelFormat.HAS_SEED) != 0;
+            this.gridOrigin = new Vector2(this.window.getFloat(), this.window.getFloat());
+            this.cellDimensions = new Vector2(this.window.getFloat(), this.window.getFloat());
+            this.numOfColumns = this.window.getInt();
+            this.numOfRows = this.window.getInt();
+            ensure(Integer.BYTES + Short.BYTES);
+            this.numOfBricks = this.window.getInt();
+            this.strategyNames = new String[Short.toUnsignedInt(this.window.getShort())];
+            for (int i = 0; i < this.strategyNames.length; i++) {
+                ensure(Short.BYTES);
+                byte[] bytes = new byte[Short.toUnsignedInt(this.window.getShort())];
+                ensure(bytes.length);
+                this.window.get(bytes);
+                this.strategyNames[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+        } catch (IOException | RuntimeException e) {
+            this.channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * reads the next brick.
+     * @return true if there was another brick, its fields are then returned by the getters.
+     * @throws IOException if reading fails, or the file ends before all its bricks were read.
+     */
+    public boolean nextBrick() throws IOException {
+        if (this.bricksRead == this.numOfBricks)
+            return false;
+        ensure(LevelFormat.BRICK_BYTES);
+        this.x = this.window.getFloat();
+        this.y = this.window.getFloat();
+        this.width = this.window.getFloat();
+        this.height = this.window.getFloat();
+        int length = Byte.toUnsignedInt(this.window.get());
+        if (length == LevelFormat.RANDOM_STRATEGY) {
+            this.chainLength = -1;
+        }
+        else {
+            if (length > LevelFormat.MAX_CHAIN_LENGTH)
+                throw new IOException("chain too long: " + length);
+            ensure(length);
+            for (int i = 0; i < length; i++) {
+                int index = Byte.toUnsignedInt(this.window.get());
+                if (index >= this.strategyNames.length)
+                    throw new IOException("no strategy name at index " + index);
+                this.chain[i] = index;
+            }
+            this.chainLength = length;
+        }
+        this.bricksRead++;
+        return true;
+    }
+
+    /**
+     * @return true if the games of the level should always use the level's seed.
+     */
+    public boolean isSeeded() {
+        return this.seeded;
+    }
+
+    /**
+     * @return the seed of the games of the level (meaningful only if it's seeded).
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * @return top left corner of the grid the bricks are indexed with.
+     */
+    public Vector2 getGridOrigin() {
+        return this.gridOrigin;
+    }
+
+    /**
+     * @return width and height of a cell of the grid.
+     */
+    public Vector2 getCellDimensions() {
+        return this.cellDimensions;
+    }
+
+    /**
+     * @return number of cells of the grid along the X axis.
+     */
+    public int getNumOfColumns() {
+        return this.numOfColumns;
+    }
+
+    /**
+     * @return number of cells of the grid along the Y axis.
+     */
+    public int getNumOfRows() {
+        return this.numOfRows;
+    }
+
+    /**
+     * @return how many bricks the level has.
+     */
+    public int getNumOfBricks() {
+        return this.numOfBricks;
+    }
+
+    /**
+     * @return how many names the table of strategy names has.
+     */
+    public int getNumOfStrategyNames() {
+        return this.strategyNames.length;
+    }
+
+    /**
+     * @param index index in the table of strategy names.
+     * @return the name.
+     */
+    public String getStrategyName(int index) {
+        return this.strategyNames[index];
+    }
+
+    /**
+     * @return X of the top left corner of the current brick.
+     */
+    public float getX() {
+        return this.x;
+    }
+
+    /**
+     * @return Y of the top left corner of the current brick.
+     */
+    public float getY() {
+        return this.y;
+    }
+
+    /**
+     * @return width of the current brick.
+     */
+    public float getWidth() {
+        return this.width;
+    }
+
+    /**
+     * @return height of the current brick.
+     */
+    public float getHeight() {
+        return this.height;
+    }
+
+    /**
+     * @return true if the strategy of the current brick should be chosen at random.
+     */
+    public boolean hasRandomStrategy() {
+        return this.chainLength < 0;
+    }
+
+    /**
+     * @return number of special strategies in the chain of the current brick (0 for the plain strategy, or
+     * for a random one).
+     */
+    public int getChainLength() {
+        return Math.max(0, this.chainLength);
+    }
+
+    /**
+     * @param i position in the chain of the current brick, 0 is the outermost strategy.
+     * @return index of the strategy in the table of strategy names.
+     */
+    public int getChainLink(int i) {
+        return this.chain[i];
+    }
+
+    /**
+     * closes the file.
+     * @throws IOException if closing fails.
+     */
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    /**
+     * makes sure the given number of bytes can be read from the window, mapping the next part of the file if
+     * they can't.
+     */
+    private void ensure(int bytes) throws IOException {
+        if (this.window.remaining() >= bytes)
+            return;
+        if (this.mapped) {
+            long position = this.windowStart + this.window.position();
+            long length = Math.min(MAP_WINDOW, this.size - position);
+            if (length >= bytes) {
+                this.window = this.channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                this.windowStart = position;
+                return;
+            }
+        }
+        throw new EOFException("level file ended too soon");
+    }
+}
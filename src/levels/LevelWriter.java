@@ -0,0 +1,184 @@
+package src.levels;
+
+import danogl.util.Vector2;
+import src.BrickerGameManager;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Writes a level file (see LevelFormat), one brick at a time. The number of bricks is part of the header, so it
+ * must be known up front, and closing the writer checks that exactly that many bricks were written.
+ * Run as a program, it writes a level of a grid of bricks laid out like the generated game's, with strategies
+ * chosen at random: LevelWriter file lines bricksPerLine [seed].
+ */
+public class LevelWriter implements Closeable {
+    // layout of the grid written by main, the same as a generated game's.
+    private static final float BUFFER_FROM_WALL = 11;
+    private static final float BRICK_HEIGHT = 15;
+    private static final float SPACE_BETWEEN_BRICKS = 3;
+    private static final float SPACE_BETWEEN_LINES = 20;
+    private static final float FIRST_BRICK_LINE_Y_OFFSET = 30;
+
+    private final DataOutputStream out;
+    private final int numOfStrategyNames;
+    private final int numOfBricks;
+    private int bricksWritten = 0;
+
+    /**
+     * c'tor, writes the header of the level.
+     * @param out stream to write the level to.
+     * @param seeded true if the games of the level should always use the given seed.
+     * @param seed the seed of the games of the level, ignored if not seeded.
+     * @param gridOrigin top left corner of the grid the bricks are indexed with.
+     * @param cellDimensions width and height of a cell of the grid, best matching the layout of the bricks.
+     * @param numOfColumns number of cells of the grid along the X axis.
+     * @param numOfRows number of cells of the grid along the Y axis.
+     * @param numOfBricks how many bricks the level has.
+     * @param strategyNames names of the special strategies the bricks' chains refer to, as registered in the
+     *                      game's StrategyRegistry.
+     * @throws IOException if writing fails.
+     */
+    public LevelWriter(OutputStream out, boolean seeded, long seed, Vector2 gridOrigin, Vector2 cellDimensions,
+                       int numOfColumns, int numOfRows, int numOfBricks, String[] strategyNames)
+            throws IOException {
+        if (strategyNames.length > LevelFormat.MAX_STRATEGY_NAMES)
+            throw new IllegalArgumentException("too many strategy names: " + strategyNames.length);
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+        this.numOfStrategyNames = strategyNames.length;
+        this.numOfBricks = numOfBricks;
+        this.out.writeInt(LevelFormat.MAGIC);
+        this.out.writeByte(LevelFormat.VERSION);
+        this.out.writeByte(seeded ? LevelFormat.HAS_SEED : 0);
+        this.out.writeLong(seed);
+        this.out.writeFloat(gridOrigin.x());
+        this.out.writeFloat(gridOrigin.y());
+        this.out.writeFloat(cellDimensions.x());
+        this.out.writeFloat(cellDimensions.y());
+        this.out.writeInt(numOfColumns);
+        this.out.writeInt(numOfRows);
+        this.out.writeInt(numOfBricks);
+        this.out.writeShort(strategyNames.length);
+        for (String name : strategyNames) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            this.out.writeShort(bytes.length);
+            this.out.write(bytes);
+        }
+    }
+
+    /**
+     * c'tor, creates (or truncates) the given file and writes the header of the level.
+     * @param path the level file.
+     * @param seeded true if the games of the level should always use the given seed.
+     * @param seed the seed of the games of the level, ignored if not seeded.
+     * @param gridOrigin top left corner of the grid the bricks are indexed with.
+     * @param cellDimensions width and height of a cell of the grid.
+     * @param numOfColumns number of cells of the grid along the X axis.
+     * @param numOfRows number of cells of the grid along the Y axis.
+     * @param numOfBricks how many bricks the level has.
+     * @param strategyNames names of the special strategies the bricks' chains refer to.
+     * @throws IOException if the file can't be written.
+     */
+    public LevelWriter(Path path, boolean seeded, long seed, Vector2 gridOrigin, Vector2 cellDimensions,
+                       int numOfColumns, int numOfRows, int numOfBricks, String[] strategyNames)
+            throws IOException {
+        this(Files.newOutputStream(path), seeded, seed, gridOrigin, cellDimensions, numOfColumns, numOfRows,
+                numOfBricks, strategyNames);
+    }
+
+    /**
+     * writes a brick with a chain of special strategies (or the plain strategy, for an empty chain).
+     * @param x X of the top left corner of the brick.
+     * @param y Y of the top left corner of the brick.
+     * @param width width of the brick.
+     * @param height height of the brick.
+     * @param chain indices of the special strategies in the table of names, outermost first.
+     * @param chainLength how many strategies of chain the brick has.
+     * @throws IOException if writing fails.
+     */
+    public void writeBrick(float x, float y, float width, float height, int[] chain, int chainLength)
+            throws IOException {
+        if (chainLength > LevelFormat.MAX_CHAIN_LENGTH)
+            throw new IllegalArgumentException("chain too long: " + chainLength);
+        writeBrickBounds(x, y, width, height);
+        this.out.writeByte(chainLength);
+        for (int i = 0; i < chainLength; i++) {
+            if (chain[i] < 0 || chain[i] >= this.numOfStrategyNames)
+                throw new IllegalArgumentException("no strategy name at index " + chain[i]);
+            this.out.writeByte(chain[i]);
+        }
+    }
+
+    /**
+     * writes a brick whose strategy is chosen at random when the level is loaded.
+     * @param x X of the top left corner of the brick.
+     * @param y Y of the top left corner of the brick.
+     * @param width width of the brick.
+     * @param height height of the brick.
+     * @throws IOException if writing fails.
+     */
+    public void writeRandomBrick(float x, float y, float width, float height) throws IOException {
+        writeBrickBounds(x, y, width, height);
+        this.out.writeByte(LevelFormat.RANDOM_STRATEGY);
+    }
+
+    /**
+     * closes the file.
+     * @throws IOException if closing fails, or if the number of bricks written isn't the one in the header.
+     */
+    @Override
+    public void close() throws IOException {
+        this.out.close();
+        if (this.bricksWritten != this.numOfBricks)
+            throw new IOException("level has " + this.numOfBricks + " bricks, " + this.bricksWritten +
+                    " were written");
+    }
+
+    private void writeBrickBounds(float x, float y, float width, float height) throws IOException {
+        if (this.bricksWritten == this.numOfBricks)
+            throw new IllegalStateException("all " + this.numOfBricks + " bricks were written");
+        this.out.writeFloat(x);
+        this.out.writeFloat(y);
+        this.out.writeFloat(width);
+        this.out.writeFloat(height);
+        this.bricksWritten++;
+    }
+
+    /**
+     * writes a level of a grid of bricks with random strategies, in the default window.
+     * @param args the level file, number of lines, number of bricks in a line, and optionally a seed.
+     * @throws IOException if the file can't be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("usage: LevelWriter file lines bricksPerLine [seed]");
+            return;
+        }
+        int lines = Integer.parseInt(args[1]);
+        int bricksPerLine = Integer.parseInt(args[2]);
+        boolean seeded = args.length > 3;
+        long seed = seeded ? Long.parseLong(args[3]) : 0;
+        float brickLength = (BrickerGameManager.MAIN_WINDOW_X -
+                (bricksPerLine * SPACE_BETWEEN_BRICKS + 2 * BUFFER_FROM_WALL)) / bricksPerLine;
+        try (LevelWriter writer = new LevelWriter(Paths.get(args[0]), seeded, seed,
+                new Vector2(BUFFER_FROM_WALL, FIRST_BRICK_LINE_Y_OFFSET),
+                new Vector2(brickLength + SPACE_BETWEEN_BRICKS, SPACE_BETWEEN_LINES), bricksPerLine, lines,
+                lines * bricksPerLine, new String[0])) {
+            for (int i = 0; i < lines; i++) {
+                float locate = BUFFER_FROM_WALL;
+                for (int j = 0; j < bricksPerLine; j++) {
+                    writer.writeRandomBrick(locate, FIRST_BRICK_LINE_Y_OFFSET + i * SPACE_BETWEEN_LINES,
+                            brickLength, BRICK_HEIGHT);
+                    locate += SPACE_BETWEEN_BRICKS + brickLength;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package src.metrics;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Registry of the timers of the phases of a frame. Besides the registered phases it always times the whole
+ * frame (from the end of one frame to the end of the next) and the time the garbage collector reported in the
+ * frame, so a slow frame can be told apart by the phase it was spent in.
+ * endFrame should be called once per frame. Timing never allocates, only reports do.
+ */
+public class FrameMetrics {
+    /**
+     * how many of the last frames the recent percentiles are taken over (about 6 seconds at 80 FPS).
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 512;
+    private static final String FRAME_PHASE = "frame";
+    private static final String GC_PHASE = "gc";
+    private static final double NANOS_IN_MILLI = 1e6;
+    private static final long NANOS_IN_MILLI_LONG = 1_000_000;
+
+    private final int windowSize;
+    private final List<PhaseTimer> timers = new ArrayList<>();
+    private final PhaseTimer frameTimer;
+    private final PhaseTimer gcTimer;
+    private final List<GarbageCollectorMXBean> garbageCollectors = ManagementFactory.getGarbageCollectorMXBeans();
+    private long lastGcMillis;
+    private long lastFrameEnd = -1;
+
+    /**
+     * c'tor
+     * @param windowSize how many of the last frames the recent percentiles are taken over.
+     */
+    public FrameMetrics(int windowSize) {
+        this.windowSize = windowSize;
+        this.frameTimer = register(FRAME_PHASE);
+        this.gcTimer = register(GC_PHASE);
+        this.lastGcMillis = gcMillis();
+    }
+
+    /**
+     * default c'tor, the recent percentiles are taken over DEFAULT_WINDOW_SIZE frames.
+     */
+    public FrameMetrics() {
+        this(DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * adds a phase to time.
+     * @param name name of the phase, for reports.
+     * @return the timer of the phase.
+     */
+    public PhaseTimer register(String name) {
+        PhaseTimer timer = new PhaseTimer(name, this.windowSize);
+        this.timers.add(timer);
+        return timer;
+    }
+
+    /**
+     * ends the current frame: records the time of every phase in it, and starts a new one.
+     */
+    public void endFrame() {
+        long now = System.nanoTime();
+        // the first call only marks the start of the first frame.
+        if (this.lastFrameEnd >= 0) {
+            this.frameTimer.add(now - this.lastFrameEnd);
+            long gcMillis = gcMillis();
+            this.gcTimer.add((gcMillis - this.lastGcMillis) * NANOS_IN_MILLI_LONG);
+            this.lastGcMillis = gcMillis;
+            for (int i = 0; i < this.timers.size(); i++) {
+                this.timers.get(i).endFrame();
+            }
+        }
+        this.lastFrameEnd = now;
+    }
+
+    /**
+     * @return how many phases are timed, including the frame and the garbage collector.
+     */
+    public int size() {
+        return this.timers.size();
+    }
+
+    /**
+     * @param index index of a phase, by the order they were registered (the frame and the garbage collector
+     *              come first).
+     * @return the timer of the phase.
+     */
+    public PhaseTimer get(int index) {
+        return this.timers.get(index);
+    }
+
+    /**
+     * writes the times of every phase over the whole run, in milliseconds, as CSV.
+     * @param out where to write.
+     */
+    public void writeCsv(PrintWriter out) {
+        out.println("phase,frames,p50_ms,p99_ms,max_ms,total_ms");
+        for (PhaseTimer timer : this.timers) {
+            LatencyHistogram overall = timer.getOverall();
+            out.printf(Locale.ROOT, "%s,%d,%.4f,%.4f,%.4f,%.3f%n", timer.getName(), overall.getNumOfSamples(),
+                    overall.getPercentile(50) / NANOS_IN_MILLI, overall.getPercentile(99) / NANOS_IN_MILLI,
+                    overall.getMax() / NANOS_IN_MILLI, overall.getTotal() / NANOS_IN_MILLI);
+        }
+    }
+
+    /**
+     * writes the times of every phase over the whole run to a CSV file.
+     * @param path the file to write.
+     * @throws IOException if the file can't be written.
+     */
+    public void writeCsv(Path path) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(path))) {
+            writeCsv(out);
+        }
+    }
+
+    /**
+     * @return the total time, in milliseconds, the garbage collectors reported so far.
+     */
+    private long gcMillis() {
+        long millis = 0;
+        for (int i = 0; i < this.garbageCollectors.size(); i++) {
+            millis += Math.max(0, this.garbageCollectors.get(i).getCollectionTime());
+        }
+        return millis;
+    }
+}
@@ -0,0 +1,129 @@
+package src.metrics;
+
+/**
+ * Histogram of durations in nanoseconds, with log-linear buckets: every power of two is split into
+ * SUB_BUCKETS equal buckets, so a percentile is reported within about 3% of the real value, from nanoseconds
+ * to over a minute, in a fixed number of buckets.
+ * A histogram may keep only the last samples (a window): the samples are also kept in a ring, and the oldest
+ * one leaves its bucket when a new one comes in. Recording and reading never allocate.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // durations from 2^MAX_EXPONENT nanoseconds (about 68 seconds) up all go in the last bucket.
+    private static final int MAX_EXPONENT = 36;
+    private static final int NUM_OF_BUCKETS = SUB_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final int[] counts = new int[NUM_OF_BUCKETS];
+    // the window of samples, oldest first from next, null if all samples are kept.
+    private final long[] window;
+    private int next = 0;
+    private long numOfSamples = 0;
+    private long total = 0;
+    private long max = 0;
+
+    /**
+     * c'tor
+     * @param windowSize how many of the last samples to keep, 0 to keep all of them.
+     */
+    public LatencyHistogram(int windowSize) {
+        this.window = windowSize > 0 ? new long[windowSize] : null;
+    }
+
+    /**
+     * adds a sample, and if the window is full, drops the oldest one.
+     * @param nanos the duration, in nanoseconds.
+     */
+    public void record(long nanos) {
+        nanos = Math.max(0, nanos);
+        if (this.window != null) {
+            if (this.numOfSamples == this.window.length) {
+                long oldest = this.window[this.next];
+                this.counts[bucketOf(oldest)]--;
+                this.total -= oldest;
+                this.numOfSamples--;
+                // the max may have left the window, find the new one.
+                if (oldest == this.max) {
+                    this.window[this.next] = 0;
+                    this.max = windowMax();
+                }
+            }
+            this.window[this.next] = nanos;
+            this.next = (this.next + 1) % this.window.length;
+        }
+        this.counts[bucketOf(nanos)]++;
+        this.total += nanos;
+        this.max = Math.max(this.max, nanos);
+        this.numOfSamples++;
+    }
+
+    /**
+     * @param percentile the percentile, between 0 and 100.
+     * @return the smallest duration (in nanoseconds, rounded up to its bucket) that the given percent of the
+     * samples are at most, 0 if there are no samples.
+     */
+    public long getPercentile(double percentile) {
+        if (this.numOfSamples == 0)
+            return 0;
+        long rank = Math.max(1, (long) Math.ceil(this.numOfSamples * percentile / 100));
+        long seen = 0;
+        for (int bucket = 0; bucket < NUM_OF_BUCKETS; bucket++) {
+            seen += this.counts[bucket];
+            if (seen >= rank)
+                return Math.min(this.max, upperBound(bucket));
+        }
+        return this.max;
+    }
+
+    /**
+     * @return the longest duration, in nanoseconds.
+     */
+    public long getMax() {
+        return this.max;
+    }
+
+    /**
+     * @return the sum of the durations, in nanoseconds.
+     */
+    public long getTotal() {
+        return this.total;
+    }
+
+    /**
+     * @return how many samples there are.
+     */
+    public long getNumOfSamples() {
+        return this.numOfSamples;
+    }
+
+    private long windowMax() {
+        long windowMax = 0;
+        for (long sample : this.window) {
+            windowMax = Math.max(windowMax, sample);
+        }
+        return windowMax;
+    }
+
+    private static int bucketOf(long nanos) {
+        if (nanos < SUB_BUCKETS)
+            return (int) nanos;
+        int exponent = Math.min(MAX_EXPONENT, 63 - Long.numberOfLeadingZeros(nanos));
+        if (exponent == MAX_EXPONENT)
+            return NUM_OF_BUCKETS - 1;
+        // the SUB_BUCKET_BITS bits after the highest one choose the bucket within the power of two.
+        int subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) - SUB_BUCKETS;
+        return SUB_BUCKETS + (exponent - SUB_BUCKET_BITS) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS)
+            return bucket;
+        // the last bucket holds every duration from 2^MAX_EXPONENT up, however long.
+        if (bucket == NUM_OF_BUCKETS - 1)
+            return Long.MAX_VALUE;
+        int exponent = (bucket - SUB_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS;
+        int subBucket = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        int shift = exponent - SUB_BUCKET_BITS;
+        return ((long) (SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+}
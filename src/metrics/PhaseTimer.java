@@ -0,0 +1,77 @@
+package src.metrics;
+
+/**
+ * Times one phase of a frame (like the update, or the collision strategies). The phase may run several times
+ * in a frame, or not at all: the time between every begin and end in a frame is summed, and at the end of the
+ * frame the sum goes into a histogram of the last frames and into one of the whole run.
+ * Timers are created by FrameMetrics.
+ */
+public class PhaseTimer {
+    private final String name;
+    private final LatencyHistogram recent;
+    private final LatencyHistogram overall = new LatencyHistogram(0);
+    private long frameNanos = 0;
+    private long beginNanos;
+
+    /**
+     * c'tor
+     * @param name name of the phase, for reports.
+     * @param windowSize how many of the last frames the recent histogram keeps.
+     */
+    PhaseTimer(String name, int windowSize) {
+        this.name = name;
+        this.recent = new LatencyHistogram(windowSize);
+    }
+
+    /**
+     * starts timing the phase.
+     */
+    public void begin() {
+        this.beginNanos = System.nanoTime();
+    }
+
+    /**
+     * stops timing the phase, adding the time since begin to the current frame.
+     */
+    public void end() {
+        this.frameNanos += System.nanoTime() - this.beginNanos;
+    }
+
+    /**
+     * adds time measured by other means to the current frame.
+     * @param nanos the time, in nanoseconds.
+     */
+    public void add(long nanos) {
+        this.frameNanos += nanos;
+    }
+
+    /**
+     * @return name of the phase.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * @return the times of the phase in the last frames.
+     */
+    public LatencyHistogram getRecent() {
+        return this.recent;
+    }
+
+    /**
+     * @return the times of the phase in all the frames so far.
+     */
+    public LatencyHistogram getOverall() {
+        return this.overall;
+    }
+
+    /**
+     * records the time of the phase in the frame that ended, and starts a new frame.
+     */
+    void endFrame() {
+        this.recent.record(this.frameNanos);
+        this.overall.record(this.frameNanos);
+        this.frameNanos = 0;
+    }
+}
@@ -0,0 +1,81 @@
+package src.physics;
+
+/**
+ * Turns the varying time of rendered frames into a whole number of simulation steps of a fixed length.
+ * The time of every frame is added to an accumulator, and a step is taken for every full step time in it, so
+ * a long frame (a stall, or a raised time scale) is simulated in several short steps instead of one long one,
+ * and a short frame may take no step at all. The time left in the accumulator, as a fraction of a step, tells
+ * how far the rendered frame is between the last two steps (see RenderInterpolator).
+ */
+public class FixedStepClock {
+    private final float stepTime;
+    private final int maxStepsPerFrame;
+    private float accumulator = 0;
+
+    /**
+     * c'tor
+     * @param stepTime the time, in seconds, of a single simulation step.
+     * @param maxStepsPerFrame most steps taken in a single frame. time beyond them is dropped, so after a very
+     *                         long stall the simulation slows down instead of falling further behind.
+     */
+    public FixedStepClock(float stepTime, int maxStepsPerFrame) {
+        if (stepTime <= 0 || maxStepsPerFrame <= 0)
+            throw new IllegalArgumentException("step time and steps per frame must be positive");
+        this.stepTime = stepTime;
+        this.maxStepsPerFrame = maxStepsPerFrame;
+    }
+
+    /**
+     * adds the time of a frame.
+     * @param deltaTime the (scaled) time, in seconds, that passed since the last frame.
+     * @return how many steps should be simulated in this frame.
+     */
+    public int advance(float deltaTime) {
+        this.accumulator += deltaTime;
+        int steps = 0;
+        while (this.accumulator >= this.stepTime && steps < this.maxStepsPerFrame) {
+            this.accumulator -= this.stepTime;
+            steps++;
+        }
+        // drop what couldn't be simulated, but keep the fraction of a step the frame is into.
+        if (this.accumulator >= this.stepTime)
+            this.accumulator %= this.stepTime;
+        return steps;
+    }
+
+    /**
+     * @return how far, between 0 and 1, the current frame is past the last step.
+     */
+    public float getAlpha() {
+        return this.accumulator / this.stepTime;
+    }
+
+    /**
+     * @return the time, in seconds, accumulated towards the next step.
+     */
+    public float getAccumulatedTime() {
+        return this.accumulator;
+    }
+
+    /**
+     * sets the time accumulated towards the next step, for a game restored from a saved one.
+     * @param accumulatedTime the time, in seconds, from getAccumulatedTime.
+     */
+    public void setAccumulatedTime(float accumulatedTime) {
+        this.accumulator = accumulatedTime;
+    }
+
+    /**
+     * @return the time, in seconds, of a single simulation step.
+     */
+    public float getStepTime() {
+        return this.stepTime;
+    }
+
+    /**
+     * forgets the accumulated time, for a new game.
+     */
+    public void reset() {
+        this.accumulator = 0;
+    }
+}
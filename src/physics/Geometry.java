@@ -0,0 +1,48 @@
+package src.physics;
+
+import danogl.GameObject;
+import danogl.util.Vector2;
+
+/**
+ * Positions of game objects as plain floats. GameObject.getCenter makes a new vector on every call, these
+ * compute the same values from the object's own corner and dimensions, so code that runs every step doesn't
+ * allocate.
+ */
+public final class Geometry {
+    private static final float HALF = 0.5f;
+
+    private Geometry() {
+    }
+
+    /**
+     * @param gameObject an object.
+     * @return X of the center of the object, the same as gameObject.getCenter().x().
+     */
+    public static float centerX(GameObject gameObject) {
+        return gameObject.getDimensions().x() * HALF + gameObject.getTopLeftCorner().x();
+    }
+
+    /**
+     * @param gameObject an object.
+     * @return Y of the center of the object, the same as gameObject.getCenter().y().
+     */
+    public static float centerY(GameObject gameObject) {
+        return gameObject.getDimensions().y() * HALF + gameObject.getTopLeftCorner().y();
+    }
+
+    /**
+     * sets the velocity of an object to its velocity reflected about a surface, the same as
+     * setVelocity(getVelocity().flipped(normal)). an object already moving away from the surface keeps its
+     * velocity.
+     * @param gameObject the object to bounce.
+     * @param normal the normal of the surface it hit.
+     */
+    public static void flipVelocity(GameObject gameObject, Vector2 normal) {
+        Vector2 velocity = gameObject.getVelocity();
+        float magnitude = normal.magnitude();
+        float along = velocity.dot(normal) / magnitude;
+        if (along < 0)
+            gameObject.transform().setVelocity(velocity.x() - normal.x() * 2 * along / magnitude,
+                    velocity.y() - normal.y() * 2 * along / magnitude);
+    }
+}
@@ -0,0 +1,93 @@
+package src.physics;
+
+import danogl.GameObject;
+import danogl.util.Vector2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Draws moving objects between their positions of the last two simulation steps, so motion looks smooth when
+ * frames are rendered at a different rate than the simulation steps.
+ * The positions of the moving objects are remembered before every step. Before rendering, each is moved
+ * between its remembered position and its current one, and after rendering it is moved back, so the
+ * simulation never sees the drawn positions.
+ */
+public class RenderInterpolator {
+    private static final int INITIAL_CAPACITY = 16;
+    // an object that moved further than this in a single step was placed somewhere (a ball put back in the
+    // middle, a pooled puck spawned again), and is drawn where it is rather than sliding there.
+    private static final float MAX_INTERPOLATED_DISTANCE = 50;
+
+    private final List<GameObject> objects = new ArrayList<>();
+    // top left corner of every object (same index as in objects) before the last step.
+    private float[] xs = new float[INITIAL_CAPACITY];
+    private float[] ys = new float[INITIAL_CAPACITY];
+    // real top left corner of every object while it's drawn moved.
+    private float[] realXs = new float[INITIAL_CAPACITY];
+    private float[] realYs = new float[INITIAL_CAPACITY];
+    private boolean applied = false;
+
+    /**
+     * forgets the remembered positions. should be called before every step, followed by remember for every
+     * moving object.
+     */
+    public void clear() {
+        this.objects.clear();
+    }
+
+    /**
+     * remembers the current position of a moving object.
+     * @param gameObject the object, may be null (nothing is remembered).
+     */
+    public void remember(GameObject gameObject) {
+        if (gameObject == null)
+            return;
+        int index = this.objects.size();
+        if (index == this.xs.length) {
+            this.xs = Arrays.copyOf(this.xs, index * 2);
+            this.ys = Arrays.copyOf(this.ys, index * 2);
+            this.realXs = Arrays.copyOf(this.realXs, index * 2);
+            this.realYs = Arrays.copyOf(this.realYs, index * 2);
+        }
+        Vector2 topLeftCorner = gameObject.getTopLeftCorner();
+        this.xs[index] = topLeftCorner.x();
+        this.ys[index] = topLeftCorner.y();
+        this.objects.add(gameObject);
+    }
+
+    /**
+     * moves the remembered objects to where they are drawn, between their remembered and current positions.
+     * @param alpha how far, between 0 and 1, the frame is from the remembered positions to the current ones.
+     */
+    public void apply(float alpha) {
+        for (int i = 0; i < this.objects.size(); i++) {
+            GameObject gameObject = this.objects.get(i);
+            Vector2 current = gameObject.getTopLeftCorner();
+            float x = this.xs[i] + (current.x() - this.xs[i]) * alpha;
+            float y = this.ys[i] + (current.y() - this.ys[i]) * alpha;
+            if (Math.abs(current.x() - this.xs[i]) > MAX_INTERPOLATED_DISTANCE ||
+                    Math.abs(current.y() - this.ys[i]) > MAX_INTERPOLATED_DISTANCE) {
+                x = current.x();
+                y = current.y();
+            }
+            this.realXs[i] = current.x();
+            this.realYs[i] = current.y();
+            gameObject.transform().setTopLeftCorner(x, y);
+        }
+        this.applied = true;
+    }
+
+    /**
+     * moves the objects back to their real positions, after rendering.
+     */
+    public void restore() {
+        if (!this.applied)
+            return;
+        for (int i = 0; i < this.objects.size(); i++) {
+            this.objects.get(i).transform().setTopLeftCorner(this.realXs[i], this.realYs[i]);
+        }
+        this.applied = false;
+    }
+}
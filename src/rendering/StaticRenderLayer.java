@@ -0,0 +1,267 @@
+package src.rendering;
+
+import danogl.GameObject;
+import danogl.components.CoordinateSpace;
+import danogl.gui.rendering.Renderable;
+import danogl.util.Vector2;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A layer of objects that almost never change (the background, the bricks, the hearts), drawn once into an
+ * offscreen buffer, which is then drawn as a single image every frame.
+ * An object handed to the layer keeps its place in the game (and its collisions), but its renderable is taken
+ * by the layer, so the game no longer draws it. When the object leaves the game or comes back (see show and
+ * hide), only the part of the buffer it covers is drawn again, with the objects found under it through a grid of
+ * cells the layer keeps. So the cost of a frame doesn't depend on how many objects the layer has, only on how
+ * many of them changed and how many are around them.
+ * The layer is a game object covering the window, in the coordinate space it's given, so it's drawn through the
+ * camera like the objects it holds would have been. Only objects fully inside the layer's area are taken, the
+ * game keeps drawing the others. The buffer is only created once the layer is drawn.
+ */
+public class StaticRenderLayer extends GameObject {
+    // width and height of a cell of the grid the objects are found by, in pixels.
+    private static final int CELL_SIZE = 32;
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final List<GameObject> objects = new ArrayList<>();
+    // the renderable taken from every object (same index as in objects).
+    private final List<Renderable> renderables = new ArrayList<>();
+    // whether every object (same index as in objects) is in the game, so it should be drawn.
+    private final List<Boolean> shown = new ArrayList<>();
+    // index of every object in the objects list.
+    private final Map<GameObject, Integer> indices = new IdentityHashMap<>();
+    private final int numOfColumns;
+    private final int numOfRows;
+    // for every cell, the indices of the objects overlapping it, in the order they were added.
+    private final int[][] cellObjects;
+    private final int[] cellSizes;
+    // for every object, the last redraw it was found in, so an object spanning several cells is drawn once.
+    private int[] redrawMarks = new int[INITIAL_CAPACITY];
+    private int redrawCount;
+    // the indices of the objects found under the damaged part, reused by every redraw.
+    private int[] candidates = new int[INITIAL_CAPACITY];
+    private BufferedImage buffer;
+    // the part of the buffer (in pixels) to draw again, empty when minX >= maxX.
+    private int damageMinX, damageMinY, damageMaxX, damageMaxY;
+
+    /**
+     * c'tor
+     * @param dimensions the dimensions of the layer, and of its buffer (the window's).
+     * @param coordinateSpace the coordinate space of the objects in the layer. an object can only be added to a
+     *                        layer of its own coordinate space.
+     */
+    public StaticRenderLayer(Vector2 dimensions, CoordinateSpace coordinateSpace) {
+        super(Vector2.ZERO, dimensions, null);
+        setCoordinateSpace(coordinateSpace);
+        renderer().setRenderable(this::renderBuffer);
+        this.numOfColumns = Math.max(1, (int) Math.ceil(dimensions.x() / CELL_SIZE));
+        this.numOfRows = Math.max(1, (int) Math.ceil(dimensions.y() / CELL_SIZE));
+        this.cellObjects = new int[this.numOfColumns * this.numOfRows][];
+        this.cellSizes = new int[this.cellObjects.length];
+    }
+
+    /**
+     * takes over the drawing of an object in the game. the object is drawn by the layer from now on, for as
+     * long as it's in the game. an object that isn't fully inside the layer's area is left to the game.
+     * @param gameObject the object, it should never move or change its renderable.
+     */
+    public void add(GameObject gameObject) {
+        if (this.indices.containsKey(gameObject) || !isInside(gameObject))
+            return;
+        int index = this.objects.size();
+        this.indices.put(gameObject, index);
+        this.objects.add(gameObject);
+        this.renderables.add(gameObject.renderer().getRenderable());
+        this.shown.add(true);
+        if (index == this.redrawMarks.length)
+            this.redrawMarks = Arrays.copyOf(this.redrawMarks, index * 2);
+        Vector2 topLeft = gameObject.getTopLeftCorner();
+        Vector2 dimensions = gameObject.getDimensions();
+        int lastColumn = cellOf(topLeft.x() + dimensions.x(), this.numOfColumns);
+        int lastRow = cellOf(topLeft.y() + dimensions.y(), this.numOfRows);
+        for (int row = cellOf(topLeft.y(), this.numOfRows); row <= lastRow; row++) {
+            for (int col = cellOf(topLeft.x(), this.numOfColumns); col <= lastColumn; col++) {
+                addToCell(row * this.numOfColumns + col, index);
+            }
+        }
+        gameObject.renderer().setRenderable(null);
+        damage(gameObject);
+    }
+
+    private boolean isInside(GameObject gameObject) {
+        Vector2 topLeft = gameObject.getTopLeftCorner();
+        Vector2 dimensions = gameObject.getDimensions();
+        Vector2 size = getDimensions();
+        return topLeft.x() >= 0 && topLeft.y() >= 0 && topLeft.x() + dimensions.x() <= size.x() &&
+                topLeft.y() + dimensions.y() <= size.y();
+    }
+
+    private void addToCell(int cell, int index) {
+        int[] cellIndices = this.cellObjects[cell];
+        if (cellIndices == null) {
+            cellIndices = new int[INITIAL_CAPACITY];
+            this.cellObjects[cell] = cellIndices;
+        }
+        else if (this.cellSizes[cell] == cellIndices.length) {
+            cellIndices = Arrays.copyOf(cellIndices, cellIndices.length * 2);
+            this.cellObjects[cell] = cellIndices;
+        }
+        cellIndices[this.cellSizes[cell]++] = index;
+    }
+
+    /**
+     * @return the column or row of the cell the given coordinate is in, clamped to the grid.
+     */
+    private static int cellOf(float coordinate, int numOfCells) {
+        return Math.max(0, Math.min(numOfCells - 1, (int) Math.floor(coordinate / CELL_SIZE)));
+    }
+
+    /**
+     * @param gameObject an object.
+     * @return true if the layer draws the object.
+     */
+    public boolean contains(GameObject gameObject) {
+        return this.indices.containsKey(gameObject);
+    }
+
+    /**
+     * draws an object of the layer again, should be called when it's added back to the game. does nothing if
+     * the object isn't in the layer.
+     * @param gameObject the object.
+     */
+    public void show(GameObject gameObject) {
+        setShown(gameObject, true);
+    }
+
+    /**
+     * stops drawing an object of the layer, should be called when it's removed from the game. does nothing if
+     * the object isn't in the layer.
+     * @param gameObject the object.
+     */
+    public void hide(GameObject gameObject) {
+        setShown(gameObject, false);
+    }
+
+    private void setShown(GameObject gameObject, boolean show) {
+        Integer index = this.indices.get(gameObject);
+        if (index != null && this.shown.get(index) != show) {
+            this.shown.set(index, show);
+            damage(gameObject);
+        }
+    }
+
+    /**
+     * marks the part of the buffer an object covers to be drawn again.
+     */
+    private void damage(GameObject gameObject) {
+        Vector2 topLeft = gameObject.getTopLeftCorner();
+        Vector2 dimensions = gameObject.getDimensions();
+        // whole pixels around the object, and one more for antialiased edges.
+        int minX = (int) Math.floor(topLeft.x()) - 1;
+        int minY = (int) Math.floor(topLeft.y()) - 1;
+        int maxX = (int) Math.ceil(topLeft.x() + dimensions.x()) + 1;
+        int maxY = (int) Math.ceil(topLeft.y() + dimensions.y()) + 1;
+        if (this.damageMinX >= this.damageMaxX) {
+            this.damageMinX = minX;
+            this.damageMinY = minY;
+            this.damageMaxX = maxX;
+            this.damageMaxY = maxY;
+        }
+        else {
+            this.damageMinX = Math.min(this.damageMinX, minX);
+            this.damageMinY = Math.min(this.damageMinY, minY);
+            this.damageMaxX = Math.max(this.damageMaxX, maxX);
+            this.damageMaxY = Math.max(this.damageMaxY, maxY);
+        }
+    }
+
+    /**
+     * the renderable of the layer: draws the damaged part of the buffer again if there is one, then draws the
+     * buffer where the layer is on screen.
+     */
+    private void renderBuffer(Graphics2D g, Vector2 topLeftCorner, Vector2 dimensions, double degrees,
+                              boolean isFlippedHorizontally, boolean isFlippedVertically, double opaqueness) {
+        if (this.buffer == null) {
+            Vector2 size = getDimensions();
+            this.buffer = new BufferedImage(Math.max(1, (int) Math.ceil(size.x())),
+                    Math.max(1, (int) Math.ceil(size.y())), BufferedImage.TYPE_INT_ARGB);
+            // a new buffer is empty, all of it is drawn.
+            this.damageMinX = 0;
+            this.damageMinY = 0;
+            this.damageMaxX = this.buffer.getWidth();
+            this.damageMaxY = this.buffer.getHeight();
+        }
+        if (this.damageMinX < this.damageMaxX)
+            redrawDamage();
+        g.drawImage(this.buffer, Math.round(topLeftCorner.x()), Math.round(topLeftCorner.y()),
+                Math.round(dimensions.x()), Math.round(dimensions.y()), null);
+    }
+
+    private void redrawDamage() {
+        int width = this.damageMaxX - this.damageMinX;
+        int height = this.damageMaxY - this.damageMinY;
+        Graphics2D bufferGraphics = this.buffer.createGraphics();
+        try {
+            bufferGraphics.clipRect(this.damageMinX, this.damageMinY, width, height);
+            bufferGraphics.setComposite(AlphaComposite.Clear);
+            bufferGraphics.fillRect(this.damageMinX, this.damageMinY, width, height);
+            bufferGraphics.setComposite(AlphaComposite.SrcOver);
+            // in the order the objects were added, like the game would have drawn them.
+            int numOfCandidates = findCandidates();
+            for (int i = 0; i < numOfCandidates; i++) {
+                int index = this.candidates[i];
+                GameObject gameObject = this.objects.get(index);
+                if (this.shown.get(index) && this.renderables.get(index) != null && overlapsDamage(gameObject))
+                    this.renderables.get(index).render(bufferGraphics, gameObject.getTopLeftCorner(),
+                            gameObject.getDimensions());
+            }
+        } finally {
+            bufferGraphics.dispose();
+        }
+        this.damageMaxX = this.damageMinX;
+    }
+
+    /**
+     * collects the indices of the objects in the cells the damaged part overlaps into candidates, each once and
+     * sorted.
+     * @return how many indices were collected.
+     */
+    private int findCandidates() {
+        this.redrawCount++;
+        int numOfCandidates = 0;
+        int lastColumn = cellOf(this.damageMaxX, this.numOfColumns);
+        int lastRow = cellOf(this.damageMaxY, this.numOfRows);
+        for (int row = cellOf(this.damageMinY, this.numOfRows); row <= lastRow; row++) {
+            for (int col = cellOf(this.damageMinX, this.numOfColumns); col <= lastColumn; col++) {
+                int cell = row * this.numOfColumns + col;
+                int[] cellIndices = this.cellObjects[cell];
+                for (int i = 0; i < this.cellSizes[cell]; i++) {
+                    int index = cellIndices[i];
+                    if (this.redrawMarks[index] == this.redrawCount)
+                        continue;
+                    this.redrawMarks[index] = this.redrawCount;
+                    if (numOfCandidates == this.candidates.length)
+                        this.candidates = Arrays.copyOf(this.candidates, numOfCandidates * 2);
+                    this.candidates[numOfCandidates++] = index;
+                }
+            }
+        }
+        Arrays.sort(this.candidates, 0, numOfCandidates);
+        return numOfCandidates;
+    }
+
+    private boolean overlapsDamage(GameObject gameObject) {
+        Vector2 topLeft = gameObject.getTopLeftCorner();
+        Vector2 dimensions = gameObject.getDimensions();
+        return topLeft.x() < this.damageMaxX && topLeft.x() + dimensions.x() > this.damageMinX &&
+                topLeft.y() < this.damageMaxY && topLeft.y() + dimensions.y() > this.damageMinY;
+    }
+}
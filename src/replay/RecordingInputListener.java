@@ -0,0 +1,76 @@
+package src.replay;
+
+import danogl.gui.UserInputListener;
+import danogl.gui.mouse.MouseButton;
+import danogl.util.Vector2;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * UserInputListener that passes the live input to the game and records it to a replay.
+ * The recorded keys are sampled once at the start of each frame, and the game sees that sample for the whole
+ * frame, so the game reads exactly what is written to the replay.
+ */
+public class RecordingInputListener implements UserInputListener {
+    private final UserInputListener liveInput;
+    private final ReplayWriter replayWriter;
+    // bits of the recorded keys pressed in the current frame.
+    private int keys = 0;
+
+    /**
+     * c'tor
+     * @param liveInput the real input of the game.
+     * @param replayWriter the replay to record to, a game should already be started in it.
+     */
+    public RecordingInputListener(UserInputListener liveInput, ReplayWriter replayWriter) {
+        this.liveInput = liveInput;
+        this.replayWriter = replayWriter;
+    }
+
+    /**
+     * samples the input and records the frame. should be called at the start of every frame.
+     * @param deltaTime the delta time the game is updated with in this frame.
+     */
+    public void recordFrame(float deltaTime) {
+        this.keys = ReplayFormat.pressedKeys(this.liveInput);
+        try {
+            this.replayWriter.writeFrame(deltaTime, this.keys);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public boolean isKeyPressed(int keyCode) {
+        int bit = ReplayFormat.keyBit(keyCode);
+        if (bit == 0)
+            return this.liveInput.isKeyPressed(keyCode);
+        return (this.keys & bit) != 0;
+    }
+
+    @Override
+    public boolean wasKeyReleasedThisFrame(int keyCode) {
+        return this.liveInput.wasKeyReleasedThisFrame(keyCode);
+    }
+
+    @Override
+    public boolean wasMouseButtonClickedThisFrame(MouseButton button) {
+        return this.liveInput.wasMouseButtonClickedThisFrame(button);
+    }
+
+    @Override
+    public boolean isMouseButtonPressed(MouseButton button) {
+        return this.liveInput.isMouseButtonPressed(button);
+    }
+
+    @Override
+    public Vector2 getMouseScreenPos() {
+        return this.liveInput.getMouseScreenPos();
+    }
+
+    @Override
+    public double mouseWheelClicksThisFrame() {
+        return this.liveInput.mouseWheelClicksThisFrame();
+    }
+}
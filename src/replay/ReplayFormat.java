@@ -0,0 +1,51 @@
+package src.replay;
+
+import danogl.gui.UserInputListener;
+
+import java.awt.event.KeyEvent;
+
+/**
+ * Layout of a replay file, shared by ReplayWriter and ReplayReader.
+ * A file starts with a header: MAGIC (int), VERSION (byte), and the window width and height (floats).
+ * Then come records, each starting with a flags byte:
+ * a game record has the NEW_GAME flag and is followed by the seed of the game (long).
+ * a frame record has the bits of the keys pressed in the frame, and the NEW_DELTA flag if the delta time of
+ * the frame differs from the one before it, in which case it's followed by the delta time (float).
+ * So a frame with the usual delta time takes a single byte.
+ */
+final class ReplayFormat {
+    static final int MAGIC = 0x42524B52; // "BRKR"
+    static final byte VERSION = 1;
+    static final int NEW_DELTA = 1 << 6;
+    static final int NEW_GAME = 1 << 7;
+    // the keys the game reads (see Paddle.update), the bit of each key is 1 << its index.
+    private static final int[] RECORDED_KEYS = {KeyEvent.VK_LEFT, KeyEvent.VK_RIGHT};
+
+    private ReplayFormat() {
+    }
+
+    /**
+     * @param inputListener the input to sample.
+     * @return the bits of the recorded keys that are pressed.
+     */
+    static int pressedKeys(UserInputListener inputListener) {
+        int keys = 0;
+        for (int i = 0; i < RECORDED_KEYS.length; i++) {
+            if (inputListener.isKeyPressed(RECORDED_KEYS[i]))
+                keys |= 1 << i;
+        }
+        return keys;
+    }
+
+    /**
+     * @param keyCode the key, one of KeyEvent.VK_*.
+     * @return the bit of the key, or 0 if the key isn't recorded.
+     */
+    static int keyBit(int keyCode) {
+        for (int i = 0; i < RECORDED_KEYS.length; i++) {
+            if (RECORDED_KEYS[i] == keyCode)
+                return 1 << i;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,72 @@
+package src.replay;
+
+import danogl.gui.UserInputListener;
+import danogl.gui.mouse.MouseButton;
+import danogl.util.Vector2;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * UserInputListener that plays back the input of a game from a replay, instead of reading the keyboard.
+ */
+public class ReplayInputListener implements UserInputListener {
+    private final ReplayReader replayReader;
+
+    /**
+     * c'tor
+     * @param replayReader the replay to play, moved to the game to play (see ReplayReader.nextGame).
+     */
+    public ReplayInputListener(ReplayReader replayReader) {
+        this.replayReader = replayReader;
+    }
+
+    /**
+     * moves to the next recorded frame. should be called at the start of every frame.
+     * @return true if there was another frame, false if the recorded game ended.
+     */
+    public boolean nextFrame() {
+        try {
+            return this.replayReader.nextFrame();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return the delta time the game was updated with in the current frame.
+     */
+    public float getDeltaTime() {
+        return this.replayReader.getDeltaTime();
+    }
+
+    @Override
+    public boolean isKeyPressed(int keyCode) {
+        return this.replayReader.isKeyPressed(keyCode);
+    }
+
+    @Override
+    public boolean wasKeyReleasedThisFrame(int keyCode) {
+        return false;
+    }
+
+    @Override
+    public boolean wasMouseButtonClickedThisFrame(MouseButton button) {
+        return false;
+    }
+
+    @Override
+    public boolean isMouseButtonPressed(MouseButton button) {
+        return false;
+    }
+
+    @Override
+    public Vector2 getMouseScreenPos() {
+        return Vector2.ZERO;
+    }
+
+    @Override
+    public double mouseWheelClicksThisFrame() {
+        return 0;
+    }
+}
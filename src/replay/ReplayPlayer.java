@@ -0,0 +1,101 @@
+package src.replay;
+
+import src.BrickerGameManager;
+import src.headless.HeadlessGameRunner;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Plays back the games of a replay without a window, either as fast as the CPU allows or in real time (each
+ * frame takes as long as it took when it was recorded). Since a replayed game is seeded and fed the same
+ * input as the recorded one, it plays out exactly the same, which makes it useful for reproducing bugs and
+ * for profiling the same game over and over.
+ * To watch a replay in a window, run BrickerGameManager with "--replay file" instead.
+ */
+public class ReplayPlayer {
+    private static final String REAL_TIME_OPTION = "--realtime";
+    private static final float NANOS_IN_SECOND = 1e9f;
+    private static final long NANOS_IN_MILLI = 1000000;
+
+    private final boolean realTime;
+    private int gamesPlayed = 0;
+    private long framesPlayed = 0;
+
+    /**
+     * c'tor
+     * @param realTime true to play every frame in the time it took when recorded, false to play at full speed.
+     */
+    public ReplayPlayer(boolean realTime) {
+        this.realTime = realTime;
+    }
+
+    /**
+     * plays all the games of the replay, one after the other.
+     * @param replayReader the replay to play, right after its header was read.
+     * @throws InterruptedException if interrupted while waiting in real time playback.
+     */
+    public void play(ReplayReader replayReader) throws InterruptedException {
+        // every frame of a replayed game runs with its recorded delta time, so the runner's one doesn't matter.
+        HeadlessGameRunner runner = new HeadlessGameRunner(replayReader.getWindowDimensions(),
+                HeadlessGameRunner.DEFAULT_DELTA_TIME, Integer.MAX_VALUE);
+        while (true) {
+            BrickerGameManager gameManager = new BrickerGameManager(null, replayReader.getWindowDimensions(),
+                    true);
+            gameManager.playReplay(replayReader);
+            runner.newGame(gameManager);
+            long start = System.nanoTime();
+            float recordedSeconds = 0;
+            while (runner.step()) {
+                if (this.realTime) {
+                    recordedSeconds += replayReader.getDeltaTime();
+                    waitUntil(start + (long) (recordedSeconds * NANOS_IN_SECOND));
+                }
+            }
+            // the frame that found the recorded game over didn't run, a game without frames means no more games.
+            int frames = replayReader.isGameFinished() ? runner.getFramesPlayed() - 1 : runner.getFramesPlayed();
+            if (frames <= 0)
+                return;
+            this.gamesPlayed++;
+            this.framesPlayed += frames;
+        }
+    }
+
+    /**
+     * @return how many games were played.
+     */
+    public int getGamesPlayed() {
+        return this.gamesPlayed;
+    }
+
+    /**
+     * @return how many frames were played, in all games.
+     */
+    public long getFramesPlayed() {
+        return this.framesPlayed;
+    }
+
+    private static void waitUntil(long nanoTime) throws InterruptedException {
+        long nanosLeft = nanoTime - System.nanoTime();
+        if (nanosLeft > 0)
+            Thread.sleep(nanosLeft / NANOS_IN_MILLI, (int) (nanosLeft % NANOS_IN_MILLI));
+    }
+
+    /**
+     * Entry point, plays a replay file and prints how fast it was played.
+     * @param args the replay file, optionally followed by "--realtime".
+     * @throws IOException if the replay file can't be read.
+     * @throws InterruptedException if interrupted while waiting in real time playback.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        boolean realTime = args.length > 1 && args[1].equals(REAL_TIME_OPTION);
+        ReplayPlayer player = new ReplayPlayer(realTime);
+        long start = System.nanoTime();
+        try (ReplayReader replayReader = new ReplayReader(Paths.get(args[0]))) {
+            player.play(replayReader);
+        }
+        float seconds = (System.nanoTime() - start) / NANOS_IN_SECOND;
+        System.out.printf("%d games, %d frames in %.2f seconds%n", player.getGamesPlayed(),
+                player.getFramesPlayed(), seconds);
+    }
+}
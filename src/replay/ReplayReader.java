@@ -0,0 +1,166 @@
+package src.replay;
+
+import danogl.util.Vector2;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Reads a replay file written by ReplayWriter (see ReplayFormat), game by game and frame by frame.
+ */
+public class ReplayReader implements Closeable {
+    private final DataInputStream in;
+    private final Vector2 windowDimensions;
+    // flags of a record that was read but belongs to the next call (a game record ending a game), or -1.
+    private int pendingFlags = -1;
+    private long seed;
+    private float deltaTime;
+    private int keys;
+    // true once the current game has no more frames.
+    private boolean gameFinished = true;
+
+    /**
+     * c'tor, reads the header of the replay.
+     * @param in stream to read the replay from.
+     * @throws IOException if reading fails or the stream isn't a replay.
+     */
+    public ReplayReader(InputStream in) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(in));
+        if (this.in.readInt() != ReplayFormat.MAGIC)
+            throw new IOException("not a replay file");
+        byte version = this.in.readByte();
+        if (version != ReplayFormat.VERSION)
+            throw new IOException("unsupported replay version " + version);
+        this.windowDimensions = new Vector2(this.in.readFloat(), this.in.readFloat());
+    }
+
+    /**
+     * c'tor, opens the given file and reads its header.
+     * @param path the replay file.
+     * @throws IOException if the file can't be read or isn't a replay.
+     */
+    public ReplayReader(Path path) throws IOException {
+        this(Files.newInputStream(path));
+    }
+
+    /**
+     * moves to the next game in the replay, skipping what's left of the current one.
+     * @return true if there is another game, its seed is then returned by getSeed.
+     * @throws IOException if reading fails.
+     */
+    public boolean nextGame() throws IOException {
+        int flags = readFlags();
+        while (flags != -1 && (flags & ReplayFormat.NEW_GAME) == 0) {
+            skipFrame(flags);
+            flags = readFlags();
+        }
+        if (flags == -1)
+            return false;
+        try {
+            this.seed = this.in.readLong();
+        } catch (EOFException e) {
+            // the recording was cut off in the middle of the record.
+            return false;
+        }
+        this.gameFinished = false;
+        return true;
+    }
+
+    /**
+     * moves to the next frame of the current game.
+     * @return true if the game has another frame, its delta time and keys are then returned by getDeltaTime
+     * and isKeyPressed. false if the game ended.
+     * @throws IOException if reading fails.
+     */
+    public boolean nextFrame() throws IOException {
+        if (this.gameFinished)
+            return false;
+        int flags = readFlags();
+        if (flags == -1 || (flags & ReplayFormat.NEW_GAME) != 0) {
+            // the next game starts here, leave it to nextGame.
+            this.pendingFlags = flags;
+            this.gameFinished = true;
+            return false;
+        }
+        if ((flags & ReplayFormat.NEW_DELTA) != 0) {
+            try {
+                this.deltaTime = this.in.readFloat();
+            } catch (EOFException e) {
+                // the recording was cut off in the middle of the frame.
+                this.gameFinished = true;
+                return false;
+            }
+        }
+        this.keys = flags & ~ReplayFormat.NEW_DELTA;
+        return true;
+    }
+
+    /**
+     * @return true if all the frames of the current game were read (or there is no current game).
+     */
+    public boolean isGameFinished() {
+        return this.gameFinished;
+    }
+
+    /**
+     * @return dimensions of the window the games were recorded in.
+     */
+    public Vector2 getWindowDimensions() {
+        return this.windowDimensions;
+    }
+
+    /**
+     * @return the seed of the current game.
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * @return the delta time of the current frame.
+     */
+    public float getDeltaTime() {
+        return this.deltaTime;
+    }
+
+    /**
+     * @param keyCode the key, one of KeyEvent.VK_*.
+     * @return true if the key was pressed during the current frame.
+     */
+    public boolean isKeyPressed(int keyCode) {
+        return (this.keys & ReplayFormat.keyBit(keyCode)) != 0;
+    }
+
+    /**
+     * closes the file.
+     * @throws IOException if closing fails.
+     */
+    @Override
+    public void close() throws IOException {
+        this.in.close();
+    }
+
+    /**
+     * reads the flags of the next record.
+     * @return the flags, or -1 at the end of the replay.
+     */
+    private int readFlags() throws IOException {
+        if (this.pendingFlags != -1) {
+            int flags = this.pendingFlags;
+            this.pendingFlags = -1;
+            return flags;
+        }
+        return this.in.read();
+    }
+
+    private void skipFrame(int flags) throws IOException {
+        if ((flags & ReplayFormat.NEW_DELTA) != 0)
+            this.in.skipBytes(Float.BYTES);
+    }
+}
@@ -0,0 +1,105 @@
+package src.replay;
+
+import danogl.util.Vector2;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes a replay file (see ReplayFormat): the seed of every game played and the input and delta time of every
+ * frame, appended as the game goes. The output is flushed every FRAMES_PER_FLUSH frames, so little is lost
+ * if the game is killed.
+ */
+public class ReplayWriter implements Closeable {
+    private static final int FRAMES_PER_FLUSH = 80;
+
+    private final DataOutputStream out;
+    // delta time of the last frame written, NaN before the first frame of a game.
+    private float lastDeltaTime = Float.NaN;
+    private int framesWritten = 0;
+
+    /**
+     * c'tor, writes the header of the file.
+     * @param out stream to write the replay to.
+     * @param windowDimensions dimensions of the window of the recorded games.
+     * @throws IOException if writing fails.
+     */
+    public ReplayWriter(OutputStream out, Vector2 windowDimensions) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+        this.out.writeInt(ReplayFormat.MAGIC);
+        this.out.writeByte(ReplayFormat.VERSION);
+        this.out.writeFloat(windowDimensions.x());
+        this.out.writeFloat(windowDimensions.y());
+    }
+
+    /**
+     * c'tor, creates (or truncates) the given file and writes its header.
+     * @param path the replay file.
+     * @param windowDimensions dimensions of the window of the recorded games.
+     * @throws IOException if the file can't be written.
+     */
+    public ReplayWriter(Path path, Vector2 windowDimensions) throws IOException {
+        this(Files.newOutputStream(path), windowDimensions);
+    }
+
+    /**
+     * starts a new game in the replay.
+     * @param seed the seed of the game.
+     * @throws IOException if writing fails.
+     */
+    public void startGame(long seed) throws IOException {
+        this.out.writeByte(ReplayFormat.NEW_GAME);
+        this.out.writeLong(seed);
+        this.lastDeltaTime = Float.NaN;
+        this.out.flush();
+    }
+
+    /**
+     * appends a frame to the current game.
+     * @param deltaTime the delta time the game was updated with.
+     * @param keys the bits of the keys pressed during the frame (see ReplayFormat.pressedKeys).
+     * @throws IOException if writing fails.
+     */
+    public void writeFrame(float deltaTime, int keys) throws IOException {
+        if (Float.compare(deltaTime, this.lastDeltaTime) == 0) {
+            this.out.writeByte(keys);
+        }
+        else {
+            this.out.writeByte(keys | ReplayFormat.NEW_DELTA);
+            this.out.writeFloat(deltaTime);
+            this.lastDeltaTime = deltaTime;
+        }
+        this.framesWritten++;
+        if (this.framesWritten % FRAMES_PER_FLUSH == 0)
+            this.out.flush();
+    }
+
+    /**
+     * writes everything buffered so far.
+     * @throws IOException if writing fails.
+     */
+    public void flush() throws IOException {
+        this.out.flush();
+    }
+
+    /**
+     * @return how many frames were written, in all games.
+     */
+    public int getFramesWritten() {
+        return this.framesWritten;
+    }
+
+    /**
+     * flushes and closes the file.
+     * @throws IOException if writing fails.
+     */
+    @Override
+    public void close() throws IOException {
+        this.out.close();
+    }
+}
@@ -0,0 +1,93 @@
+package src.restart;
+
+import danogl.GameObject;
+import danogl.collisions.Layer;
+import danogl.components.CoordinateSpace;
+import danogl.gui.UserInputListener;
+import danogl.gui.rendering.TextRenderable;
+import danogl.util.Vector2;
+import src.collisions.BrickGridCollection;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.event.KeyEvent;
+
+/**
+ * The play again question shown in the middle of the screen once a game with a window ended, over everything
+ * else, and the keys answering it. The game keeps running while it's shown, and checks for an answer every frame.
+ */
+public class EndPrompt {
+    private static final String ANSWER_KEYS_PROMPT = " (Y / N)";
+    private static final float WIDTH_FRACTION = 0.6f;
+    private static final int HEIGHT = 40;
+    private static final int PLAY_AGAIN_KEY = KeyEvent.VK_Y;
+    private static final int CONFIRM_KEY = KeyEvent.VK_ENTER;
+    private static final int QUIT_KEY = KeyEvent.VK_N;
+
+    private final BrickGridCollection gameObjects;
+    private final Vector2 windowDimensions;
+    // the player's input (never the recorded or replayed one).
+    private final UserInputListener inputListener;
+    // the shown question, null while the game is played.
+    private GameObject prompt;
+
+    /**
+     * c'tor
+     * @param gameObjects the collection of the game, the question is added to it when shown.
+     * @param windowDimensions dimensions of the window, the question is shown in its middle.
+     * @param inputListener the player's input, which answers the question.
+     */
+    public EndPrompt(BrickGridCollection gameObjects, Vector2 windowDimensions, UserInputListener inputListener) {
+        this.gameObjects = gameObjects;
+        this.windowDimensions = windowDimensions;
+        this.inputListener = inputListener;
+    }
+
+    /**
+     * shows the question, with the keys answering it. the changes pending in the collection are applied right
+     * away, since the game doesn't update it again while the question is shown: the question is drawn, and the
+     * objects removed in the last step (like the heart of the last life) are gone.
+     * @param question the question asked.
+     */
+    public void show(String question) {
+        TextRenderable text = new TextRenderable(question + ANSWER_KEYS_PROMPT, Font.SANS_SERIF, false, true);
+        text.setColor(Color.WHITE);
+        Vector2 dimensions = new Vector2(this.windowDimensions.x() * WIDTH_FRACTION, HEIGHT);
+        this.prompt = new GameObject(Vector2.ZERO, dimensions, text);
+        this.prompt.setCenter(this.windowDimensions.mult(0.5f));
+        this.prompt.setCoordinateSpace(CoordinateSpace.CAMERA_COORDINATES);
+        this.gameObjects.addGameObject(this.prompt, Layer.UI);
+        this.gameObjects.flushChanges();
+    }
+
+    /**
+     * removes the question from the screen, if it's shown.
+     */
+    public void hide() {
+        if (this.prompt != null) {
+            this.gameObjects.removeGameObject(this.prompt, Layer.UI);
+            this.prompt = null;
+        }
+    }
+
+    /**
+     * @return true if the question is shown.
+     */
+    public boolean isShown() {
+        return this.prompt != null;
+    }
+
+    /**
+     * @return true if the player answered to play again.
+     */
+    public boolean isPlayAgainPressed() {
+        return this.inputListener.isKeyPressed(PLAY_AGAIN_KEY) || this.inputListener.isKeyPressed(CONFIRM_KEY);
+    }
+
+    /**
+     * @return true if the player answered to quit.
+     */
+    public boolean isQuitPressed() {
+        return this.inputListener.isKeyPressed(QUIT_KEY);
+    }
+}
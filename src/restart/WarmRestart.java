@@ -0,0 +1,76 @@
+package src.restart;
+
+import danogl.collisions.Layer;
+import src.collisions.BrickGridCollection;
+import src.brick_strategies.BrickStrategyFactory;
+import src.gameobjects.Brick;
+import src.gameobjects.DynamicObjectsRegistry;
+import src.gameobjects.ObservableCounter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Puts the bricks and lives of a game back as they were when it started, so a new game can start without
+ * initializing one again: the bricks keep their places and get new strategies, the ones hit are put back in the
+ * game, and the spawned objects are removed. The game makes the rest anew (the ball, the camera, the clock).
+ * Only a game of generated bricks, drawn from the random source the game goes on with, can be restarted so.
+ */
+public class WarmRestart {
+    private final BrickGridCollection gameObjects;
+    private final DynamicObjectsRegistry dynamicObjects;
+    private final BrickStrategyFactory strategyFactory;
+    private final ObservableCounter bricksCounter;
+    private final ObservableCounter livesCounter;
+    private final int startingLives;
+    private final List<Brick> bricks = new ArrayList<>();
+
+    /**
+     * c'tor
+     * @param gameObjects the collection of the game.
+     * @param dynamicObjects the objects spawned in the game, removed on restart.
+     * @param strategyFactory gives the bricks new strategies.
+     * @param bricksCounter counts the bricks left in the game.
+     * @param livesCounter counts the lives left in the game.
+     * @param startingLives the lives a game starts with.
+     */
+    public WarmRestart(BrickGridCollection gameObjects, DynamicObjectsRegistry dynamicObjects,
+                       BrickStrategyFactory strategyFactory, ObservableCounter bricksCounter,
+                       ObservableCounter livesCounter, int startingLives) {
+        this.gameObjects = gameObjects;
+        this.dynamicObjects = dynamicObjects;
+        this.strategyFactory = strategyFactory;
+        this.bricksCounter = bricksCounter;
+        this.livesCounter = livesCounter;
+        this.startingLives = startingLives;
+    }
+
+    /**
+     * adds a brick the game started with, to be put back on restart.
+     * @param brick the brick.
+     */
+    public void addBrick(Brick brick) {
+        this.bricks.add(brick);
+    }
+
+    /**
+     * removes the spawned objects, and puts the bricks and lives back as they were when the game started.
+     */
+    public void restart() {
+        // the collection only applies pending additions and removals when it updates, which it didn't since the
+        // game ended. a brick removed in the last step has to be gone before it's added back.
+        this.gameObjects.flushChanges();
+        this.dynamicObjects.removeAll();
+        this.strategyFactory.reset();
+        this.bricksCounter.reset();
+        for (int i = 0; i < this.bricks.size(); i++) {
+            Brick brick = this.bricks.get(i);
+            if (brick.isHit())
+                this.gameObjects.addGameObject(brick, Layer.STATIC_OBJECTS);
+            brick.reset(this.strategyFactory.getStrategy());
+        }
+        this.bricksCounter.increaseBy(this.bricks.size());
+        // a single change, so the life counters add back the hearts lost without removing the rest first.
+        this.livesCounter.increaseBy(this.startingLives - this.livesCounter.value());
+    }
+}
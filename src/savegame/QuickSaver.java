@@ -0,0 +1,168 @@
+package src.savegame;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saves a game to a file without making the game wait for the disk. The game fills the saver's SaveGame and
+ * calls save, which writes it into a buffer on the game's thread and hands the buffer to the saver's thread,
+ * which replaces the file with it. Two buffers take turns, so a save can be taken while the last one is still
+ * being written; a save taken while both are busy is skipped. A save that can't be written is reported, the
+ * game goes on.
+ */
+public class QuickSaver implements Closeable {
+    private static final int NUM_OF_BUFFERS = 2;
+    private static final int INITIAL_CAPACITY = 4096;
+    // how long the saver's thread waits for a save before checking if it was closed.
+    private static final long POLL_MILLIS = 100;
+    private static final String THREAD_NAME = "quick-save";
+
+    private final Path path;
+    private final SaveGame save = new SaveGame();
+    private final SaveGameWriter writer = new SaveGameWriter();
+    // buffers free to be filled, and the ones waiting to be written, shared by the game's thread and the saver's.
+    private final BlockingQueue<ByteBuffer> freeBuffers = new ArrayBlockingQueue<>(NUM_OF_BUFFERS);
+    private final BlockingQueue<ByteBuffer> pendingBuffers = new ArrayBlockingQueue<>(NUM_OF_BUFFERS);
+    private Thread thread;
+    private volatile boolean closed = false;
+    // counts, for reports.
+    private volatile int savesWritten = 0;
+    private volatile int savesSkipped = 0;
+    private volatile int savesFailed = 0;
+
+    /**
+     * c'tor
+     * @param path the file to save to, replaced by every save.
+     */
+    public QuickSaver(Path path) {
+        this.path = path;
+        for (int i = 0; i < NUM_OF_BUFFERS; i++) {
+            this.freeBuffers.add(ByteBuffer.allocateDirect(INITIAL_CAPACITY));
+        }
+    }
+
+    /**
+     * @return the save to fill with the game before calling save. only touched by the game's thread.
+     */
+    public SaveGame getSave() {
+        return this.save;
+    }
+
+    /**
+     * writes the save into a free buffer and hands it to the saver's thread, which writes it to the file.
+     * never waits for the disk: the save is skipped if both buffers are still being written.
+     * @return true if the save was handed to the saver's thread.
+     */
+    public boolean save() {
+        ByteBuffer buffer = this.freeBuffers.poll();
+        if (buffer == null) {
+            this.savesSkipped++;
+            System.err.println("quick save skipped, the last saves are still being written");
+            return false;
+        }
+        ByteBuffer encoded = this.writer.encode(this.save);
+        if (buffer.capacity() < encoded.remaining())
+            buffer = ByteBuffer.allocateDirect(Math.max(encoded.remaining(), buffer.capacity() * 2));
+        buffer.clear();
+        buffer.put(encoded).flip();
+        startThread();
+        this.pendingBuffers.add(buffer);
+        return true;
+    }
+
+    /**
+     * @return how many saves were written to the file.
+     */
+    public int getSavesWritten() {
+        return this.savesWritten;
+    }
+
+    /**
+     * @return how many saves were skipped since the saver's thread was behind.
+     */
+    public int getSavesSkipped() {
+        return this.savesSkipped;
+    }
+
+    /**
+     * @return how many saves couldn't be written to the file.
+     */
+    public int getSavesFailed() {
+        return this.savesFailed;
+    }
+
+    /**
+     * writes the saves that are still pending, then stops the saver's thread.
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+        Thread saverThread;
+        synchronized (this) {
+            saverThread = this.thread;
+        }
+        if (saverThread != null) {
+            try {
+                saverThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private synchronized void startThread() {
+        if (this.thread != null)
+            return;
+        this.thread = new Thread(this::writeSaves, THREAD_NAME);
+        // a save being written never keeps the game from exiting, close waits for it instead.
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * the loop of the saver's thread: writes the pending buffers to the file, in order, until closed and none
+     * are left.
+     */
+    private void writeSaves() {
+        while (true) {
+            boolean wasClosed = this.closed;
+            ByteBuffer buffer;
+            try {
+                buffer = this.pendingBuffers.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            // saves handed over before the saver was closed were taken by the last poll.
+            if (buffer == null) {
+                if (wasClosed)
+                    return;
+                continue;
+            }
+            try {
+                write(buffer);
+                this.savesWritten++;
+            } catch (IOException e) {
+                this.savesFailed++;
+                System.err.println("quick save to " + this.path + " failed: " + e.getMessage());
+            } finally {
+                this.freeBuffers.add(buffer);
+            }
+        }
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package src.savegame;
+
+import java.util.random.RandomGenerator;
+import java.util.stream.Stream;
+
+/**
+ * A random source drawing exactly the same numbers as java.util.SplittableRandom (the SplitMix64 algorithm),
+ * whose state can be read and set again. SplittableRandom keeps its state to itself, so a game drawing from it
+ * couldn't be saved and go on drawing the same numbers once loaded.
+ * Only nextInt() and nextLong() are implemented here, like in SplittableRandom, the rest (bounded numbers,
+ * floats) are RandomGenerator's, so they match too.
+ */
+public class RestorableRandom implements RandomGenerator.SplittableGenerator {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private long seed;
+    private long gamma;
+
+    /**
+     * c'tor, of a source drawing the same numbers as new SplittableRandom(seed).
+     * @param seed the seed.
+     */
+    public RestorableRandom(long seed) {
+        this(seed, GOLDEN_GAMMA);
+    }
+
+    private RestorableRandom(long seed, long gamma) {
+        this.seed = seed;
+        this.gamma = gamma;
+    }
+
+    /**
+     * @return the current seed, which changes with every number drawn.
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * @return the gamma of the source, the step its seed takes with every number drawn.
+     */
+    public long getGamma() {
+        return this.gamma;
+    }
+
+    /**
+     * sets the state of the source, which goes on drawing the numbers the source it was read from would.
+     * @param seed the seed, from getSeed.
+     * @param gamma the gamma, from getGamma.
+     */
+    public void setState(long seed, long gamma) {
+        this.seed = seed;
+        this.gamma = gamma;
+    }
+
+    @Override
+    public int nextInt() {
+        return mix32(nextSeed());
+    }
+
+    @Override
+    public long nextLong() {
+        return mix64(nextSeed());
+    }
+
+    /**
+     * @return a new source, drawing numbers independent of this one's, like SplittableRandom.split.
+     */
+    @Override
+    public RestorableRandom split() {
+        return new RestorableRandom(nextLong(), mixGamma(nextSeed()));
+    }
+
+    @Override
+    public RestorableRandom split(SplittableGenerator source) {
+        return new RestorableRandom(source.nextLong(), mixGamma(source.nextLong()));
+    }
+
+    @Override
+    public Stream<SplittableGenerator> splits(long streamSize) {
+        return splits(streamSize, this);
+    }
+
+    @Override
+    public Stream<SplittableGenerator> splits(SplittableGenerator source) {
+        return Stream.generate(() -> (SplittableGenerator) split(source));
+    }
+
+    @Override
+    public Stream<SplittableGenerator> splits(long streamSize, SplittableGenerator source) {
+        return splits(source).limit(streamSize);
+    }
+
+    private long nextSeed() {
+        this.seed += this.gamma;
+        return this.seed;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int mix32(long z) {
+        z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+        return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+    }
+
+    /**
+     * @return the gamma of a split source, always odd and with enough bit flips to mix well.
+     */
+    private static long mixGamma(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        int n = Long.bitCount(z ^ (z >>> 1));
+        return (n < 24) ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+    }
+}
@@ -0,0 +1,511 @@
+package src.savegame;
+
+import danogl.GameObject;
+import danogl.util.Vector2;
+import src.collisions.BrickGrid;
+import src.gameobjects.Ball;
+import src.gameobjects.ChangeTimeStatusDefiner;
+import src.gameobjects.MockPaddle;
+import src.gameobjects.Paddle;
+import src.gameobjects.Puck;
+import src.gameobjects.PuckSwarm;
+
+import java.util.Arrays;
+
+/**
+ * The full state of a game between two frames, from which it can be restored exactly: the random sources, the
+ * time accumulated towards the next step, the time scale, the lives and bricks left, the ball and paddle, the
+ * bricks in the game with their chains of strategies, the objects spawned by strategies, the camera following
+ * the ball and the pucks of a multiball game.
+ * The objects are kept as numbers in arrays, a few per object, so filling a save of a large game allocates
+ * nothing once the arrays grew, and writing it (see SaveGameWriter) copies the arrays in bulk.
+ * A save is filled by BrickerGameManager.saveGame and restored by BrickerGameManager.loadGame.
+ */
+public class SaveGame {
+    // kinds of objects spawned by strategies.
+    public static final byte PUCK = 0;
+    public static final byte MOCK_PADDLE = 1;
+    public static final byte TIME_STATUS_DEFINER = 2;
+    /**
+     * returned by getCameraCountdown when the camera isn't following the ball.
+     */
+    public static final int NO_CAMERA_CHANGE = -1;
+    // most special strategies in the chain of a brick.
+    public static final int MAX_CHAIN_LENGTH = 8;
+    private static final int INITIAL_BRICKS = 128;
+    private static final int INITIAL_OBJECTS = 16;
+    // floats of a brick: top left x, y, width and height.
+    static final int BRICK_FLOATS = 4;
+    // floats of a moving object: top left x, y, width, height, velocity x, y, and two of its own: the velocity
+    // a ball, puck or paddle moves by in its next step, or a StatusDefiner's time multiplier and whether it
+    // falls in its next step (1 or 0).
+    static final int OBJECT_FLOATS = 8;
+    // floats of a puck of the swarm: top left x, y, velocity x, y and size.
+    static final int SWARM_PUCK_FLOATS = 5;
+
+    // the window the game was played in, and its seed.
+    float windowWidth;
+    float windowHeight;
+    long seed;
+    // seed and gamma of the game's random source, then of the one the bricks' strategies are chosen from.
+    final long[] randomStates = new long[4];
+    float accumulatedTime;
+    float timeScale;
+    int lives;
+    int bricksLeft;
+    int cameraCountdown = NO_CAMERA_CHANGE;
+    // the grid the bricks are indexed with: origin x, y, cell width and height, columns and rows.
+    final float[] grid = new float[4];
+    int gridColumns;
+    int gridRows;
+    // names of the special strategies in the chains, as registered when the game was saved.
+    String[] strategyNames = new String[0];
+    final float[] ball = new float[OBJECT_FLOATS];
+    int ballHits;
+    final float[] paddle = new float[OBJECT_FLOATS];
+    // the bricks in the game, in the order they're in the game, and the chains of their strategies
+    // (MAX_CHAIN_LENGTH links for every brick, as indices to strategyNames).
+    int numOfBricks;
+    float[] bricks = new float[INITIAL_BRICKS * BRICK_FLOATS];
+    byte[] chainLengths = new byte[INITIAL_BRICKS];
+    byte[] chainLinks = new byte[INITIAL_BRICKS * MAX_CHAIN_LENGTH];
+    // the objects spawned by strategies, in the order their collisions are handled in: their kinds, floats,
+    // and a count of their own (a Mock Paddle's collisions left). the first numOfObjectsInGame of them were
+    // in the game's collection, the rest were spawned in the last step and only join it in the next one.
+    int numOfObjects;
+    int numOfObjectsInGame;
+    byte[] objectKinds = new byte[INITIAL_OBJECTS];
+    float[] objects = new float[INITIAL_OBJECTS * OBJECT_FLOATS];
+    int[] objectCounts = new int[INITIAL_OBJECTS];
+    // the pucks of a multiball game, if it has a swarm.
+    boolean hasSwarm;
+    int numOfSwarmPucks;
+    float[] swarmPucks = new float[0];
+
+    /**
+     * starts filling the save of a game, with no bricks or objects.
+     * @param windowDimensions dimensions of the window the game is played in.
+     * @param seed the seed of the game.
+     * @param strategyNames names of the special strategies registered in the game, by registry index.
+     */
+    public void begin(Vector2 windowDimensions, long seed, String[] strategyNames) {
+        this.windowWidth = windowDimensions.x();
+        this.windowHeight = windowDimensions.y();
+        this.seed = seed;
+        this.strategyNames = strategyNames;
+        this.cameraCountdown = NO_CAMERA_CHANGE;
+        this.numOfBricks = 0;
+        this.numOfObjects = 0;
+        this.numOfObjectsInGame = 0;
+        this.hasSwarm = false;
+        this.numOfSwarmPucks = 0;
+    }
+
+    /**
+     * saves the state of the random sources of the game.
+     * @param gameRandom the game's random source.
+     * @param layoutRandom the random source the bricks' strategies are chosen from.
+     */
+    public void setRandom(RestorableRandom gameRandom, RestorableRandom layoutRandom) {
+        this.randomStates[0] = gameRandom.getSeed();
+        this.randomStates[1] = gameRandom.getGamma();
+        this.randomStates[2] = layoutRandom.getSeed();
+        this.randomStates[3] = layoutRandom.getGamma();
+    }
+
+    /**
+     * sets the random sources of a restored game to their saved state.
+     * @param gameRandom the game's random source.
+     * @param layoutRandom the random source the bricks' strategies are chosen from.
+     */
+    public void restoreRandom(RestorableRandom gameRandom, RestorableRandom layoutRandom) {
+        gameRandom.setState(this.randomStates[0], this.randomStates[1]);
+        layoutRandom.setState(this.randomStates[2], this.randomStates[3]);
+    }
+
+    /**
+     * saves the progress of the game.
+     * @param lives how many lives the player has.
+     * @param bricksLeft how many bricks are left.
+     * @param timeScale the time scale of the game.
+     * @param accumulatedTime the time accumulated towards the next step (see FixedStepClock).
+     */
+    public void setProgress(int lives, int bricksLeft, float timeScale, float accumulatedTime) {
+        this.lives = lives;
+        this.bricksLeft = bricksLeft;
+        this.timeScale = timeScale;
+        this.accumulatedTime = accumulatedTime;
+    }
+
+    /**
+     * saves the grid the bricks are indexed with.
+     * @param brickGrid the grid.
+     */
+    public void setGrid(BrickGrid brickGrid) {
+        Vector2 origin = brickGrid.getOrigin();
+        Vector2 cellDimensions = brickGrid.getCellDimensions();
+        this.grid[0] = origin.x();
+        this.grid[1] = origin.y();
+        this.grid[2] = cellDimensions.x();
+        this.grid[3] = cellDimensions.y();
+        this.gridColumns = brickGrid.getNumOfColumns();
+        this.gridRows = brickGrid.getNumOfRows();
+    }
+
+    /**
+     * @return a new empty grid, laid out like the saved one.
+     */
+    public BrickGrid createGrid() {
+        return new BrickGrid(new Vector2(this.grid[0], this.grid[1]), new Vector2(this.grid[2], this.grid[3]),
+                this.gridColumns, this.gridRows);
+    }
+
+    /**
+     * saves the ball.
+     * @param gameBall the ball.
+     */
+    public void setBall(Ball gameBall) {
+        saveObject(gameBall, this.ball, 0);
+        this.ball[6] = gameBall.getMoveVelocityX();
+        this.ball[7] = gameBall.getMoveVelocityY();
+        this.ballHits = gameBall.getCollisionCounter();
+    }
+
+    /**
+     * sets a ball to the saved one's state.
+     * @param gameBall the ball.
+     */
+    public void restoreBall(Ball gameBall) {
+        restoreObject(gameBall, this.ball, 0, this.ball[6], this.ball[7]);
+        gameBall.setMoveVelocity(this.ball[6], this.ball[7]);
+        gameBall.setCollisionCounter(this.ballHits);
+    }
+
+    /**
+     * saves the paddle.
+     * @param gamePaddle the paddle.
+     */
+    public void setPaddle(Paddle gamePaddle) {
+        saveObject(gamePaddle, this.paddle, 0);
+        this.paddle[6] = gamePaddle.getMoveVelocityX();
+    }
+
+    /**
+     * sets a paddle to the saved one's state.
+     * @param gamePaddle the paddle.
+     */
+    public void restorePaddle(Paddle gamePaddle) {
+        restoreObject(gamePaddle, this.paddle, 0, this.paddle[6], 0);
+    }
+
+    /**
+     * saves that the camera follows the ball.
+     * @param collisionsLeft how many collisions of the ball are left until the camera resets to normal.
+     */
+    public void setCameraCountdown(int collisionsLeft) {
+        this.cameraCountdown = collisionsLeft;
+    }
+
+    /**
+     * adds a brick in the game to the save.
+     * @param brick the brick.
+     * @param chain indices of its special strategies in the strategy names, the outermost first.
+     */
+    public void addBrick(GameObject brick, int[] chain) {
+        if (chain.length > MAX_CHAIN_LENGTH)
+            throw new IllegalArgumentException("chain too long: " + chain.length);
+        if (this.numOfBricks == this.chainLengths.length) {
+            int capacity = this.numOfBricks * 2;
+            this.bricks = Arrays.copyOf(this.bricks, capacity * BRICK_FLOATS);
+            this.chainLengths = Arrays.copyOf(this.chainLengths, capacity);
+            this.chainLinks = Arrays.copyOf(this.chainLinks, capacity * MAX_CHAIN_LENGTH);
+        }
+        Vector2 topLeft = brick.getTopLeftCorner();
+        Vector2 dimensions = brick.getDimensions();
+        int offset = this.numOfBricks * BRICK_FLOATS;
+        this.bricks[offset] = topLeft.x();
+        this.bricks[offset + 1] = topLeft.y();
+        this.bricks[offset + 2] = dimensions.x();
+        this.bricks[offset + 3] = dimensions.y();
+        this.chainLengths[this.numOfBricks] = (byte) chain.length;
+        for (int i = 0; i < chain.length; i++) {
+            this.chainLinks[this.numOfBricks * MAX_CHAIN_LENGTH + i] = (byte) chain[i];
+        }
+        this.numOfBricks++;
+    }
+
+    /**
+     * adds an object spawned by a strategy to the save.
+     * @param gameObject a Puck, MockPaddle or ChangeTimeStatusDefiner.
+     * @throws IllegalArgumentException if the object is of another kind, which can't be saved.
+     */
+    public void addObject(GameObject gameObject) {
+        byte kind;
+        if (gameObject instanceof Puck)
+            kind = PUCK;
+        else if (gameObject instanceof MockPaddle)
+            kind = MOCK_PADDLE;
+        else if (gameObject instanceof ChangeTimeStatusDefiner)
+            kind = TIME_STATUS_DEFINER;
+        else
+            throw new IllegalArgumentException("can't save a " + gameObject.getClass().getSimpleName());
+        if (this.numOfObjects == this.objectKinds.length) {
+            int capacity = this.numOfObjects * 2;
+            this.objectKinds = Arrays.copyOf(this.objectKinds, capacity);
+            this.objects = Arrays.copyOf(this.objects, capacity * OBJECT_FLOATS);
+            this.objectCounts = Arrays.copyOf(this.objectCounts, capacity);
+        }
+        int offset = this.numOfObjects * OBJECT_FLOATS;
+        saveObject(gameObject, this.objects, offset);
+        this.objectCounts[this.numOfObjects] = 0;
+        if (kind == PUCK) {
+            this.objects[offset + 6] = ((Puck) gameObject).getMoveVelocityX();
+            this.objects[offset + 7] = ((Puck) gameObject).getMoveVelocityY();
+        }
+        else if (kind == MOCK_PADDLE) {
+            this.objects[offset + 6] = ((MockPaddle) gameObject).getMoveVelocityX();
+            this.objectCounts[this.numOfObjects] = ((MockPaddle) gameObject).getCollisionsLeft();
+        }
+        else {
+            this.objects[offset + 6] = ((ChangeTimeStatusDefiner) gameObject).getTimeMultiplier();
+            this.objects[offset + 7] = ((ChangeTimeStatusDefiner) gameObject).isFalling() ? 1 : 0;
+        }
+        this.objectKinds[this.numOfObjects] = kind;
+        this.numOfObjects++;
+    }
+
+    /**
+     * marks the objects added to the save so far as the ones in the game's collection. the objects added after
+     * were spawned in the last step, and only join the collection (and start moving) in the next one.
+     */
+    public void markObjectsInGame() {
+        this.numOfObjectsInGame = this.numOfObjects;
+    }
+
+    /**
+     * saves the pucks of a multiball game.
+     * @param swarm the swarm of the game.
+     */
+    public void setSwarm(PuckSwarm swarm) {
+        this.hasSwarm = true;
+        this.numOfSwarmPucks = swarm.size();
+        if (this.swarmPucks.length < this.numOfSwarmPucks * SWARM_PUCK_FLOATS)
+            this.swarmPucks = new float[this.numOfSwarmPucks * SWARM_PUCK_FLOATS];
+        for (int i = 0; i < this.numOfSwarmPucks; i++) {
+            int offset = i * SWARM_PUCK_FLOATS;
+            this.swarmPucks[offset] = swarm.getPuckX(i);
+            this.swarmPucks[offset + 1] = swarm.getPuckY(i);
+            this.swarmPucks[offset + 2] = swarm.getPuckVelocityX(i);
+            this.swarmPucks[offset + 3] = swarm.getPuckVelocityY(i);
+            this.swarmPucks[offset + 4] = swarm.getPuckSize(i);
+        }
+    }
+
+    /**
+     * adds the saved pucks to an empty swarm.
+     * @param swarm the swarm of the restored game.
+     */
+    public void restoreSwarm(PuckSwarm swarm) {
+        for (int i = 0; i < this.numOfSwarmPucks; i++) {
+            int offset = i * SWARM_PUCK_FLOATS;
+            swarm.add(this.swarmPucks[offset], this.swarmPucks[offset + 1], this.swarmPucks[offset + 2],
+                    this.swarmPucks[offset + 3], this.swarmPucks[offset + 4]);
+        }
+    }
+
+    /**
+     * @return dimensions of the window the game was played in.
+     */
+    public Vector2 getWindowDimensions() {
+        return new Vector2(this.windowWidth, this.windowHeight);
+    }
+
+    /**
+     * @return the seed of the game.
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * @return how many lives the player has.
+     */
+    public int getLives() {
+        return this.lives;
+    }
+
+    /**
+     * @return how many bricks are left.
+     */
+    public int getBricksLeft() {
+        return this.bricksLeft;
+    }
+
+    /**
+     * @return the time scale of the game.
+     */
+    public float getTimeScale() {
+        return this.timeScale;
+    }
+
+    /**
+     * @return the time accumulated towards the next step.
+     */
+    public float getAccumulatedTime() {
+        return this.accumulatedTime;
+    }
+
+    /**
+     * @return how many collisions of the ball are left until the camera resets to normal, or
+     * NO_CAMERA_CHANGE if the camera isn't following the ball.
+     */
+    public int getCameraCountdown() {
+        return this.cameraCountdown;
+    }
+
+    /**
+     * @return names of the special strategies the chains refer to. the array shouldn't be changed.
+     */
+    public String[] getStrategyNames() {
+        return this.strategyNames;
+    }
+
+    /**
+     * @return how many bricks are in the game.
+     */
+    public int getNumOfBricks() {
+        return this.numOfBricks;
+    }
+
+    /**
+     * @param index index of a brick.
+     * @return the top left corner of the brick.
+     */
+    public Vector2 getBrickTopLeftCorner(int index) {
+        return new Vector2(this.bricks[index * BRICK_FLOATS], this.bricks[index * BRICK_FLOATS + 1]);
+    }
+
+    /**
+     * @param index index of a brick.
+     * @return the dimensions of the brick.
+     */
+    public Vector2 getBrickDimensions(int index) {
+        return new Vector2(this.bricks[index * BRICK_FLOATS + 2], this.bricks[index * BRICK_FLOATS + 3]);
+    }
+
+    /**
+     * @param index index of a brick.
+     * @param chain filled with the indices of the brick's special strategies in the strategy names, the
+     *              outermost first. should have room for MAX_CHAIN_LENGTH of them.
+     * @return how many special strategies the brick has.
+     */
+    public int getChain(int index, int[] chain) {
+        int length = this.chainLengths[index];
+        for (int i = 0; i < length; i++) {
+            chain[i] = this.chainLinks[index * MAX_CHAIN_LENGTH + i];
+        }
+        return length;
+    }
+
+    /**
+     * @return how many objects spawned by strategies are in the game.
+     */
+    public int getNumOfObjects() {
+        return this.numOfObjects;
+    }
+
+    /**
+     * @return how many of the spawned objects were in the game's collection, the first ones. the rest only
+     * join it in the next step.
+     */
+    public int getNumOfObjectsInGame() {
+        return this.numOfObjectsInGame;
+    }
+
+    /**
+     * @param index index of a spawned object.
+     * @return its kind, PUCK, MOCK_PADDLE or TIME_STATUS_DEFINER.
+     */
+    public byte getObjectKind(int index) {
+        return this.objectKinds[index];
+    }
+
+    /**
+     * @param index index of a spawned object.
+     * @return the top left corner of the object.
+     */
+    public Vector2 getObjectTopLeftCorner(int index) {
+        return new Vector2(this.objects[index * OBJECT_FLOATS], this.objects[index * OBJECT_FLOATS + 1]);
+    }
+
+    /**
+     * @param index index of a Mock Paddle.
+     * @return how many collisions until it disappears from the game.
+     */
+    public int getCollisionsLeft(int index) {
+        return this.objectCounts[index];
+    }
+
+    /**
+     * @param index index of a StatusDefiner.
+     * @return the time scale the game changes to if the paddle collects it.
+     */
+    public float getTimeMultiplier(int index) {
+        return this.objects[index * OBJECT_FLOATS + 6];
+    }
+
+    /**
+     * sets an object spawned by a strategy to the saved one's state (position, dimensions, velocity, and the
+     * velocity of its next step).
+     * @param index index of the spawned object.
+     * @param gameObject the object of the restored game, of the saved kind.
+     */
+    public void restoreObject(int index, GameObject gameObject) {
+        int offset = index * OBJECT_FLOATS;
+        if (this.objectKinds[index] == PUCK) {
+            restoreObject(gameObject, this.objects, offset, this.objects[offset + 6], this.objects[offset + 7]);
+            ((Puck) gameObject).setMoveVelocity(this.objects[offset + 6], this.objects[offset + 7]);
+        }
+        else if (this.objectKinds[index] == MOCK_PADDLE)
+            restoreObject(gameObject, this.objects, offset, this.objects[offset + 6], 0);
+        else if (this.objects[offset + 7] != 0)
+            restoreObject(gameObject, this.objects, offset, this.objects[offset + 4], this.objects[offset + 5]);
+        else
+            restoreObject(gameObject, this.objects, offset, 0, 0);
+    }
+
+    /**
+     * @return true if the game had a swarm of pucks (a multiball game).
+     */
+    public boolean hasSwarm() {
+        return this.hasSwarm;
+    }
+
+    private static void saveObject(GameObject gameObject, float[] floats, int offset) {
+        Vector2 topLeft = gameObject.getTopLeftCorner();
+        Vector2 dimensions = gameObject.getDimensions();
+        Vector2 velocity = gameObject.getVelocity();
+        floats[offset] = topLeft.x();
+        floats[offset + 1] = topLeft.y();
+        floats[offset + 2] = dimensions.x();
+        floats[offset + 3] = dimensions.y();
+        floats[offset + 4] = velocity.x();
+        floats[offset + 5] = velocity.y();
+    }
+
+    /**
+     * sets the transform of an object. danogl moves an object by the velocity it had after its last update, not
+     * by the one set since (a bounce takes effect a step later), so the transform is updated once, by no time,
+     * with the velocity of the saved object's next move, before its velocity is set.
+     * @param appliedX velocity the saved object moves by in its next update, along the X axis.
+     * @param appliedY the same along the Y axis.
+     */
+    private static void restoreObject(GameObject gameObject, float[] floats, int offset, float appliedX,
+                                      float appliedY) {
+        gameObject.transform().setDimensions(floats[offset + 2], floats[offset + 3]);
+        gameObject.transform().setTopLeftCorner(floats[offset], floats[offset + 1]);
+        gameObject.transform().setVelocity(appliedX, appliedY);
+        gameObject.transform().update(0);
+        gameObject.transform().setVelocity(floats[offset + 4], floats[offset + 5]);
+    }
+}
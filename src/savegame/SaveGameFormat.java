@@ -0,0 +1,23 @@
+package src.savegame;
+
+/**
+ * The binary layout of a save, shared by SaveGameWriter and SaveGameReader. Numbers are big endian, and the
+ * arrays of a SaveGame are written as they are, one after the other, so they're copied in bulk either way.
+ * Layout: magic, version, window width and height, seed, the 4 random states, accumulated time, time scale,
+ * lives, bricks left, camera countdown, grid (4 floats, columns, rows), strategy names (count, then each as a
+ * short length and UTF-8 bytes), ball (8 floats, hits), paddle (8 floats), bricks (count, rectangles, chain
+ * lengths, chain links), spawned objects (count, count in the collection, kinds, floats, counts), swarm
+ * (whether there's one, count, floats).
+ * A save of another version can't be read; the version changes whenever the layout does.
+ */
+final class SaveGameFormat {
+    // "BRKS".
+    static final int MAGIC = 0x42524B53;
+    static final int VERSION = 1;
+    // bytes of everything before the strategy names.
+    static final int HEADER_BYTES = 2 * Integer.BYTES + 2 * Float.BYTES + 5 * Long.BYTES + 2 * Float.BYTES +
+            3 * Integer.BYTES + 4 * Float.BYTES + 2 * Integer.BYTES;
+
+    private SaveGameFormat() {
+    }
+}
@@ -0,0 +1,159 @@
+package src.savegame;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads saves written by SaveGameWriter. Like the writer, the reader keeps its buffer, and the arrays of the
+ * save are copied out of it in bulk.
+ */
+public class SaveGameReader {
+    private static final int INITIAL_CAPACITY = 4096;
+
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(INITIAL_CAPACITY);
+
+    /**
+     * reads a save from a channel, to its end.
+     * @param channel the channel to read from, left open.
+     * @return the save read.
+     * @throws IOException if the channel can't be read, or doesn't hold a save of this version.
+     */
+    public SaveGame read(ReadableByteChannel channel) throws IOException {
+        this.buffer.clear();
+        while (channel.read(this.buffer) >= 0) {
+            if (!this.buffer.hasRemaining()) {
+                ByteBuffer larger = ByteBuffer.allocateDirect(this.buffer.capacity() * 2);
+                this.buffer = larger.put(this.buffer.flip());
+            }
+        }
+        SaveGame save = new SaveGame();
+        decode(this.buffer.flip(), save);
+        return save;
+    }
+
+    /**
+     * reads a save from a file.
+     * @param path the file to read from.
+     * @return the save read.
+     * @throws IOException if the file can't be read, or doesn't hold a save of this version.
+     */
+    public SaveGame read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return read(channel);
+        }
+    }
+
+    /**
+     * reads a save from a buffer, replacing what the given save held.
+     * @param in the buffer, read from its position.
+     * @param save the save to read into.
+     * @throws IOException if the buffer doesn't hold a save of this version.
+     */
+    public static void decode(ByteBuffer in, SaveGame save) throws IOException {
+        try {
+            if (in.getInt() != SaveGameFormat.MAGIC)
+                throw new IOException("not a saved game");
+            int version = in.getInt();
+            if (version != SaveGameFormat.VERSION)
+                throw new IOException("can't read a saved game of version " + version);
+            save.windowWidth = in.getFloat();
+            save.windowHeight = in.getFloat();
+            save.seed = in.getLong();
+            for (int i = 0; i < save.randomStates.length; i++) {
+                save.randomStates[i] = in.getLong();
+            }
+            save.accumulatedTime = in.getFloat();
+            save.timeScale = in.getFloat();
+            save.lives = in.getInt();
+            save.bricksLeft = in.getInt();
+            save.cameraCountdown = in.getInt();
+            getFloats(in, save.grid, save.grid.length);
+            save.gridColumns = in.getInt();
+            save.gridRows = in.getInt();
+            save.strategyNames = new String[count(in)];
+            for (int i = 0; i < save.strategyNames.length; i++) {
+                byte[] bytes = new byte[in.getShort()];
+                in.get(bytes);
+                save.strategyNames[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+            getFloats(in, save.ball, SaveGame.OBJECT_FLOATS);
+            save.ballHits = in.getInt();
+            getFloats(in, save.paddle, SaveGame.OBJECT_FLOATS);
+            int numOfBricks = count(in);
+            if (save.chainLengths.length < numOfBricks) {
+                save.bricks = new float[numOfBricks * SaveGame.BRICK_FLOATS];
+                save.chainLengths = new byte[numOfBricks];
+                save.chainLinks = new byte[numOfBricks * SaveGame.MAX_CHAIN_LENGTH];
+            }
+            save.numOfBricks = numOfBricks;
+            getFloats(in, save.bricks, numOfBricks * SaveGame.BRICK_FLOATS);
+            in.get(save.chainLengths, 0, numOfBricks);
+            in.get(save.chainLinks, 0, numOfBricks * SaveGame.MAX_CHAIN_LENGTH);
+            for (int i = 0; i < numOfBricks; i++) {
+                checkChain(save, i);
+            }
+            int numOfObjects = count(in);
+            int numOfObjectsInGame = in.getInt();
+            if (numOfObjectsInGame < 0 || numOfObjectsInGame > numOfObjects)
+                throw new IOException("saved game is corrupt");
+            if (save.objectKinds.length < numOfObjects) {
+                save.objectKinds = new byte[numOfObjects];
+                save.objects = new float[numOfObjects * SaveGame.OBJECT_FLOATS];
+                save.objectCounts = new int[numOfObjects];
+            }
+            save.numOfObjects = numOfObjects;
+            save.numOfObjectsInGame = numOfObjectsInGame;
+            in.get(save.objectKinds, 0, numOfObjects);
+            getFloats(in, save.objects, numOfObjects * SaveGame.OBJECT_FLOATS);
+            in.asIntBuffer().get(save.objectCounts, 0, numOfObjects);
+            in.position(in.position() + numOfObjects * Integer.BYTES);
+            for (int i = 0; i < numOfObjects; i++) {
+                if (save.objectKinds[i] < SaveGame.PUCK || save.objectKinds[i] > SaveGame.TIME_STATUS_DEFINER)
+                    throw new IOException("unknown kind of object: " + save.objectKinds[i]);
+            }
+            save.hasSwarm = in.get() != 0;
+            int numOfSwarmPucks = count(in);
+            if (save.swarmPucks.length < numOfSwarmPucks * SaveGame.SWARM_PUCK_FLOATS)
+                save.swarmPucks = new float[numOfSwarmPucks * SaveGame.SWARM_PUCK_FLOATS];
+            save.numOfSwarmPucks = numOfSwarmPucks;
+            getFloats(in, save.swarmPucks, numOfSwarmPucks * SaveGame.SWARM_PUCK_FLOATS);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("saved game is truncated", e);
+        }
+    }
+
+    /**
+     * reads a count, which can't be more than the bytes left.
+     */
+    private static int count(ByteBuffer in) throws IOException {
+        int count = in.getInt();
+        if (count < 0 || count > in.remaining())
+            throw new IOException("saved game is corrupt");
+        return count;
+    }
+
+    private static void checkChain(SaveGame save, int brick) throws IOException {
+        int length = save.chainLengths[brick];
+        if (length < 0 || length > SaveGame.MAX_CHAIN_LENGTH)
+            throw new IOException("saved game is corrupt");
+        for (int i = 0; i < length; i++) {
+            int link = save.chainLinks[brick * SaveGame.MAX_CHAIN_LENGTH + i];
+            if (link < 0 || link >= save.strategyNames.length)
+                throw new IOException("saved game is corrupt");
+        }
+    }
+
+    /**
+     * copies floats at the buffer's position into the start of an array, moving past them.
+     */
+    private static void getFloats(ByteBuffer in, float[] floats, int length) {
+        in.asFloatBuffer().get(floats, 0, length);
+        in.position(in.position() + length * Float.BYTES);
+    }
+}
@@ -0,0 +1,127 @@
+package src.savegame;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes saves in the layout of SaveGameFormat. The writer keeps its buffer, growing it to the largest save
+ * written, so saving the same game again and again doesn't allocate a buffer every time. What is allocated is
+ * small and doesn't grow with the game: the UTF-8 bytes of the strategy names, and a view of the buffer for
+ * every array of the save, through which the array is copied in bulk (a view has to start where the array
+ * does, which isn't always at a multiple of its element's size, so views can't be made once per buffer).
+ */
+public class SaveGameWriter {
+    private static final int INITIAL_CAPACITY = 4096;
+
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(INITIAL_CAPACITY);
+
+    /**
+     * writes a save to a channel.
+     * @param save the save to write.
+     * @param channel the channel to write to, left open.
+     * @throws IOException if the channel can't be written.
+     */
+    public void write(SaveGame save, WritableByteChannel channel) throws IOException {
+        ByteBuffer out = encode(save);
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+    }
+
+    /**
+     * writes a save to a file, replacing it if it exists.
+     * @param save the save to write.
+     * @param path the file to write to.
+     * @throws IOException if the file can't be written.
+     */
+    public void write(SaveGame save, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(save, channel);
+        }
+    }
+
+    /**
+     * writes a save to the writer's buffer.
+     * @param save the save to write.
+     * @return the buffer, ready to be read from. valid until the next save is written.
+     */
+    public ByteBuffer encode(SaveGame save) {
+        ensureCapacity(sizeOf(save));
+        ByteBuffer out = this.buffer;
+        out.clear();
+        out.putInt(SaveGameFormat.MAGIC);
+        out.putInt(SaveGameFormat.VERSION);
+        out.putFloat(save.windowWidth);
+        out.putFloat(save.windowHeight);
+        out.putLong(save.seed);
+        for (long state : save.randomStates) {
+            out.putLong(state);
+        }
+        out.putFloat(save.accumulatedTime);
+        out.putFloat(save.timeScale);
+        out.putInt(save.lives);
+        out.putInt(save.bricksLeft);
+        out.putInt(save.cameraCountdown);
+        putFloats(out, save.grid, save.grid.length);
+        out.putInt(save.gridColumns);
+        out.putInt(save.gridRows);
+        out.putInt(save.strategyNames.length);
+        for (String name : save.strategyNames) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            out.putShort((short) bytes.length);
+            out.put(bytes);
+        }
+        putFloats(out, save.ball, SaveGame.OBJECT_FLOATS);
+        out.putInt(save.ballHits);
+        putFloats(out, save.paddle, SaveGame.OBJECT_FLOATS);
+        out.putInt(save.numOfBricks);
+        putFloats(out, save.bricks, save.numOfBricks * SaveGame.BRICK_FLOATS);
+        out.put(save.chainLengths, 0, save.numOfBricks);
+        out.put(save.chainLinks, 0, save.numOfBricks * SaveGame.MAX_CHAIN_LENGTH);
+        out.putInt(save.numOfObjects);
+        out.putInt(save.numOfObjectsInGame);
+        out.put(save.objectKinds, 0, save.numOfObjects);
+        putFloats(out, save.objects, save.numOfObjects * SaveGame.OBJECT_FLOATS);
+        out.asIntBuffer().put(save.objectCounts, 0, save.numOfObjects);
+        out.position(out.position() + save.numOfObjects * Integer.BYTES);
+        out.put((byte) (save.hasSwarm ? 1 : 0));
+        out.putInt(save.numOfSwarmPucks);
+        putFloats(out, save.swarmPucks, save.numOfSwarmPucks * SaveGame.SWARM_PUCK_FLOATS);
+        return out.flip();
+    }
+
+    /**
+     * @return how many bytes the save takes.
+     */
+    private static int sizeOf(SaveGame save) {
+        int size = SaveGameFormat.HEADER_BYTES + Integer.BYTES;
+        for (String name : save.strategyNames) {
+            size += Short.BYTES + name.getBytes(StandardCharsets.UTF_8).length;
+        }
+        size += 2 * SaveGame.OBJECT_FLOATS * Float.BYTES + Integer.BYTES;
+        size += Integer.BYTES + save.numOfBricks * (SaveGame.BRICK_FLOATS * Float.BYTES + 1 +
+                SaveGame.MAX_CHAIN_LENGTH);
+        size += 2 * Integer.BYTES + save.numOfObjects * (1 + SaveGame.OBJECT_FLOATS * Float.BYTES + Integer.BYTES);
+        size += 1 + Integer.BYTES + save.numOfSwarmPucks * SaveGame.SWARM_PUCK_FLOATS * Float.BYTES;
+        return size;
+    }
+
+    private void ensureCapacity(int size) {
+        if (this.buffer.capacity() < size)
+            this.buffer = ByteBuffer.allocateDirect(Math.max(size, this.buffer.capacity() * 2));
+    }
+
+    /**
+     * copies the first floats of an array at the buffer's position, moving past them.
+     */
+    private static void putFloats(ByteBuffer out, float[] floats, int length) {
+        out.asFloatBuffer().put(floats, 0, length);
+        out.position(out.position() + length * Float.BYTES);
+    }
+}
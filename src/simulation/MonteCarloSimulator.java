@@ -0,0 +1,151 @@
+package src.simulation;
+
+import danogl.util.Vector2;
+import src.BrickerGameManager;
+import src.headless.HeadlessGameRunner;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays many seeded headless games in parallel on a fork-join pool, each with a PaddleBot at the paddle, and
+ * aggregates their statistics (see SimulationResults). Useful for tuning the strategies' weights without
+ * playing by hand.
+ * Game i is seeded with a seed derived from the simulation seed and i only, so a simulation gives the same
+ * results no matter how many threads run it. For that, game code moves objects with
+ * transform().setCenter(x, y) rather than setCenter(Vector2), which shares a static scratch vector between all
+ * games (see FollowingCamera).
+ */
+public class MonteCarloSimulator {
+    // games a single task plays one after the other, instead of splitting further.
+    private static final int GAMES_PER_TASK = 32;
+    private static final int DEFAULT_NUM_OF_GAMES = 10000;
+    private static final float NANOS_IN_SECOND = 1e9f;
+    // constants of SplitMix64, used to turn (seed, game index) into a well mixed seed.
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final long MIX_MULTIPLIER_1 = 0xBF58476D1CE4E5B9L;
+    private static final long MIX_MULTIPLIER_2 = 0x94D049BB133111EBL;
+
+    private final Vector2 windowDimensions;
+    private final float deltaTime;
+    private final int maxFrames;
+    private final ForkJoinPool pool;
+
+    /**
+     * c'tor
+     * @param windowDimensions dimensions of the (imaginary) window of the games.
+     * @param deltaTime the fixed time, in seconds, of every frame.
+     * @param maxFrames maximal number of frames a single game may run.
+     * @param pool the pool to run the games on.
+     */
+    public MonteCarloSimulator(Vector2 windowDimensions, float deltaTime, int maxFrames, ForkJoinPool pool) {
+        this.windowDimensions = windowDimensions;
+        this.deltaTime = deltaTime;
+        this.maxFrames = maxFrames;
+        this.pool = pool;
+    }
+
+    /**
+     * default c'tor, uses the real game window, the default delta time and frame limit, and the common pool.
+     */
+    public MonteCarloSimulator() {
+        this(new Vector2(BrickerGameManager.MAIN_WINDOW_X, BrickerGameManager.MAIN_WINDOW_Y),
+                HeadlessGameRunner.DEFAULT_DELTA_TIME, HeadlessGameRunner.DEFAULT_MAX_FRAMES,
+                ForkJoinPool.commonPool());
+    }
+
+    /**
+     * plays the given number of games and aggregates their statistics.
+     * @param numOfGames how many games to play.
+     * @param seed the seed of the simulation.
+     * @return the statistics of all games.
+     */
+    public SimulationResults simulate(int numOfGames, long seed) {
+        return this.pool.invoke(new GamesTask(seed, 0, numOfGames));
+    }
+
+    /**
+     * plays games first (inclusive) to last (exclusive) of the simulation on the current thread.
+     */
+    private SimulationResults playGames(long seed, int first, int last) {
+        SimulationResults results = new SimulationResults();
+        HeadlessGameRunner runner = new HeadlessGameRunner(this.windowDimensions, this.deltaTime, this.maxFrames);
+        PaddleBot bot = new PaddleBot(runner.getInputListener());
+        for (int i = first; i < last; i++) {
+            BrickerGameManager gameManager = new BrickerGameManager(null, this.windowDimensions, true);
+            gameManager.setSeed(gameSeed(seed, i));
+            gameManager.setStrategyStatistics(results.getStrategyStatistics());
+            runner.newGame(gameManager);
+            bot.setGame(gameManager);
+            int startingLives = gameManager.getLivesLeft();
+            boolean running = true;
+            while (running && runner.getFramesPlayed() < this.maxFrames) {
+                bot.play();
+                results.addTime(runner.getWindowController().getTimeScale(), this.deltaTime);
+                running = runner.step();
+            }
+            results.addGame(runner.getFramesPlayed(), gameManager.getBricksLeft() == 0,
+                    gameManager.getLivesLeft() == 0, startingLives - gameManager.getLivesLeft());
+        }
+        return results;
+    }
+
+    /**
+     * the seed of a single game, mixed from the simulation seed and the game index (SplitMix64).
+     */
+    private static long gameSeed(long seed, int gameIndex) {
+        long z = seed + (gameIndex + 1) * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * MIX_MULTIPLIER_1;
+        z = (z ^ (z >>> 27)) * MIX_MULTIPLIER_2;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * plays a range of games, splitting it in halves until it's small enough to play on one thread.
+     */
+    private class GamesTask extends RecursiveTask<SimulationResults> {
+        private static final long serialVersionUID = 1L;
+        private final long seed;
+        private final int first;
+        private final int last;
+
+        GamesTask(long seed, int first, int last) {
+            this.seed = seed;
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        protected SimulationResults compute() {
+            if (this.last - this.first <= GAMES_PER_TASK)
+                return playGames(this.seed, this.first, this.last);
+            int middle = (this.first + this.last) >>> 1;
+            GamesTask left = new GamesTask(this.seed, this.first, middle);
+            left.fork();
+            SimulationResults results = new GamesTask(this.seed, middle, this.last).compute();
+            results.merge(left.join());
+            return results;
+        }
+    }
+
+    /**
+     * Entry point, runs a simulation and prints its statistics and how fast it ran.
+     * @param args optional: the number of games, the seed, and the number of threads.
+     */
+    public static void main(String[] args) {
+        int numOfGames = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NUM_OF_GAMES;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : System.nanoTime();
+        ForkJoinPool pool = args.length > 2 ? new ForkJoinPool(Integer.parseInt(args[2])) :
+                ForkJoinPool.commonPool();
+        MonteCarloSimulator simulator = new MonteCarloSimulator(
+                new Vector2(BrickerGameManager.MAIN_WINDOW_X, BrickerGameManager.MAIN_WINDOW_Y),
+                HeadlessGameRunner.DEFAULT_DELTA_TIME, HeadlessGameRunner.DEFAULT_MAX_FRAMES, pool);
+        long start = System.nanoTime();
+        SimulationResults results = simulator.simulate(numOfGames, seed);
+        float seconds = (System.nanoTime() - start) / NANOS_IN_SECOND;
+        System.out.printf("seed %d, %d threads%n", seed, pool.getParallelism());
+        results.print(System.out, HeadlessGameRunner.DEFAULT_DELTA_TIME);
+        System.out.printf("%d games, %d frames in %.2f seconds (%.0f games per minute)%n", numOfGames,
+                results.getTotalFrames(), seconds, numOfGames * 60 / seconds);
+    }
+}
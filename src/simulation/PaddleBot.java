@@ -0,0 +1,48 @@
+package src.simulation;
+
+import danogl.GameObject;
+import src.BrickerGameManager;
+import src.headless.HeadlessInputListener;
+
+import java.awt.event.KeyEvent;
+
+/**
+ * An automated player for headless games: every frame it presses the arrow key that moves the paddle towards
+ * the ball, like a player who just follows the ball with the paddle.
+ */
+public class PaddleBot {
+    // how far (relative to the paddle width) the ball can be from the paddle center before the paddle moves.
+    private static final float DEAD_ZONE_FACTOR = 0.25f;
+
+    private final HeadlessInputListener inputListener;
+    private BrickerGameManager gameManager;
+
+    /**
+     * c'tor
+     * @param inputListener the input the game reads, the bot presses its keys.
+     */
+    public PaddleBot(HeadlessInputListener inputListener) {
+        this.inputListener = inputListener;
+    }
+
+    /**
+     * starts playing a game.
+     * @param gameManager the game to play, after it was initialized.
+     */
+    public void setGame(BrickerGameManager gameManager) {
+        this.gameManager = gameManager;
+        this.inputListener.releaseAll();
+    }
+
+    /**
+     * presses the keys for the next frame. should be called before every frame.
+     */
+    public void play() {
+        GameObject ball = this.gameManager.getBall();
+        GameObject paddle = this.gameManager.getPaddle();
+        float distance = ball.getCenter().x() - paddle.getCenter().x();
+        float deadZone = paddle.getDimensions().x() * DEAD_ZONE_FACTOR;
+        this.inputListener.setKeyPressed(KeyEvent.VK_LEFT, distance < -deadZone);
+        this.inputListener.setKeyPressed(KeyEvent.VK_RIGHT, distance > deadZone);
+    }
+}
@@ -0,0 +1,163 @@
+package src.simulation;
+
+import src.brick_strategies.StrategyStatistics;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+
+/**
+ * Aggregate statistics of many simulated games: how they ended, how long they took, how many lives were lost,
+ * which strategies fired, and how long the games ran under each time scale.
+ * Every batch of games fills its own results, and batches are merged, so no synchronization is needed.
+ */
+public class SimulationResults {
+    private long numOfGames = 0;
+    private long wins = 0;
+    private long losses = 0;
+    private long totalFrames = 0;
+    private int minFrames = Integer.MAX_VALUE;
+    private int maxFrames = 0;
+    private long livesLost = 0;
+    private final StrategyStatistics strategyStatistics = new StrategyStatistics();
+    // seconds played under each time scale seen, kept in parallel arrays (there are only a few scales).
+    private double[] timeScales = new double[0];
+    private double[] secondsAtTimeScale = new double[0];
+
+    /**
+     * adds a finished game.
+     * @param frames how many frames the game ran.
+     * @param won true if all bricks were destroyed.
+     * @param lost true if all lives were lost.
+     * @param livesLost how many lives were lost during the game.
+     */
+    public void addGame(int frames, boolean won, boolean lost, int livesLost) {
+        this.numOfGames++;
+        if (won)
+            this.wins++;
+        if (lost)
+            this.losses++;
+        this.totalFrames += frames;
+        this.minFrames = Math.min(this.minFrames, frames);
+        this.maxFrames = Math.max(this.maxFrames, frames);
+        this.livesLost += livesLost;
+    }
+
+    /**
+     * adds time played under a time scale.
+     * @param timeScale the time scale of the game.
+     * @param seconds the (real) time played.
+     */
+    public void addTime(double timeScale, double seconds) {
+        for (int i = 0; i < this.timeScales.length; i++) {
+            if (this.timeScales[i] == timeScale) {
+                this.secondsAtTimeScale[i] += seconds;
+                return;
+            }
+        }
+        this.timeScales = Arrays.copyOf(this.timeScales, this.timeScales.length + 1);
+        this.secondsAtTimeScale = Arrays.copyOf(this.secondsAtTimeScale, this.secondsAtTimeScale.length + 1);
+        this.timeScales[this.timeScales.length - 1] = timeScale;
+        this.secondsAtTimeScale[this.secondsAtTimeScale.length - 1] = seconds;
+    }
+
+    /**
+     * @return the strategy statistics, games fill them while running.
+     */
+    public StrategyStatistics getStrategyStatistics() {
+        return this.strategyStatistics;
+    }
+
+    /**
+     * adds the results of other games to these.
+     * @param other the results to add.
+     */
+    public void merge(SimulationResults other) {
+        this.numOfGames += other.numOfGames;
+        this.wins += other.wins;
+        this.losses += other.losses;
+        this.totalFrames += other.totalFrames;
+        this.minFrames = Math.min(this.minFrames, other.minFrames);
+        this.maxFrames = Math.max(this.maxFrames, other.maxFrames);
+        this.livesLost += other.livesLost;
+        this.strategyStatistics.merge(other.strategyStatistics);
+        for (int i = 0; i < other.timeScales.length; i++) {
+            addTime(other.timeScales[i], other.secondsAtTimeScale[i]);
+        }
+    }
+
+    /**
+     * @return how many games were played.
+     */
+    public long getNumOfGames() {
+        return this.numOfGames;
+    }
+
+    /**
+     * @return how many games were won.
+     */
+    public long getWins() {
+        return this.wins;
+    }
+
+    /**
+     * @return how many games were lost.
+     */
+    public long getLosses() {
+        return this.losses;
+    }
+
+    /**
+     * @return how many frames all the games ran.
+     */
+    public long getTotalFrames() {
+        return this.totalFrames;
+    }
+
+    /**
+     * @return how many lives were lost in all the games.
+     */
+    public long getLivesLost() {
+        return this.livesLost;
+    }
+
+    /**
+     * prints a report of the results.
+     * @param out where to print.
+     * @param deltaTime the time of a single frame, in seconds, to report game lengths in seconds.
+     */
+    public void print(PrintStream out, float deltaTime) {
+        if (this.numOfGames == 0) {
+            out.println("no games played");
+            return;
+        }
+        long unfinished = this.numOfGames - this.wins - this.losses;
+        out.printf("games: %d, won %.2f%%, lost %.2f%%, unfinished %.2f%%%n", this.numOfGames,
+                percent(this.wins, this.numOfGames), percent(this.losses, this.numOfGames),
+                percent(unfinished, this.numOfGames));
+        double averageFrames = (double) this.totalFrames / this.numOfGames;
+        out.printf("game length: avg %.1f s (%.0f frames), min %.1f s, max %.1f s%n", averageFrames * deltaTime,
+                averageFrames, this.minFrames * deltaTime, this.maxFrames * deltaTime);
+        out.printf("lives lost per game: %.3f%n", (double) this.livesLost / this.numOfGames);
+        out.println("strategy fires per game:");
+        for (int i = 0; i < this.strategyStatistics.getNumOfStrategies(); i++) {
+            out.printf("  %-20s %.3f%n", this.strategyStatistics.getStrategyName(i),
+                    (double) this.strategyStatistics.getStrategyFires(i) / this.numOfGames);
+        }
+        out.println("bricks fired per game, by number of special strategies:");
+        for (int i = 0; i <= StrategyStatistics.MAX_CHAIN_LENGTH; i++) {
+            out.printf("  %-20d %.3f%n", i, (double) this.strategyStatistics.getChainFires(i) / this.numOfGames);
+        }
+        double totalSeconds = 0;
+        for (double seconds : this.secondsAtTimeScale) {
+            totalSeconds += seconds;
+        }
+        out.println("time played under each time scale:");
+        for (int i = 0; i < this.timeScales.length; i++) {
+            out.printf("  %-20.2f %.2f%%%n", this.timeScales[i], 100 * this.secondsAtTimeScale[i] / totalSeconds);
+        }
+    }
+
+    private static double percent(long part, long total) {
+        return 100.0 * part / total;
+    }
+}
@@ -0,0 +1,96 @@
+package src.spectator;
+
+import danogl.GameObject;
+import danogl.util.Vector2;
+import src.collisions.BrickGridCollection;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Follows the bricks of a game for its snapshots: numbers every brick the first time it's added to the game,
+ * remembers its rectangle (bricks never move), and keeps a bit for every brick telling whether it's in the game.
+ * A brick added back (in a restarted game) keeps its number.
+ * The rectangles are only ever added to, a snapshot can share them with the tracker. A new game starts a new
+ * array, so the snapshots of the last game keep theirs.
+ */
+class BrickTracker implements BrickGridCollection.StaticObjectsListener {
+    private static final int INITIAL_BRICKS = 64;
+
+    private final Map<GameObject, Integer> numbers = new IdentityHashMap<>();
+    private float[] rectangles;
+    private long[] inGame;
+    private int numOfBricks;
+    private int game = 0;
+
+    /**
+     * c'tor, of a tracker with no game yet.
+     */
+    BrickTracker() {
+        startGame();
+    }
+
+    /**
+     * forgets the bricks of the last game, the bricks added from now on are numbered from 0.
+     */
+    void startGame() {
+        this.numbers.clear();
+        this.rectangles = new float[INITIAL_BRICKS * GameSnapshot.RECTANGLE_FLOATS];
+        this.inGame = new long[INITIAL_BRICKS / Long.SIZE];
+        this.numOfBricks = 0;
+        this.game++;
+    }
+
+    /**
+     * numbers a brick seen for the first time, and marks it as in the game.
+     * @param gameObject the brick.
+     */
+    @Override
+    public void onStaticObjectAdded(GameObject gameObject) {
+        Integer number = this.numbers.get(gameObject);
+        if (number == null) {
+            number = this.numOfBricks++;
+            this.numbers.put(gameObject, number);
+            if (this.numOfBricks * GameSnapshot.RECTANGLE_FLOATS > this.rectangles.length)
+                this.rectangles = Arrays.copyOf(this.rectangles, this.rectangles.length * 2);
+            Vector2 topLeft = gameObject.transform().getTopLeftCorner();
+            Vector2 dimensions = gameObject.transform().getDimensions();
+            int offset = number * GameSnapshot.RECTANGLE_FLOATS;
+            this.rectangles[offset] = topLeft.x();
+            this.rectangles[offset + 1] = topLeft.y();
+            this.rectangles[offset + 2] = dimensions.x();
+            this.rectangles[offset + 3] = dimensions.y();
+        }
+        int word = number >>> 6;
+        if (word >= this.inGame.length)
+            this.inGame = Arrays.copyOf(this.inGame, Math.max(word + 1, this.inGame.length * 2));
+        this.inGame[word] |= 1L << number;
+    }
+
+    /**
+     * marks a brick as out of the game.
+     * @param gameObject the brick.
+     */
+    @Override
+    public void onStaticObjectRemoved(GameObject gameObject) {
+        Integer number = this.numbers.get(gameObject);
+        if (number != null)
+            this.inGame[number >>> 6] &= ~(1L << number);
+    }
+
+    /**
+     * copies the bricks into a snapshot: the rectangles are shared, the bits of the bricks in the game copied.
+     * @param snapshot the snapshot being filled.
+     */
+    void copyTo(GameSnapshot snapshot) {
+        snapshot.game = this.game;
+        snapshot.numOfBricks = this.numOfBricks;
+        snapshot.brickRectangles = this.rectangles;
+        int words = (this.numOfBricks + Long.SIZE - 1) / Long.SIZE;
+        if (snapshot.bricksInGame.length < words)
+            snapshot.bricksInGame = new long[Math.max(words, this.inGame.length)];
+        System.arraycopy(this.inGame, 0, snapshot.bricksInGame, 0, words);
+        Arrays.fill(snapshot.bricksInGame, words, snapshot.bricksInGame.length, 0);
+    }
+}
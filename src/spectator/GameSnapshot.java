@@ -0,0 +1,169 @@
+package src.spectator;
+
+import danogl.GameObject;
+import danogl.util.Vector2;
+import src.gameobjects.PuckSwarm;
+
+import java.util.Arrays;
+
+/**
+ * The state of a game at the end of a frame, as spectators see it: the lives, the camera, the moving objects
+ * (ball, paddles, pucks and anything else spawned) and the bricks. The bricks are numbered in the order they were
+ * first added to the game, and every snapshot has the rectangles of all the bricks known so far and which of
+ * them are in the game.
+ * Snapshots are filled on the game's thread and read on the server's, and they are reused: a snapshot is only
+ * filled again after the server gave it back.
+ */
+public class GameSnapshot {
+    // kinds of moving objects, which the viewer draws differently.
+    public static final byte BALL = 0;
+    public static final byte PADDLE = 1;
+    public static final byte PUCK = 2;
+    public static final byte OTHER = 3;
+    private static final int INITIAL_OBJECTS = 16;
+    // floats of a rectangle: top left x, y, width and height.
+    static final int RECTANGLE_FLOATS = 4;
+
+    // the number of the frame, and of the game it's in (bricks are numbered anew in every game).
+    int frame;
+    int game;
+    int lives;
+    // the area of the world the camera shows: top left corner and dimensions.
+    final float[] camera = new float[RECTANGLE_FLOATS];
+    // the moving objects: their kinds, and their rectangles one after the other.
+    int numOfObjects;
+    byte[] objectKinds = new byte[INITIAL_OBJECTS];
+    float[] objectRectangles = new float[INITIAL_OBJECTS * RECTANGLE_FLOATS];
+    // the rectangles of the bricks known so far, shared between snapshots (rectangles are only added after
+    // numOfBricks), and a bit for every brick in the game.
+    int numOfBricks;
+    float[] brickRectangles = new float[0];
+    long[] bricksInGame = new long[0];
+
+    /**
+     * starts filling the snapshot of a frame, with no moving objects.
+     * @param lives how many lives the player has.
+     * @param cameraTopLeft top left corner of the area the camera shows.
+     * @param cameraDimensions dimensions of the area the camera shows.
+     */
+    public void begin(int lives, Vector2 cameraTopLeft, Vector2 cameraDimensions) {
+        this.lives = lives;
+        this.camera[0] = cameraTopLeft.x();
+        this.camera[1] = cameraTopLeft.y();
+        this.camera[2] = cameraDimensions.x();
+        this.camera[3] = cameraDimensions.y();
+        this.numOfObjects = 0;
+    }
+
+    /**
+     * adds a moving object to the snapshot.
+     * @param kind the kind of the object, BALL, PADDLE, PUCK or OTHER.
+     * @param gameObject the object.
+     */
+    public void addObject(byte kind, GameObject gameObject) {
+        Vector2 topLeft = gameObject.transform().getTopLeftCorner();
+        Vector2 dimensions = gameObject.transform().getDimensions();
+        addObject(kind, topLeft.x(), topLeft.y(), dimensions.x(), dimensions.y());
+    }
+
+    /**
+     * adds all the pucks of a swarm to the snapshot.
+     * @param swarm the swarm.
+     */
+    public void addSwarm(PuckSwarm swarm) {
+        for (int i = 0; i < swarm.size(); i++) {
+            float size = swarm.getPuckSize(i);
+            addObject(PUCK, swarm.getPuckX(i), swarm.getPuckY(i), size, size);
+        }
+    }
+
+    private void addObject(byte kind, float x, float y, float width, float height) {
+        if (this.numOfObjects == this.objectKinds.length) {
+            this.objectKinds = Arrays.copyOf(this.objectKinds, this.numOfObjects * 2);
+            this.objectRectangles = Arrays.copyOf(this.objectRectangles, this.numOfObjects * 2 * RECTANGLE_FLOATS);
+        }
+        int offset = this.numOfObjects * RECTANGLE_FLOATS;
+        this.objectKinds[this.numOfObjects] = kind;
+        this.objectRectangles[offset] = x;
+        this.objectRectangles[offset + 1] = y;
+        this.objectRectangles[offset + 2] = width;
+        this.objectRectangles[offset + 3] = height;
+        this.numOfObjects++;
+    }
+
+    /**
+     * @return the number of the frame.
+     */
+    public int getFrame() {
+        return this.frame;
+    }
+
+    /**
+     * @return how many lives the player has.
+     */
+    public int getLives() {
+        return this.lives;
+    }
+
+    /**
+     * @param index 0 and 1 for the X and Y of the top left corner of the area the camera shows, 2 and 3 for its
+     *              width and height.
+     * @return the coordinate.
+     */
+    public float getCamera(int index) {
+        return this.camera[index];
+    }
+
+    /**
+     * @return how many moving objects there are.
+     */
+    public int getNumOfObjects() {
+        return this.numOfObjects;
+    }
+
+    /**
+     * @param index index of a moving object.
+     * @return its kind, BALL, PADDLE, PUCK or OTHER.
+     */
+    public byte getObjectKind(int index) {
+        return this.objectKinds[index];
+    }
+
+    /**
+     * @param index index of a moving object.
+     * @param coordinate 0 and 1 for the X and Y of its top left corner, 2 and 3 for its width and height.
+     * @return the coordinate.
+     */
+    public float getObject(int index, int coordinate) {
+        return this.objectRectangles[index * RECTANGLE_FLOATS + coordinate];
+    }
+
+    /**
+     * @return how many bricks the game had so far, in the game or not.
+     */
+    public int getNumOfBricks() {
+        return this.numOfBricks;
+    }
+
+    /**
+     * @param index number of a brick.
+     * @param coordinate 0 and 1 for the X and Y of its top left corner, 2 and 3 for its width and height.
+     * @return the coordinate.
+     */
+    public float getBrick(int index, int coordinate) {
+        return this.brickRectangles[index * RECTANGLE_FLOATS + coordinate];
+    }
+
+    /**
+     * @param index number of a brick.
+     * @return true if the brick is in the game.
+     */
+    public boolean isBrickInGame(int index) {
+        return isBitSet(this.bricksInGame, index);
+    }
+
+    static boolean isBitSet(long[] bits, int index) {
+        int word = index >>> 6;
+        return word < bits.length && (bits[word] & (1L << index)) != 0;
+    }
+}
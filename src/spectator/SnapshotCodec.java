@@ -0,0 +1,220 @@
+package src.spectator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * Writes a snapshot as the difference from an older one (its base), which the receiver already has, and reads
+ * it back. Coordinates are rounded to a quarter of a pixel and written as variable length differences, so an
+ * object that moved a few pixels since the base takes a byte per coordinate, and one that didn't takes a byte
+ * for all four. Of the bricks, only the ones added since the base (their rectangles) and the ones that left or
+ * came back to the game (their numbers) are written.
+ * A snapshot written without a base (a key frame) is the difference from an empty game.
+ * Message layout: frame, base frame + 1 (0 for none), game, lives, camera, objects (count, whether they're the
+ * same kinds as the base's, the kinds if not, the rectangles), bricks (rectangles added, numbers changed).
+ */
+final class SnapshotCodec {
+    // coordinates are written in quarters of a pixel.
+    private static final float UNITS_PER_PIXEL = 4f;
+    // the game before any frame, the base of key frames.
+    private static final GameSnapshot EMPTY = new GameSnapshot();
+
+    private SnapshotCodec() {
+    }
+
+    /**
+     * writes a snapshot as the difference from the base.
+     * @param snapshot the snapshot to write.
+     * @param base a snapshot of the same game the receiver has, or null to write a key frame.
+     * @param out the message to write to.
+     */
+    static void encode(GameSnapshot snapshot, GameSnapshot base, Output out) {
+        GameSnapshot from = base == null ? EMPTY : base;
+        out.writeVarint(snapshot.frame);
+        out.writeVarint(base == null ? 0 : base.frame + 1);
+        out.writeVarint(snapshot.game);
+        out.writeSigned(snapshot.lives - from.lives);
+        for (int i = 0; i < GameSnapshot.RECTANGLE_FLOATS; i++) {
+            out.writeSigned(units(snapshot.camera[i]) - units(from.camera[i]));
+        }
+        // objects are only written as differences from the base's if they're the same kinds in the same order,
+        // otherwise from the object before them.
+        int numOfObjects = snapshot.numOfObjects;
+        boolean sameObjects = numOfObjects == from.numOfObjects && Arrays.equals(snapshot.objectKinds, 0,
+                numOfObjects, from.objectKinds, 0, numOfObjects);
+        out.writeVarint(numOfObjects);
+        out.writeByte(sameObjects ? 1 : 0);
+        if (!sameObjects) {
+            for (int i = 0; i < numOfObjects; i++) {
+                out.writeByte(snapshot.objectKinds[i]);
+            }
+        }
+        float[] rectangles = snapshot.objectRectangles;
+        for (int i = 0; i < numOfObjects * GameSnapshot.RECTANGLE_FLOATS; i++) {
+            int previous = sameObjects ? units(from.objectRectangles[i]) :
+                    i < GameSnapshot.RECTANGLE_FLOATS ? 0 : units(rectangles[i - GameSnapshot.RECTANGLE_FLOATS]);
+            out.writeSigned(units(rectangles[i]) - previous);
+        }
+        // the bricks added since the base, each as the difference from the brick before it (its neighbour).
+        out.writeVarint(snapshot.numOfBricks - from.numOfBricks);
+        float[] bricks = snapshot.brickRectangles;
+        for (int i = from.numOfBricks * GameSnapshot.RECTANGLE_FLOATS;
+             i < snapshot.numOfBricks * GameSnapshot.RECTANGLE_FLOATS; i++) {
+            int previous = i < GameSnapshot.RECTANGLE_FLOATS ? 0 :
+                    units(bricks[i - GameSnapshot.RECTANGLE_FLOATS]);
+            out.writeSigned(units(bricks[i]) - previous);
+        }
+        // the numbers of the bricks that left or came back to the game, each as the gap from the one before.
+        int words = (snapshot.numOfBricks + Long.SIZE - 1) / Long.SIZE;
+        int numOfChanges = 0;
+        for (int word = 0; word < words; word++) {
+            numOfChanges += Long.bitCount(changedBits(snapshot, from, word));
+        }
+        out.writeVarint(numOfChanges);
+        int previous = 0;
+        for (int word = 0; word < words; word++) {
+            long changed = changedBits(snapshot, from, word);
+            while (changed != 0) {
+                int number = word * Long.SIZE + Long.numberOfTrailingZeros(changed);
+                out.writeVarint(number - previous);
+                previous = number;
+                changed &= changed - 1;
+            }
+        }
+    }
+
+    /**
+     * reads a snapshot written by encode.
+     * @param in the message, from after its length.
+     * @param bases the snapshots the receiver has, by frame, null for frames it doesn't have.
+     * @return the snapshot.
+     * @throws IOException if the message is written from a base the receiver doesn't have.
+     */
+    static GameSnapshot decode(ByteBuffer in, IntFunction<GameSnapshot> bases) throws IOException {
+        GameSnapshot snapshot = new GameSnapshot();
+        snapshot.frame = readVarint(in);
+        int baseFrame = readVarint(in) - 1;
+        GameSnapshot from = baseFrame < 0 ? EMPTY : bases.apply(baseFrame);
+        if (from == null)
+            throw new IOException("no snapshot of frame " + baseFrame + " to read frame " + snapshot.frame);
+        snapshot.game = readVarint(in);
+        snapshot.lives = from.lives + readSigned(in);
+        for (int i = 0; i < GameSnapshot.RECTANGLE_FLOATS; i++) {
+            snapshot.camera[i] = pixels(units(from.camera[i]) + readSigned(in));
+        }
+        int numOfObjects = readVarint(in);
+        boolean sameObjects = in.get() != 0;
+        snapshot.numOfObjects = numOfObjects;
+        snapshot.objectKinds = sameObjects ? Arrays.copyOf(from.objectKinds, numOfObjects) : new byte[numOfObjects];
+        if (!sameObjects)
+            in.get(snapshot.objectKinds);
+        float[] rectangles = new float[numOfObjects * GameSnapshot.RECTANGLE_FLOATS];
+        for (int i = 0; i < rectangles.length; i++) {
+            int previous = sameObjects ? units(from.objectRectangles[i]) :
+                    i < GameSnapshot.RECTANGLE_FLOATS ? 0 : units(rectangles[i - GameSnapshot.RECTANGLE_FLOATS]);
+            rectangles[i] = pixels(previous + readSigned(in));
+        }
+        snapshot.objectRectangles = rectangles;
+        snapshot.numOfBricks = from.numOfBricks + readVarint(in);
+        float[] bricks = Arrays.copyOf(from.brickRectangles, snapshot.numOfBricks * GameSnapshot.RECTANGLE_FLOATS);
+        for (int i = from.numOfBricks * GameSnapshot.RECTANGLE_FLOATS; i < bricks.length; i++) {
+            int previous = i < GameSnapshot.RECTANGLE_FLOATS ? 0 :
+                    units(bricks[i - GameSnapshot.RECTANGLE_FLOATS]);
+            bricks[i] = pixels(previous + readSigned(in));
+        }
+        snapshot.brickRectangles = bricks;
+        long[] inGame = Arrays.copyOf(from.bricksInGame, (snapshot.numOfBricks + Long.SIZE - 1) / Long.SIZE);
+        int numOfChanges = readVarint(in);
+        int number = 0;
+        for (int i = 0; i < numOfChanges; i++) {
+            number += readVarint(in);
+            inGame[number >>> 6] ^= 1L << number;
+        }
+        snapshot.bricksInGame = inGame;
+        return snapshot;
+    }
+
+    /**
+     * @return the bits of the bricks in a word that differ between the snapshot and the base.
+     */
+    private static long changedBits(GameSnapshot snapshot, GameSnapshot from, int word) {
+        long before = word < from.bricksInGame.length ? from.bricksInGame[word] : 0;
+        return snapshot.bricksInGame[word] ^ before;
+    }
+
+    private static int units(float pixels) {
+        return Math.round(pixels * UNITS_PER_PIXEL);
+    }
+
+    private static float pixels(int units) {
+        return units / UNITS_PER_PIXEL;
+    }
+
+    private static int readVarint(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7f) << shift;
+            if (b >= 0)
+                return value;
+        }
+    }
+
+    private static int readSigned(ByteBuffer in) {
+        int zigzag = readVarint(in);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    /**
+     * A message being written, that grows as needed and is reused for the next ones. The message is prefixed by
+     * its length.
+     */
+    static final class Output {
+        private static final int LENGTH_BYTES = Integer.BYTES;
+        private byte[] bytes = new byte[1024];
+        private int size = LENGTH_BYTES;
+
+        /**
+         * starts a new message, dropping the last one.
+         */
+        void clear() {
+            this.size = LENGTH_BYTES;
+        }
+
+        void writeByte(int value) {
+            if (this.size == this.bytes.length)
+                this.bytes = Arrays.copyOf(this.bytes, this.bytes.length * 2);
+            this.bytes[this.size++] = (byte) value;
+        }
+
+        /**
+         * writes a non negative number in 7 bit groups, the low ones first.
+         */
+        void writeVarint(int value) {
+            while ((value & ~0x7f) != 0) {
+                writeByte((value & 0x7f) | 0x80);
+                value >>>= 7;
+            }
+            writeByte(value);
+        }
+
+        /**
+         * writes a number that may be negative, small ones of both signs in few bytes (zigzag encoding).
+         */
+        void writeSigned(int value) {
+            writeVarint((value << 1) ^ (value >> 31));
+        }
+
+        /**
+         * @return a copy of the message, with its length before it.
+         */
+        ByteBuffer toByteBuffer() {
+            ByteBuffer message = ByteBuffer.allocate(this.size);
+            message.putInt(this.size - LENGTH_BYTES);
+            message.put(this.bytes, LENGTH_BYTES, this.size - LENGTH_BYTES);
+            return message.flip();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package src.spectator;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+
+/**
+ * A spectator of a game streamed by a SpectatorServer: reads the snapshots on its own thread, keeping the latest
+ * one for whoever shows the game (see SpectatorViewer), and acknowledges every snapshot so the next ones are
+ * written as differences from it.
+ */
+public class SpectatorClient implements Closeable {
+    // the snapshots kept as bases, by frame. the server only writes differences from the last ones it got
+    // acknowledged, which is at most as old as its own history.
+    private static final int BASES_SIZE = 64;
+    private static final String THREAD_NAME = "spectator-client";
+
+    private final Socket socket;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+    private final GameSnapshot[] bases = new GameSnapshot[BASES_SIZE];
+    private final Thread thread;
+    private volatile GameSnapshot latest;
+    private volatile boolean closed = false;
+    // counts, for reports.
+    private volatile int snapshotsReceived = 0;
+    private volatile long bytesReceived = 0;
+
+    /**
+     * c'tor, connects to the server and starts reading snapshots.
+     * @param host the host the server runs on.
+     * @param port the port the server listens on.
+     * @throws IOException if the server can't be connected.
+     */
+    public SpectatorClient(String host, int port) throws IOException {
+        this.socket = new Socket(host, port);
+        this.socket.setTcpNoDelay(true);
+        this.in = new DataInputStream(new BufferedInputStream(this.socket.getInputStream()));
+        this.out = new DataOutputStream(this.socket.getOutputStream());
+        this.thread = new Thread(this::read, THREAD_NAME);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * @return the latest snapshot read, or null if none was read yet. a snapshot is never changed once read.
+     */
+    public GameSnapshot getLatest() {
+        return this.latest;
+    }
+
+    /**
+     * @return how many snapshots were read.
+     */
+    public int getSnapshotsReceived() {
+        return this.snapshotsReceived;
+    }
+
+    /**
+     * @return how many bytes were read.
+     */
+    public long getBytesReceived() {
+        return this.bytesReceived;
+    }
+
+    /**
+     * @return true if the connection to the server is open.
+     */
+    public boolean isConnected() {
+        return !this.closed;
+    }
+
+    /**
+     * closes the connection to the server.
+     * @throws IOException if the socket can't be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        this.closed = true;
+        this.socket.close();
+    }
+
+    /**
+     * the loop of the client's thread: reads a snapshot, keeps it and acknowledges it, until the connection is
+     * closed.
+     */
+    private void read() {
+        byte[] message = new byte[0];
+        try {
+            while (!this.closed) {
+                int length = this.in.readInt();
+                if (message.length < length)
+                    message = new byte[length];
+                this.in.readFully(message, 0, length);
+                GameSnapshot snapshot = SnapshotCodec.decode(ByteBuffer.wrap(message, 0, length), this::baseOf);
+                this.bases[snapshot.frame % BASES_SIZE] = snapshot;
+                this.latest = snapshot;
+                this.snapshotsReceived++;
+                this.bytesReceived += Integer.BYTES + length;
+                this.out.writeInt(snapshot.frame);
+                this.out.flush();
+            }
+        } catch (IOException e) {
+            // the server closed the connection, or sent something unreadable. either way the game is over here.
+        } finally {
+            this.closed = true;
+        }
+    }
+
+    private GameSnapshot baseOf(int frame) {
+        GameSnapshot base = this.bases[frame % BASES_SIZE];
+        return base != null && base.frame == frame ? base : null;
+    }
+}
@@ -0,0 +1,358 @@
+package src.spectator;
+
+import src.collisions.BrickGridCollection;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Streams the state of the game to spectators (see SpectatorClient and SpectatorViewer) over TCP, on the
+ * loopback address. Every frame the game fills a GameSnapshot and publishes it, which only puts it in a small
+ * queue: if the queue is full (the server fell behind), the snapshot is dropped, and if all snapshots are in use
+ * the frame isn't taken at all. The game's thread never waits for the server or for a spectator.
+ * The server's thread writes every spectator the latest snapshot, as the difference from the last snapshot the
+ * spectator acknowledged (or a key frame, if that one is too old). A snapshot is written once per different base
+ * and the same bytes are sent to all spectators with that base. A spectator gets the next snapshot only once the
+ * last one was written to its socket, so a slow spectator skips frames instead of holding snapshots up.
+ * Spectators acknowledge every snapshot they read with its frame number (4 bytes).
+ */
+public class SpectatorServer implements Closeable {
+    // the snapshots kept as bases for the differences, by frame. older ones are reused.
+    private static final int HISTORY_SIZE = 32;
+    // snapshots published and not yet taken by the server's thread.
+    private static final int QUEUE_CAPACITY = 4;
+    // how long the server's thread waits for a spectator's socket before checking for new snapshots again.
+    private static final long POLL_MILLIS = 1;
+    private static final int ACK_BYTES = Integer.BYTES;
+    private static final String THREAD_NAME = "spectator-server";
+
+    private final ServerSocketChannel serverChannel;
+    private final Selector selector;
+    // snapshots free to be filled, and the ones published, both shared by the game's thread and the server's.
+    private final BlockingQueue<GameSnapshot> freeSnapshots;
+    private final BlockingQueue<GameSnapshot> publishedSnapshots = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    // the bricks of the game, followed on the game's thread.
+    private final BrickTracker bricks = new BrickTracker();
+    // the last published snapshots (only touched by the server's thread), by frame modulo HISTORY_SIZE.
+    private final GameSnapshot[] history = new GameSnapshot[HISTORY_SIZE];
+    private GameSnapshot latest;
+    // the latest snapshot written from every base it was written from, by base frame (-1 for a key frame).
+    private final Map<Integer, ByteBuffer> encodedLatest = new HashMap<>();
+    private final SnapshotCodec.Output output = new SnapshotCodec.Output();
+    private final List<Spectator> spectators = new ArrayList<>();
+    private Thread thread;
+    private volatile boolean closed = false;
+    // the number of the next frame published, on the game's thread.
+    private int nextFrame = 0;
+    // counts, for reports.
+    private volatile int droppedSnapshots = 0;
+    private volatile long bytesSent = 0;
+    private volatile int keyFramesSent = 0;
+
+    /**
+     * A spectator connected to the server, only touched by the server's thread.
+     */
+    private static class Spectator {
+        private final SocketChannel channel;
+        private final ByteBuffer ackBuffer = ByteBuffer.allocate(ACK_BYTES);
+        // the last frame the spectator acknowledged, and the last one sent to it.
+        private int ackedFrame = -1;
+        private int sentFrame = -1;
+        // the message being written to the spectator, null when there's none.
+        private ByteBuffer pending;
+
+        Spectator(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+
+    /**
+     * c'tor, opens the server's socket on the loopback address. the server starts accepting spectators only
+     * once started.
+     * @param port the port to listen on, 0 for any free port (see getPort).
+     * @throws IOException if the socket can't be opened.
+     */
+    public SpectatorServer(int port) throws IOException {
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        this.serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        this.serverChannel.configureBlocking(false);
+        this.serverChannel.register(this.selector, SelectionKey.OP_ACCEPT);
+        // every snapshot in the history, in the queue, being filled and being written can be in use at once.
+        int numOfSnapshots = HISTORY_SIZE + QUEUE_CAPACITY + 2;
+        this.freeSnapshots = new ArrayBlockingQueue<>(numOfSnapshots);
+        for (int i = 0; i < numOfSnapshots; i++) {
+            this.freeSnapshots.add(new GameSnapshot());
+        }
+    }
+
+    /**
+     * starts the server's thread, which accepts spectators and writes them the snapshots.
+     */
+    public synchronized void start() {
+        if (this.thread != null)
+            return;
+        this.thread = new Thread(this::serve, THREAD_NAME);
+        // the server never keeps the game from exiting.
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * @return the port the server listens on.
+     */
+    public int getPort() {
+        return this.serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * follows the bricks of a new game, which are numbered anew. should be called on the game's thread, before
+     * the bricks are added to the collection.
+     * @param gameObjects the collection of the new game.
+     */
+    public void startGame(BrickGridCollection gameObjects) {
+        this.bricks.startGame();
+        gameObjects.setStaticObjectsListener(this.bricks);
+    }
+
+    /**
+     * @return a snapshot to fill with the current frame, or null if all of them are in use (the frame is then
+     * skipped). called on the game's thread.
+     */
+    public GameSnapshot acquireSnapshot() {
+        GameSnapshot snapshot = this.freeSnapshots.poll();
+        if (snapshot == null)
+            this.droppedSnapshots++;
+        return snapshot;
+    }
+
+    /**
+     * publishes a filled snapshot to the spectators, with the bricks of the game. never blocks: the snapshot is
+     * dropped if the server fell behind. called on the game's thread.
+     * @param snapshot the snapshot, from acquireSnapshot.
+     */
+    public void publish(GameSnapshot snapshot) {
+        snapshot.frame = this.nextFrame++;
+        this.bricks.copyTo(snapshot);
+        if (!this.publishedSnapshots.offer(snapshot)) {
+            this.freeSnapshots.offer(snapshot);
+            this.droppedSnapshots++;
+        }
+    }
+
+    /**
+     * @return how many frames weren't published since the server fell behind.
+     */
+    public int getDroppedSnapshots() {
+        return this.droppedSnapshots;
+    }
+
+    /**
+     * @return how many bytes were written to the spectators.
+     */
+    public long getBytesSent() {
+        return this.bytesSent;
+    }
+
+    /**
+     * @return how many key frames (snapshots not written as a difference) were written to the spectators.
+     */
+    public int getKeyFramesSent() {
+        return this.keyFramesSent;
+    }
+
+    /**
+     * stops the server's thread, and closes the sockets of the server and the spectators.
+     * @throws IOException if the sockets can't be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        this.closed = true;
+        Thread serverThread;
+        synchronized (this) {
+            serverThread = this.thread;
+        }
+        if (serverThread != null) {
+            this.selector.wakeup();
+            try {
+                serverThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (Spectator spectator : this.spectators) {
+            spectator.channel.close();
+        }
+        this.serverChannel.close();
+        this.selector.close();
+    }
+
+    /**
+     * the loop of the server's thread: handles the sockets that are ready, takes the new snapshots and writes
+     * the latest one to every spectator that's ready for it.
+     */
+    private void serve() {
+        try {
+            while (!this.closed) {
+                this.selector.select(POLL_MILLIS);
+                Iterator<SelectionKey> keys = this.selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid())
+                        continue;
+                    if (key.isAcceptable())
+                        accept();
+                    else
+                        handle(key);
+                }
+                if (takePublished())
+                    this.encodedLatest.clear();
+                if (this.latest != null)
+                    sendLatest();
+            }
+        } catch (IOException e) {
+            // the server's socket failed, spectators can't connect anymore. the game goes on without them.
+            this.closed = true;
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = this.serverChannel.accept();
+        if (channel == null)
+            return;
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        Spectator spectator = new Spectator(channel);
+        channel.register(this.selector, SelectionKey.OP_READ, spectator);
+        this.spectators.add(spectator);
+    }
+
+    /**
+     * reads the acknowledgements of a spectator, and goes on writing its message if the socket can take more.
+     */
+    private void handle(SelectionKey key) {
+        Spectator spectator = (Spectator) key.attachment();
+        try {
+            if (key.isReadable())
+                readAcks(spectator);
+            if (key.isValid() && key.isWritable())
+                write(spectator);
+        } catch (IOException e) {
+            disconnect(spectator);
+        }
+    }
+
+    private void readAcks(Spectator spectator) throws IOException {
+        int read;
+        while ((read = spectator.channel.read(spectator.ackBuffer)) > 0) {
+            if (!spectator.ackBuffer.hasRemaining()) {
+                spectator.ackedFrame = Math.max(spectator.ackedFrame, spectator.ackBuffer.getInt(0));
+                spectator.ackBuffer.clear();
+            }
+        }
+        if (read < 0)
+            disconnect(spectator);
+    }
+
+    /**
+     * moves the published snapshots to the history, giving back the ones they replace.
+     * @return true if there's a new latest snapshot.
+     */
+    private boolean takePublished() {
+        boolean taken = false;
+        GameSnapshot snapshot;
+        while ((snapshot = this.publishedSnapshots.poll()) != null) {
+            int index = snapshot.frame % HISTORY_SIZE;
+            if (this.history[index] != null)
+                this.freeSnapshots.offer(this.history[index]);
+            this.history[index] = snapshot;
+            this.latest = snapshot;
+            taken = true;
+        }
+        return taken;
+    }
+
+    /**
+     * writes the latest snapshot to every spectator that doesn't have it and isn't still being written to.
+     */
+    private void sendLatest() {
+        for (int i = this.spectators.size() - 1; i >= 0; i--) {
+            Spectator spectator = this.spectators.get(i);
+            if (spectator.pending != null || spectator.sentFrame == this.latest.frame)
+                continue;
+            GameSnapshot base = baseOf(spectator);
+            int baseFrame = base == null ? -1 : base.frame;
+            ByteBuffer message = this.encodedLatest.get(baseFrame);
+            if (message == null) {
+                this.output.clear();
+                SnapshotCodec.encode(this.latest, base, this.output);
+                message = this.output.toByteBuffer();
+                this.encodedLatest.put(baseFrame, message);
+            }
+            if (base == null)
+                this.keyFramesSent++;
+            spectator.pending = message.duplicate();
+            spectator.sentFrame = this.latest.frame;
+            try {
+                write(spectator);
+            } catch (IOException e) {
+                disconnect(spectator);
+            }
+        }
+    }
+
+    /**
+     * @return the snapshot the spectator acknowledged last, if it's still in the history and of the same game
+     * as the latest one, otherwise null (the spectator gets a key frame).
+     */
+    private GameSnapshot baseOf(Spectator spectator) {
+        if (spectator.ackedFrame < 0 || this.latest.frame - spectator.ackedFrame >= HISTORY_SIZE)
+            return null;
+        GameSnapshot base = this.history[spectator.ackedFrame % HISTORY_SIZE];
+        if (base == null || base.frame != spectator.ackedFrame || base.game != this.latest.game)
+            return null;
+        return base;
+    }
+
+    /**
+     * writes as much of the spectator's message as its socket takes, and waits for the socket to take more if
+     * that wasn't all of it.
+     */
+    private void write(Spectator spectator) throws IOException {
+        if (spectator.pending == null)
+            return;
+        this.bytesSent += spectator.channel.write(spectator.pending);
+        SelectionKey key = spectator.channel.keyFor(this.selector);
+        if (spectator.pending.hasRemaining())
+            key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        else {
+            spectator.pending = null;
+            key.interestOps(SelectionKey.OP_READ);
+        }
+    }
+
+    private void disconnect(Spectator spectator) {
+        this.spectators.remove(spectator);
+        try {
+            spectator.channel.close();
+        } catch (IOException e) {
+            // the spectator is gone either way.
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package src.spectator;
+
+import danogl.GameManager;
+import danogl.gui.ImageReader;
+import danogl.gui.SoundReader;
+import danogl.gui.UserInputListener;
+import danogl.gui.WindowController;
+import danogl.util.Vector2;
+import src.BrickerGameManager;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.io.IOException;
+
+/**
+ * A window showing a game streamed by a SpectatorServer, as it's played: the bricks in the game, the moving
+ * objects and the lives, drawn as plain shapes from the latest snapshot read. The viewer reads no assets and
+ * simulates nothing, so it can watch a game from another process at little cost to either.
+ */
+public class SpectatorViewer extends GameManager {
+    private static final String TITLE = "Bricker - spectating";
+    private static final String DEFAULT_HOST = "localhost";
+    private static final int TARGET_FRAMERATE = 80;
+    private static final String WAITING_MESSAGE = "Waiting for the game...";
+    private static final String DISCONNECTED_MESSAGE = "The game is over.";
+    private static final String LIVES_MESSAGE = "Lives: ";
+    private static final int TEXT_X = 10;
+    private static final int TEXT_Y = 20;
+    // colors of the bricks, and of the moving objects by kind (see GameSnapshot).
+    private static final Color BACKGROUND_COLOR = Color.BLACK;
+    private static final Color BRICK_COLOR = new Color(200, 90, 40);
+    private static final Color[] OBJECT_COLORS = {Color.WHITE, new Color(80, 160, 255), Color.YELLOW,
+            Color.GRAY};
+    private static final Color TEXT_COLOR = Color.WHITE;
+
+    private final String host;
+    private final int port;
+    private final Vector2 windowDimensions;
+    private SpectatorClient client;
+
+    /**
+     * c'tor, of a viewer that connects to the server once initialized.
+     * @param host the host the game runs on.
+     * @param port the port its server listens on.
+     * @param windowDimensions dimensions in pixels of the window, the game's area is scaled to them.
+     */
+    public SpectatorViewer(String host, int port, Vector2 windowDimensions) {
+        super(TITLE, windowDimensions);
+        this.host = host;
+        this.port = port;
+        this.windowDimensions = windowDimensions;
+    }
+
+    /**
+     * connects to the server. if it can't be connected, tells the user so and closes the window.
+     * @param imageReader type ImageReader, unused.
+     * @param soundReader type SoundReader, unused.
+     * @param inputListener type UserInputListener, unused.
+     * @param windowController type WindowController, the window of the viewer.
+     */
+    @Override
+    public void initializeGame(ImageReader imageReader, SoundReader soundReader,
+                               UserInputListener inputListener, WindowController windowController) {
+        super.initializeGame(imageReader, soundReader, inputListener, windowController);
+        windowController.setTargetFramerate(TARGET_FRAMERATE);
+        closeClient();
+        try {
+            this.client = new SpectatorClient(this.host, this.port);
+        } catch (IOException e) {
+            windowController.showMessageBox("Can't connect to " + this.host + ":" + this.port + ": " +
+                    e.getMessage());
+            windowController.closeWindow();
+        }
+    }
+
+    /**
+     * draws the latest snapshot read, scaled from the area the game's camera showed to the window.
+     * @param g the graphics context to render on.
+     */
+    @Override
+    public void render(Graphics2D g) {
+        g.setColor(BACKGROUND_COLOR);
+        g.fillRect(0, 0, (int) this.windowDimensions.x(), (int) this.windowDimensions.y());
+        GameSnapshot snapshot = this.client == null ? null : this.client.getLatest();
+        g.setColor(TEXT_COLOR);
+        if (snapshot == null) {
+            g.drawString(WAITING_MESSAGE, TEXT_X, TEXT_Y);
+            return;
+        }
+        float scaleX = this.windowDimensions.x() / snapshot.getCamera(2);
+        float scaleY = this.windowDimensions.y() / snapshot.getCamera(3);
+        g.setColor(BRICK_COLOR);
+        for (int i = 0; i < snapshot.getNumOfBricks(); i++) {
+            if (snapshot.isBrickInGame(i))
+                fillRectangle(g, snapshot, snapshot.getBrick(i, 0), snapshot.getBrick(i, 1),
+                        snapshot.getBrick(i, 2), snapshot.getBrick(i, 3), scaleX, scaleY, false);
+        }
+        for (int i = 0; i < snapshot.getNumOfObjects(); i++) {
+            byte kind = snapshot.getObjectKind(i);
+            g.setColor(OBJECT_COLORS[kind]);
+            fillRectangle(g, snapshot, snapshot.getObject(i, 0), snapshot.getObject(i, 1),
+                    snapshot.getObject(i, 2), snapshot.getObject(i, 3), scaleX, scaleY,
+                    kind == GameSnapshot.BALL || kind == GameSnapshot.PUCK);
+        }
+        g.setColor(TEXT_COLOR);
+        g.drawString(this.client.isConnected() ? LIVES_MESSAGE + snapshot.getLives() : DISCONNECTED_MESSAGE,
+                TEXT_X, TEXT_Y);
+    }
+
+    /**
+     * fills a rectangle of the world (or the circle inside it) where it is on the window.
+     */
+    private static void fillRectangle(Graphics2D g, GameSnapshot snapshot, float x, float y, float width,
+                                      float height, float scaleX, float scaleY, boolean round) {
+        int screenX = Math.round((x - snapshot.getCamera(0)) * scaleX);
+        int screenY = Math.round((y - snapshot.getCamera(1)) * scaleY);
+        int screenWidth = Math.max(1, Math.round(width * scaleX));
+        int screenHeight = Math.max(1, Math.round(height * scaleY));
+        if (round)
+            g.fillOval(screenX, screenY, screenWidth, screenHeight);
+        else
+            g.fillRect(screenX, screenY, screenWidth, screenHeight);
+    }
+
+    private void closeClient() {
+        if (this.client == null)
+            return;
+        try {
+            this.client.close();
+        } catch (IOException e) {
+            // the connection is dropped either way.
+        }
+        this.client = null;
+    }
+
+    /**
+     * Entry point of the viewer, opens a window spectating a game started with "--spectate port".
+     * @param args the port of the game, optionally preceded by its host (localhost by default).
+     */
+    public static void main(String[] args) {
+        String host = args.length > 1 ? args[0] : DEFAULT_HOST;
+        int port = Integer.parseInt(args[args.length - 1]);
+        new SpectatorViewer(host, port, new Vector2(BrickerGameManager.MAIN_WINDOW_X,
+                BrickerGameManager.MAIN_WINDOW_Y)).run();
+    }
+}
@@ -0,0 +1,70 @@
+package src.tests;
+
+import src.brick_strategies.AliasTable;
+
+import java.util.SplittableRandom;
+
+/**
+ * Checks AliasTable: every index is picked as often as its share of the total weight (within a few standard
+ * deviations, so the check holds for any seed), an index of weight 0 is never picked, and invalid weights are
+ * rejected.
+ */
+public class AliasTableTest {
+    private static final int NUM_OF_SAMPLES = 1_000_000;
+    // how many standard deviations of a count are tolerated.
+    private static final double TOLERATED_DEVIATIONS = 5;
+    private static final long SEED = 7;
+
+    private final Checks checks = new Checks("AliasTable");
+
+    private void checkFrequencies(double[] weights) {
+        AliasTable table = new AliasTable(weights);
+        this.checks.checkEquals(weights.length, table.size(), "size of the table");
+        double total = 0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        int[] counts = new int[weights.length];
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int i = 0; i < NUM_OF_SAMPLES; i++) {
+            counts[table.sample(random)]++;
+        }
+        for (int i = 0; i < weights.length; i++) {
+            double share = weights[i] / total;
+            double expected = NUM_OF_SAMPLES * share;
+            double deviation = Math.sqrt(NUM_OF_SAMPLES * share * (1 - share));
+            if (weights[i] == 0)
+                this.checks.checkEquals(0, counts[i], "picks of index " + i + " of weight 0");
+            else
+                this.checks.checkClose(expected, counts[i], TOLERATED_DEVIATIONS * deviation,
+                        "picks of index " + i + " of weight " + weights[i]);
+        }
+    }
+
+    private void checkInvalidWeights() {
+        this.checks.checkThrows(IllegalArgumentException.class, () -> new AliasTable(new double[]{1, -1}),
+                "a negative weight");
+        this.checks.checkThrows(IllegalArgumentException.class, () -> new AliasTable(new double[]{0, 0}),
+                "weights that are all 0");
+        this.checks.checkThrows(IllegalArgumentException.class, () -> new AliasTable(new double[]{1, Double.NaN}),
+                "a NaN weight");
+        this.checks.checkThrows(IllegalArgumentException.class, () -> new AliasTable(new double[0]),
+                "no weights");
+    }
+
+    /**
+     * Entry point, runs the checks and prints the results.
+     * @param args none
+     */
+    public static void main(String[] args) {
+        AliasTableTest test = new AliasTableTest();
+        test.checkFrequencies(new double[]{1});
+        test.checkFrequencies(new double[]{1, 1, 1, 1});
+        test.checkFrequencies(new double[]{1, 2, 3, 0, 4});
+        test.checkFrequencies(new double[]{5, 1, 1, 1, 1, 1});
+        // weights far apart, where rounding errors are left in the columns of the largest.
+        test.checkFrequencies(new double[]{0.001, 1000, 0, 0.5});
+        test.checkInvalidWeights();
+        test.checks.finish();
+    }
+}
@@ -0,0 +1,118 @@
+package src.tests;
+
+import danogl.GameObject;
+import danogl.util.Vector2;
+import src.collisions.BrickGrid;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks BrickGrid: a query finds the objects in the cells it overlaps, each once, and the objects outside the
+ * grid area; removed objects aren't found; and a grid with wrapping rows finds objects any number of rows down.
+ */
+public class BrickGridTest {
+    private static final Vector2 ORIGIN = new Vector2(10, 20);
+    private static final Vector2 CELL = new Vector2(50, 20);
+    private static final int COLUMNS = 8;
+    private static final int ROWS = 4;
+
+    private final Checks checks = new Checks("BrickGrid");
+    private final List<GameObject> result = new ArrayList<>();
+    private final int[] range = new int[4];
+
+    private void checkQueries() {
+        BrickGrid grid = new BrickGrid(ORIGIN, CELL, COLUMNS, ROWS);
+        GameObject inCell = brick(0, 0, 1, 1);
+        // spans the 4 cells of columns 2-3 and rows 1-2.
+        GameObject spanning = brick(2, 1, 2, 2);
+        GameObject farAway = brick(7, 3, 1, 1);
+        // sticks out of the left edge of the grid area.
+        GameObject outside = new GameObject(new Vector2(ORIGIN.x() - 5, ORIGIN.y()), CELL, null);
+        grid.add(inCell);
+        grid.add(spanning);
+        grid.add(farAway);
+        grid.add(outside);
+        grid.add(inCell);
+        this.checks.checkEquals(4, grid.size(), "size after adding 4 objects, one twice");
+
+        // a box over the 4 cells of the spanning brick and the cell left of them.
+        grid.query(ORIGIN.x() + CELL.x() + 1, ORIGIN.y() + CELL.y() + 1, CELL.x() * 2, CELL.y(), this.result,
+                this.range);
+        this.checks.checkEquals(1, count(spanning), "a brick spanning several queried cells is found once");
+        this.checks.checkEquals(1, count(outside), "an object outside the grid area is found by every query");
+        this.checks.checkEquals(0, count(inCell), "a brick in no queried cell isn't found");
+        this.checks.checkEquals(0, count(farAway), "a brick far from the box isn't found");
+        this.checks.checkEquals(2, this.result.size(), "objects found around the spanning brick");
+
+        grid.query(inCell, this.result, this.range);
+        this.checks.checkEquals(1, count(inCell), "a brick is found by a query of its own bounds");
+        this.checks.checkEquals(0, count(spanning), "a brick two cells away isn't found");
+
+        grid.query(ORIGIN.x() + 10_000, ORIGIN.y(), 1, 1, this.result, this.range);
+        this.checks.check(this.result.size() == 1 && this.result.get(0) == outside,
+                "a box outside the grid area only finds the objects outside it");
+
+        this.checks.check(grid.remove(spanning), "removing an object in the grid");
+        this.checks.check(!grid.remove(spanning), "removing an object twice");
+        this.checks.check(grid.remove(outside), "removing an object outside the grid area");
+        grid.query(0, 0, CELL.x() * (COLUMNS + 1), CELL.y() * (ROWS + 1), this.result, this.range);
+        this.checks.checkEquals(0, count(spanning), "a removed brick isn't found");
+        this.checks.checkEquals(0, count(outside), "a removed object outside the grid area isn't found");
+        this.checks.checkEquals(2, this.result.size(), "objects found over the whole grid after removals");
+        this.checks.checkEquals(2, grid.size(), "size after removals");
+
+        grid.clear();
+        grid.query(0, 0, CELL.x() * (COLUMNS + 1), CELL.y() * (ROWS + 1), this.result, this.range);
+        this.checks.checkEquals(0, this.result.size(), "objects found after clear");
+        this.checks.checkEquals(0, grid.size(), "size after clear");
+    }
+
+    private void checkWrappingRows() {
+        BrickGrid grid = new BrickGrid(ORIGIN, CELL, COLUMNS, ROWS, true);
+        // 3 times the grid's height down, and above the origin: both inside a grid with wrapping rows.
+        GameObject below = brick(1, 3 * ROWS + 1, 1, 1);
+        GameObject above = brick(1, -ROWS + 2, 1, 1);
+        grid.add(below);
+        grid.add(above);
+        grid.query(below, this.result, this.range);
+        this.checks.checkEquals(1, count(below), "a brick rows down is found in its wrapped cell");
+        this.checks.checkEquals(0, count(above), "a brick in another wrapped row isn't found");
+        grid.query(above, this.result, this.range);
+        this.checks.checkEquals(1, count(above), "a brick above the origin is found in its wrapped cell");
+        this.checks.check(grid.remove(below), "removing a brick rows down");
+        grid.query(below, this.result, this.range);
+        this.checks.checkEquals(0, count(below), "a removed brick rows down isn't found");
+    }
+
+    /**
+     * @return a brick over the given cells, a pixel inside their edges.
+     */
+    private static GameObject brick(int column, int row, int columns, int rows) {
+        return new GameObject(new Vector2(ORIGIN.x() + column * CELL.x() + 1, ORIGIN.y() + row * CELL.y() + 1),
+                new Vector2(columns * CELL.x() - 2, rows * CELL.y() - 2), null);
+    }
+
+    /**
+     * @return how many times the object is in the result of the last query.
+     */
+    private int count(GameObject object) {
+        int count = 0;
+        for (GameObject found : this.result) {
+            if (found == object)
+                count++;
+        }
+        return count;
+    }
+
+    /**
+     * Entry point, runs the checks and prints the results.
+     * @param args none
+     */
+    public static void main(String[] args) {
+        BrickGridTest test = new BrickGridTest();
+        test.checkQueries();
+        test.checkWrappingRows();
+        test.checks.finish();
+    }
+}
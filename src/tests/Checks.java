@@ -0,0 +1,93 @@
+package src.tests;
+
+/**
+ * The checks of a test program: each check prints its failure, and finish prints how many passed and exits with
+ * status 1 if any failed, so a test program can run as a check like AllocationBudget.
+ * The repository has no test framework, so every test is a class with a main of its own, run headless:
+ * java -Djava.awt.headless=true -cp out:DanoGameLab.jar src.tests.BrickGridTest
+ */
+public class Checks {
+    private final String suite;
+    private int passed = 0;
+    private int failed = 0;
+
+    /**
+     * c'tor
+     * @param suite name of the tested class, for the report.
+     */
+    public Checks(String suite) {
+        this.suite = suite;
+    }
+
+    /**
+     * checks that a condition holds.
+     * @param condition the condition.
+     * @param description what the condition means, printed if it doesn't hold.
+     */
+    public void check(boolean condition, String description) {
+        if (condition) {
+            this.passed++;
+            return;
+        }
+        this.failed++;
+        System.out.println("FAILED " + this.suite + ": " + description);
+    }
+
+    /**
+     * checks that a number is the expected one.
+     * @param expected the expected number.
+     * @param actual the number.
+     * @param description what the number is, printed if it isn't the expected one.
+     */
+    public void checkEquals(long expected, long actual, String description) {
+        check(expected == actual, description + ": expected " + expected + ", got " + actual);
+    }
+
+    /**
+     * checks that a number is within a tolerance of the expected one.
+     * @param expected the expected number.
+     * @param actual the number.
+     * @param tolerance the largest difference allowed.
+     * @param description what the number is, printed if it's too far from the expected one.
+     */
+    public void checkClose(double expected, double actual, double tolerance, String description) {
+        check(Math.abs(expected - actual) <= tolerance,
+                description + ": expected " + expected + " (within " + tolerance + "), got " + actual);
+    }
+
+    /**
+     * checks that an operation throws an exception of the given type.
+     * @param type the type of the exception.
+     * @param operation the operation.
+     * @param description what the operation is, printed if it didn't throw.
+     */
+    public void checkThrows(Class<? extends Exception> type, ThrowingOperation operation, String description) {
+        try {
+            operation.run();
+        } catch (Exception e) {
+            check(type.isInstance(e), description + ": expected " + type.getSimpleName() + ", got " + e);
+            return;
+        }
+        check(false, description + ": expected " + type.getSimpleName() + ", nothing was thrown");
+    }
+
+    /**
+     * prints how many checks passed and failed, and exits with status 1 if any failed.
+     */
+    public void finish() {
+        System.out.printf("%-30s %4d passed %4d failed%n", this.suite, this.passed, this.failed);
+        if (this.failed > 0)
+            System.exit(1);
+    }
+
+    /**
+     * An operation expected to throw, see checkThrows.
+     */
+    public interface ThrowingOperation {
+        /**
+         * runs the operation.
+         * @throws Exception the exception expected.
+         */
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,102 @@
+package src.tests;
+
+import src.metrics.LatencyHistogram;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Checks LatencyHistogram: percentiles are never below the real ones and at most one bucket (1/32 of the value)
+ * above them, small durations are exact, the max, total and count are exact, and a window keeps only the last
+ * samples.
+ */
+public class LatencyHistogramTest {
+    // every power of two is split into 32 buckets, so a bucket is at most 1/32 of the values in it.
+    private static final double BUCKET_ERROR = 1.0 / 32;
+    private static final int NUM_OF_SAMPLES = 10_000;
+    private static final long SEED = 13;
+    private static final double[] PERCENTILES = {0.1, 1, 10, 50, 90, 99, 99.9, 100};
+
+    private final Checks checks = new Checks("LatencyHistogram");
+
+    private void checkEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram(0);
+        this.checks.checkEquals(0, histogram.getPercentile(50), "percentile of no samples");
+        this.checks.checkEquals(0, histogram.getMax(), "max of no samples");
+        this.checks.checkEquals(0, histogram.getNumOfSamples(), "count of no samples");
+    }
+
+    private void checkPercentiles() {
+        // durations from a microsecond to a second, spread over the powers of two.
+        SplittableRandom random = new SplittableRandom(SEED);
+        long[] samples = new long[NUM_OF_SAMPLES];
+        LatencyHistogram histogram = new LatencyHistogram(0);
+        long total = 0;
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = (long) Math.pow(10, 3 + random.nextDouble() * 6);
+            histogram.record(samples[i]);
+            total += samples[i];
+        }
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        for (double percentile : PERCENTILES) {
+            long rank = Math.max(1, (long) Math.ceil(sorted.length * percentile / 100));
+            long exact = sorted[(int) rank - 1];
+            long reported = histogram.getPercentile(percentile);
+            this.checks.check(reported >= exact && reported <= exact + exact * BUCKET_ERROR,
+                    "percentile " + percentile + ": exact " + exact + ", reported " + reported);
+        }
+        this.checks.checkEquals(sorted[sorted.length - 1], histogram.getMax(), "max");
+        this.checks.checkEquals(sorted[sorted.length - 1], histogram.getPercentile(100), "percentile 100");
+        this.checks.checkEquals(total, histogram.getTotal(), "total");
+        this.checks.checkEquals(NUM_OF_SAMPLES, histogram.getNumOfSamples(), "count");
+    }
+
+    private void checkEdges() {
+        LatencyHistogram histogram = new LatencyHistogram(0);
+        for (long nanos = 1; nanos <= 10; nanos++) {
+            histogram.record(nanos);
+        }
+        this.checks.checkEquals(5, histogram.getPercentile(50), "percentile of durations under 32 ns, exact");
+        histogram.record(-100);
+        this.checks.checkEquals(0, histogram.getPercentile(1), "a negative duration counts as 0");
+        // longer than the last bucket's lower bound, about 68 seconds.
+        long minutes = 5L * 60 * 1_000_000_000;
+        histogram.record(minutes);
+        this.checks.checkEquals(minutes, histogram.getMax(), "max of a duration of minutes");
+        this.checks.checkEquals(minutes, histogram.getPercentile(100), "percentile 100 with a duration of minutes");
+    }
+
+    private void checkWindow() {
+        int windowSize = 100;
+        LatencyHistogram histogram = new LatencyHistogram(windowSize);
+        for (int i = 0; i < 1000; i++) {
+            histogram.record(1_000_000);
+        }
+        for (int i = 0; i < windowSize; i++) {
+            histogram.record(200 + i);
+        }
+        this.checks.checkEquals(windowSize, histogram.getNumOfSamples(), "count of a full window");
+        this.checks.checkEquals(299, histogram.getMax(), "max once the longer samples left the window");
+        this.checks.checkEquals((200 + 299) * windowSize / 2, histogram.getTotal(), "total of the window");
+        long median = histogram.getPercentile(50);
+        this.checks.check(median >= 249 && median <= 249 + 249 * BUCKET_ERROR,
+                "median of the window: exact 249, reported " + median);
+        histogram.record(5000);
+        this.checks.checkEquals(5000, histogram.getMax(), "max of a new sample");
+        this.checks.checkEquals(windowSize, histogram.getNumOfSamples(), "count stays the window size");
+    }
+
+    /**
+     * Entry point, runs the checks and prints the results.
+     * @param args none
+     */
+    public static void main(String[] args) {
+        LatencyHistogramTest test = new LatencyHistogramTest();
+        test.checkEmpty();
+        test.checkPercentiles();
+        test.checkEdges();
+        test.checkWindow();
+        test.checks.finish();
+    }
+}
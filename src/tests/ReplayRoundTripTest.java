@@ -0,0 +1,121 @@
+package src.tests;
+
+import danogl.util.Vector2;
+import src.replay.ReplayReader;
+import src.replay.ReplayWriter;
+
+import java.awt.event.KeyEvent;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Checks that ReplayReader reads back what ReplayWriter wrote: the window, the seed of every game, and the delta
+ * time and keys of every frame, with games of no frames, frames with a new delta time and frames with the last
+ * one. Also checks that a file that isn't a replay, and one cut off in the middle, are handled.
+ */
+public class ReplayRoundTripTest {
+    private static final Vector2 WINDOW = new Vector2(700, 500);
+    private static final int LEFT = 1;
+    private static final int RIGHT = 2;
+    private static final long[] SEEDS = {42, -1, Long.MAX_VALUE};
+    // the frames of every game, in the order of SEEDS: delta times and keys.
+    private static final float[][] DELTA_TIMES = {
+            {1f / 80, 1f / 80, 1f / 60, 1f / 60, 1f / 80},
+            {},
+            {0.5f, 1f / 80}};
+    private static final int[][] KEYS = {
+            {0, LEFT, LEFT | RIGHT, RIGHT, 0},
+            {},
+            {RIGHT, 0}};
+
+    private final Checks checks = new Checks("ReplayWriter/Reader");
+
+    private byte[] writeReplay() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int numOfFrames = 0;
+        try (ReplayWriter writer = new ReplayWriter(out, WINDOW)) {
+            for (int game = 0; game < SEEDS.length; game++) {
+                writer.startGame(SEEDS[game]);
+                for (int frame = 0; frame < DELTA_TIMES[game].length; frame++) {
+                    writer.writeFrame(DELTA_TIMES[game][frame], KEYS[game][frame]);
+                    numOfFrames++;
+                }
+            }
+            this.checks.checkEquals(numOfFrames, writer.getFramesWritten(), "frames written");
+        }
+        return out.toByteArray();
+    }
+
+    private void checkRoundTrip(byte[] replay) throws IOException {
+        try (ReplayReader reader = new ReplayReader(new ByteArrayInputStream(replay))) {
+            this.checks.check(reader.getWindowDimensions().equals(WINDOW), "window of the replay");
+            for (int game = 0; game < SEEDS.length; game++) {
+                this.checks.check(reader.nextGame(), "game " + game + " is read");
+                this.checks.checkEquals(SEEDS[game], reader.getSeed(), "seed of game " + game);
+                for (int frame = 0; frame < DELTA_TIMES[game].length; frame++) {
+                    String name = "frame " + frame + " of game " + game;
+                    this.checks.check(reader.nextFrame(), name + " is read");
+                    this.checks.check(reader.getDeltaTime() == DELTA_TIMES[game][frame], name + " delta time");
+                    this.checks.check(reader.isKeyPressed(KeyEvent.VK_LEFT) == ((KEYS[game][frame] & LEFT) != 0),
+                            name + " left key");
+                    this.checks.check(reader.isKeyPressed(KeyEvent.VK_RIGHT) ==
+                            ((KEYS[game][frame] & RIGHT) != 0), name + " right key");
+                    this.checks.check(!reader.isKeyPressed(KeyEvent.VK_SPACE), name + " a key that isn't recorded");
+                }
+                this.checks.check(!reader.nextFrame(), "game " + game + " ends after its frames");
+                this.checks.check(reader.isGameFinished(), "game " + game + " is finished");
+            }
+            this.checks.check(!reader.nextGame(), "no game after the last one");
+        }
+    }
+
+    private void checkSkippedFrames(byte[] replay) throws IOException {
+        try (ReplayReader reader = new ReplayReader(new ByteArrayInputStream(replay))) {
+            reader.nextGame();
+            reader.nextFrame();
+            // the rest of the first game is skipped.
+            this.checks.check(reader.nextGame(), "the game after a partly read one");
+            this.checks.checkEquals(SEEDS[1], reader.getSeed(), "seed of the game after a partly read one");
+        }
+    }
+
+    private void checkCutOff(byte[] replay) throws IOException {
+        // the last frame of the last game has a new delta time: cut off in the middle of its float.
+        int cut = 0;
+        try (ReplayReader reader = new ReplayReader(new ByteArrayInputStream(replay, 0, replay.length - 2))) {
+            while (reader.nextGame()) {
+                while (reader.nextFrame()) {
+                    cut++;
+                }
+            }
+        }
+        int numOfFrames = 0;
+        for (float[] deltaTimes : DELTA_TIMES) {
+            numOfFrames += deltaTimes.length;
+        }
+        // every frame but the cut off one is read.
+        this.checks.checkEquals(numOfFrames - 1, cut, "frames read from a replay cut off in the last frame");
+    }
+
+    private void checkNotAReplay() {
+        this.checks.checkThrows(IOException.class,
+                () -> new ReplayReader(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12})),
+                "a stream that isn't a replay");
+    }
+
+    /**
+     * Entry point, runs the checks and prints the results.
+     * @param args none
+     * @throws IOException never, the replays are in memory.
+     */
+    public static void main(String[] args) throws IOException {
+        ReplayRoundTripTest test = new ReplayRoundTripTest();
+        byte[] replay = test.writeReplay();
+        test.checkRoundTrip(replay);
+        test.checkSkippedFrames(replay);
+        test.checkCutOff(replay);
+        test.checkNotAReplay();
+        test.checks.finish();
+    }
+}
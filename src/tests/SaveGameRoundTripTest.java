@@ -0,0 +1,164 @@
+package src.tests;
+
+import src.BrickerGameManager;
+import src.headless.HeadlessGameRunner;
+import src.savegame.SaveGame;
+import src.savegame.SaveGameReader;
+import src.savegame.SaveGameWriter;
+import src.simulation.PaddleBot;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Checks that SaveGameReader reads back what SaveGameWriter wrote, from memory and from a file: a save of a
+ * seeded headless game in progress is written, read, and written again to the same bytes, and the fields read
+ * are the saved ones. Then the game restored from the save and the saved game itself play on, each with its own
+ * PaddleBot, and must stay the same game. Also checks that what isn't a whole save of this version is rejected.
+ */
+public class SaveGameRoundTripTest {
+    private static final long SEED = 2024;
+    private static final int FRAMES_BEFORE_SAVE = 1500;
+    private static final int FRAMES_AFTER_LOAD = 1500;
+
+    private final Checks checks = new Checks("SaveGameWriter/Reader");
+    private final SaveGameWriter writer = new SaveGameWriter();
+    private final SaveGameReader reader = new SaveGameReader();
+
+    /**
+     * @return the bytes of the save, in the writer's layout.
+     */
+    private byte[] encode(SaveGame save) {
+        ByteBuffer encoded = this.writer.encode(save);
+        byte[] bytes = new byte[encoded.remaining()];
+        encoded.get(bytes);
+        return bytes;
+    }
+
+    private SaveGame decode(byte[] bytes) throws IOException {
+        return this.reader.read(Channels.newChannel(new ByteArrayInputStream(bytes)));
+    }
+
+    private void checkSameFields(SaveGame expected, SaveGame actual, String name) {
+        this.checks.check(expected.getWindowDimensions().equals(actual.getWindowDimensions()), name + " window");
+        this.checks.checkEquals(expected.getSeed(), actual.getSeed(), name + " seed");
+        this.checks.checkEquals(expected.getLives(), actual.getLives(), name + " lives");
+        this.checks.checkEquals(expected.getBricksLeft(), actual.getBricksLeft(), name + " bricks left");
+        this.checks.check(expected.getTimeScale() == actual.getTimeScale(), name + " time scale");
+        this.checks.check(expected.getAccumulatedTime() == actual.getAccumulatedTime(), name + " accumulated time");
+        this.checks.checkEquals(expected.getCameraCountdown(), actual.getCameraCountdown(), name + " camera");
+        this.checks.check(Arrays.equals(expected.getStrategyNames(), actual.getStrategyNames()),
+                name + " strategy names");
+        this.checks.checkEquals(expected.getNumOfBricks(), actual.getNumOfBricks(), name + " number of bricks");
+        int[] expectedChain = new int[SaveGame.MAX_CHAIN_LENGTH];
+        int[] actualChain = new int[SaveGame.MAX_CHAIN_LENGTH];
+        boolean sameBricks = true;
+        for (int i = 0; i < Math.min(expected.getNumOfBricks(), actual.getNumOfBricks()); i++) {
+            sameBricks &= expected.getBrickTopLeftCorner(i).equals(actual.getBrickTopLeftCorner(i)) &&
+                    expected.getBrickDimensions(i).equals(actual.getBrickDimensions(i)) &&
+                    expected.getChain(i, expectedChain) == actual.getChain(i, actualChain) &&
+                    Arrays.equals(expectedChain, actualChain);
+        }
+        this.checks.check(sameBricks, name + " bricks and their chains");
+        this.checks.checkEquals(expected.getNumOfObjects(), actual.getNumOfObjects(), name + " number of objects");
+        this.checks.checkEquals(expected.getNumOfObjectsInGame(), actual.getNumOfObjectsInGame(),
+                name + " number of objects in the game");
+        boolean sameObjects = true;
+        for (int i = 0; i < Math.min(expected.getNumOfObjects(), actual.getNumOfObjects()); i++) {
+            sameObjects &= expected.getObjectKind(i) == actual.getObjectKind(i) &&
+                    expected.getObjectTopLeftCorner(i).equals(actual.getObjectTopLeftCorner(i));
+        }
+        this.checks.check(sameObjects, name + " spawned objects");
+        this.checks.check(expected.hasSwarm() == actual.hasSwarm(), name + " swarm");
+    }
+
+    private void checkRoundTrip(SaveGame save, byte[] bytes) throws IOException {
+        SaveGame read = decode(bytes);
+        checkSameFields(save, read, "read from memory:");
+        this.checks.check(Arrays.equals(bytes, encode(read)),
+                "a save read from memory is written to the same bytes");
+
+        Path file = Files.createTempFile("bricker", ".save");
+        try {
+            this.writer.write(save, file);
+            this.checks.check(Arrays.equals(bytes, Files.readAllBytes(file)), "a save file holds the save's bytes");
+            read = this.reader.read(file);
+            checkSameFields(save, read, "read from a file:");
+            this.checks.check(Arrays.equals(bytes, encode(read)),
+                    "a save read from a file is written to the same bytes");
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private void checkRejected(byte[] bytes) {
+        byte[] wrongMagic = bytes.clone();
+        wrongMagic[0]++;
+        this.checks.checkThrows(IOException.class, () -> decode(wrongMagic), "a save with a wrong magic number");
+        byte[] wrongVersion = bytes.clone();
+        wrongVersion[Integer.BYTES + Integer.BYTES - 1]++;
+        this.checks.checkThrows(IOException.class, () -> decode(wrongVersion), "a save of another version");
+        this.checks.checkThrows(IOException.class, () -> decode(Arrays.copyOf(bytes, bytes.length / 2)),
+                "half a save");
+        this.checks.checkThrows(IOException.class, () -> decode(new byte[0]), "an empty file");
+    }
+
+    /**
+     * Plays the game restored from the save and the saved game side by side, and checks they're the same game.
+     */
+    private void checkRestoredGame(HeadlessGameRunner savedRunner, PaddleBot savedBot, byte[] bytes)
+            throws IOException {
+        HeadlessGameRunner restoredRunner = new HeadlessGameRunner();
+        SaveGame save = decode(bytes);
+        BrickerGameManager restored = new BrickerGameManager(null, save.getWindowDimensions(), true);
+        restored.loadGame(save);
+        restoredRunner.newGame(restored);
+        PaddleBot restoredBot = new PaddleBot(restoredRunner.getInputListener());
+        restoredBot.setGame(restored);
+        SaveGame savedLater = new SaveGame();
+        SaveGame restoredLater = new SaveGame();
+        for (int frame = 0; frame < FRAMES_AFTER_LOAD && !savedRunner.isGameOver(); frame++) {
+            savedBot.play();
+            savedRunner.step();
+            restoredBot.play();
+            restoredRunner.step();
+        }
+        savedRunner.getGameManager().saveGame(savedLater);
+        restored.saveGame(restoredLater);
+        this.checks.check(Arrays.equals(encode(savedLater), encode(restoredLater)),
+                "the restored game plays on like the saved one");
+    }
+
+    /**
+     * Entry point, runs the checks and prints the results.
+     * @param args none
+     * @throws IOException if the temporary save file can't be written.
+     */
+    public static void main(String[] args) throws IOException {
+        SaveGameRoundTripTest test = new SaveGameRoundTripTest();
+        HeadlessGameRunner runner = new HeadlessGameRunner();
+        runner.setSeed(SEED);
+        BrickerGameManager gameManager = runner.newGame();
+        PaddleBot bot = new PaddleBot(runner.getInputListener());
+        bot.setGame(gameManager);
+        int bricks = gameManager.getBricksLeft();
+        for (int frame = 0; frame < FRAMES_BEFORE_SAVE && !runner.isGameOver(); frame++) {
+            bot.play();
+            runner.step();
+        }
+        SaveGame save = new SaveGame();
+        gameManager.saveGame(save);
+        test.checks.checkEquals(gameManager.getBricksLeft(), save.getNumOfBricks(), "bricks in the save");
+        test.checks.check(save.getNumOfBricks() < bricks, "bricks were hit before the save");
+        byte[] bytes = test.encode(save);
+        test.checkRoundTrip(save, bytes);
+        test.checkRejected(bytes);
+        test.checkRestoredGame(runner, bot, bytes);
+        test.checks.finish();
+    }
+}
@@ -0,0 +1,84 @@
+package src.tests;
+
+import danogl.GameObject;
+import src.BrickerGameManager;
+import src.headless.HeadlessGameRunner;
+import src.savegame.SaveGame;
+import src.simulation.PaddleBot;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Checks the warm restart of BrickerGameManager (see WarmRestart): a headless game is played by a PaddleBot until
+ * bricks were hit, then lost with the paddle standing still, then restarted, a few times over. After every
+ * restart the game has all its bricks and lives back, every brick is in the game again with a strategy the game
+ * made, the spawned objects are gone and the ball is a new one.
+ * The game isn't seeded, since a seeded game is reset by the window instead, so every check holds for any game.
+ */
+public class WarmRestartTest {
+    private static final int NUM_OF_RESTARTS = 3;
+
+    private final Checks checks = new Checks("WarmRestart");
+    private final HeadlessGameRunner runner = new HeadlessGameRunner();
+    private final PaddleBot bot = new PaddleBot(this.runner.getInputListener());
+    private final SaveGame save = new SaveGame();
+
+    private void checkRestarts() {
+        BrickerGameManager gameManager = this.runner.newGame();
+        this.bot.setGame(gameManager);
+        int bricks = gameManager.getBricksLeft();
+        int lives = gameManager.getLivesLeft();
+        for (int restart = 1; restart <= NUM_OF_RESTARTS; restart++) {
+            String name = "restart " + restart;
+            play(() -> gameManager.getBricksLeft() < bricks, true);
+            // the paddle stands still from here, so the ball falls every time it comes back.
+            this.runner.getInputListener().releaseAll();
+            play(this.runner::isGameOver, false);
+            this.checks.check(this.runner.isGameOver(), name + ": the game ended before it");
+            this.checks.check(gameManager.getBricksLeft() < bricks, name + ": bricks were hit before it");
+            GameObject ball = gameManager.getBall();
+            gameManager.restartGame();
+            this.runner.getWindowController().clear();
+            this.checks.checkEquals(bricks, gameManager.getBricksLeft(), name + ": bricks left");
+            this.checks.checkEquals(lives, gameManager.getLivesLeft(), name + ": lives left");
+            this.checks.check(gameManager.getBall() != ball, name + ": the ball is a new one");
+            this.checks.check(gameManager.getCamera() == null, name + ": the camera is at default");
+            this.bot.setGame(gameManager);
+            // a game is saved with the bricks in its collection that weren't hit, and the objects it spawned. it
+            // can only be saved after a step.
+            this.runner.step();
+            try {
+                gameManager.saveGame(this.save);
+            } catch (IllegalStateException e) {
+                this.checks.check(false, name + ": every brick has a strategy the game made: " + e.getMessage());
+                continue;
+            }
+            this.checks.checkEquals(bricks, this.save.getNumOfBricks(), name + ": bricks in the game");
+            this.checks.checkEquals(0, this.save.getNumOfObjects(), name + ": spawned objects");
+        }
+    }
+
+    /**
+     * steps the game until the condition holds, the game ended, or the frame limit of a game was reached.
+     * @param botPlays true if the bot plays, false to leave the paddle as it is.
+     */
+    private void play(BooleanSupplier condition, boolean botPlays) {
+        for (int frame = 0; frame < HeadlessGameRunner.DEFAULT_MAX_FRAMES; frame++) {
+            if (condition.getAsBoolean() || this.runner.isGameOver())
+                return;
+            if (botPlays)
+                this.bot.play();
+            this.runner.step();
+        }
+    }
+
+    /**
+     * Entry point, runs the checks and prints the results.
+     * @param args none
+     */
+    public static void main(String[] args) {
+        WarmRestartTest test = new WarmRestartTest();
+        test.checkRestarts();
+        test.checks.finish();
+    }
+}